@@ -34,6 +34,8 @@ public interface StatementProcessor
 
     void beginTransaction( Bookmark bookmark, Duration txTimeout, Map<String,Object> txMetadata ) throws KernelException;
 
+    void beginTransaction( Bookmark bookmark, Duration txTimeout, Map<String,Object> txMetadata, TransactionOptions txOptions ) throws KernelException;
+
     StatementMetadata run( String statement, MapValue params ) throws KernelException;
 
     StatementMetadata run( String statement, MapValue params, Bookmark bookmark, Duration txTimeout, Map<String,Object> txMetaData ) throws KernelException;
@@ -68,6 +70,13 @@ public interface StatementProcessor
             throw new UnsupportedOperationException( "Unable to begin a transaction" );
         }
 
+        @Override
+        public void beginTransaction( Bookmark bookmark, Duration txTimeout, Map<String,Object> txMetadata, TransactionOptions txOptions )
+                throws KernelException
+        {
+            throw new UnsupportedOperationException( "Unable to begin a transaction" );
+        }
+
         @Override
         public StatementMetadata run( String statement, MapValue params ) throws KernelException
         {
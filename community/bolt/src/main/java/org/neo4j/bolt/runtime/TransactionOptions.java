@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.runtime;
+
+import java.util.Objects;
+
+/**
+ * Options of an explicit transaction that are set by the client when it begins the transaction, on top of its
+ * bookmark, timeout and metadata.
+ */
+public final class TransactionOptions
+{
+    public static final TransactionOptions DEFAULT = new TransactionOptions( false, null, false );
+
+    private final boolean asyncCommit;
+    private final Long memoryLimit;
+    private final boolean snapshotReads;
+
+    /**
+     * @param asyncCommit whether the commit of the transaction may return before it has been forced to disk.
+     * @param memoryLimit limit in bytes of the transaction state of the transaction, which can only lower the configured limit,
+     * or {@code null} to use the configured limit.
+     * @param snapshotReads whether the queries of the transaction read from a consistent snapshot.
+     */
+    public TransactionOptions( boolean asyncCommit, Long memoryLimit, boolean snapshotReads )
+    {
+        this.asyncCommit = asyncCommit;
+        this.memoryLimit = memoryLimit;
+        this.snapshotReads = snapshotReads;
+    }
+
+    public boolean asyncCommit()
+    {
+        return asyncCommit;
+    }
+
+    public Long memoryLimit()
+    {
+        return memoryLimit;
+    }
+
+    public boolean snapshotReads()
+    {
+        return snapshotReads;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+        TransactionOptions that = (TransactionOptions) o;
+        return asyncCommit == that.asyncCommit && snapshotReads == that.snapshotReads && Objects.equals( memoryLimit, that.memoryLimit );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash( asyncCommit, memoryLimit, snapshotReads );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TransactionOptions{asyncCommit=" + asyncCommit + ", memoryLimit=" + memoryLimit + ", snapshotReads=" + snapshotReads + "}";
+    }
+}
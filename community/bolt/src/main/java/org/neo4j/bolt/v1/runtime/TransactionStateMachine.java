@@ -28,6 +28,7 @@ import org.neo4j.bolt.runtime.BoltResult;
 import org.neo4j.bolt.runtime.BoltResultHandle;
 import org.neo4j.bolt.runtime.StatementMetadata;
 import org.neo4j.bolt.runtime.StatementProcessor;
+import org.neo4j.bolt.runtime.TransactionOptions;
 import org.neo4j.bolt.runtime.TransactionStateMachineSPI;
 import org.neo4j.bolt.security.auth.AuthenticationResult;
 import org.neo4j.bolt.v1.runtime.bookmarking.Bookmark;
@@ -78,6 +79,13 @@ public class TransactionStateMachine implements StatementProcessor
 
     @Override
     public void beginTransaction( Bookmark bookmark, Duration txTimeout, Map<String,Object> txMetadata ) throws KernelException
+    {
+        beginTransaction( bookmark, txTimeout, txMetadata, TransactionOptions.DEFAULT );
+    }
+
+    @Override
+    public void beginTransaction( Bookmark bookmark, Duration txTimeout, Map<String,Object> txMetadata, TransactionOptions txOptions )
+            throws KernelException
     {
         before();
         try
@@ -85,6 +93,18 @@ public class TransactionStateMachine implements StatementProcessor
             ensureNoPendingTerminationNotice();
 
             state = state.beginTransaction( ctx, spi, bookmark, txTimeout, txMetadata );
+            if ( txOptions.asyncCommit() )
+            {
+                ctx.currentTransaction.setAsyncCommit( true );
+            }
+            if ( txOptions.memoryLimit() != null )
+            {
+                ctx.currentTransaction.setMemoryLimit( txOptions.memoryLimit() );
+            }
+            if ( txOptions.snapshotReads() )
+            {
+                ctx.currentTransaction.setSnapshotReads( true );
+            }
         }
         finally
         {
@@ -25,12 +25,14 @@ import java.util.Objects;
 
 import org.neo4j.bolt.messaging.BoltIOException;
 import org.neo4j.bolt.messaging.RequestMessage;
+import org.neo4j.bolt.runtime.TransactionOptions;
 import org.neo4j.bolt.v1.runtime.bookmarking.Bookmark;
 import org.neo4j.values.virtual.MapValue;
 import org.neo4j.values.virtual.VirtualValues;
 
 import static java.util.Objects.requireNonNull;
 import static org.neo4j.bolt.v3.messaging.request.MessageMetadataParser.parseTransactionMetadata;
+import static org.neo4j.bolt.v3.messaging.request.MessageMetadataParser.parseTransactionOptions;
 import static org.neo4j.bolt.v3.messaging.request.MessageMetadataParser.parseTransactionTimeout;
 
 public class BeginMessage implements RequestMessage
@@ -41,6 +43,7 @@ public class BeginMessage implements RequestMessage
     private final Bookmark bookmark;
     private final Duration txTimeout;
     private final Map<String,Object> txMetadata;
+    private final TransactionOptions txOptions;
 
     public BeginMessage() throws BoltIOException
     {
@@ -53,6 +56,7 @@ public class BeginMessage implements RequestMessage
         this.bookmark = Bookmark.fromParamsOrNull( meta );
         this.txTimeout = parseTransactionTimeout( meta );
         this.txMetadata = parseTransactionMetadata( meta );
+        this.txOptions = parseTransactionOptions( meta );
     }
 
     public Bookmark bookmark()
@@ -107,4 +111,9 @@ public class BeginMessage implements RequestMessage
     {
         return txMetadata;
     }
+
+    public TransactionOptions transactionOptions()
+    {
+        return txOptions;
+    }
 }
@@ -24,12 +24,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.neo4j.bolt.messaging.BoltIOException;
+import org.neo4j.bolt.runtime.TransactionOptions;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.spatial.Point;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.impl.util.BaseToObjectValueWriter;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.BooleanValue;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.LongValue;
 import org.neo4j.values.storable.Values;
@@ -37,11 +39,15 @@ import org.neo4j.values.virtual.MapValue;
 
 /**
  * The parsing methods in this class returns null if the specified key is not found in the input message metadata map.
+ * Missing transaction options are parsed as their defaults instead.
  */
 final class MessageMetadataParser
 {
     private static final String TX_TIMEOUT_KEY = "tx_timeout";
     private static final String TX_META_DATA_KEY = "tx_metadata";
+    private static final String TX_ASYNC_COMMIT_KEY = "tx_async_commit";
+    private static final String TX_MEMORY_LIMIT_KEY = "tx_memory_limit";
+    private static final String TX_SNAPSHOT_READS_KEY = "tx_snapshot_reads";
 
     private MessageMetadataParser()
     {
@@ -64,6 +70,18 @@ final class MessageMetadataParser
         }
     }
 
+    static TransactionOptions parseTransactionOptions( MapValue meta ) throws BoltIOException
+    {
+        boolean asyncCommit = parseBoolean( meta, TX_ASYNC_COMMIT_KEY, "transaction async commit" );
+        Long memoryLimit = parseNonNegativeLong( meta, TX_MEMORY_LIMIT_KEY, "transaction memory limit" );
+        boolean snapshotReads = parseBoolean( meta, TX_SNAPSHOT_READS_KEY, "transaction snapshot reads" );
+        if ( !asyncCommit && memoryLimit == null && !snapshotReads )
+        {
+            return TransactionOptions.DEFAULT;
+        }
+        return new TransactionOptions( asyncCommit, memoryLimit, snapshotReads );
+    }
+
     static Map<String,Object> parseTransactionMetadata( MapValue meta ) throws BoltIOException
     {
         AnyValue anyValue = meta.get( TX_META_DATA_KEY );
@@ -85,6 +103,41 @@ final class MessageMetadataParser
         }
     }
 
+    private static boolean parseBoolean( MapValue meta, String key, String description ) throws BoltIOException
+    {
+        AnyValue anyValue = meta.get( key );
+        if ( anyValue == Values.NO_VALUE )
+        {
+            return false;
+        }
+        else if ( anyValue instanceof BooleanValue )
+        {
+            return ((BooleanValue) anyValue).booleanValue();
+        }
+        else
+        {
+            throw new BoltIOException( Status.Request.Invalid, "Expecting " + description + " value to be a Boolean value, but got: " + anyValue );
+        }
+    }
+
+    private static Long parseNonNegativeLong( MapValue meta, String key, String description ) throws BoltIOException
+    {
+        AnyValue anyValue = meta.get( key );
+        if ( anyValue == Values.NO_VALUE )
+        {
+            return null;
+        }
+        else if ( anyValue instanceof LongValue && ((LongValue) anyValue).longValue() >= 0 )
+        {
+            return ((LongValue) anyValue).longValue();
+        }
+        else
+        {
+            throw new BoltIOException( Status.Request.Invalid,
+                    "Expecting " + description + " value to be a non-negative Long value, but got: " + anyValue );
+        }
+    }
+
     private static class TransactionMetadataWriter extends BaseToObjectValueWriter<RuntimeException>
     {
         @Override
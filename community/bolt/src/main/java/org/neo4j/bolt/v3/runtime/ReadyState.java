@@ -95,7 +95,8 @@ public class ReadyState extends FailSafeBoltStateMachineState
     private BoltStateMachineState processBeginMessage( BeginMessage message, StateMachineContext context ) throws Exception
     {
         StatementProcessor statementProcessor = context.connectionState().getStatementProcessor();
-        statementProcessor.beginTransaction( message.bookmark(), message.transactionTimeout(), message.transactionMetadata() );
+        statementProcessor.beginTransaction( message.bookmark(), message.transactionTimeout(), message.transactionMetadata(),
+                message.transactionOptions() );
         return txReadyState;
     }
 
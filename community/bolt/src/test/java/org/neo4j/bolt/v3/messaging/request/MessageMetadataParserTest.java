@@ -22,11 +22,14 @@ package org.neo4j.bolt.v3.messaging.request;
 import org.junit.jupiter.api.Test;
 
 import org.neo4j.bolt.messaging.BoltIOException;
+import org.neo4j.bolt.runtime.TransactionOptions;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.bolt.v3.messaging.request.MessageMetadataParser.parseTransactionMetadata;
+import static org.neo4j.bolt.v3.messaging.request.MessageMetadataParser.parseTransactionOptions;
 import static org.neo4j.bolt.v3.messaging.request.MessageMetadataParser.parseTransactionTimeout;
 import static org.neo4j.helpers.collection.MapUtil.map;
 import static org.neo4j.kernel.impl.util.ValueUtils.asMapValue;
@@ -63,4 +66,30 @@ class MessageMetadataParserTest
 
         assertTrue( e.causesFailureMessage() );
     }
+
+    @Test
+    void shouldParseNoTransactionOptionsAsDefault() throws Exception
+    {
+        assertEquals( TransactionOptions.DEFAULT, parseTransactionOptions( emptyMap() ) );
+    }
+
+    @Test
+    void shouldParseTransactionOptions() throws Exception
+    {
+        TransactionOptions options = parseTransactionOptions(
+                asMapValue( map( "tx_async_commit", true, "tx_memory_limit", 1024L, "tx_snapshot_reads", true ) ) );
+
+        assertEquals( new TransactionOptions( true, 1024L, true ), options );
+    }
+
+    @Test
+    void shouldThrowForIncorrectTransactionOptions()
+    {
+        assertTrue( assertThrows( BoltIOException.class,
+                () -> parseTransactionOptions( asMapValue( map( "tx_async_commit", "yes" ) ) ) ).causesFailureMessage() );
+        assertTrue( assertThrows( BoltIOException.class,
+                () -> parseTransactionOptions( asMapValue( map( "tx_memory_limit", -1L ) ) ) ).causesFailureMessage() );
+        assertTrue( assertThrows( BoltIOException.class,
+                () -> parseTransactionOptions( asMapValue( map( "tx_snapshot_reads", 1L ) ) ) ).causesFailureMessage() );
+    }
 }
@@ -144,6 +144,10 @@ public interface Status
         TransactionTimedOut( ClientError,
                 "The transaction has not completed within the specified timeout (dbms.transaction.timeout). You may want to retry with a longer " +
                 "timeout." ),
+        TransactionMemoryLimitExceeded( ClientError,
+                "The transaction needed more off-heap memory for its state than it is allowed to use " +
+                "(dbms.tx_state.max_off_heap_memory_per_transaction). Only the off-heap state of uncommitted changes is counted; " +
+                "memory used by read queries and on-heap state is not limited. You may want to split it into smaller transactions." ),
         InvalidBookmark( ClientError,
                 "Supplied bookmark cannot be interpreted. You should only supply a bookmark previously that was " +
                 "previously generated by Neo4j. Maybe you have generated your own bookmark, " +
@@ -28,9 +28,12 @@ import java.util.Collections;
 import org.neo4j.cypher.internal.CompilerFactory;
 import org.neo4j.graphdb.QueryStatistics;
 import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.kernel.GraphDatabaseQueryService;
+import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.configuration.Settings;
 import org.neo4j.kernel.impl.api.KernelStatement;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
 import org.neo4j.kernel.impl.query.TransactionalContext;
@@ -43,6 +46,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -57,22 +61,26 @@ public class SnapshotExecutionEngineTest
     private VersionContext versionContext;
     private SnapshotExecutionEngine.ParametrizedQueryExecutor executor;
     private TransactionalContext transactionalContext;
+    private KernelTransaction kernelTransaction;
+    private GraphDatabaseQueryService cypherService;
     private final Config config = Config.defaults();
 
     @Before
     public void setUp() throws Exception
     {
-        GraphDatabaseQueryService cypherService = new GraphDatabaseCypherService( this.database.getGraphDatabaseAPI() );
+        cypherService = new GraphDatabaseCypherService( this.database.getGraphDatabaseAPI() );
 
         compilerFactory = mock( CompilerFactory.class );
         transactionalContext = mock( TransactionalContext.class );
         KernelStatement kernelStatement = mock( KernelStatement.class );
+        kernelTransaction = mock( KernelTransaction.class );
         executor = mock( SnapshotExecutionEngine.ParametrizedQueryExecutor.class );
         versionContext = mock( VersionContext.class );
 
         executionEngine = createExecutionEngine(cypherService);
         when( kernelStatement.getVersionContext() ).thenReturn( versionContext );
         when( transactionalContext.statement() ).thenReturn( kernelStatement );
+        when( transactionalContext.kernelTransaction() ).thenReturn( kernelTransaction );
         Result result = mock( Result.class );
         QueryStatistics statistics = mock( QueryStatistics.class );
         when( result.getQueryStatistics() ).thenReturn( statistics );
@@ -117,6 +125,33 @@ public class SnapshotExecutionEngineTest
         verify( versionContext, times( 5 ) ).initRead();
     }
 
+    @Test
+    public void executeQueryDirectlyWhenSnapshotReadsNotRequested() throws QueryExecutionKernelException
+    {
+        TestSnapshotExecutionEngine onRequestEngine = createExecutionEngine( cypherService,
+                Config.defaults( GraphDatabaseSettings.snapshot_query_on_request, Settings.TRUE ) );
+        when( versionContext.isDirty() ).thenReturn( true );
+
+        onRequestEngine.executeWithRetries( "query", Collections.emptyMap(), transactionalContext, executor );
+
+        verify( executor, times( 1 ) ).execute( any(), anyMap(), any() );
+        verify( versionContext, never() ).initRead();
+    }
+
+    @Test
+    public void executeQueryWithRetriesWhenSnapshotReadsRequested() throws QueryExecutionKernelException
+    {
+        TestSnapshotExecutionEngine onRequestEngine = createExecutionEngine( cypherService,
+                Config.defaults( GraphDatabaseSettings.snapshot_query_on_request, Settings.TRUE ) );
+        when( kernelTransaction.snapshotReads() ).thenReturn( true );
+        when( versionContext.isDirty() ).thenReturn( true, false );
+
+        onRequestEngine.executeWithRetries( "query", Collections.emptyMap(), transactionalContext, executor );
+
+        verify( executor, times( 2 ) ).execute( any(), anyMap(), any() );
+        verify( versionContext, times( 2 ) ).initRead();
+    }
+
     private class TestSnapshotExecutionEngine extends SnapshotExecutionEngine
     {
 
@@ -135,6 +170,11 @@ public class SnapshotExecutionEngineTest
     }
 
     private TestSnapshotExecutionEngine createExecutionEngine( GraphDatabaseQueryService cypherService )
+    {
+        return createExecutionEngine( cypherService, config );
+    }
+
+    private TestSnapshotExecutionEngine createExecutionEngine( GraphDatabaseQueryService cypherService, Config config )
     {
         return new TestSnapshotExecutionEngine( cypherService, config, NullLogProvider.getInstance(),
                                                 compilerFactory );
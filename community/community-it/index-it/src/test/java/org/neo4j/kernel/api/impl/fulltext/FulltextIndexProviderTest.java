@@ -25,6 +25,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -37,8 +39,12 @@ import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.schema.IndexDefinition;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.IndexReference;
 import org.neo4j.internal.kernel.api.InternalIndexState;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.InvalidTransactionTypeKernelException;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
@@ -159,6 +165,28 @@ public class FulltextIndexProviderTest
         verifyNodeData( provider, thirdNodeid );
     }
 
+    @Test
+    public void nodeIndexSeekMustSeeNodesAddedChangedAndDeletedInTransaction() throws Exception
+    {
+        IndexReference indexReference = createIndex( new int[]{0, 1, 2}, new int[]{0, 1, 2, 3} );
+        await( indexReference );
+        long deletedNodeId = createTheThirdNode();
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node added = db.createNode( label( "hej" ) );
+            added.setProperty( "hej", "villa" );
+            db.getNodeById( deletedNodeId ).delete();
+            node1.setProperty( "hej", "changed" );
+
+            KernelTransaction ktx = LuceneFulltextTestSupport.kernelTransaction( tx );
+            assertThat( seek( ktx, indexReference, "villa" ), containsInAnyOrder( added.getId() ) );
+            assertThat( seek( ktx, indexReference, "changed" ), containsInAnyOrder( node1.getId() ) );
+            assertTrue( seek( ktx, indexReference, "value" ).isEmpty() );
+            tx.success();
+        }
+    }
+
     @Test
     public void createAndQueryFulltextRelationshipIndex() throws Exception
     {
@@ -456,6 +484,21 @@ public class FulltextIndexProviderTest
         }
     }
 
+    private static List<Long> seek( KernelTransaction ktx, IndexReference index, String query ) throws KernelException
+    {
+        List<Long> nodes = new ArrayList<>();
+        try ( NodeValueIndexCursor cursor = ktx.cursors().allocateNodeValueIndexCursor() )
+        {
+            ktx.dataRead().nodeIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.fulltextSearch( query ) );
+            while ( cursor.next() )
+            {
+                assertFalse( Float.isNaN( cursor.score() ) );
+                nodes.add( cursor.nodeReference() );
+            }
+        }
+        return nodes;
+    }
+
     private void await( IndexReference descriptor ) throws IndexNotFoundKernelException
     {
         try ( Transaction ignore = db.beginTx() )
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphdb;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.DeadlockDetectedException;
+import org.neo4j.test.OtherThreadExecutor.WorkerCommand;
+import org.neo4j.test.rule.DatabaseRule;
+import org.neo4j.test.rule.ImpermanentDatabaseRule;
+import org.neo4j.test.rule.concurrent.OtherThreadRule;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Transactions adding relationships of types a dense node already has take only a shared lock on the node when
+ * {@link GraphDatabaseSettings#relationship_group_locking} is enabled, which makes any later need for the exclusive
+ * node lock in the same transaction a lock upgrade.
+ */
+public class RelationshipGroupLockingIT
+{
+    private static final RelationshipType TYPE_A = RelationshipType.withName( "A" );
+    private static final RelationshipType TYPE_B = RelationshipType.withName( "B" );
+
+    @Rule
+    public final DatabaseRule db = new ImpermanentDatabaseRule()
+            .withSetting( GraphDatabaseSettings.dense_node_threshold, "1" )
+            .startLazily();
+    @Rule
+    public final OtherThreadRule<Void> t2 = new OtherThreadRule<>( "T2-" + getClass().getName() );
+
+    @Test
+    public void transactionsUpgradingToExclusiveLockOnSameDenseNodeTakeTurnsByDefault() throws Exception
+    {
+        // given
+        Node hub = createHubWithRelationshipsOfTypes( TYPE_A, TYPE_B );
+
+        // when
+        Transaction t1Tx = db.beginTx();
+        hub.createRelationshipTo( db.createNode(), TYPE_A );
+        Transaction t2Tx = t2.execute( beginTx() ).get();
+        Future<Void> t2Create = t2.execute( createRelationshipAndSetProperty( hub, TYPE_B, "t2" ) );
+        t2.get().waitUntilWaiting();
+        hub.setProperty( "t1", true );
+        t1Tx.success();
+        t1Tx.close();
+        t2Create.get();
+        t2.execute( commit( t2Tx ) ).get();
+
+        // then
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertEquals( true, hub.getProperty( "t1" ) );
+            assertEquals( true, hub.getProperty( "t2" ) );
+            assertEquals( 4, hub.getDegree() );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void transactionsUpgradingToExclusiveLockOnSameDenseNodeDeadlockWithRelationshipGroupLocking() throws Exception
+    {
+        // given
+        db.withSetting( GraphDatabaseSettings.relationship_group_locking, "true" );
+        Node hub = createHubWithRelationshipsOfTypes( TYPE_A, TYPE_B );
+
+        // when both transactions hold the shared node lock, and both need the exclusive one
+        Transaction t1Tx = db.beginTx();
+        hub.createRelationshipTo( db.createNode(), TYPE_A );
+        Transaction t2Tx = t2.execute( beginTx() ).get();
+        Future<Void> t2Upgrade = t2.execute( createRelationshipAndSetProperty( hub, TYPE_B, "t2" ) );
+        t2.get().waitUntilWaiting();
+        Throwable deadlock = null;
+        try
+        {
+            hub.setProperty( "t1", true );
+        }
+        catch ( DeadlockDetectedException e )
+        {
+            deadlock = e;
+        }
+        t1Tx.close();
+        try
+        {
+            t2Upgrade.get();
+        }
+        catch ( ExecutionException e )
+        {
+            deadlock = e.getCause();
+        }
+        t2.execute( rollback( t2Tx ) ).get();
+
+        // then one of them is aborted, rather than the two taking turns
+        assertNotNull( deadlock );
+        assertThat( deadlock, instanceOf( DeadlockDetectedException.class ) );
+    }
+
+    private Node createHubWithRelationshipsOfTypes( RelationshipType... types )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node hub = db.createNode();
+            for ( RelationshipType type : types )
+            {
+                hub.createRelationshipTo( db.createNode(), type );
+            }
+            tx.success();
+            return hub;
+        }
+    }
+
+    private WorkerCommand<Void,Transaction> beginTx()
+    {
+        return state -> db.beginTx();
+    }
+
+    private WorkerCommand<Void,Void> createRelationshipAndSetProperty( Node hub, RelationshipType type, String key )
+    {
+        return state ->
+        {
+            hub.createRelationshipTo( db.createNode(), type );
+            hub.setProperty( key, true );
+            return null;
+        };
+    }
+
+    private WorkerCommand<Void,Void> commit( Transaction tx )
+    {
+        return state ->
+        {
+            tx.success();
+            tx.close();
+            return null;
+        };
+    }
+
+    private WorkerCommand<Void,Void> rollback( Transaction tx )
+    {
+        return state ->
+        {
+            tx.close();
+            return null;
+        };
+    }
+}
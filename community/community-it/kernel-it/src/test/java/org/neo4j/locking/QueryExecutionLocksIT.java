@@ -811,6 +811,30 @@ public class QueryExecutionLocksIT
             return internal.getMetaData();
         }
 
+        @Override
+        public void setAsyncCommit( boolean asyncCommit )
+        {
+            internal.setAsyncCommit( asyncCommit );
+        }
+
+        @Override
+        public void setMemoryLimit( long limitBytes )
+        {
+            internal.setMemoryLimit( limitBytes );
+        }
+
+        @Override
+        public void setSnapshotReads( boolean snapshotReads )
+        {
+            internal.setSnapshotReads( snapshotReads );
+        }
+
+        @Override
+        public boolean snapshotReads()
+        {
+            return internal.snapshotReads();
+        }
+
         @Override
         public void assertOpen()
         {
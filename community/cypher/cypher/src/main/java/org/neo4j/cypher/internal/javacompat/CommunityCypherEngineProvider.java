@@ -72,7 +72,7 @@ public class CommunityCypherEngineProvider extends QueryEngineProvider
     private QueryExecutionEngine createEngine( GraphDatabaseCypherService queryService, Config config,
                                                LogProvider logProvider, CommunityCompilerFactory compilerFactory )
     {
-        return config.get( GraphDatabaseSettings.snapshot_query ) ?
+        return config.get( GraphDatabaseSettings.snapshot_query ) || config.get( GraphDatabaseSettings.snapshot_query_on_request ) ?
                snapshotEngine( queryService, config, logProvider, compilerFactory ) :
                standardEngine( queryService, logProvider, compilerFactory );
     }
@@ -36,16 +36,22 @@ import org.neo4j.values.virtual.MapValue;
  * that coming from transaction that are newer then transaction that was the last closed on a moment when
  * {@link VersionContext} was initialised. Observed behaviour is the same as executing query on top data snapshot for
  * that version.
+ * <p>
+ * With {@link GraphDatabaseSettings#snapshot_query_on_request} only queries of transactions that asked for
+ * {@link org.neo4j.kernel.api.KernelTransaction#setSnapshotReads(boolean) snapshot reads} are executed this way, other
+ * queries are executed directly against the live data.
  */
 public class SnapshotExecutionEngine extends ExecutionEngine
 {
     private final int maxQueryExecutionAttempts;
+    private final boolean onRequestOnly;
 
     SnapshotExecutionEngine( GraphDatabaseQueryService queryService, Config config, LogProvider logProvider,
                              CompilerFactory compilerFactory )
     {
         super( queryService, logProvider, compilerFactory );
         this.maxQueryExecutionAttempts = config.get( GraphDatabaseSettings.snapshot_query_retries );
+        this.onRequestOnly = !config.get( GraphDatabaseSettings.snapshot_query ) && config.get( GraphDatabaseSettings.snapshot_query_on_request );
     }
 
     @Override
@@ -65,6 +71,10 @@ public class SnapshotExecutionEngine extends ExecutionEngine
     protected <T> Result executeWithRetries( String query, T parameters, TransactionalContext context,
             ParametrizedQueryExecutor<T> executor ) throws QueryExecutionKernelException
     {
+        if ( onRequestOnly && !context.kernelTransaction().snapshotReads() )
+        {
+            return executor.execute( query, parameters, context );
+        }
         VersionContext versionContext = getCursorContext( context );
         EagerResult eagerResult;
         int attempt = 0;
@@ -946,11 +946,10 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
   }
 
   override def lockNodes(nodeIds: Long*) =
-    nodeIds.sorted.foreach(transactionalContext.kernelTransaction.locks().acquireExclusiveNodeLock(_))
+    transactionalContext.kernelTransaction.locks().acquireExclusiveNodeLock(nodeIds: _*)
 
   override def lockRelationships(relIds: Long*) =
-    relIds.sorted
-      .foreach(transactionalContext.kernelTransaction.locks().acquireExclusiveRelationshipLock(_))
+    transactionalContext.kernelTransaction.locks().acquireExclusiveRelationshipLock(relIds: _*)
 
   override def singleShortestPath(left: Long, right: Long, depth: Int, expander: Expander,
                                   pathPredicate: KernelPredicate[Path],
@@ -26,7 +26,8 @@ import java.util.function.Function;
 
 import org.neo4j.internal.kernel.api.IndexReference;
 import org.neo4j.io.IOUtils;
-import org.neo4j.kernel.api.txstate.auxiliary.AuxiliaryTransactionState;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.txstate.auxiliary.IndexReaderTransactionState;
 import org.neo4j.kernel.impl.api.KernelTransactionImplementation;
 import org.neo4j.logging.Log;
 import org.neo4j.storageengine.api.StorageCommand;
@@ -36,7 +37,7 @@ import org.neo4j.storageengine.api.StorageCommand;
  * <p>
  * For the transaction state of the individual fulltext schema index, see the {@link FulltextIndexTransactionState} class.
  */
-class FulltextAuxiliaryTransactionState implements AuxiliaryTransactionState, Function<IndexReference,FulltextIndexTransactionState>
+class FulltextAuxiliaryTransactionState implements IndexReaderTransactionState, Function<IndexReference,FulltextIndexTransactionState>
 {
     private final FulltextIndexProvider provider;
     private final Log log;
@@ -69,6 +70,20 @@ class FulltextAuxiliaryTransactionState implements AuxiliaryTransactionState, Fu
         // We never have any commands to extract, because this transaction state is only used for reading.
     }
 
+    /**
+     * Eventually consistent indexes don't see the changes of this transaction, just like they don't see those of
+     * other transactions right away, so they are read from the store.
+     */
+    @Override
+    public FulltextIndexReader indexReader( IndexReference indexReference, KernelTransaction transaction )
+    {
+        if ( provider.isEventuallyConsistent( indexReference ) )
+        {
+            return null;
+        }
+        return indexReader( indexReference, (KernelTransactionImplementation) transaction );
+    }
+
     FulltextIndexReader indexReader( IndexReference indexReference, KernelTransactionImplementation kti )
     {
         FulltextIndexTransactionState state = indexStates.computeIfAbsent( indexReference, this );
@@ -80,7 +80,6 @@ import static org.neo4j.kernel.api.impl.fulltext.FulltextIndexSettings.readOrIni
 
 class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, AuxiliaryTransactionStateProvider
 {
-    private static final String TX_STATE_PROVIDER_KEY = "FULLTEXT SCHEMA INDEX TRANSACTION STATE";
 
     private final FileSystemAbstraction fileSystem;
     private final Config config;
@@ -394,7 +393,7 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         FulltextIndexReader fulltextIndexReader;
         if ( kti.hasTxStateWithChanges() && !isEventuallyConsistent( indexReference ) )
         {
-            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( TX_STATE_PROVIDER_KEY );
+            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( getProviderDescriptor() );
             fulltextIndexReader = auxiliaryTxState.indexReader( indexReference, kti );
         }
         else
@@ -415,7 +414,7 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         FulltextIndexReader fulltextIndexReader;
         if ( kti.hasTxStateWithChanges() && !isEventuallyConsistent( indexReference ) )
         {
-            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( TX_STATE_PROVIDER_KEY );
+            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( getProviderDescriptor() );
             fulltextIndexReader = auxiliaryTxState.indexReader( indexReference, kti );
         }
         else
@@ -436,7 +435,7 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         FulltextIndexReader fulltextIndexReader;
         if ( kti.hasTxStateWithChanges() && !isEventuallyConsistent( indexReference ) )
         {
-            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( TX_STATE_PROVIDER_KEY );
+            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( getProviderDescriptor() );
             fulltextIndexReader = auxiliaryTxState.indexReader( indexReference, kti );
         }
         else
@@ -447,7 +446,7 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         return fulltextIndexReader.queryForCount( queryString );
     }
 
-    private boolean isEventuallyConsistent( IndexReference indexReference )
+    boolean isEventuallyConsistent( IndexReference indexReference )
     {
         if ( indexReference instanceof CapableIndexDescriptor )
         {
@@ -473,7 +472,8 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
     @Override
     public Object getIdentityKey()
     {
-        return TX_STATE_PROVIDER_KEY;
+        // Keyed by the provider descriptor, so that the kernel can find the transaction state of an index from its provider
+        return getProviderDescriptor();
     }
 
     @Override
@@ -26,12 +26,21 @@ import org.neo4j.internal.kernel.api.IndexOrder;
 import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.values.storable.Value;
 
 public abstract class FulltextIndexReader implements IndexReader
 {
+    protected final IndexDescriptor descriptor;
+
+    protected FulltextIndexReader( IndexDescriptor descriptor )
+    {
+        this.descriptor = descriptor;
+    }
+
     /**
      * Queires the fulltext index with the given lucene-syntax query
      *
@@ -60,7 +69,25 @@ public abstract class FulltextIndexReader implements IndexReader
     public void query( IndexProgressor.NodeValueClient client, IndexOrder indexOrder, boolean needsValues, IndexQuery... query )
             throws IndexNotApplicableKernelException
     {
-        throw new IndexNotApplicableKernelException( "Fulltext indexes does not support IndexQuery queries" );
+        if ( query.length != 1 || !(query[0] instanceof IndexQuery.FulltextSearchPredicate) )
+        {
+            throw new IndexNotApplicableKernelException( "Fulltext indexes only support fulltext search IndexQuery queries" );
+        }
+        if ( indexOrder != IndexOrder.NONE )
+        {
+            throw new IndexNotApplicableKernelException( "Fulltext indexes does not support ordered queries" );
+        }
+        String queryString = ((IndexQuery.FulltextSearchPredicate) query[0]).query();
+        ScoreEntityIterator iterator;
+        try
+        {
+            iterator = query( queryString );
+        }
+        catch ( ParseException e )
+        {
+            throw new IndexNotApplicableKernelException( "Could not parse fulltext query '" + queryString + "': " + e.getMessage() );
+        }
+        client.initialize( descriptor, new ScoreEntityProgressor( iterator, client ), query, indexOrder, false );
     }
 
     @Override
@@ -74,4 +101,39 @@ public abstract class FulltextIndexReader implements IndexReader
     {
         return false;
     }
+
+    /**
+     * Streams the hits of a fulltext query to a {@link IndexProgressor.NodeValueClient}, together with their scores.
+     * Fulltext indexes do not store the indexed values, so no values are ever handed to the client.
+     */
+    private static class ScoreEntityProgressor implements IndexProgressor
+    {
+        private final ScoreEntityIterator iterator;
+        private final NodeValueClient client;
+
+        ScoreEntityProgressor( ScoreEntityIterator iterator, NodeValueClient client )
+        {
+            this.iterator = iterator;
+            this.client = client;
+        }
+
+        @Override
+        public boolean next()
+        {
+            while ( iterator.hasNext() )
+            {
+                ScoreEntityIterator.ScoreEntry entry = iterator.next();
+                if ( client.acceptNode( entry.entityId(), entry.score(), (Value[]) null ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
 }
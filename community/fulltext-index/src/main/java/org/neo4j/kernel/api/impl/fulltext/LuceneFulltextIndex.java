@@ -121,14 +121,15 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
     {
         AbstractIndexPartition singlePartition = getFirstPartition( partitions );
         SearcherReference searcher = new PartitionSearcherReference( singlePartition.acquireSearcher() );
-        return new SimpleFulltextIndexReader( searcher, getPropertiesArray(), analyzer, propertyKeyTokenHolder, getSortPropertiesArray(), getSortTypes() );
+        return new SimpleFulltextIndexReader( descriptor, searcher, getPropertiesArray(), analyzer, propertyKeyTokenHolder, getSortPropertiesArray(),
+                                              getSortTypes() );
     }
 
     @Override
     protected FulltextIndexReader createPartitionedReader( List<AbstractIndexPartition> partitions ) throws IOException
     {
         List<PartitionSearcher> searchers = acquireSearchers( partitions );
-        return new PartitionedFulltextIndexReader( searchers, getPropertiesArray(), analyzer, propertyKeyTokenHolder, getSortPropertiesArray(),
+        return new PartitionedFulltextIndexReader( descriptor, searchers, getPropertiesArray(), analyzer, propertyKeyTokenHolder, getSortPropertiesArray(),
                                                    getSortTypes() );
     }
 }
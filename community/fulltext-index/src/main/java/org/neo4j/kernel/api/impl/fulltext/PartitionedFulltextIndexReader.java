@@ -32,6 +32,7 @@ import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.impl.index.partition.PartitionSearcher;
 import org.neo4j.kernel.api.impl.schema.reader.IndexReaderCloseException;
 import org.neo4j.kernel.impl.core.TokenHolder;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.values.storable.Value;
 
 /**
@@ -45,18 +46,19 @@ class PartitionedFulltextIndexReader extends FulltextIndexReader
 
     private final List<FulltextIndexReader> indexReaders;
 
-    PartitionedFulltextIndexReader( List<PartitionSearcher> partitionSearchers, String[] properties, Analyzer analyzer, TokenHolder propertyKeyTokenHolder,
-                                    String[] sortProperties, Map<String,String> sortTypes )
+    PartitionedFulltextIndexReader( IndexDescriptor descriptor, List<PartitionSearcher> partitionSearchers, String[] properties, Analyzer analyzer,
+                                    TokenHolder propertyKeyTokenHolder, String[] sortProperties, Map<String,String> sortTypes )
     {
-        this( partitionSearchers.stream()
-                                .map( PartitionSearcherReference::new )
-                                .map( searcher -> new SimpleFulltextIndexReader( searcher, properties, analyzer, propertyKeyTokenHolder, sortProperties,
-                                                                                 sortTypes ) )
-                                .collect( Collectors.toList() ) );
+        this( descriptor, partitionSearchers.stream()
+                                            .map( PartitionSearcherReference::new )
+                                            .map( searcher -> new SimpleFulltextIndexReader( descriptor, searcher, properties, analyzer, propertyKeyTokenHolder,
+                                                                                             sortProperties, sortTypes ) )
+                                            .collect( Collectors.toList() ) );
     }
 
-    private PartitionedFulltextIndexReader( List<FulltextIndexReader> readers )
+    private PartitionedFulltextIndexReader( IndexDescriptor descriptor, List<FulltextIndexReader> readers )
     {
+        super( descriptor );
         this.indexReaders = readers;
     }
 
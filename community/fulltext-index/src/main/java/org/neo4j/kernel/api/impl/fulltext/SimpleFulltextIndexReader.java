@@ -40,6 +40,7 @@ import org.neo4j.kernel.api.impl.index.collector.ValuesIterator;
 import org.neo4j.kernel.api.impl.schema.reader.IndexReaderCloseException;
 import org.neo4j.kernel.impl.core.TokenHolder;
 import org.neo4j.kernel.impl.util.FulltextSortType;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.values.storable.Value;
 
 /**
@@ -57,9 +58,10 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
     private final String[] sortProperties;
     private final Map<String,String> sortTypes;
 
-    SimpleFulltextIndexReader( SearcherReference searcherRef, String[] properties, Analyzer analyzer, TokenHolder propertyKeyTokenHolder,
-                               String[] sortProperties, Map<String,String> sortTypes )
+    SimpleFulltextIndexReader( IndexDescriptor descriptor, SearcherReference searcherRef, String[] properties, Analyzer analyzer,
+                               TokenHolder propertyKeyTokenHolder, String[] sortProperties, Map<String,String> sortTypes )
     {
+        super( descriptor );
         this.searcherRef = searcherRef;
         this.properties = properties;
         this.analyzer = analyzer;
@@ -37,6 +37,7 @@ class TransactionStateFulltextIndexReader extends FulltextIndexReader
     TransactionStateFulltextIndexReader( FulltextIndexReader baseReader, FulltextIndexReader nearRealTimeReader,
             MutableLongSet modifiedEntityIdsInThisTransaction )
     {
+        super( baseReader.descriptor );
         this.baseReader = baseReader;
         this.nearRealTimeReader = nearRealTimeReader;
         this.modifiedEntityIdsInThisTransaction = modifiedEntityIdsInThisTransaction;
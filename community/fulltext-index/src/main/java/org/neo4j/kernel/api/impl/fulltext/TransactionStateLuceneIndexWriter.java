@@ -97,8 +97,8 @@ public class TransactionStateLuceneIndexWriter implements LuceneIndexWriter, Clo
         DirectoryReader directoryReader = DirectoryReader.open( writer, true );
         IndexSearcher searcher = new IndexSearcher( directoryReader );
         SearcherReference searcherRef = new DirectSearcherReference( searcher, directoryReader );
-        return new SimpleFulltextIndexReader( searcherRef, index.getPropertiesArray(), index.getAnalyzer(), index.getPropertyKeyTokenHolder(),
-                                              index.getSortPropertiesArray(), index.getSortTypes() );
+        return new SimpleFulltextIndexReader( index.getDescriptor(), searcherRef, index.getPropertiesArray(), index.getAnalyzer(),
+                                              index.getPropertyKeyTokenHolder(), index.getSortPropertiesArray(), index.getSortTypes() );
     }
 
     @Override
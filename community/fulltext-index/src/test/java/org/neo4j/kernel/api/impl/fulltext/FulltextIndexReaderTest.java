@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
+import org.neo4j.kernel.api.impl.fulltext.ScoreEntityIterator.ScoreEntry;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.values.storable.Value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FulltextIndexReaderTest
+{
+    @Test
+    public void fulltextSearchPredicateMustStreamNodesWithScores() throws Exception
+    {
+        FulltextIndexReader reader = readerOf( new ScoreEntry( 3, 2.5f ), new ScoreEntry( 1, 1.5f ), new ScoreEntry( 7, 0.5f ) );
+        RecordingClient client = new RecordingClient( 1 );
+
+        reader.query( client, IndexOrder.NONE, false, IndexQuery.fulltextSearch( "bla" ) );
+
+        assertTrue( client.progressor.next() );
+        assertTrue( client.progressor.next() );
+        assertFalse( client.progressor.next() );
+        assertEquals( Arrays.asList( 3L, 7L ), client.nodes );
+        assertEquals( Arrays.asList( 2.5f, 0.5f ), client.scores );
+        assertEquals( "bla", client.queryString );
+    }
+
+    @Test( expected = IndexNotApplicableKernelException.class )
+    public void mustRejectNonFulltextPredicates() throws Exception
+    {
+        FulltextIndexReader reader = readerOf();
+        reader.query( new RecordingClient( -1 ), IndexOrder.NONE, false, IndexQuery.exists( 1 ) );
+    }
+
+    @Test( expected = IndexNotApplicableKernelException.class )
+    public void mustRejectOrderedQueries() throws Exception
+    {
+        FulltextIndexReader reader = readerOf();
+        reader.query( new RecordingClient( -1 ), IndexOrder.ASCENDING, false, IndexQuery.fulltextSearch( "bla" ) );
+    }
+
+    private static FulltextIndexReader readerOf( ScoreEntry... entries )
+    {
+        return new FulltextIndexReader( null )
+        {
+            @Override
+            public ScoreEntityIterator query( String query )
+            {
+                return iteratorOf( entries );
+            }
+
+            @Override
+            public ScoreEntityIterator query( String query, FulltextQueryConfig fulltextQueryConfig )
+            {
+                return iteratorOf( entries );
+            }
+
+            @Override
+            public CountResult queryForCount( String query )
+            {
+                return new CountResult( entries.length );
+            }
+
+            @Override
+            public long countIndexedNodes( long nodeId, int[] propertyKeyIds, Value... propertyValues )
+            {
+                return 0;
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+    }
+
+    private static ScoreEntityIterator iteratorOf( ScoreEntry[] input )
+    {
+        return new ScoreEntityIterator( null )
+        {
+            Iterator<ScoreEntry> entries = Arrays.asList( input ).iterator();
+
+            @Override
+            public boolean hasNext()
+            {
+                return entries.hasNext();
+            }
+
+            @Override
+            public ScoreEntry next()
+            {
+                return entries.next();
+            }
+        };
+    }
+
+    private static class RecordingClient implements IndexProgressor.NodeValueClient
+    {
+        private final long rejectedNode;
+        private final List<Long> nodes = new ArrayList<>();
+        private final List<Float> scores = new ArrayList<>();
+        private IndexProgressor progressor;
+        private String queryString;
+
+        RecordingClient( long rejectedNode )
+        {
+            this.rejectedNode = rejectedNode;
+        }
+
+        @Override
+        public void initialize( IndexDescriptor descriptor, IndexProgressor progressor, IndexQuery[] query, IndexOrder indexOrder,
+                boolean needsValues )
+        {
+            this.progressor = progressor;
+            this.queryString = ((IndexQuery.FulltextSearchPredicate) query[0]).query();
+        }
+
+        @Override
+        public boolean acceptNode( long reference, Value... values )
+        {
+            throw new AssertionError( "Fulltext indexes should always provide a score" );
+        }
+
+        @Override
+        public boolean acceptNode( long reference, float score, Value... values )
+        {
+            assertNull( values );
+            if ( reference == rejectedNode )
+            {
+                return false;
+            }
+            nodes.add( reference );
+            scores.add( score );
+            return true;
+        }
+
+        @Override
+        public boolean needsValues()
+        {
+            return false;
+        }
+    }
+}
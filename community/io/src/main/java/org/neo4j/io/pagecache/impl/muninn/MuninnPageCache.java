@@ -48,6 +48,7 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.memory.GlobalMemoryTracker;
 import org.neo4j.memory.MemoryAllocationTracker;
 import org.neo4j.scheduler.Group;
@@ -862,7 +863,7 @@ public class MuninnPageCache implements PageCache
             pageRef = pages.deref( clockArm );
             if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) )
             {
-                evicted = pages.tryEvict( pageRef, faultEvent );
+                evicted = pages.tryEvict( pageRef, faultEvent, versionContextSupplier.writeAheadBarrier() );
             }
             clockArm++;
         }
@@ -995,6 +996,8 @@ public class MuninnPageCache implements PageCache
 
     int evictPages( int pageCountToEvict, int clockArm, EvictionRunEvent evictionRunEvent )
     {
+        WriteAheadBarrier writeAheadBarrier = versionContextSupplier.writeAheadBarrier();
+        long highestNonDurableTransactionId = -1;
         while ( pageCountToEvict > 0 && !closed )
         {
             if ( clockArm == pages.getPageCount() )
@@ -1014,11 +1017,19 @@ public class MuninnPageCache implements PageCache
                 try
                 {
                     pageCountToEvict--;
-                    if ( pages.tryEvict( pageRef, evictionRunEvent ) )
+                    if ( pages.tryEvict( pageRef, evictionRunEvent, writeAheadBarrier ) )
                     {
                         clearEvictorException();
                         addFreePageToFreelist( pageRef );
                     }
+                    else
+                    {
+                        long lastModifiedTxId = pages.getLastModifiedTxId( pageRef );
+                        if ( !writeAheadBarrier.isDurable( lastModifiedTxId ) )
+                        {
+                            highestNonDurableTransactionId = Math.max( highestNonDurableTransactionId, lastModifiedTxId );
+                        }
+                    }
                 }
                 catch ( IOException e )
                 {
@@ -1038,6 +1049,19 @@ public class MuninnPageCache implements PageCache
             clockArm++;
         }
 
+        if ( highestNonDurableTransactionId != -1 )
+        {
+            // Dirty pages were skipped because their changes aren't in the transaction log yet. Make them durable
+            // now that we hold no page locks, so that those pages can be evicted in the next round.
+            try
+            {
+                writeAheadBarrier.makeDurable( highestNonDurableTransactionId );
+            }
+            catch ( IOException e )
+            {
+                evictorException = e;
+            }
+        }
         return clockArm;
     }
 
@@ -1082,6 +1106,7 @@ public class MuninnPageCache implements PageCache
         swappers.vacuum( swapperIds ->
         {
             int pageCount = pages.getPageCount();
+            WriteAheadBarrier writeAheadBarrier = versionContextSupplier.writeAheadBarrier();
             try ( EvictionRunEvent evictions = pageCacheTracer.beginPageEvictions( 0 ) )
             {
                 for ( int i = 0; i < pageCount; i++ )
@@ -1089,11 +1114,12 @@ public class MuninnPageCache implements PageCache
                     long pageRef = pages.deref( i );
                     while ( swapperIds.contains( pages.getSwapperId( pageRef ) ) )
                     {
-                        if ( pages.tryEvict( pageRef, evictions ) )
+                        if ( pages.tryEvict( pageRef, evictions, writeAheadBarrier ) )
                         {
                             addFreePageToFreelist( pageRef );
                             break;
                         }
+                        writeAheadBarrier.makeDurable( pages.getLastModifiedTxId( pageRef ) );
                     }
                 }
             }
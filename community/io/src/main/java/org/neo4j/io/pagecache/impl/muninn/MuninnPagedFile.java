@@ -39,6 +39,7 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
 
 final class MuninnPagedFile extends PageList implements PagedFile, Flushable
@@ -71,6 +72,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     final PageSwapper swapper;
     final int swapperId;
     private final CursorFactory cursorFactory;
+    private final VersionContextSupplier versionContextSupplier;
 
     // Guarded by the monitor lock on MuninnPageCache (map and unmap)
     private boolean deleteOnClose;
@@ -126,6 +128,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         this.pageCache = pageCache;
         this.filePageSize = filePageSize;
         this.cursorFactory = new CursorFactory( this, pageCursorTracerSupplier, pageCacheTracer, versionContextSupplier );
+        this.versionContextSupplier = versionContextSupplier;
         this.pageCacheTracer = pageCacheTracer;
         this.pageFaultLatches = new LatchMap();
 
@@ -373,8 +376,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             throws IOException
     {
         // TODO it'd be awesome if, on Linux, we'd call sync_file_range(2) instead of fsync
+        WriteAheadBarrier writeAheadBarrier = versionContextSupplier.writeAheadBarrier();
+        // Flush locks don't keep writers out, so a transaction that isn't durable yet could change a page while it's
+        // being written. With a write-ahead barrier in place pages are therefore flushed under exclusive locks.
+        boolean exclusive = forClosing || writeAheadBarrier != WriteAheadBarrier.NONE;
         long[] pages = new long[translationTableChunkSize];
-        long[] flushStamps = forClosing ? null : new long[translationTableChunkSize];
+        long[] flushStamps = exclusive ? null : new long[translationTableChunkSize];
         long[] bufferAddresses = new long[translationTableChunkSize];
         long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         long limiterStamp = IOLimiter.INITIAL_STAMP;
@@ -406,17 +413,33 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                         }
 
                         long flushStamp = 0;
-                        if ( !(forClosing ? tryExclusiveLock( pageRef ) : ((flushStamp = tryFlushLock( pageRef )) != 0)) )
+                        if ( !(exclusive ? tryExclusiveLock( pageRef ) : ((flushStamp = tryFlushLock( pageRef )) != 0)) )
                         {
                             continue;
                         }
+                        if ( isBoundTo( pageRef, swapperId, filePageId ) && isModified( pageRef ) &&
+                             !writeAheadBarrier.isDurable( getLastModifiedTxId( pageRef ) ) )
+                        {
+                            // The changes of the transaction that last modified this page aren't in the transaction
+                            // log yet. Release all our page locks before waiting for them, then try this page again.
+                            long lastModifiedTxId = getLastModifiedTxId( pageRef );
+                            unlockExclusive( pageRef );
+                            if ( pagesGrabbed > 0 )
+                            {
+                                vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, exclusive );
+                                limiterStamp = limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
+                                pagesGrabbed = 0;
+                            }
+                            writeAheadBarrier.makeDurable( lastModifiedTxId );
+                            continue;
+                        }
                         if ( isBoundTo( pageRef, swapperId, filePageId ) && isModified( pageRef ) )
                         {
                             // The page is still bound to the expected file and file page id after we locked it,
                             // so we didn't race with eviction and faulting, and the page is dirty.
                             // So we add it to our IO vector.
                             pages[pagesGrabbed] = pageRef;
-                            if ( !forClosing )
+                            if ( !exclusive )
                             {
                                 flushStamps[pagesGrabbed] = flushStamp;
                             }
@@ -424,7 +447,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                             pagesGrabbed++;
                             continue chunkLoop;
                         }
-                        else if ( forClosing )
+                        else if ( exclusive )
                         {
                             unlockExclusive( pageRef );
                         }
@@ -437,14 +460,14 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                 }
                 if ( pagesGrabbed > 0 )
                 {
-                    vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, forClosing );
+                    vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, exclusive );
                     limiterStamp = limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
                     pagesGrabbed = 0;
                 }
             }
             if ( pagesGrabbed > 0 )
             {
-                vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, forClosing );
+                vectoredFlush( pages, bufferAddresses, flushStamps, pagesGrabbed, flushes, exclusive );
                 limiterStamp = limiter.maybeLimitIO( limiterStamp, pagesGrabbed, this );
             }
         }
@@ -454,7 +477,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
     private void vectoredFlush(
             long[] pages, long[] bufferAddresses, long[] flushStamps, int pagesGrabbed,
-            FlushEventOpportunity flushOpportunity, boolean forClosing ) throws IOException
+            FlushEventOpportunity flushOpportunity, boolean exclusive ) throws IOException
     {
         FlushEvent flush = null;
         boolean successful = false;
@@ -485,7 +508,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         finally
         {
             // Always unlock all the pages in the vector
-            if ( forClosing )
+            if ( exclusive )
             {
                 for ( int i = 0; i < pagesGrabbed; i++ )
                 {
@@ -509,6 +532,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
     boolean flushLockedPage( long pageRef, long filePageId )
     {
+        if ( versionContextSupplier.writeAheadBarrier() != WriteAheadBarrier.NONE )
+        {
+            // Only the flush lock is held, which doesn't keep transactions that aren't durable yet from changing the
+            // page while it's written. Leave it dirty for a later flush or eviction instead.
+            return false;
+        }
         boolean success = false;
         try ( MajorFlushEvent flushEvent = pageCacheTracer.beginFileFlush( swapper ) )
         {
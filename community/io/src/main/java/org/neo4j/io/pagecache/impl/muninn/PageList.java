@@ -28,6 +28,7 @@ import org.neo4j.io.pagecache.tracing.EvictionEvent;
 import org.neo4j.io.pagecache.tracing.EvictionEventOpportunity;
 import org.neo4j.io.pagecache.tracing.FlushEvent;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
 
 import static java.lang.String.format;
@@ -455,10 +456,19 @@ class PageList
     }
 
     boolean tryEvict( long pageRef, EvictionEventOpportunity evictionOpportunity ) throws IOException
+    {
+        return tryEvict( pageRef, evictionOpportunity, WriteAheadBarrier.NONE );
+    }
+
+    /**
+     * Evicts the page unless it is locked, or it is dirty and the transaction that last modified it isn't
+     * {@link WriteAheadBarrier#isDurable(long) durable} yet.
+     */
+    boolean tryEvict( long pageRef, EvictionEventOpportunity evictionOpportunity, WriteAheadBarrier writeAheadBarrier ) throws IOException
     {
         if ( tryExclusiveLock( pageRef ) )
         {
-            if ( isLoaded( pageRef ) )
+            if ( isLoaded( pageRef ) && (!isModified( pageRef ) || writeAheadBarrier.isDurable( getLastModifiedTxId( pageRef ) )) )
             {
                 try ( EvictionEvent evictionEvent = evictionOpportunity.beginEviction() )
                 {
@@ -39,4 +39,20 @@ public interface VersionContextSupplier
      */
     VersionContext getVersionContext();
 
+    /**
+     * Set the barrier that the page cache must pass before it writes a page modified by a transaction back to its file.
+     * @param writeAheadBarrier barrier to use from now on, {@link WriteAheadBarrier#NONE} to stop using one.
+     */
+    default void initWriteAheadBarrier( WriteAheadBarrier writeAheadBarrier )
+    {
+        throw new UnsupportedOperationException( "Pages modified by transactions are not tracked by " + getClass().getSimpleName() );
+    }
+
+    /**
+     * @return barrier the page cache must pass before it writes a page modified by a transaction back to its file.
+     */
+    default WriteAheadBarrier writeAheadBarrier()
+    {
+        return WriteAheadBarrier.NONE;
+    }
 }
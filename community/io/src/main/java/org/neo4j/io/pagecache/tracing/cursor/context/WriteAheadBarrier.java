@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.tracing.cursor.context;
+
+import java.io.IOException;
+
+/**
+ * Lets the page cache follow the write-ahead logging rule: a page must not be written back to its file before the
+ * changes of the transaction that last modified it, see {@link VersionContext#committingTransactionId()}, are durable
+ * in the transaction log. Only needed when transactions may be applied before their log entries are forced.
+ */
+public interface WriteAheadBarrier
+{
+    WriteAheadBarrier NONE = new WriteAheadBarrier()
+    {
+        @Override
+        public boolean isDurable( long transactionId )
+        {
+            return true;
+        }
+
+        @Override
+        public void makeDurable( long transactionId )
+        {
+        }
+    };
+
+    /**
+     * Called by the page cache while it holds page locks, so it must not block.
+     *
+     * @param transactionId id of the transaction that last modified a page.
+     * @return {@code true} if the changes of the given transaction, and of all transactions before it, are durable.
+     */
+    boolean isDurable( long transactionId );
+
+    /**
+     * Blocks until {@link #isDurable(long)} holds for the given transaction. Called by the page cache while it holds
+     * no page locks.
+     *
+     * @param transactionId id of the transaction that last modified a page.
+     * @throws IOException if the transaction log could not be forced.
+     */
+    void makeDurable( long transactionId ) throws IOException;
+}
@@ -53,6 +53,7 @@ import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
@@ -490,6 +491,69 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    void mustNotEvictPageModifiedByTransactionThatIsNotDurable() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+        TestVersionContext cursorContext = new TestVersionContext( () -> 0 );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        TestWriteAheadBarrier barrier = new TestWriteAheadBarrier( 5 );
+        versionContextSupplier.initWriteAheadBarrier( barrier );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, versionContextSupplier );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            cursorContext.initWrite( 7 );
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 0L );
+            }
+
+            pageCache.evictPages( 1, 0, EvictionRunEvent.NULL );
+            assertThat( readIntoBuffer( "a" ).getLong(), is( x ) );
+            assertEquals( 7, barrier.durableTransactionId );
+
+            pageCache.evictPages( 1, 0, EvictionRunEvent.NULL );
+            assertThat( readIntoBuffer( "a" ).getLong(), is( 0L ) );
+        }
+    }
+
+    @Test
+    void flushAndForceMustMakeTransactionDurableBeforeWritingPage() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+        TestVersionContext cursorContext = new TestVersionContext( () -> 0 );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        List<Long> fileContentsWhenMadeDurable = new ArrayList<>();
+        TestWriteAheadBarrier barrier = new TestWriteAheadBarrier( 5 )
+        {
+            @Override
+            public void makeDurable( long transactionId ) throws IOException
+            {
+                fileContentsWhenMadeDurable.add( readIntoBuffer( "a" ).getLong() );
+                super.makeDurable( transactionId );
+            }
+        };
+        versionContextSupplier.initWriteAheadBarrier( barrier );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, versionContextSupplier );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            cursorContext.initWrite( 7 );
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 0L );
+            }
+
+            pagedFile.flushAndForce();
+
+            assertEquals( 1, fileContentsWhenMadeDurable.size() );
+            assertThat( fileContentsWhenMadeDurable.get( 0 ), is( x ) );
+            assertEquals( 7, barrier.durableTransactionId );
+            assertThat( readIntoBuffer( "a" ).getLong(), is( 0L ) );
+        }
+    }
+
     @Test
     void closingTheCursorMustUnlockModifiedPage() throws Exception
     {
@@ -781,12 +845,25 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
     {
 
         private final VersionContext versionContext;
+        private WriteAheadBarrier writeAheadBarrier = WriteAheadBarrier.NONE;
 
         ConfiguredVersionContextSupplier( VersionContext versionContext )
         {
             this.versionContext = versionContext;
         }
 
+        @Override
+        public void initWriteAheadBarrier( WriteAheadBarrier writeAheadBarrier )
+        {
+            this.writeAheadBarrier = writeAheadBarrier;
+        }
+
+        @Override
+        public WriteAheadBarrier writeAheadBarrier()
+        {
+            return writeAheadBarrier;
+        }
+
         @Override
         public void init( LongSupplier lastClosedTransactionIdSupplier )
         {
@@ -848,4 +925,26 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
             return dirty;
         }
     }
+
+    private static class TestWriteAheadBarrier implements WriteAheadBarrier
+    {
+        private volatile long durableTransactionId;
+
+        TestWriteAheadBarrier( long durableTransactionId )
+        {
+            this.durableTransactionId = durableTransactionId;
+        }
+
+        @Override
+        public boolean isDurable( long transactionId )
+        {
+            return transactionId <= durableTransactionId;
+        }
+
+        @Override
+        public void makeDurable( long transactionId ) throws IOException
+        {
+            durableTransactionId = Math.max( durableTransactionId, transactionId );
+        }
+    }
 }
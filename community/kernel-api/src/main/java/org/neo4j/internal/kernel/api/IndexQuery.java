@@ -181,6 +181,19 @@ public abstract class IndexQuery
         return new StringSuffixPredicate( propertyKeyId, suffix );
     }
 
+    /**
+     * Searches a fulltext index using a query in the Lucene query syntax, over all the properties of that index.
+     * Only fulltext indexes support this type of query, and the results carry their relevance score,
+     * see {@link NodeValueIndexCursor#score()}.
+     *
+     * @param query the fulltext query to search for.
+     * @return an {@link IndexQuery} instance to be used for querying a fulltext index.
+     */
+    public static FulltextSearchPredicate fulltextSearch( String query )
+    {
+        return new FulltextSearchPredicate( query );
+    }
+
     public static ValueTuple asValueTuple( IndexQuery.ExactPredicate... query )
     {
         Value[] values = new Value[query.length];
@@ -246,7 +259,8 @@ public abstract class IndexQuery
         range,
         stringPrefix,
         stringSuffix,
-        stringContains
+        stringContains,
+        fulltextSearch
     }
 
     public static final class ExistsPredicate extends IndexQuery
@@ -608,4 +622,42 @@ public abstract class IndexQuery
             return suffix;
         }
     }
+
+    public static final class FulltextSearchPredicate extends IndexQuery
+    {
+        private final String query;
+
+        FulltextSearchPredicate( String query )
+        {
+            super( TokenRead.NO_TOKEN );
+            this.query = query;
+        }
+
+        @Override
+        public IndexQueryType type()
+        {
+            return IndexQueryType.fulltextSearch;
+        }
+
+        /**
+         * Fulltext search predicates can only be evaluated by a fulltext index, against the analyzed text of all its properties together.
+         * Entries are only ever produced by such an index, for which the search already matched, so any present value is accepted.
+         */
+        @Override
+        public boolean acceptsValue( Value value )
+        {
+            return value != null && value != NO_VALUE;
+        }
+
+        @Override
+        public ValueGroup valueGroup()
+        {
+            return ValueGroup.TEXT;
+        }
+
+        public String query()
+        {
+            return query;
+        }
+    }
 }
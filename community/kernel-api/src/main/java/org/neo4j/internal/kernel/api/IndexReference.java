@@ -44,6 +44,16 @@ public interface IndexReference extends IndexCapability
      */
     int[] properties();
 
+    /**
+     * Returns the propertyKeyIds of the properties whose values this index stores next to, but not as part of, its keys.
+     * Their values can be read from {@link NodeValueIndexCursor#includedPropertyValue(int)} without going to the node.
+     * Most indexes have no included properties.
+     */
+    default int[] includedProperties()
+    {
+        return new int[0];
+    }
+
     /**
      * Returns the schema of this index.
      */
@@ -68,6 +68,27 @@ public interface NodeValueIndexCursor extends NodeIndexCursor
 
     Value propertyValue( int offset );
 
+    /**
+     * Value of an included property of the index, i.e. a property which the index stores next to its keys.
+     *
+     * @param offset offset into {@link IndexReference#includedProperties()} of the index this cursor reads.
+     * @return the value of the included property on the cursor's current location, {@link org.neo4j.values.storable.Values#NO_VALUE}
+     * if the node doesn't have that property, or {@code null} if the index cannot provide it there and it has to be read from the node.
+     */
+    default Value includedPropertyValue( int offset )
+    {
+        return null;
+    }
+
+    /**
+     * @return the relevance score of the current entry, for queries on indexes that score their results, like
+     * {@link IndexQuery#fulltextSearch(String) fulltext searches}, otherwise {@link Float#NaN}.
+     */
+    default float score()
+    {
+        return Float.NaN;
+    }
+
     class Empty implements NodeValueIndexCursor
     {
 
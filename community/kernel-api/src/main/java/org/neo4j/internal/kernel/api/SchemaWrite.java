@@ -59,6 +59,19 @@ public interface SchemaWrite
      */
     IndexReference indexCreate( SchemaDescriptor descriptor, String provider, Optional<String> name ) throws SchemaKernelException;
 
+    /**
+     * Create index from schema descriptor, which also stores the values of the given included properties next to its keys,
+     * see {@link IndexReference#includedProperties()}
+     *
+     * @param descriptor description of the index
+     * @param provider name of the desired index provider implementation, which has to support included properties
+     * @param name name of the index
+     * @param includedProperties ids of the properties to include, none of which may be part of the descriptor
+     * @return the newly created index
+     */
+    IndexReference indexCreate( SchemaDescriptor descriptor, String provider, Optional<String> name, int[] includedProperties )
+            throws SchemaKernelException;
+
     /**
      * Drop the given index
      *
@@ -30,7 +30,8 @@ public interface ResourceLocker
      *
      * @param tracer
      * @param resourceType type or resource(s) to lock.
-     * @param resourceIds id(s) of resources to lock. Multiple ids should be ordered consistently by all callers
+     * @param resourceIds id(s) of resources to lock. Multiple ids are acquired in ascending order, whatever order they
+     * are given in, to avoid deadlocks between callers locking overlapping sets of resources.
      */
     void acquireExclusive( LockTracer tracer, ResourceType resourceType, long... resourceIds ) throws AcquireLockTimeoutException;
 
@@ -43,28 +43,42 @@ import static java.lang.String.format;
  */
 public class IndexDescriptor implements SchemaDescriptorSupplier, IndexReference
 {
+    private static final int[] NO_INCLUDED_PROPERTIES = new int[0];
+
     protected final SchemaDescriptor schema;
     protected final IndexDescriptor.Type type;
     protected final Optional<String> userSuppliedName;
     protected final IndexProviderDescriptor providerDescriptor;
+    protected final int[] includedProperties;
 
     IndexDescriptor( IndexDescriptor indexDescriptor )
     {
         this( indexDescriptor.schema,
               indexDescriptor.type,
               indexDescriptor.userSuppliedName,
-              indexDescriptor.providerDescriptor );
+              indexDescriptor.providerDescriptor,
+              indexDescriptor.includedProperties );
     }
 
     public IndexDescriptor( SchemaDescriptor schema,
                             Type type,
                             Optional<String> userSuppliedName,
                             IndexProviderDescriptor providerDescriptor )
+    {
+        this( schema, type, userSuppliedName, providerDescriptor, NO_INCLUDED_PROPERTIES );
+    }
+
+    public IndexDescriptor( SchemaDescriptor schema,
+                            Type type,
+                            Optional<String> userSuppliedName,
+                            IndexProviderDescriptor providerDescriptor,
+                            int[] includedProperties )
     {
         this.schema = schema;
         this.type = type;
         this.userSuppliedName = userSuppliedName;
         this.providerDescriptor = providerDescriptor;
+        this.includedProperties = includedProperties;
     }
 
     // METHODS
@@ -92,6 +106,12 @@ public class IndexDescriptor implements SchemaDescriptorSupplier, IndexReference
         return schema.getPropertyIds();
     }
 
+    @Override
+    public int[] includedProperties()
+    {
+        return includedProperties;
+    }
+
     @Override
     public String providerKey()
     {
@@ -52,6 +52,14 @@ public class IndexDescriptorFactory
         return new IndexDescriptor( schema, GENERAL, name, providerDescriptor );
     }
 
+    public static IndexDescriptor forSchema( SchemaDescriptor schema,
+                                             Optional<String> name,
+                                             IndexProviderDescriptor providerDescriptor,
+                                             int[] includedProperties )
+    {
+        return new IndexDescriptor( schema, GENERAL, name, providerDescriptor, includedProperties );
+    }
+
     public static IndexDescriptor uniqueForSchema( SchemaDescriptor schema )
     {
         return uniqueForSchema( schema, UNDECIDED );
@@ -90,6 +90,33 @@ public interface IndexProgressor extends AutoCloseable
          */
         boolean acceptNode( long reference, Value... values );
 
+        /**
+         * Accept the node id, relevance score and values of a candidate index entry. Only indexes that score their results,
+         * i.e. fulltext indexes, call this method. Return true if the entry is accepted, false otherwise.
+         * @param reference the node id of the candidate index entry
+         * @param score the relevance score of the candidate index entry
+         * @param values the values of the candidate index entry
+         * @return true if the entry is accepted, false otherwise
+         */
+        default boolean acceptNode( long reference, float score, Value... values )
+        {
+            return acceptNode( reference, values );
+        }
+
+        /**
+         * Accept the node id and values of a candidate index entry, together with the values of the included properties of the index,
+         * see {@link IndexDescriptor#includedProperties()}. Only indexes that have included properties call this method, and only when
+         * values are needed. Return true if the entry is accepted, false otherwise.
+         * @param reference the node id of the candidate index entry
+         * @param values the values of the candidate index entry
+         * @param includedValues the values of the included properties of the candidate index entry
+         * @return true if the entry is accepted, false otherwise
+         */
+        default boolean acceptNode( long reference, Value[] values, Value[] includedValues )
+        {
+            return acceptNode( reference, values );
+        }
+
         boolean needsValues();
     }
 
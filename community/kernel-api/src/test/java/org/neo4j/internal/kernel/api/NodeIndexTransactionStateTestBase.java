@@ -320,6 +320,48 @@ public abstract class NodeIndexTransactionStateTestBase<G extends KernelAPIWrite
         }
     }
 
+    @Test
+    public void shouldApplyTrailingPredicatesOfSkipScanToTxState() throws Exception
+    {
+        // given
+        Set<Long> expected = new HashSet<>();
+        long nodeToChange;
+        try ( Transaction tx = beginTransaction() )
+        {
+            expected.add( nodeWithProps( tx, "a", "match" ) );
+            nodeWithProps( tx, "b", "miss" );
+            nodeToChange = nodeWithProps( tx, "c", "match" );
+            tx.success();
+        }
+
+        createCompositeIndex();
+
+        // when
+        try ( Transaction tx = beginTransaction() )
+        {
+            int label = tx.tokenRead().nodeLabel( "Node" );
+            int prop = tx.tokenRead().propertyKey( "prop" );
+            int prop2 = tx.tokenRead().propertyKey( "prop2" );
+            expected.add( nodeWithProps( tx, "d", "match" ) );
+            nodeWithProps( tx, "e", "miss" );
+            tx.dataWrite().nodeSetProperty( nodeToChange, prop2, stringValue( "miss" ) );
+
+            IndexReference index = tx.schemaRead().index( label, prop, prop2 );
+            try ( NodeValueIndexCursor nodes = tx.cursors().allocateNodeValueIndexCursor() )
+            {
+                tx.dataRead().nodeIndexSeek( index, nodes, IndexOrder.NONE, needsValues, IndexQuery.exists( prop ), IndexQuery.exact( prop2, "match" ) );
+
+                // then
+                Set<Long> found = new HashSet<>();
+                while ( nodes.next() )
+                {
+                    found.add( nodes.nodeReference() );
+                }
+                assertThat( found, equalTo( expected ) );
+            }
+        }
+    }
+
     @Test
     public void shouldThrowIfTransactionTerminated() throws Exception
     {
@@ -353,6 +395,27 @@ public abstract class NodeIndexTransactionStateTestBase<G extends KernelAPIWrite
         return Pair.of( node, val );
     }
 
+    private long nodeWithProps( Transaction tx, Object value, Object value2 ) throws Exception
+    {
+        long node = nodeWithPropId( tx, value );
+        tx.dataWrite().nodeSetProperty( node, tx.tokenWrite().propertyKeyGetOrCreateForName( "prop2" ), Values.of( value2 ) );
+        return node;
+    }
+
+    private void createCompositeIndex()
+    {
+        try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
+        {
+            graphDb.schema().indexFor( Label.label( "Node" ) ).on( "prop" ).on( "prop2" ).create();
+            tx.success();
+        }
+
+        try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
+        {
+            graphDb.schema().awaitIndexesOnline( 1, TimeUnit.MINUTES );
+        }
+    }
+
     private void createIndex()
     {
         try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
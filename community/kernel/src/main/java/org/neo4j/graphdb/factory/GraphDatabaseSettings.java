@@ -393,6 +393,12 @@ public class GraphDatabaseSettings implements LoadableConfig
     @Dynamic
     public static final Setting<Boolean> track_query_allocation = setting( "dbms.track_query_allocation", BOOLEAN, FALSE );
 
+    @Description( "Enables or disables tracking of how often and for how long transactions wait for locks, " +
+                  "per resource type and for the most contended resources. " +
+                  "Calling `dbms.listLockContention` will display the recorded waits. Disabling it forgets the recorded waits." )
+    @Dynamic
+    public static final Setting<Boolean> track_lock_contention = setting( "dbms.track_lock_contention", BOOLEAN, FALSE );
+
     @Description( "Enable tracing of morsel runtime scheduler." )
     @Internal
     public static final Setting<Boolean> enable_morsel_runtime_trace =
@@ -576,6 +582,13 @@ public class GraphDatabaseSettings implements LoadableConfig
                   "Removing the setting, or commenting it out, will set the default value of 300." )
     public static final Setting<Integer> check_point_iops_limit = setting( "dbms.checkpoint.iops.limit", INTEGER, "300" );
 
+    @Description( "Interval at which all dirty pages are written back to the store files in the background, in between check points. " +
+            "Each run flushes the whole page cache. This spreads the I/O of check pointing out over time so that each check point has fewer pages to flush. " +
+            "Background flushing is subject to the same IOPS limit as check pointing. A value of 0 disables background flushing." )
+    @Internal
+    public static final Setting<Duration> check_point_background_flush_interval =
+            setting( "unsupported.dbms.checkpoint.background_flush_interval", DURATION, "0s" );
+
     // Auto Indexing
     @Description( "Controls the auto indexing feature for nodes. Setting it to `false` shuts it down, " +
             "while `true` enables it by default for properties listed in the dbms.auto_index.nodes.keys setting." )
@@ -729,6 +742,32 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Long> logical_log_rotation_threshold =
             buildSetting( "dbms.tx_log.rotation.size", BYTES, "250M" ).constraint( min( ByteUnit.mebiBytes( 1 ) ) ).build();
 
+    @Description( "Specify if ONgDB should preallocate transaction log files to the rotation size in the background, " +
+            "so that appending to a log file does not have to grow it. Pruned log files are zero-filled and recycled " +
+            "as the next log file rather than deleted. The preallocated file is prepared after each check point." )
+    public static final Setting<Boolean> preallocate_logical_logs = setting( "dbms.tx_log.preallocate", BOOLEAN, FALSE );
+
+    @Description( "Specify if ONgDB should compress the commands of each transaction written to the transaction log. " +
+            "This reduces the size of transaction logs, and with that of backups, at the cost of some CPU time on commit " +
+            "and recovery. Transaction logs with compressed transactions can not be read by earlier versions." )
+    public static final Setting<Boolean> compress_logical_logs = setting( "dbms.tx_log.compress", BOOLEAN, FALSE );
+
+    @Description( "The longest time ONgDB may delay forcing the transaction log to disk after a commit, in order to " +
+            "force the transactions of more concurrent commits at once. The actual delay adapts to the observed time a " +
+            "force takes and the rate at which transactions are committed, and is zero when waiting is not expected " +
+            "to gather more transactions. A value of 0 disables delaying forces." )
+    public static final Setting<Duration> group_commit_max_delay =
+            buildSetting( "dbms.tx_log.group_commit.max_delay", DURATION, "0ms" ).constraint( min( Duration.ZERO ) ).build();
+
+    @Description( "Allows transactions to be committed asynchronously, if requested by the client, when set to a value " +
+            "larger than 0. The commit of such a transaction returns as soon as the transaction has been written to the " +
+            "transaction log, and the transaction log is forced to disk in the background at this interval instead. " +
+            "Asynchronously committed transactions from within this window may be lost on a crash, even though their " +
+            "commits succeeded. Pages changed by such transactions are kept out of the store files until the " +
+            "transaction log has been forced, so page cache eviction and flushes may have to force the log first." )
+    public static final Setting<Duration> async_commit_max_unforced_window =
+            buildSetting( "dbms.tx_log.async_commit.max_unforced_window", DURATION, "0ms" ).constraint( min( Duration.ZERO ) ).build();
+
     @Description( "If `true`, Neo4j will abort recovery if any errors are encountered in the logical log. Setting " +
             "this to `false` will allow Neo4j to restore as much as possible from the corrupted log files and ignore " +
             "the rest, but, the integrity of the database might be compromised." )
@@ -746,6 +785,12 @@ public class GraphDatabaseSettings implements LoadableConfig
     @Internal
     public static final Setting<Boolean> snapshot_query = setting( "unsupported.dbms.query.snapshot", BOOLEAN, FALSE );
 
+    @Description( "Specifies if engine should run cypher queries based on a snapshot of accessed data for transactions that ask for it, " +
+            "see unsupported.dbms.query.snapshot. Other transactions read the live data, but all writes still pay for tracking the " +
+            "versions of changed pages. Has no effect when unsupported.dbms.query.snapshot is enabled." )
+    @Internal
+    public static final Setting<Boolean> snapshot_query_on_request = setting( "unsupported.dbms.query.snapshot.on_request", BOOLEAN, FALSE );
+
     @Description( "Specifies number or retries that query engine will do to execute query based on " +
             "stable accessed data snapshot before giving up." )
     @Internal
@@ -836,6 +881,20 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> record_id_batch_size = buildSetting( "unsupported.dbms.record_id_batch_size", INTEGER,
             "20" ).constraint( range( 1, 1_000 ) ).build();
 
+    @Description( "Number of threads that may apply the record changes of non-conflicting transactions in a batch concurrently. " +
+            "Batches of more than one transaction are applied when pulling transactions from other cluster members, " +
+            "as well as when committing transactions in bulk. A value of 0 or 1 applies all transactions on the committing thread." )
+    @Internal
+    public static final Setting<Integer> parallel_transaction_apply_threads =
+            buildSetting( "unsupported.dbms.parallel_transaction_apply_threads", INTEGER, "0" ).constraint( min( 0 ) ).build();
+
+    @Description( "Max number of transactions that recovery applies to the store as one batch. Larger batches amortize " +
+            "index updates over more transactions, and let the record changes of their non-conflicting transactions be applied " +
+            "in parallel, see unsupported.dbms.parallel_transaction_apply_threads." )
+    @Internal
+    public static final Setting<Integer> recovery_batch_size =
+            buildSetting( "unsupported.dbms.recovery.batch_size", INTEGER, "1" ).constraint( range( 1, 10_000 ) ).build();
+
     @Description( "An identifier that uniquely identifies this graph database instance within this JVM. " +
             "Defaults to an auto-generated number depending on how many instance are started in this JVM." )
     @Internal
@@ -850,10 +909,27 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Duration> vm_pause_monitor_stall_alert_threshold =
             setting( "unsupported.vm_pause_monitor.stall_alert_threshold", DURATION, "100ms" );
 
+    @Internal
+    @Description( "Allow indexes with included properties, whose values the generic native index provider stores next to " +
+            "the keys of an index, to be created. Such indexes have a schema rule and index file format that older " +
+            "versions can't read, and so far only the kernel API can create and read them." )
+    public static final Setting<Boolean> index_included_properties =
+            setting( "unsupported.dbms.index.included_properties", BOOLEAN, FALSE );
+
     @Description( "Relationship count threshold for considering a node to be dense" )
     public static final Setting<Integer> dense_node_threshold =
             buildSetting( "dbms.relationship_grouping_threshold", INTEGER, "50" ).constraint( min( 1 ) ).build();
 
+    @Internal
+    @Description( "Add relationships of a type a dense node already has relationships of while holding only a shared " +
+            "lock on the node and an exclusive lock on the relationship group of that type, so that transactions " +
+            "adding relationships of different types to the same dense node don't block each other. Any later need " +
+            "for the exclusive node lock in such a transaction, e.g. to add a relationship of a new type, change the " +
+            "node or delete a relationship, is a lock upgrade. Two transactions doing that on the same node deadlock, " +
+            "where they would otherwise have taken turns." )
+    public static final Setting<Boolean> relationship_group_locking =
+            setting( "unsupported.dbms.relationship_group_locking", BOOLEAN, FALSE );
+
     @Description( "Log executed queries that take longer than the configured threshold, dbms.logs.query.threshold. " +
             "Log entries are by default written to the file _query.log_ located in the Logs directory. " +
             "For location of the Logs directory, see <<file-locations>>. " +
@@ -1111,6 +1187,28 @@ public class GraphDatabaseSettings implements LoadableConfig
             .constraint( min( 0L ) )
             .build();
 
+    @Description( "The maximum amount of off-heap memory that a single transaction can use to store its transaction state data. " +
+            "A transaction that needs more fails with Neo.ClientError.Transaction.TransactionMemoryLimitExceeded. Zero means 'unlimited'. " +
+            "Bolt clients can set a lower limit for a transaction with the tx_memory_limit entry of the BEGIN metadata. " +
+            "Only applies when dbms.tx_state.memory_allocation is set to 'OFF_HEAP'; transaction state kept on heap is not limited. " +
+            "This limit does not cover the memory used by queries themselves, so read queries, including their sorting, " +
+            "aggregation and result buffers, are not limited by it." )
+    public static final Setting<Long> tx_state_max_off_heap_memory_per_transaction = buildSetting(
+            "dbms.tx_state.max_off_heap_memory_per_transaction", BYTES, "0" )
+            .constraint( min( 0L ) )
+            .build();
+
+    @Description( "Whether transaction state data that doesn't fit within dbms.tx_state.max_off_heap_memory should be spilled to memory " +
+            "mapped temporary files in dbms.directories.tx_state_spill, instead of failing the transaction. The operating system then keeps " +
+            "the cold parts of very large transactions on disk. Used when dbms.tx_state.memory_allocation is set to 'OFF_HEAP' and " +
+            "dbms.tx_state.max_off_heap_memory is not zero." )
+    public static final Setting<Boolean> tx_state_off_heap_spill_to_disk =
+            setting( "dbms.tx_state.off_heap.spill_to_disk", BOOLEAN, FALSE );
+
+    @Description( "Directory for the temporary files of transaction state data spilled to disk, see dbms.tx_state.off_heap.spill_to_disk." )
+    public static final Setting<File> tx_state_spill_directory = derivedSetting( "dbms.directories.tx_state_spill",
+            data_directory, data -> new File( data, "tx-state" ), PATH );
+
     @Description( "Defines the maximum size of an off-heap memory block that can be cached to speed up allocations for transaction state data. " +
             "The value must be a power of 2." )
     public static final Setting<Long> tx_state_off_heap_max_cacheable_block_size = buildSetting(
@@ -77,6 +77,7 @@ import org.neo4j.kernel.impl.factory.GraphDatabaseFacade;
 import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.kernel.impl.index.ExplicitIndexStore;
 import org.neo4j.kernel.impl.index.IndexConfigStore;
+import org.neo4j.kernel.impl.locking.LockContentionTracer;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ReentrantLockService;
@@ -97,6 +98,7 @@ import org.neo4j.kernel.impl.storemigration.monitoring.VisibleMigrationProgressM
 import org.neo4j.kernel.impl.storemigration.participant.StoreMigrator;
 import org.neo4j.kernel.impl.transaction.TransactionHeaderInformationFactory;
 import org.neo4j.kernel.impl.transaction.TransactionMonitor;
+import org.neo4j.kernel.impl.transaction.log.AsyncCommitLogForcer;
 import org.neo4j.kernel.impl.transaction.log.BatchingTransactionAppender;
 import org.neo4j.kernel.impl.transaction.log.LogVersionRepository;
 import org.neo4j.kernel.impl.transaction.log.LogVersionUpgradeChecker;
@@ -107,6 +109,7 @@ import org.neo4j.kernel.impl.transaction.log.ReadableClosablePositionAwareChanne
 import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
 import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.TransactionMetadataCache;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.BackgroundPageFlusher;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointScheduler;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
@@ -546,7 +549,9 @@ public class NeoStoreDataSource extends LifecycleAdapter
 
         final TransactionAppender appender = life.add( new BatchingTransactionAppender(
                 logFiles, logRotation, transactionMetadataCache, transactionIdStore, explicitIndexTransactionOrdering,
-                databaseHealth ) );
+                databaseHealth, config.get( GraphDatabaseSettings.compress_logical_logs ),
+                config.get( GraphDatabaseSettings.group_commit_max_delay ).toNanos(),
+                monitors.newMonitor( BatchingTransactionAppender.Monitor.class ) ) );
         final LogicalTransactionStore logicalTransactionStore =
                 new PhysicalLogicalTransactionStore( logFiles, transactionMetadataCache, logEntryReader, monitors,
                         failOnCorruptedLogFiles );
@@ -564,6 +569,19 @@ public class NeoStoreDataSource extends LifecycleAdapter
         life.add( checkPointer );
         life.add( checkPointScheduler );
 
+        long asyncCommitForceInterval = config.get( GraphDatabaseSettings.async_commit_max_unforced_window ).toMillis();
+        if ( asyncCommitForceInterval > 0 )
+        {
+            life.add( new AsyncCommitLogForcer( appender, versionContextSupplier, scheduler, asyncCommitForceInterval, databaseHealth, logProvider ) );
+        }
+
+        long backgroundFlushInterval = config.get( GraphDatabaseSettings.check_point_background_flush_interval ).toMillis();
+        if ( backgroundFlushInterval > 0 )
+        {
+            life.add( new BackgroundPageFlusher( appender, pageCache, ioLimiter, scheduler, backgroundFlushInterval, clock,
+                    monitors.newMonitor( BackgroundPageFlusher.Monitor.class ), logProvider ) );
+        }
+
         return new NeoStoreTransactionLogModule( logicalTransactionStore, logFiles,
                 logRotation, checkPointer, appender, explicitIndexTransactionOrdering );
     }
@@ -580,7 +598,7 @@ public class NeoStoreDataSource extends LifecycleAdapter
             LogVersionRepository logVersionRepository )
     {
         RecoveryService recoveryService = new DefaultRecoveryService( storageEngine, tailScanner, transactionIdStore,
-                logicalTransactionStore, logVersionRepository, positionMonitor );
+                logicalTransactionStore, logVersionRepository, positionMonitor, config.get( GraphDatabaseSettings.recovery_batch_size ) );
         CorruptedLogsTruncator logsTruncator = new CorruptedLogsTruncator( databaseLayout.databaseDirectory(), logFiles, fileSystemAbstraction );
         ProgressReporter progressReporter = new LogProgressReporter( logService.getInternalLog( Recovery.class ) );
         Lifecycle schemaLife = storageEngine.schemaAndTokensLifecycle();
@@ -595,6 +613,7 @@ public class NeoStoreDataSource extends LifecycleAdapter
     {
         AtomicReference<CpuClock> cpuClockRef = setupCpuClockAtomicReference();
         AtomicReference<HeapAllocation> heapAllocationRef = setupHeapAllocationAtomicReference();
+        LockContentionTracer lockContentionTracer = dataSourceDependencies.satisfyDependency( setupLockContentionTracer( clock ) );
 
         TransactionCommitProcess transactionCommitProcess = commitProcessFactory.create( appender, storageEngine,
                 config );
@@ -619,8 +638,9 @@ public class NeoStoreDataSource extends LifecycleAdapter
         KernelTransactions kernelTransactions = life.add(
                 new KernelTransactions( config, statementLocksFactory, constraintIndexCreator, statementOperationParts, schemaWriteGuard,
                         transactionHeaderInformationFactory, transactionCommitProcess, auxTxStateManager, hooks,
-                        transactionMonitor, databaseAvailabilityGuard, tracers, storageEngine, procedures, transactionIdStore, clock, cpuClockRef,
-                        heapAllocationRef, accessCapability, autoIndexing, explicitIndexStore, versionContextSupplier, collectionsFactorySupplier,
+                        transactionMonitor, databaseAvailabilityGuard, tracers, lockContentionTracer, storageEngine, procedures, transactionIdStore,
+                        clock, cpuClockRef, heapAllocationRef, accessCapability, autoIndexing, explicitIndexStore, versionContextSupplier,
+                        collectionsFactorySupplier,
                         constraintSemantics, databaseSchemaState, indexingService, tokenHolders, getDatabaseName(), dataSourceDependencies ) );
 
         buildTransactionMonitor( kernelTransactions, clock, config );
@@ -676,6 +696,15 @@ public class NeoStoreDataSource extends LifecycleAdapter
         return heapAllocation;
     }
 
+    private LockContentionTracer setupLockContentionTracer( SystemNanoClock clock )
+    {
+        LockContentionTracer lockContentionTracer = new LockContentionTracer( clock );
+        lockContentionTracer.setEnabled( config.get( GraphDatabaseSettings.track_lock_contention ) );
+        config.registerDynamicUpdateListener( GraphDatabaseSettings.track_lock_contention,
+                ( before, after ) -> lockContentionTracer.setEnabled( after ) );
+        return lockContentionTracer;
+    }
+
     private void buildTransactionMonitor( KernelTransactions kernelTransactions, SystemNanoClock clock, Config config )
     {
         KernelTransactionMonitor kernelTransactionTimeoutMonitor = new KernelTransactionMonitor( kernelTransactions, clock, logService );
@@ -189,6 +189,40 @@ public interface KernelTransaction extends Transaction, AssertOpen
      */
     Map<String, Object> getMetaData();
 
+    /**
+     * Lets the commit of this transaction return as soon as the transaction has been appended to the transaction log,
+     * instead of after the transaction log has also been forced to disk. The transaction log is then forced in the
+     * background, so a crash may lose this transaction even though its commit succeeded.
+     * Has no effect unless asynchronous commits are enabled with
+     * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#async_commit_max_unforced_window}.
+     * @param asyncCommit whether or not to commit this transaction asynchronously.
+     */
+    void setAsyncCommit( boolean asyncCommit );
+
+    /**
+     * Limits the amount of memory this transaction can use to store its transaction state. The limit can only be lowered below
+     * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#tx_state_max_off_heap_memory_per_transaction}, a higher limit is ignored.
+     * Changes that would exceed the limit fail with {@link org.neo4j.kernel.impl.util.collection.TransactionMemoryLimitExceededException}.
+     * Only off-heap transaction state is tracked, see {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#tx_state_memory_allocation}.
+     * @param limitBytes maximum number of bytes, or {@code 0} to use the configured limit.
+     */
+    void setMemoryLimit( long limitBytes );
+
+    /**
+     * Asks for the Cypher queries of this transaction to see a consistent snapshot of the data, as of the moment each
+     * query started, even while other transactions commit changes. Queries that observe concurrent changes are
+     * executed again, and their results are materialized before they are returned.
+     * Has no effect unless {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#snapshot_query_on_request} is enabled,
+     * and isn't needed when {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#snapshot_query} is.
+     * @param snapshotReads whether or not queries of this transaction should read from a snapshot.
+     */
+    void setSnapshotReads( boolean snapshotReads );
+
+    /**
+     * @return whether or not this transaction asked for snapshot reads, see {@link #setSnapshotReads(boolean)}.
+     */
+    boolean snapshotReads();
+
     /**
      * @return whether or not this transaction is a schema transaction. Type of transaction is decided
      * on first write operation, be it data or schema operation.
@@ -52,9 +52,9 @@ public class IndexEntryUpdate<INDEX_KEY extends SchemaDescriptorSupplier>
     private IndexEntryUpdate( long entityId, INDEX_KEY indexKey, UpdateMode updateMode, Value[] before,
             Value[] values )
     {
-        // we do not support partial index entries
-        assert indexKey.schema().getPropertyIds().length == values.length :
-                format( "IndexEntryUpdate values must be of same length as index compositeness. " +
+        // we do not support partial index entries, but the values may be followed by the values of included properties
+        assert indexKey.schema().getPropertyIds().length <= values.length :
+                format( "IndexEntryUpdate values must be at least of same length as index compositeness. " +
                         "Index on %s, but got values %s", indexKey.schema().toString(), Arrays.toString( values ) );
         assert before == null || before.length == values.length;
 
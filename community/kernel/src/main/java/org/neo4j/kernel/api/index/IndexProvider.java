@@ -37,6 +37,8 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 
+import static org.neo4j.kernel.api.exceptions.Status.General.InvalidArguments;
+
 /**
  * Contract for implementing an index in Neo4j.
  *
@@ -223,8 +225,13 @@ public abstract class IndexProvider extends LifecycleAdapter
      */
     public IndexDescriptor bless( IndexDescriptor index ) throws MisconfiguredIndexException
     {
-        // Normal schema indexes accept all configurations by default. More specialised or custom providers, such as the fulltext index provider,
-        // can override this method to do whatever checking suits their needs.
+        // Normal schema indexes accept all configurations by default, except included properties which only some providers can store.
+        // More specialised or custom providers, such as the fulltext index provider, can override this method to do whatever checking suits their needs.
+        if ( index.includedProperties().length > 0 )
+        {
+            throw new MisconfiguredIndexException( InvalidArguments,
+                    "The index provider '" + getProviderDescriptor() + "' does not support included properties." );
+        }
         return index;
     }
 
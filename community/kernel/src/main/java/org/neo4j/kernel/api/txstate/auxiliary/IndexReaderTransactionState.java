@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.txstate.auxiliary;
+
+import org.neo4j.internal.kernel.api.IndexReference;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.storageengine.api.schema.IndexReader;
+
+/**
+ * Auxiliary transaction state of an index provider whose indexes cannot be queried against the kernel transaction state, and instead keep
+ * their own transaction state, like fulltext indexes do. Such a provider registers its {@link AuxiliaryTransactionStateProvider} under its
+ * {@link IndexProviderDescriptor}, so that index seeks on its indexes can be routed through the reader of this transaction state.
+ */
+public interface IndexReaderTransactionState extends AuxiliaryTransactionState
+{
+    /**
+     * @param index the index to read from.
+     * @param transaction the transaction to read the changes of.
+     * @return a reader of the given index which also sees the changes made in the given transaction, which is closed by this transaction state,
+     * or {@code null} if the index doesn't see the changes of transactions before they commit, in which case the reader of the store is used.
+     */
+    IndexReader indexReader( IndexReference index, KernelTransaction transaction ) throws IndexNotFoundKernelException;
+}
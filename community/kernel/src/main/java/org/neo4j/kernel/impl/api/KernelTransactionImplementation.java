@@ -33,6 +33,7 @@ import java.util.stream.Stream;
 import org.neo4j.collection.pool.Pool;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.TransactionTerminatedException;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.ExecutionStatistics;
 import org.neo4j.internal.kernel.api.ExplicitIndexRead;
@@ -81,6 +82,7 @@ import org.neo4j.kernel.impl.factory.AccessCapability;
 import org.neo4j.kernel.impl.index.ExplicitIndexStore;
 import org.neo4j.kernel.impl.locking.ActiveLock;
 import org.neo4j.kernel.impl.locking.Locks;
+import org.neo4j.kernel.impl.locking.LazyStatementLocks;
 import org.neo4j.kernel.impl.locking.StatementLocks;
 import org.neo4j.kernel.impl.newapi.AllStoreHolder;
 import org.neo4j.kernel.impl.newapi.DefaultCursors;
@@ -181,6 +183,11 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     private long commitTime;
     private volatile int reuseCount;
     private volatile Map<String,Object> userMetaData;
+    private final boolean asyncCommitEnabled;
+    private boolean asyncCommit;
+    private final long defaultMemoryLimit;
+    private volatile long memoryLimit;
+    private boolean snapshotReads;
     private final Operations operations;
 
     /**
@@ -222,6 +229,8 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         this.accessCapability = accessCapability;
         this.statistics = new Statistics( this, cpuClockRef, heapAllocationRef );
         this.userMetaData = emptyMap();
+        this.asyncCommitEnabled = !config.get( GraphDatabaseSettings.async_commit_max_unforced_window ).isZero();
+        this.defaultMemoryLimit = config.get( GraphDatabaseSettings.tx_state_max_off_heap_memory_per_transaction );
         this.constraintSemantics = constraintSemantics;
         DefaultCursors cursors = new DefaultCursors( storageReader );
         AllStoreHolder allStoreHolder =
@@ -261,6 +270,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         this.startTimeMillis = clocks.systemClock().millis();
         this.startTimeNanos = clocks.systemClock().nanos();
         this.timeoutMillis = transactionTimeout;
+        setMemoryLimit( defaultMemoryLimit );
         this.lastTransactionIdWhenStarted = lastCommittedTx;
         this.lastTransactionTimestampWhenStarted = lastTimeStamp;
         this.transactionEvent = transactionTracer.beginTransaction();
@@ -417,6 +427,33 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         return userMetaData;
     }
 
+    @Override
+    public void setAsyncCommit( boolean asyncCommit )
+    {
+        this.asyncCommit = asyncCommit;
+    }
+
+    @Override
+    public void setMemoryLimit( long limitBytes )
+    {
+        // A transaction can only lower the configured limit, never lift it
+        long limit = limitBytes == 0 || (defaultMemoryLimit != 0 && defaultMemoryLimit < limitBytes) ? defaultMemoryLimit : limitBytes;
+        this.memoryLimit = limit;
+        collectionsFactory.setMemoryLimit( limit );
+    }
+
+    @Override
+    public void setSnapshotReads( boolean snapshotReads )
+    {
+        this.snapshotReads = snapshotReads;
+    }
+
+    @Override
+    public boolean snapshotReads()
+    {
+        return snapshotReads;
+    }
+
     @Override
     public KernelStatement acquireStatement()
     {
@@ -721,6 +758,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
                     success = true;
                     TransactionToApply batch = new TransactionToApply( transactionRepresentation,
                             versionContextSupplier.getVersionContext() );
+                    batch.setAsyncCommit( asyncCommitEnabled && asyncCommit );
                     txId = commitProcess.commit( batch, commitEvent, INTERNAL );
                     commitTime = timeCommitted;
                 }
@@ -971,6 +1009,8 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
             closeListeners.clear();
             reuseCount++;
             userMetaData = emptyMap();
+            asyncCommit = false;
+            snapshotReads = false;
             userTransactionId = 0;
             statistics.reset();
             operations.release();
@@ -1068,15 +1108,27 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     @Override
     public String toString()
     {
-        String lockSessionId = statementLocks == null
-                               ? "statementLocks == null"
-                               : String.valueOf( statementLocks.pessimistic().getLockSessionId() );
+        String lockSessionId;
+        if ( statementLocks == null )
+        {
+            lockSessionId = "statementLocks == null";
+        }
+        else if ( statementLocks instanceof LazyStatementLocks && !((LazyStatementLocks) statementLocks).isInitialized() )
+        {
+            // Don't acquire a lock client only to describe the transaction
+            lockSessionId = "no lock session";
+        }
+        else
+        {
+            lockSessionId = String.valueOf( statementLocks.pessimistic().getLockSessionId() );
+        }
 
         return "KernelTransaction[" + lockSessionId + "]";
     }
 
     public void dispose()
     {
+        operations.dispose();
         storageReader.close();
     }
 
@@ -1171,6 +1223,16 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
             return transaction.collectionsFactory.getMemoryTracker().usedDirectMemory();
         }
 
+        /**
+         * Returns the maximum amount of direct memory current transaction can allocate.
+         *
+         * @return the memory limit in bytes, or {@code 0} if the transaction has no limit.
+         */
+        long directMemoryLimit()
+        {
+            return transaction.memoryLimit;
+        }
+
         /**
          * Return CPU time used by current transaction in milliseconds
          * @return the current CPU time used by the transaction, in milliseconds.
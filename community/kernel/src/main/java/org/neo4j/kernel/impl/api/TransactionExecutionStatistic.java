@@ -29,6 +29,7 @@ public class TransactionExecutionStatistic
 
     private final Long heapAllocatedBytes;
     private final Long directAllocatedBytes;
+    private final Long directMemoryLimitBytes;
     private final Long cpuTimeMillis;
     private final long waitTimeMillis;
     private final long elapsedTimeMillis;
@@ -40,6 +41,7 @@ public class TransactionExecutionStatistic
     {
         heapAllocatedBytes = null;
         directAllocatedBytes = null;
+        directMemoryLimitBytes = null;
         cpuTimeMillis = null;
         waitTimeMillis = -1;
         elapsedTimeMillis = -1;
@@ -56,6 +58,8 @@ public class TransactionExecutionStatistic
         this.waitTimeMillis = NANOSECONDS.toMillis( statistics.getWaitingTimeNanos( nowNanos ) );
         this.heapAllocatedBytes = nullIfNegative( statistics.heapAllocatedBytes() );
         this.directAllocatedBytes = nullIfNegative( statistics.directAllocatedBytes() );
+        long directMemoryLimit = statistics.directMemoryLimit();
+        this.directMemoryLimitBytes = directMemoryLimit > 0 ? directMemoryLimit : null;
         this.cpuTimeMillis = nullIfNegative( statistics.cpuTimeMillis() );
         this.pageFaults = statistics.totalTransactionPageCacheFaults();
         this.pageHits = statistics.totalTransactionPageCacheHits();
@@ -73,6 +77,14 @@ public class TransactionExecutionStatistic
         return directAllocatedBytes;
     }
 
+    /**
+     * @return the limit on direct memory of the transaction in bytes, or {@code null} if it has no limit.
+     */
+    public Long getDirectMemoryLimitBytes()
+    {
+        return directMemoryLimitBytes;
+    }
+
     public Long getCpuTimeMillis()
     {
         return cpuTimeMillis;
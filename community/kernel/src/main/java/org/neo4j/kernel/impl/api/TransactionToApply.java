@@ -27,6 +27,7 @@ import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.BatchingTransactionAppender;
 import org.neo4j.kernel.impl.transaction.log.Commitment;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
@@ -71,6 +72,7 @@ public class TransactionToApply implements CommandsToApply, AutoCloseable
     private long transactionId;
     private final VersionContext versionContext;
     private TransactionToApply nextTransactionInBatch;
+    private boolean asyncCommit;
 
     // These fields are provided by commit process, storage engine, or recovery process
     private Commitment commitment;
@@ -112,7 +114,21 @@ public class TransactionToApply implements CommandsToApply, AutoCloseable
         nextTransactionInBatch = next;
     }
 
+    /**
+     * @param asyncCommit whether or not committing this transaction may return before the transaction log
+     * has been forced, see {@link BatchingTransactionAppender}.
+     */
+    public void setAsyncCommit( boolean asyncCommit )
+    {
+        this.asyncCommit = asyncCommit;
+    }
+
     // These methods are called by the commit process
+    public boolean isAsyncCommit()
+    {
+        return asyncCommit;
+    }
+
     public Commitment commitment()
     {
         return commitment;
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import org.neo4j.collection.PrimitiveArrays;
 import org.neo4j.helpers.collection.Iterables;
@@ -37,6 +38,7 @@ import org.neo4j.internal.kernel.api.schema.SchemaDescriptorSupplier;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
 import static org.neo4j.internal.kernel.api.schema.SchemaDescriptor.PropertySchemaType.COMPLETE_ALL_TOKENS;
@@ -52,6 +54,7 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
 {
     private final long entityId;
     private static final long[] EMPTY_LONG_ARRAY = new long[0];
+    private static final int[] EMPTY_INT_ARRAY = new int[0];
 
     // ASSUMPTION: these long arrays are actually sorted sets
     private long[] entityTokensBefore;
@@ -193,9 +196,25 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
     public <INDEX_KEY extends SchemaDescriptorSupplier> Iterable<IndexEntryUpdate<INDEX_KEY>> forIndexKeys(
             Iterable<INDEX_KEY> indexKeys )
     {
-        Iterable<INDEX_KEY> potentiallyRelevant = Iterables.filter( indexKey -> atLeastOneRelevantChange( indexKey.schema() ), indexKeys );
+        return forIndexKeys( indexKeys, indexKey -> EMPTY_INT_ARRAY );
+    }
 
-        return gatherUpdatesForPotentials( potentiallyRelevant );
+    /**
+     * Like {@link #forIndexKeys(Iterable)}, but the values of each generated IndexEntryUpdate are followed by the values of the
+     * included properties of its index key, see {@link org.neo4j.internal.kernel.api.IndexReference#includedProperties()}.
+     * Included properties that the entity does not have are given as {@link Values#NO_VALUE}.
+     *
+     * @param indexKeys The index keys to generate entry updates for
+     * @param includedProperties the included property key ids of each index key
+     * @return IndexEntryUpdates for all relevant index keys
+     */
+    public <INDEX_KEY extends SchemaDescriptorSupplier> Iterable<IndexEntryUpdate<INDEX_KEY>> forIndexKeys(
+            Iterable<INDEX_KEY> indexKeys, Function<INDEX_KEY,int[]> includedProperties )
+    {
+        Iterable<INDEX_KEY> potentiallyRelevant =
+                Iterables.filter( indexKey -> atLeastOneRelevantChange( indexKey.schema(), includedProperties.apply( indexKey ) ), indexKeys );
+
+        return gatherUpdatesForPotentials( potentiallyRelevant, includedProperties );
     }
 
     /**
@@ -215,16 +234,35 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
      */
     public <INDEX_KEY extends SchemaDescriptorSupplier> Iterable<IndexEntryUpdate<INDEX_KEY>> forIndexKeys(
             Iterable<INDEX_KEY> indexKeys, PropertyLoader propertyLoader, EntityType type )
+    {
+        return forIndexKeys( indexKeys, propertyLoader, type, indexKey -> EMPTY_INT_ARRAY );
+    }
+
+    /**
+     * Like {@link #forIndexKeys(Iterable, PropertyLoader, EntityType)}, but the values of each generated IndexEntryUpdate are followed
+     * by the values of the included properties of its index key, see {@link #forIndexKeys(Iterable, Function)}.
+     * A change to an included property alone is enough to generate a change update.
+     *
+     * @param indexKeys The index keys to generate entry updates for
+     * @param propertyLoader The property loader used to fetch needed additional properties
+     * @param type EntityType of the indexes
+     * @param includedProperties the included property key ids of each index key
+     * @return IndexEntryUpdates for all relevant index keys
+     */
+    public <INDEX_KEY extends SchemaDescriptorSupplier> Iterable<IndexEntryUpdate<INDEX_KEY>> forIndexKeys(
+            Iterable<INDEX_KEY> indexKeys, PropertyLoader propertyLoader, EntityType type, Function<INDEX_KEY,int[]> includedProperties )
     {
         List<INDEX_KEY> potentiallyRelevant = new ArrayList<>();
         final MutableIntSet additionalPropertiesToLoad = new IntHashSet();
 
         for ( INDEX_KEY indexKey : indexKeys )
         {
-            if ( atLeastOneRelevantChange( indexKey.schema() ) )
+            int[] included = includedProperties.apply( indexKey );
+            if ( atLeastOneRelevantChange( indexKey.schema(), included ) )
             {
                 potentiallyRelevant.add( indexKey );
-                gatherPropsToLoad( indexKey.schema(), additionalPropertiesToLoad );
+                gatherPropsToLoad( indexKey.schema().getPropertyIds(), additionalPropertiesToLoad );
+                gatherPropsToLoad( included, additionalPropertiesToLoad );
             }
         }
 
@@ -233,12 +271,12 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
             loadProperties( propertyLoader, additionalPropertiesToLoad, type );
         }
 
-        return gatherUpdatesForPotentials( potentiallyRelevant );
+        return gatherUpdatesForPotentials( potentiallyRelevant, includedProperties );
     }
 
     @SuppressWarnings( "ConstantConditions" )
     private <INDEX_KEY extends SchemaDescriptorSupplier> Iterable<IndexEntryUpdate<INDEX_KEY>> gatherUpdatesForPotentials(
-            Iterable<INDEX_KEY> potentiallyRelevant )
+            Iterable<INDEX_KEY> potentiallyRelevant, Function<INDEX_KEY,int[]> includedProperties )
     {
         List<IndexEntryUpdate<INDEX_KEY>> indexUpdates = new ArrayList<>();
         for ( INDEX_KEY indexKey : potentiallyRelevant )
@@ -247,19 +285,21 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
             boolean relevantBefore = relevantBefore( schema );
             boolean relevantAfter = relevantAfter( schema );
             int[] propertyIds = schema.getPropertyIds();
+            int[] included = includedProperties.apply( indexKey );
             if ( relevantBefore && !relevantAfter )
             {
-                indexUpdates.add( IndexEntryUpdate.remove( entityId, indexKey, valuesBefore( propertyIds ) ) );
+                indexUpdates.add( IndexEntryUpdate.remove( entityId, indexKey, valuesBefore( propertyIds, included ) ) );
             }
             else if ( !relevantBefore && relevantAfter )
             {
-                indexUpdates.add( IndexEntryUpdate.add( entityId, indexKey, valuesAfter( propertyIds ) ) );
+                indexUpdates.add( IndexEntryUpdate.add( entityId, indexKey, valuesAfter( propertyIds, included ) ) );
             }
             else if ( relevantBefore && relevantAfter )
             {
-                if ( valuesChanged( propertyIds, schema.propertySchemaType() ) )
+                if ( valuesChanged( propertyIds, schema.propertySchemaType() ) || includedValuesChanged( included ) )
                 {
-                    indexUpdates.add( IndexEntryUpdate.change( entityId, indexKey, valuesBefore( propertyIds ), valuesAfter( propertyIds ) ) );
+                    indexUpdates.add( IndexEntryUpdate.change( entityId, indexKey, valuesBefore( propertyIds, included ),
+                            valuesAfter( propertyIds, included ) ) );
                 }
             }
         }
@@ -289,9 +329,9 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
         }
     }
 
-    private void gatherPropsToLoad( SchemaDescriptor schema, MutableIntSet target )
+    private void gatherPropsToLoad( int[] propertyIds, MutableIntSet target )
     {
-        for ( int propertyId : schema.getPropertyIds() )
+        for ( int propertyId : propertyIds )
         {
             if ( knownProperties.get( propertyId ) == null )
             {
@@ -300,7 +340,7 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
         }
     }
 
-    private boolean atLeastOneRelevantChange( SchemaDescriptor schema )
+    private boolean atLeastOneRelevantChange( SchemaDescriptor schema, int[] includedProperties )
     {
         boolean affectedBefore = schema.isAffected( entityTokensBefore );
         boolean affectedAfter = schema.isAffected( entityTokensAfter );
@@ -313,6 +353,13 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
                     return true;
                 }
             }
+            for ( int propertyId : includedProperties )
+            {
+                if ( knownProperties.containsKey( propertyId ) )
+                {
+                    return true;
+                }
+            }
             return false;
         }
         return affectedBefore || affectedAfter;
@@ -360,27 +407,53 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
         return found;
     }
 
-    private Value[] valuesBefore( int[] propertyIds )
+    private Value[] valuesBefore( int[] propertyIds, int[] includedProperties )
     {
-        Value[] values = new Value[propertyIds.length];
+        Value[] values = new Value[propertyIds.length + includedProperties.length];
         for ( int i = 0; i < propertyIds.length; i++ )
         {
             values[i] = knownProperties.get( propertyIds[i] ).before;
         }
+        for ( int i = 0; i < includedProperties.length; i++ )
+        {
+            PropertyValue propertyValue = knownProperties.get( includedProperties[i] );
+            values[propertyIds.length + i] = propertyValue == null || propertyValue.before == null ? Values.NO_VALUE : propertyValue.before;
+        }
         return values;
     }
 
-    private Value[] valuesAfter( int[] propertyIds )
+    private Value[] valuesAfter( int[] propertyIds, int[] includedProperties )
     {
-        Value[] values = new Value[propertyIds.length];
+        Value[] values = new Value[propertyIds.length + includedProperties.length];
         for ( int i = 0; i < propertyIds.length; i++ )
         {
             PropertyValue propertyValue = knownProperties.get( propertyIds[i] );
             values[i] = propertyValue == null ? null : propertyValue.after;
         }
+        for ( int i = 0; i < includedProperties.length; i++ )
+        {
+            PropertyValue propertyValue = knownProperties.get( includedProperties[i] );
+            values[propertyIds.length + i] = propertyValue == null || propertyValue.after == null ? Values.NO_VALUE : propertyValue.after;
+        }
         return values;
     }
 
+    /**
+     * Included properties are not part of the index key, so any change to them, including adding or removing them, means the stored value must be updated.
+     */
+    private boolean includedValuesChanged( int[] includedProperties )
+    {
+        for ( int propertyId : includedProperties )
+        {
+            PropertyValue propertyValue = knownProperties.get( propertyId );
+            if ( propertyValue != null && propertyValue.type != UnChanged && propertyValue.type != NoValue )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method should only be called in a context where you know that your entity is relevant both before and after
      */
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Orders the index updates of a batch of transactions so that they can be applied index by index and, within
+ * each index, in key order. Applying updates to an index in key order means consecutive updates mostly land in
+ * tree nodes that were just visited, instead of descending the tree from the root into a different part of it
+ * for every update.
+ * <p>
+ * The reordering never changes the outcome of applying the updates:
+ * <ul>
+ *     <li>Updates to different indexes are independent of each other, so they are grouped per index, with the
+ *     groups in the order in which their indexes were first updated.</li>
+ *     <li>All updates to one entity in one index are kept together, in their original order, since a later one
+ *     may change or remove what an earlier one added. The groups of entity updates are ordered by the values of
+ *     their first update, then by entity id.</li>
+ *     <li>Updates to unique indexes are kept in their original order, since uniqueness is verified against the
+ *     entries added and removed before each update.</li>
+ * </ul>
+ */
+final class IndexEntryUpdateSorter
+{
+    private static final Comparator<EntityUpdates> KEY_ORDER = ( first, second ) ->
+    {
+        Value[] firstValues = first.values;
+        Value[] secondValues = second.values;
+        for ( int i = 0; i < firstValues.length && i < secondValues.length; i++ )
+        {
+            int valueComparison = Values.COMPARATOR.compare( firstValues[i], secondValues[i] );
+            if ( valueComparison != 0 )
+            {
+                return valueComparison;
+            }
+        }
+        int lengthComparison = Integer.compare( firstValues.length, secondValues.length );
+        return lengthComparison != 0 ? lengthComparison : Long.compare( first.entityId, second.entityId );
+    };
+
+    private IndexEntryUpdateSorter()
+    {
+        throw new AssertionError( "No instances" );
+    }
+
+    static List<IndexEntryUpdate<SchemaDescriptor>> sort( Iterable<IndexEntryUpdate<SchemaDescriptor>> updates, IndexMap indexMap )
+    {
+        Map<SchemaDescriptor,IndexGroup> updatesPerIndex = new LinkedHashMap<>();
+        int count = 0;
+        for ( IndexEntryUpdate<SchemaDescriptor> update : updates )
+        {
+            updatesPerIndex.computeIfAbsent( update.indexKey().schema(),
+                    schema -> new IndexGroup( keepsOriginalOrder( indexMap.getIndexProxy( schema ) ) ) ).add( update );
+            count++;
+        }
+
+        List<IndexEntryUpdate<SchemaDescriptor>> sorted = new ArrayList<>( count );
+        for ( IndexGroup indexGroup : updatesPerIndex.values() )
+        {
+            indexGroup.drainTo( sorted );
+        }
+        return sorted;
+    }
+
+    private static boolean keepsOriginalOrder( IndexProxy indexProxy )
+    {
+        // Updates to indexes which don't exist are ignored when applied, their order doesn't matter
+        return indexProxy == null || indexProxy.getDescriptor().isUnique();
+    }
+
+    private static class IndexGroup
+    {
+        private final boolean keepOriginalOrder;
+        private final List<IndexEntryUpdate<SchemaDescriptor>> inOriginalOrder;
+        private final MutableLongObjectMap<EntityUpdates> perEntity;
+
+        IndexGroup( boolean keepOriginalOrder )
+        {
+            this.keepOriginalOrder = keepOriginalOrder;
+            this.inOriginalOrder = keepOriginalOrder ? new ArrayList<>() : null;
+            this.perEntity = keepOriginalOrder ? null : new LongObjectHashMap<>();
+        }
+
+        void add( IndexEntryUpdate<SchemaDescriptor> update )
+        {
+            if ( keepOriginalOrder )
+            {
+                inOriginalOrder.add( update );
+            }
+            else
+            {
+                perEntity.getIfAbsentPut( update.getEntityId(), () -> new EntityUpdates( update ) ).updates.add( update );
+            }
+        }
+
+        void drainTo( List<IndexEntryUpdate<SchemaDescriptor>> target )
+        {
+            if ( keepOriginalOrder )
+            {
+                target.addAll( inOriginalOrder );
+                return;
+            }
+            List<EntityUpdates> entities = new ArrayList<>( perEntity.values() );
+            entities.sort( KEY_ORDER );
+            for ( EntityUpdates entity : entities )
+            {
+                target.addAll( entity.updates );
+            }
+        }
+    }
+
+    private static class EntityUpdates
+    {
+        private final long entityId;
+        private final Value[] values;
+        private final List<IndexEntryUpdate<SchemaDescriptor>> updates = new ArrayList<>( 1 );
+
+        EntityUpdates( IndexEntryUpdate<SchemaDescriptor> firstUpdate )
+        {
+            this.entityId = firstUpdate.getEntityId();
+            this.values = firstUpdate.values();
+        }
+    }
+}
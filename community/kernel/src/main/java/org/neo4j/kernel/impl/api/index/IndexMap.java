@@ -28,6 +28,7 @@ import org.eclipse.collections.impl.block.factory.Functions;
 import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
 import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -42,6 +43,8 @@ import org.neo4j.kernel.impl.store.record.ConstraintRule;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
+
 /**
  * Bundles various mappings to IndexProxy. Used by IndexingService via IndexMapReference.
  *
@@ -58,6 +61,7 @@ public final class IndexMap implements Cloneable
     private final SchemaDescriptorLookupSet<SchemaDescriptor> descriptorsByReltypeThenProperty;
     private final SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> constraintsByLabelThenProperty;
     private final SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> constraintsByRelTypeThenProperty;
+    private final Set<SchemaDescriptor> descriptorsWithIncludedProperties;
 
     public IndexMap()
     {
@@ -76,9 +80,10 @@ public final class IndexMap implements Cloneable
         this.uniquenessConstraintsById = uniquenessConstraintsById;
         this.descriptorsByLabelThenProperty = new SchemaDescriptorLookupSet<>();
         this.descriptorsByReltypeThenProperty = new SchemaDescriptorLookupSet<>();
-        for ( SchemaDescriptor schema : indexesByDescriptor.keySet() )
+        this.descriptorsWithIncludedProperties = new HashSet<>();
+        for ( Map.Entry<SchemaDescriptor,IndexProxy> entry : indexesByDescriptor.entrySet() )
         {
-            addDescriptorToLookups( schema );
+            addDescriptorToLookups( entry.getKey(), entry.getValue().getDescriptor().includedProperties() );
         }
         this.constraintsByLabelThenProperty = new SchemaDescriptorLookupSet<>();
         this.constraintsByRelTypeThenProperty = new SchemaDescriptorLookupSet<>();
@@ -110,7 +115,7 @@ public final class IndexMap implements Cloneable
         indexesById.put( descriptor.getId(), indexProxy );
         indexesByDescriptor.put( schema, indexProxy );
         indexIdsByDescriptor.put( schema, descriptor.getId() );
-        addDescriptorToLookups( schema );
+        addDescriptorToLookups( schema, descriptor.includedProperties() );
     }
 
     IndexProxy removeIndexProxy( long indexId )
@@ -124,6 +129,7 @@ public final class IndexMap implements Cloneable
         SchemaDescriptor schema = removedProxy.getDescriptor().schema();
         indexesByDescriptor.remove( schema );
         selectIndexesByEntityType( schema.entityType() ).remove( schema );
+        descriptorsWithIncludedProperties.remove( schema );
 
         return removedProxy;
     }
@@ -208,6 +214,51 @@ public final class IndexMap implements Cloneable
                 propertyListIsComplete );
     }
 
+    /**
+     * Get all descriptors of indexes with included properties, where any of the included properties changed on an entity whose unchanged
+     * labels or relationship types are covered by the index. Such indexes are not necessarily returned by
+     * {@link #getRelatedIndexes(long[], long[], int[], boolean, EntityType)}, since their included properties are not part of their schema.
+     *
+     * @param unchangedEntityTokens set of labels that are unchanged
+     * @param sortedProperties sorted list of changed properties
+     * @param entityType type of indexes to get
+     * @return set of SchemaDescriptors describing the indexes whose included property values are affected
+     */
+    public Set<SchemaDescriptor> getIndexesWithRelatedIncludedProperties( long[] unchangedEntityTokens, int[] sortedProperties, EntityType entityType )
+    {
+        if ( descriptorsWithIncludedProperties.isEmpty() || sortedProperties.length == 0 )
+        {
+            return Collections.emptySet();
+        }
+
+        Set<SchemaDescriptor> descriptors = new HashSet<>();
+        for ( SchemaDescriptor schema : descriptorsWithIncludedProperties )
+        {
+            if ( schema.entityType() == entityType && schema.isAffected( unchangedEntityTokens ) )
+            {
+                for ( int propertyKeyId : includedProperties( schema ) )
+                {
+                    if ( Arrays.binarySearch( sortedProperties, propertyKeyId ) >= 0 )
+                    {
+                        descriptors.add( schema );
+                        break;
+                    }
+                }
+            }
+        }
+        return descriptors;
+    }
+
+    /**
+     * @param descriptor schema of an index
+     * @return the included properties of the index, or an empty array if there is no such index
+     */
+    public int[] includedProperties( SchemaDescriptor descriptor )
+    {
+        IndexProxy indexProxy = indexesByDescriptor.get( descriptor );
+        return indexProxy == null ? EMPTY_INT_ARRAY : indexProxy.getDescriptor().includedProperties();
+    }
+
     /**
      * Get all uniqueness constraints that would be affected by changes in the input labels and/or properties. The returned
      * set is guaranteed to contain all affected constraints, but might also contain unaffected constraints as
@@ -305,9 +356,13 @@ public final class IndexMap implements Cloneable
         return shallowCopy;
     }
 
-    private void addDescriptorToLookups( SchemaDescriptor schema )
+    private void addDescriptorToLookups( SchemaDescriptor schema, int[] includedProperties )
     {
         selectIndexesByEntityType( schema.entityType() ).add( schema );
+        if ( includedProperties.length > 0 )
+        {
+            descriptorsWithIncludedProperties.add( schema );
+        }
     }
 
     private void addConstraintToLookups( IndexBackedConstraintDescriptor constraint )
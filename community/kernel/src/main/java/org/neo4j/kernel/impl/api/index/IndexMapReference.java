@@ -110,6 +110,16 @@ public class IndexMapReference implements IndexMapSnapshotProvider
         return indexMap.getRelatedIndexes( changedEntityTokens, unchangedEntityTokens, sortedProperties, propertyListIsComplete, entityType );
     }
 
+    public Collection<SchemaDescriptor> getIndexesWithRelatedIncludedProperties( long[] unchangedEntityTokens, int[] sortedProperties, EntityType entityType )
+    {
+        return indexMap.getIndexesWithRelatedIncludedProperties( unchangedEntityTokens, sortedProperties, entityType );
+    }
+
+    public int[] includedProperties( SchemaDescriptor descriptor )
+    {
+        return indexMap.includedProperties( descriptor );
+    }
+
     public Collection<IndexBackedConstraintDescriptor> getRelatedConstraints( long[] changedLabels, long[] unchangedLabels, int[] sortedProperties,
             boolean propertyListIsComplete, EntityType entityType )
     {
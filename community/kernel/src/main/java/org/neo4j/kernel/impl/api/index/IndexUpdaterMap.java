@@ -23,6 +23,7 @@ import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +31,7 @@ import org.neo4j.helpers.collection.Pair;
 import org.neo4j.helpers.collection.PrefetchingIterator;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.impl.store.MultipleUnderlyingStorageExceptions;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
@@ -56,6 +58,15 @@ class IndexUpdaterMap implements AutoCloseable, Iterable<IndexUpdater>
         this.updaterMap = new HashMap<>();
     }
 
+    /**
+     * @param updates index updates about to be applied through the updaters of this map.
+     * @return the given updates in the order in which they are cheapest to apply, see {@link IndexEntryUpdateSorter}.
+     */
+    List<IndexEntryUpdate<SchemaDescriptor>> inApplyOrder( Iterable<IndexEntryUpdate<SchemaDescriptor>> updates )
+    {
+        return IndexEntryUpdateSorter.sort( updates, indexMap );
+    }
+
     IndexUpdater getUpdater( SchemaDescriptor descriptor )
     {
         IndexUpdater updater = updaterMap.get( descriptor );
@@ -36,6 +36,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -587,7 +588,7 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
     {
         try ( IndexUpdaterMap updaterMap = indexMapRef.createIndexUpdaterMap( updateMode ) )
         {
-            for ( IndexEntryUpdate<SchemaDescriptor> indexUpdate : updates )
+            for ( IndexEntryUpdate<SchemaDescriptor> indexUpdate : updaterMap.inApplyOrder( updates ) )
             {
                 processUpdate( updaterMap, indexUpdate );
             }
@@ -597,14 +598,26 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
     @Override
     public Iterable<IndexEntryUpdate<SchemaDescriptor>> convertToIndexUpdates( EntityUpdates entityUpdates, EntityType type )
     {
-        Iterable<SchemaDescriptor> relatedIndexes = indexMapRef.getRelatedIndexes(
+        long[] entityTokensUnchanged = entityUpdates.entityTokensUnchanged();
+        int[] propertiesChanged = entityUpdates.propertiesChanged();
+        Collection<SchemaDescriptor> relatedIndexes = indexMapRef.getRelatedIndexes(
                                                 entityUpdates.entityTokensChanged(),
-                                                entityUpdates.entityTokensUnchanged(),
-                                                entityUpdates.propertiesChanged(),
+                                                entityTokensUnchanged,
+                                                propertiesChanged,
                                                 entityUpdates.isPropertyListComplete(),
                                                 type );
 
-        return entityUpdates.forIndexKeys( relatedIndexes, storeView, type );
+        // Indexes whose included properties changed must have their stored values updated, even if no indexed property changed
+        Collection<SchemaDescriptor> indexesWithChangedIncludedProperties =
+                indexMapRef.getIndexesWithRelatedIncludedProperties( entityTokensUnchanged, propertiesChanged, type );
+        if ( !indexesWithChangedIncludedProperties.isEmpty() )
+        {
+            Set<SchemaDescriptor> allRelatedIndexes = new HashSet<>( relatedIndexes );
+            allRelatedIndexes.addAll( indexesWithChangedIncludedProperties );
+            relatedIndexes = allRelatedIndexes;
+        }
+
+        return entityUpdates.forIndexKeys( relatedIndexes, storeView, type, indexMapRef::includedProperties );
     }
 
     /**
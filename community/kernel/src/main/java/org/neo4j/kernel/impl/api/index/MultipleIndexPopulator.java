@@ -333,7 +333,7 @@ public class MultipleIndexPopulator implements IndexPopulator
 
     private IntStream propertyKeyIds( IndexPopulation population )
     {
-        return IntStream.of( population.schema().getPropertyIds() );
+        return IntStream.concat( IntStream.of( population.schema().getPropertyIds() ), IntStream.of( population.includedProperties() ) );
     }
 
     private int[] entityTokenIds()
@@ -655,6 +655,11 @@ public class MultipleIndexPopulator implements IndexPopulator
             return capableIndexDescriptor.schema();
         }
 
+        int[] includedProperties()
+        {
+            return capableIndexDescriptor.includedProperties();
+        }
+
         public boolean batch( IndexEntryUpdate<?> update )
         {
             batchedUpdates.add( update );
@@ -701,7 +706,7 @@ public class MultipleIndexPopulator implements IndexPopulator
         {
             // This is called from a full store node scan, meaning that all node properties are included in the
             // EntityUpdates object. Therefore no additional properties need to be loaded.
-            for ( IndexEntryUpdate<IndexPopulation> indexUpdate : updates.forIndexKeys( populations ) )
+            for ( IndexEntryUpdate<IndexPopulation> indexUpdate : updates.forIndexKeys( populations, IndexPopulation::includedProperties ) )
             {
                 indexUpdate.indexKey().onUpdate( indexUpdate );
             }
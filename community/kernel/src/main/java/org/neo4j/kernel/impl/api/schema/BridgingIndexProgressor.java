@@ -108,4 +108,10 @@ public class BridgingIndexProgressor implements IndexProgressor.NodeValueClient,
     {
         return client.acceptNode( reference, values );
     }
+
+    @Override
+    public boolean acceptNode( long reference, Value[] values, Value[] includedValues )
+    {
+        return client.acceptNode( reference, values, includedValues );
+    }
 }
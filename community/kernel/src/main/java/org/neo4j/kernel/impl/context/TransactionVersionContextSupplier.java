@@ -24,6 +24,7 @@ import java.util.function.LongSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 
 /**
  * {@link VersionContextSupplier} that supplier thread bound version context that should be used in a context of
@@ -32,6 +33,7 @@ import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 public class TransactionVersionContextSupplier implements VersionContextSupplier
 {
     protected ThreadLocal<VersionContext> cursorContext;
+    private volatile WriteAheadBarrier writeAheadBarrier = WriteAheadBarrier.NONE;
 
     @Override
     public void init( LongSupplier lastClosedTransactionIdSupplier )
@@ -45,4 +47,16 @@ public class TransactionVersionContextSupplier implements VersionContextSupplier
         return cursorContext == null ? EmptyVersionContext.EMPTY : cursorContext.get();
     }
 
+    @Override
+    public void initWriteAheadBarrier( WriteAheadBarrier writeAheadBarrier )
+    {
+        this.writeAheadBarrier = writeAheadBarrier;
+    }
+
+    @Override
+    public WriteAheadBarrier writeAheadBarrier()
+    {
+        return writeAheadBarrier;
+    }
+
 }
@@ -53,8 +53,10 @@ abstract class ConflictDetectingValueMerger<KEY extends NativeIndexKey<KEY>, VAL
             conflict = true;
             existingNodeId = existingKey.getEntityId();
             addedNodeId = newKey.getEntityId();
+            return MergeResult.UNCHANGED;
         }
-        return MergeResult.UNCHANGED;
+        // The same entry written again, which for an index with included properties can carry newer values of those properties
+        return newValue instanceof IncludedPropertiesValue ? MergeResult.REPLACED : MergeResult.UNCHANGED;
     }
 
     /**
@@ -25,12 +25,23 @@ import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveS
 class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
 {
     private final int numberOfSlots;
+    private final int numberOfIncludedProperties;
     private final IndexSpecificSpaceFillingCurveSettingsCache spatialSettings;
 
     GenericLayout( int numberOfSlots, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
     {
-        super( "NSIL", 0, 5 );
+        this( numberOfSlots, 0, spatialSettings );
+    }
+
+    /**
+     * @param numberOfIncludedProperties number of included properties, whose values are stored in the values of the tree,
+     * see {@link IncludedPropertiesValue}. Indexes with included properties get a layout with a different identifier.
+     */
+    GenericLayout( int numberOfSlots, int numberOfIncludedProperties, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
+    {
+        super( numberOfIncludedProperties == 0 ? "NSIL" : "NSIC", 0, 5 );
         this.numberOfSlots = numberOfSlots;
+        this.numberOfIncludedProperties = numberOfIncludedProperties;
         this.spatialSettings = spatialSettings;
     }
 
@@ -44,6 +55,36 @@ class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
                : new CompositeGenericKey( numberOfSlots, spatialSettings );
     }
 
+    @Override
+    public NativeIndexValue newValue()
+    {
+        return numberOfIncludedProperties == 0 ? super.newValue() : new IncludedPropertiesValue( numberOfSlots, numberOfIncludedProperties, spatialSettings );
+    }
+
+    @Override
+    public int valueSize( NativeIndexValue value )
+    {
+        return numberOfIncludedProperties == 0 ? super.valueSize( value ) : ((IncludedPropertiesValue) value).size();
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, NativeIndexValue value )
+    {
+        if ( numberOfIncludedProperties > 0 )
+        {
+            ((IncludedPropertiesValue) value).put( cursor );
+        }
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, NativeIndexValue into, int valueSize )
+    {
+        if ( numberOfIncludedProperties > 0 )
+        {
+            ((IncludedPropertiesValue) into).get( cursor, valueSize );
+        }
+    }
+
     @Override
     public GenericKey copyKey( GenericKey key, GenericKey into )
     {
@@ -81,6 +122,12 @@ class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
         right.minimalSplitter( left, right, into );
     }
 
+    @Override
+    int maxValueSize()
+    {
+        return numberOfIncludedProperties == 0 ? 0 : IncludedPropertiesValue.MAX_SIZE;
+    }
+
     IndexSpecificSpaceFillingCurveSettingsCache getSpaceFillingCurveSettings()
     {
         return spatialSettings;
@@ -68,7 +68,8 @@ class GenericNativeIndexAccessor extends NativeIndexAccessor<GenericKey,NativeIn
     @Override
     protected void afterTreeInstantiation( GBPTree<GenericKey,NativeIndexValue> tree )
     {
-        validator = new GenericIndexKeyValidator( tree.keyValueSizeCap(), layout );
+        // Values of included properties get stored next to the keys, so they need some of the room
+        validator = new GenericIndexKeyValidator( tree.keyValueSizeCap() - layout.maxValueSize(), layout );
     }
 
     @Override
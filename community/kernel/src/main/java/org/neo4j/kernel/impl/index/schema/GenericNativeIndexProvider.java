@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.index.schema;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,6 +35,7 @@ import org.neo4j.internal.kernel.api.IndexLimitation;
 import org.neo4j.internal.kernel.api.IndexOrder;
 import org.neo4j.internal.kernel.api.IndexValueCapability;
 import org.neo4j.internal.kernel.api.TokenNameLookup;
+import org.neo4j.internal.kernel.api.exceptions.schema.MisconfiguredIndexException;
 import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
@@ -45,12 +47,16 @@ import org.neo4j.kernel.impl.index.schema.config.ConfiguredSpaceFillingCurveSett
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
 import org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSettings;
 import org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSettingsReader;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import org.neo4j.util.FeatureToggles;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.ValueCategory;
 
+import static org.apache.commons.lang3.ArrayUtils.contains;
+import static org.apache.commons.lang3.ArrayUtils.indexOf;
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.SchemaIndex.NATIVE_BTREE10;
+import static org.neo4j.kernel.api.exceptions.Status.General.InvalidArguments;
 import static org.neo4j.kernel.impl.index.schema.config.SpaceFillingCurveSettingsFactory.getConfiguredSpaceFillingCurveConfiguration;
 
 /**
@@ -149,7 +155,8 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
                 // The index file exists and is sane so use it to read header information from.
                 GBPTree.readHeader( pageCache, storeFile, new NativeIndexHeaderReader( new SpaceFillingCurveSettingsReader( settings ) ) );
             }
-            return new GenericLayout( numberOfSlots, new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ) );
+            return new GenericLayout( numberOfSlots, descriptor.includedProperties().length,
+                    new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ) );
         }
         catch ( IOException e )
         {
@@ -179,6 +186,31 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
                 layout.getSpaceFillingCurveSettings(), configuration, dropAction, readOnly, tokenNameLookup );
     }
 
+    /**
+     * Indexes of this provider can have included properties, which have to be other properties than the indexed ones.
+     * Their values are stored in the values of the tree, see {@link IncludedPropertiesValue}.
+     */
+    @Override
+    public IndexDescriptor bless( IndexDescriptor index ) throws MisconfiguredIndexException
+    {
+        int[] includedProperties = index.includedProperties();
+        if ( includedProperties.length > 0 && index.type() != IndexDescriptor.Type.GENERAL )
+        {
+            throw new MisconfiguredIndexException( InvalidArguments, "Only general indexes can have included properties, got " + index.type() + "." );
+        }
+        for ( int i = 0; i < includedProperties.length; i++ )
+        {
+            int propertyKeyId = includedProperties[i];
+            if ( contains( index.properties(), propertyKeyId ) || indexOf( includedProperties, propertyKeyId ) != i )
+            {
+                throw new MisconfiguredIndexException( InvalidArguments,
+                        "Property key id " + propertyKeyId + " can only be either indexed or included once, but is in " + index + " included properties " +
+                        Arrays.toString( includedProperties ) + "." );
+            }
+        }
+        return index;
+    }
+
     @Override
     public IndexCapability getCapability( StoreIndexDescriptor descriptor )
     {
@@ -56,17 +56,15 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
         this.configuration = configuration;
     }
 
+    /**
+     * Keys in this index store the complete value for every value type, including all coordinates of points and point arrays,
+     * not only their derived space filling curve values. Geometry range results that fall outside the queried envelope,
+     * but within one of the covering tiles, are filtered by this reader against the stored coordinates.
+     * Because of this, the caller never needs to go to the property store to verify or fetch values for results from this reader.
+     */
     @Override
     public boolean hasFullValuePrecision( IndexQuery... predicates )
     {
-        for ( IndexQuery predicate : predicates )
-        {
-            ValueGroup valueGroup = predicate.valueGroup();
-            if ( valueGroup == ValueGroup.GEOMETRY_ARRAY || valueGroup == ValueGroup.GEOMETRY )
-            {
-                return false;
-            }
-        }
         return true;
     }
 
@@ -111,12 +109,68 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
                 client.initialize( descriptor, IndexProgressor.EMPTY, query, indexOrder, needsValues );
             }
         }
+        else if ( isSkipScanQuery( indexOrder, query ) )
+        {
+            validateQuery( indexOrder, query );
+            GenericKey treeKeyFrom = layout.newKey();
+            GenericKey treeKeyTo = layout.newKey();
+            initializeFromToKeys( treeKeyFrom, treeKeyTo );
+            boolean needFiltering = initializeRangeForQuery( treeKeyFrom, treeKeyTo, query ) || needsFilteringWithinLeadingValue( query );
+            SkipScanNativeIndexProgressor skipScanProgressor =
+                    new SkipScanNativeIndexProgressor( tree, layout, client, openSeekers, treeKeyFrom, treeKeyTo, needFiltering ? query : null );
+            client.initialize( descriptor, skipScanProgressor, query, indexOrder, needsValues );
+        }
         else
         {
             super.query( client, indexOrder, needsValues, query );
         }
     }
 
+    /**
+     * A query on a composite index that has no predicate, other than existence, on the leading property but has a real predicate on
+     * any of the trailing properties would otherwise have to go through the whole index. Such queries are instead executed as a skip-scan
+     * which seeks the trailing predicates within each distinct leading value, see {@link SkipScanNativeIndexProgressor}.
+     */
+    private static boolean isSkipScanQuery( IndexOrder indexOrder, IndexQuery[] query )
+    {
+        if ( indexOrder != IndexOrder.NONE || query.length < 2 || query[0].type() != IndexQuery.IndexQueryType.exists )
+        {
+            return false;
+        }
+        for ( int i = 1; i < query.length; i++ )
+        {
+            if ( query[i].type() != IndexQuery.IndexQueryType.exists )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Within one leading value the skip-scan seeks a single range from the trailing predicates. That range is only exact up to and including
+     * the first trailing predicate which is not an exact match, since every later property can have any value in between its bounds.
+     * E.g. for (exists, exists, exact) or (exists, range, exact) the seeked range includes entries of any value on the last property.
+     *
+     * @return {@code true} if there's a predicate, other than existence, after the first trailing predicate which is not an exact match.
+     */
+    private static boolean needsFilteringWithinLeadingValue( IndexQuery[] query )
+    {
+        int firstNonExact = 1;
+        while ( firstNonExact < query.length && query[firstNonExact].type() == IndexQuery.IndexQueryType.exact )
+        {
+            firstNonExact++;
+        }
+        for ( int i = firstNonExact + 1; i < query.length; i++ )
+        {
+            if ( query[i].type() != IndexQuery.IndexQueryType.exists )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Initializes {@code treeKeyFrom} and {@code treeKeyTo} from the {@link IndexQuery query}.
      * Geometry range queries makes an otherwise straight-forward key construction complex in that a geometry range internally is performed
@@ -161,6 +215,9 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
                     // Inclusion.LOW / HIGH respectively and filter out points later on.
                     treeKeyFrom.stateSlot( i ).writePointDerived( crs, range.min, LOW );
                     treeKeyTo.stateSlot( i ).writePointDerived( crs, range.max + 1, HIGH );
+                    // The stored keys have the exact coordinates so that filtering can be done right here, against the key values,
+                    // instead of by the caller reading the property store.
+                    needsFiltering = true;
                 }
                 else
                 {
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.StringJoiner;
+
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
+import org.neo4j.values.storable.Value;
+
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+
+/**
+ * {@link NativeIndexValue} of an index with included properties, holding the values of those properties for the entity of an entry.
+ * Each value is kept in a {@link GenericKey} state, which is also how it's serialized, so all value types can be included.
+ * <p>
+ * Format is a single {@code covered} byte followed by, if the entry is covered, one {@code present} byte per included property,
+ * each followed by the serialized state of the value if the property is present on the entity.
+ * Entries whose included values are bigger than {@link #MAX_SIZE} are not covered, readers will have to go to the entity for those.
+ */
+class IncludedPropertiesValue extends NativeIndexValue
+{
+    /**
+     * Max size of the included values of an entry, which is reserved out of the key size limit of the index.
+     */
+    static final int MAX_SIZE = 512;
+
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+
+    private final int numberOfKeySlots;
+    private final GenericKey[] states;
+    private final boolean[] present;
+    private boolean covered;
+
+    IncludedPropertiesValue( int numberOfKeySlots, int numberOfIncludedProperties, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
+    {
+        this.numberOfKeySlots = numberOfKeySlots;
+        this.states = new GenericKey[numberOfIncludedProperties];
+        this.present = new boolean[numberOfIncludedProperties];
+        for ( int i = 0; i < numberOfIncludedProperties; i++ )
+        {
+            states[i] = new GenericKey( spatialSettings );
+        }
+    }
+
+    /**
+     * @param values values of the indexed properties, followed by the values of the included properties.
+     */
+    @Override
+    void from( Value... values )
+    {
+        covered = values.length == numberOfKeySlots + states.length;
+        if ( covered )
+        {
+            for ( int i = 0; i < states.length; i++ )
+            {
+                Value value = values[numberOfKeySlots + i];
+                present[i] = value != null && value != NO_VALUE;
+                if ( present[i] )
+                {
+                    states[i].initFromValue( 0, value, NEUTRAL );
+                }
+            }
+            covered = size() <= MAX_SIZE;
+        }
+    }
+
+    @Override
+    Value[] includedValues()
+    {
+        if ( !covered )
+        {
+            return null;
+        }
+        Value[] values = new Value[states.length];
+        for ( int i = 0; i < states.length; i++ )
+        {
+            values[i] = present[i] ? states[i].asValue() : NO_VALUE;
+        }
+        return values;
+    }
+
+    int size()
+    {
+        int size = Byte.BYTES;
+        if ( covered )
+        {
+            for ( int i = 0; i < states.length; i++ )
+            {
+                size += Byte.BYTES;
+                if ( present[i] )
+                {
+                    size += states[i].sizeInternal();
+                }
+            }
+        }
+        return size;
+    }
+
+    void put( PageCursor cursor )
+    {
+        cursor.putByte( covered ? TRUE : FALSE );
+        if ( covered )
+        {
+            for ( int i = 0; i < states.length; i++ )
+            {
+                cursor.putByte( present[i] ? TRUE : FALSE );
+                if ( present[i] )
+                {
+                    states[i].putInternal( cursor );
+                }
+            }
+        }
+    }
+
+    void get( PageCursor cursor, int size )
+    {
+        covered = false;
+        if ( size < Byte.BYTES )
+        {
+            GenericKey.setCursorException( cursor, "included values size less than one byte, " + size );
+            return;
+        }
+        if ( cursor.getByte() == FALSE )
+        {
+            return;
+        }
+
+        int remaining = size - Byte.BYTES;
+        for ( int i = 0; i < states.length; i++ )
+        {
+            if ( remaining < Byte.BYTES )
+            {
+                GenericKey.setCursorException( cursor, "included values size too small for " + states.length + " included properties, " + size );
+                return;
+            }
+            present[i] = cursor.getByte() == TRUE;
+            remaining -= Byte.BYTES;
+            if ( present[i] )
+            {
+                if ( !states[i].getInternal( cursor, remaining ) )
+                {
+                    // The state has already set a cursor exception with more specific information
+                    return;
+                }
+                remaining -= states[i].sizeInternal();
+            }
+        }
+        covered = true;
+    }
+
+    @Override
+    public String toString()
+    {
+        if ( !covered )
+        {
+            return "[not covered]";
+        }
+        StringJoiner joiner = new StringJoiner( ",", "[", "]" );
+        for ( int i = 0; i < states.length; i++ )
+        {
+            joiner.add( present[i] ? states[i].toStringInternal() : "no value" );
+        }
+        return joiner.toString();
+    }
+}
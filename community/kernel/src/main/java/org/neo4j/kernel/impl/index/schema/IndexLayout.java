@@ -65,6 +65,14 @@ abstract class IndexLayout<KEY extends NativeIndexKey<KEY>, VALUE extends Native
         // nothing to read
     }
 
+    /**
+     * @return the biggest size of a value, which is reserved out of the key-value size cap of the tree.
+     */
+    int maxValueSize()
+    {
+        return NativeIndexValue.SIZE;
+    }
+
     @Override
     public boolean fixedSize()
     {
@@ -42,9 +42,10 @@ public class NativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>, VALUE ext
         {
             while ( seeker.next() )
             {
-                KEY key = seeker.get().key();
+                Hit<KEY,VALUE> hit = seeker.get();
+                KEY key = hit.key();
                 Value[] values = extractValues( key );
-                if ( acceptValue( values ) && client.acceptNode( key.getEntityId(), values ) )
+                if ( acceptValue( values ) && acceptNode( key, hit.value(), values ) )
                 {
                     return true;
                 }
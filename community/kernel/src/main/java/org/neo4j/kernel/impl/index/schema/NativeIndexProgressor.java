@@ -65,4 +65,13 @@ abstract class NativeIndexProgressor<KEY extends NativeIndexKey<KEY>, VALUE exte
     {
         return client.needsValues() ? key.asValues() : null;
     }
+
+    /**
+     * Passes the hit on to the client, with the values of the included properties of the index, if it has any and the client needs values.
+     */
+    boolean acceptNode( KEY key, VALUE value, Value[] values )
+    {
+        Value[] includedValues = client.needsValues() ? value.includedValues() : null;
+        return includedValues == null ? client.acceptNode( key.getEntityId(), values ) : client.acceptNode( key.getEntityId(), values, includedValues );
+    }
 }
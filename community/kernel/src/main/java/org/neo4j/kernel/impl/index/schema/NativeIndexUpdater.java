@@ -172,10 +172,15 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>, VALUE extends NativeIn
         treeValue.from( values );
     }
 
+    /**
+     * @param values values of the indexed properties, which for an index with included properties are followed by values of those properties,
+     * that aren't part of the key.
+     */
     static <KEY extends NativeIndexKey<KEY>> void initializeKeyFromUpdate( KEY treeKey, long entityId, Value[] values )
     {
         treeKey.initialize( entityId );
-        for ( int i = 0; i < values.length; i++ )
+        int slots = treeKey.numberOfStateSlots();
+        for ( int i = 0; i < slots; i++ )
         {
             treeKey.initFromValue( i, values[i], NEUTRAL );
         }
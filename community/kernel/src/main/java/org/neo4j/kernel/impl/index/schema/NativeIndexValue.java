@@ -28,7 +28,7 @@ import org.neo4j.values.storable.Value;
  * NOTE:  For the time being no data exists in {@link NativeIndexValue}, but since the layout is under development
  * it's very convenient to have this class still exist so that it's very easy to try out different types
  * of layouts without changing the entire stack of arguments. In the end it may just be that this class
- * will be deleted, but for now it sticks around.
+ * will be deleted, but for now it sticks around. The exception is {@link IncludedPropertiesValue} for indexes with included properties.
  */
 class NativeIndexValue
 {
@@ -41,6 +41,14 @@ class NativeIndexValue
         // not needed a.t.m.
     }
 
+    /**
+     * @return values of the included properties of the index, or {@code null} if this value doesn't have them.
+     */
+    Value[] includedValues()
+    {
+        return null;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+
+/**
+ * Skip-scan over a composite {@link GBPTree} index for queries that have no predicate on the leading property, but one or more
+ * predicates on the trailing properties. Instead of going through all entries in the index this progressor hops between the distinct
+ * values of the leading property and, for each such value, only seeks the range that matches the trailing predicates.
+ * This is much cheaper than a full scan when the leading property has few distinct values.
+ * <p>
+ * Each hop consists of one seek to find the next distinct leading value, positioned right after all entries of the previous
+ * leading value, followed by one seek for the range of the trailing predicates within that leading value.
+ */
+class SkipScanNativeIndexProgressor implements IndexProgressor
+{
+    private final GBPTree<GenericKey,NativeIndexValue> tree;
+    private final IndexLayout<GenericKey,NativeIndexValue> layout;
+    private final NodeValueClient client;
+    private final Collection<RawCursor<Hit<GenericKey,NativeIndexValue>,IOException>> openSeekers;
+    private final IndexQuery[] filter;
+    private final GenericKey rangeFrom;
+    private final GenericKey rangeTo;
+    private final GenericKey nextLeadingFrom;
+    private final GenericKey highest;
+    private RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> seeker;
+    private boolean exhausted;
+    private boolean closed;
+
+    /**
+     * @param rangeFrom "from" key initialized from the query, where the leading state slot will be replaced by each distinct leading value.
+     * @param rangeTo "to" key initialized from the query, where the leading state slot will be replaced by each distinct leading value.
+     * @param filter predicates to filter the hits through, or {@code null} if the hits within the seeked ranges need no filtering.
+     */
+    SkipScanNativeIndexProgressor( GBPTree<GenericKey,NativeIndexValue> tree, IndexLayout<GenericKey,NativeIndexValue> layout, NodeValueClient client,
+            Collection<RawCursor<Hit<GenericKey,NativeIndexValue>,IOException>> openSeekers, GenericKey rangeFrom, GenericKey rangeTo,
+            IndexQuery[] filter )
+    {
+        this.tree = tree;
+        this.layout = layout;
+        this.client = client;
+        this.openSeekers = openSeekers;
+        this.rangeFrom = rangeFrom;
+        this.rangeTo = rangeTo;
+        this.filter = filter;
+        this.nextLeadingFrom = layout.newKey();
+        this.nextLeadingFrom.initialize( Long.MIN_VALUE );
+        this.nextLeadingFrom.initValuesAsLowest();
+        this.highest = layout.newKey();
+        this.highest.initialize( Long.MAX_VALUE );
+        this.highest.initValuesAsHighest();
+    }
+
+    @Override
+    public boolean next()
+    {
+        try
+        {
+            while ( !exhausted )
+            {
+                if ( seeker == null && !seekNextLeadingValue() )
+                {
+                    exhausted = true;
+                    return false;
+                }
+                while ( seeker.next() )
+                {
+                    Hit<GenericKey,NativeIndexValue> hit = seeker.get();
+                    GenericKey key = hit.key();
+                    Value[] values = filter != null || client.needsValues() ? key.asValues() : null;
+                    if ( acceptValues( values ) && acceptNode( key, hit.value(), values ) )
+                    {
+                        return true;
+                    }
+                }
+                closeSeeker();
+            }
+            return false;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private boolean acceptNode( GenericKey key, NativeIndexValue value, Value[] values )
+    {
+        Value[] includedValues = client.needsValues() ? value.includedValues() : null;
+        return includedValues == null ? client.acceptNode( key.getEntityId(), values ) : client.acceptNode( key.getEntityId(), values, includedValues );
+    }
+
+    /**
+     * Finds the next distinct leading value after the current one and starts a seek for the trailing predicates within it.
+     * Leading values for which the trailing predicates make up an empty range are skipped.
+     *
+     * @return {@code true} if there was another leading value, otherwise {@code false}.
+     */
+    private boolean seekNextLeadingValue() throws IOException
+    {
+        do
+        {
+            try ( RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> leadingSeeker = tree.seek( nextLeadingFrom, highest ) )
+            {
+                if ( !leadingSeeker.next() )
+                {
+                    return false;
+                }
+                GenericKey leadingValue = leadingSeeker.get().key().stateSlot( 0 );
+                rangeFrom.stateSlot( 0 ).copyFromInternal( leadingValue );
+                rangeTo.stateSlot( 0 ).copyFromInternal( leadingValue );
+                nextLeadingFrom.stateSlot( 0 ).copyFromInternal( leadingValue );
+            }
+            // Position the next hop after all entries having this leading value
+            nextLeadingFrom.setEntityId( Long.MAX_VALUE );
+            for ( int i = 1; i < nextLeadingFrom.numberOfStateSlots(); i++ )
+            {
+                nextLeadingFrom.initValueAsHighest( i, ValueGroup.UNKNOWN );
+            }
+        }
+        while ( layout.compare( rangeFrom, rangeTo ) > 0 );
+
+        seeker = tree.seek( rangeFrom, rangeTo );
+        openSeekers.add( seeker );
+        return true;
+    }
+
+    private boolean acceptValues( Value[] values )
+    {
+        if ( filter != null )
+        {
+            for ( int i = 0; i < values.length; i++ )
+            {
+                if ( !filter[i].acceptsValue( values[i] ) )
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void closeSeeker() throws IOException
+    {
+        if ( seeker != null )
+        {
+            seeker.close();
+            openSeekers.remove( seeker );
+            seeker = null;
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if ( !closed )
+        {
+            closed = true;
+            try
+            {
+                closeSeeker();
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import java.util.stream.Stream;
+
+import org.neo4j.storageengine.api.lock.LockTracer;
+
+/**
+ * A {@link StatementLocks} implementation that only creates the actual {@link StatementLocks}, and with it a
+ * {@link Locks.Client}, the first time a transaction needs a lock client. Read-only transactions that don't take any
+ * locks, like lookups by id or label scans, never acquire and release a lock client at all.
+ * <p>
+ * Inspection and termination of the transaction can happen concurrently from other threads. Those never create the
+ * lock client, and a lock client created after the transaction has been stopped is stopped right away.
+ */
+public class LazyStatementLocks implements StatementLocks
+{
+    private final StatementLocksFactory factory;
+    private volatile StatementLocks statementLocks;
+    private boolean stopped;
+
+    public LazyStatementLocks( StatementLocksFactory factory )
+    {
+        this.factory = factory;
+    }
+
+    @Override
+    public Locks.Client pessimistic()
+    {
+        return statementLocks().pessimistic();
+    }
+
+    @Override
+    public Locks.Client optimistic()
+    {
+        return statementLocks().optimistic();
+    }
+
+    @Override
+    public void prepareForCommit( LockTracer lockTracer )
+    {
+        statementLocks().prepareForCommit( lockTracer );
+    }
+
+    @Override
+    public synchronized void stop()
+    {
+        stopped = true;
+        if ( statementLocks != null )
+        {
+            statementLocks.stop();
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        StatementLocks locks = statementLocks;
+        if ( locks != null )
+        {
+            locks.close();
+        }
+    }
+
+    @Override
+    public Stream<? extends ActiveLock> activeLocks()
+    {
+        StatementLocks locks = statementLocks;
+        return locks == null ? Stream.empty() : locks.activeLocks();
+    }
+
+    @Override
+    public long activeLockCount()
+    {
+        StatementLocks locks = statementLocks;
+        return locks == null ? 0 : locks.activeLockCount();
+    }
+
+    /**
+     * @return {@code true} if the actual statement locks, and with them a lock client, have been created.
+     */
+    public boolean isInitialized()
+    {
+        return statementLocks != null;
+    }
+
+    private StatementLocks statementLocks()
+    {
+        StatementLocks locks = statementLocks;
+        return locks != null ? locks : createStatementLocks();
+    }
+
+    private synchronized StatementLocks createStatementLocks()
+    {
+        if ( statementLocks == null )
+        {
+            StatementLocks locks = factory.newInstance();
+            if ( stopped )
+            {
+                locks.stop();
+            }
+            statementLocks = locks;
+        }
+        return statementLocks;
+    }
+}
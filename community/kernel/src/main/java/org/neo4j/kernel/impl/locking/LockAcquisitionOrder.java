@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import java.util.Arrays;
+
+/**
+ * The order in which lock clients acquire a batch of locks of one resource type. Batches are always acquired in
+ * ascending resource id order, so two clients locking overlapping batches can not deadlock on each other within them.
+ */
+public final class LockAcquisitionOrder
+{
+    private LockAcquisitionOrder()
+    {
+    }
+
+    /**
+     * @param resourceIds ids of the resources to lock, in any order.
+     * @return the given ids, if they are already sorted, or a sorted copy of them otherwise.
+     */
+    public static long[] ascending( long[] resourceIds )
+    {
+        for ( int i = 1; i < resourceIds.length; i++ )
+        {
+            if ( resourceIds[i - 1] > resourceIds[i] )
+            {
+                long[] sorted = resourceIds.clone();
+                Arrays.sort( sorted );
+                return sorted;
+            }
+        }
+        return resourceIds;
+    }
+}
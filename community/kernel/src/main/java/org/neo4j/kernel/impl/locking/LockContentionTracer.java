@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.storageengine.api.lock.LockTracer;
+import org.neo4j.storageengine.api.lock.LockWaitEvent;
+import org.neo4j.storageengine.api.lock.ResourceType;
+import org.neo4j.time.SystemNanoClock;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A {@link LockTracer} that keeps track of how often, and for how long, transactions had to wait for locks.
+ * <p>
+ * Lock managers only report {@linkplain #waitForLock(boolean, ResourceType, long...) wait events} when a lock can
+ * not be granted immediately, so uncontended locking never reaches this tracer. While tracking is disabled, wait
+ * events are ignored altogether, and disabling tracking forgets the waits recorded so far. Waits are accumulated per
+ * resource type, and per resource id for up to a bounded number of distinct resources, from which the most contended
+ * resources can be listed. When that bound is reached the least contended half of the tracked resources is forgotten,
+ * to make room for resources that become contended later on.
+ */
+public class LockContentionTracer implements LockTracer
+{
+    public static final int DEFAULT_MAX_TRACKED_RESOURCES = 10_000;
+
+    private final SystemNanoClock clock;
+    private final int maxTrackedResources;
+    private final ConcurrentMap<ResourceType,WaitCounters> waitsByResourceType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Resource,LongAdder> waitsByResource = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public LockContentionTracer( SystemNanoClock clock )
+    {
+        this( clock, DEFAULT_MAX_TRACKED_RESOURCES );
+    }
+
+    public LockContentionTracer( SystemNanoClock clock, int maxTrackedResources )
+    {
+        this.clock = clock;
+        this.maxTrackedResources = maxTrackedResources;
+    }
+
+    public void setEnabled( boolean enabled )
+    {
+        this.enabled = enabled;
+        if ( !enabled )
+        {
+            clear();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Override
+    public LockWaitEvent waitForLock( boolean exclusive, ResourceType resourceType, long... resourceIds )
+    {
+        if ( !enabled )
+        {
+            return LockWaitEvent.NONE;
+        }
+        return new ContentionWaitEvent( resourceType, resourceIds, clock.nanos() );
+    }
+
+    /**
+     * @return the number of lock waits on resources of the given type.
+     */
+    public long waitCount( ResourceType resourceType )
+    {
+        WaitCounters counters = waitsByResourceType.get( resourceType );
+        return counters == null ? 0 : counters.waits.sum();
+    }
+
+    /**
+     * @return the accumulated time, in nanoseconds, spent waiting for locks on resources of the given type.
+     */
+    public long waitTimeNanos( ResourceType resourceType )
+    {
+        WaitCounters counters = waitsByResourceType.get( resourceType );
+        return counters == null ? 0 : counters.waitNanos.sum();
+    }
+
+    /**
+     * @return the resource types for which lock waits have been recorded.
+     */
+    public List<ResourceType> contendedResourceTypes()
+    {
+        return waitsByResourceType.keySet().stream()
+                .sorted( Comparator.comparing( ResourceType::name ) )
+                .collect( toList() );
+    }
+
+    /**
+     * List the resources of the given type that transactions waited for the most. The least contended resources are
+     * forgotten whenever {@code maxTrackedResources} distinct resources are tracked, and a resource that is waited for
+     * again after that starts counting from zero, so the list is an approximate ranking rather than an exact one.
+     *
+     * @param resourceType the type of resources to list.
+     * @param limit the maximum number of resources to list.
+     * @return the most contended resources of the given type, in descending order of wait count.
+     */
+    public List<ContendedResource> hottestResources( ResourceType resourceType, int limit )
+    {
+        return waitsByResource.entrySet().stream()
+                .filter( entry -> entry.getKey().resourceType.equals( resourceType ) )
+                .map( entry -> new ContendedResource( resourceType, entry.getKey().resourceId, entry.getValue().sum() ) )
+                .sorted( Comparator.comparingLong( ContendedResource::waitCount ).reversed() )
+                .limit( limit )
+                .collect( toList() );
+    }
+
+    /**
+     * Forget all lock waits recorded so far.
+     */
+    public void clear()
+    {
+        waitsByResourceType.clear();
+        waitsByResource.clear();
+    }
+
+    private void waited( ResourceType resourceType, long[] resourceIds, long waitNanos )
+    {
+        if ( !enabled )
+        {
+            // Tracking was disabled, and the recorded waits cleared, while this wait was in progress
+            return;
+        }
+        WaitCounters counters = waitsByResourceType.computeIfAbsent( resourceType, type -> new WaitCounters() );
+        counters.waits.increment();
+        counters.waitNanos.add( waitNanos );
+
+        for ( long resourceId : resourceIds )
+        {
+            Resource resource = new Resource( resourceType, resourceId );
+            LongAdder waits = waitsByResource.get( resource );
+            if ( waits == null )
+            {
+                if ( waitsByResource.size() >= maxTrackedResources )
+                {
+                    evictLeastContendedResources();
+                }
+                waits = waitsByResource.computeIfAbsent( resource, r -> new LongAdder() );
+            }
+            waits.increment();
+        }
+    }
+
+    private synchronized void evictLeastContendedResources()
+    {
+        int size = waitsByResource.size();
+        if ( size < maxTrackedResources )
+        {
+            // Another thread made room already
+            return;
+        }
+        waitsByResource.entrySet().stream()
+                .sorted( Comparator.comparingLong( entry -> entry.getValue().sum() ) )
+                .limit( Math.max( 1, size / 2 ) )
+                .map( Map.Entry::getKey )
+                .collect( toList() )
+                .forEach( waitsByResource::remove );
+    }
+
+    public static final class ContendedResource
+    {
+        private final ResourceType resourceType;
+        private final long resourceId;
+        private final long waitCount;
+
+        ContendedResource( ResourceType resourceType, long resourceId, long waitCount )
+        {
+            this.resourceType = resourceType;
+            this.resourceId = resourceId;
+            this.waitCount = waitCount;
+        }
+
+        public ResourceType resourceType()
+        {
+            return resourceType;
+        }
+
+        public long resourceId()
+        {
+            return resourceId;
+        }
+
+        public long waitCount()
+        {
+            return waitCount;
+        }
+    }
+
+    private static final class WaitCounters
+    {
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+    }
+
+    private static final class Resource
+    {
+        private final ResourceType resourceType;
+        private final long resourceId;
+
+        Resource( ResourceType resourceType, long resourceId )
+        {
+            this.resourceType = resourceType;
+            this.resourceId = resourceId;
+        }
+
+        @Override
+        public boolean equals( Object o )
+        {
+            if ( this == o )
+            {
+                return true;
+            }
+            if ( o == null || getClass() != o.getClass() )
+            {
+                return false;
+            }
+            Resource that = (Resource) o;
+            return resourceId == that.resourceId && Objects.equals( resourceType, that.resourceType );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash( resourceType, resourceId );
+        }
+    }
+
+    private class ContentionWaitEvent implements LockWaitEvent
+    {
+        private final ResourceType resourceType;
+        private final long[] resourceIds;
+        private final long startNanos;
+
+        ContentionWaitEvent( ResourceType resourceType, long[] resourceIds, long startNanos )
+        {
+            this.resourceType = resourceType;
+            this.resourceIds = resourceIds;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close()
+        {
+            waited( resourceType, resourceIds, clock.nanos() - startNanos );
+        }
+    }
+}
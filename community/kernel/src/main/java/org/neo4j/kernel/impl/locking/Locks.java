@@ -70,7 +70,8 @@ public interface Locks
          *
          * @param tracer a tracer for listening on lock events.
          * @param resourceType type or resource(s) to lock.
-         * @param resourceIds id(s) of resources to lock. Multiple ids should be ordered consistently by all callers
+         * @param resourceIds id(s) of resources to lock. Multiple ids are acquired in ascending order, whatever order they
+         * are given in, to avoid deadlocks between callers locking overlapping sets of resources.
          */
         void acquireShared( LockTracer tracer, ResourceType resourceType, long... resourceIds ) throws AcquireLockTimeoutException;
 
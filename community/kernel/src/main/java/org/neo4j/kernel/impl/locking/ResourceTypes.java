@@ -41,7 +41,8 @@ public enum ResourceTypes implements ResourceType
     INDEX_ENTRY( 4, LockWaitStrategies.INCREMENTAL_BACKOFF ),
     EXPLICIT_INDEX( 5, LockWaitStrategies.INCREMENTAL_BACKOFF ),
     LABEL( 6, LockWaitStrategies.INCREMENTAL_BACKOFF ),
-    RELATIONSHIP_TYPE( 7, LockWaitStrategies.INCREMENTAL_BACKOFF );
+    RELATIONSHIP_TYPE( 7, LockWaitStrategies.INCREMENTAL_BACKOFF ),
+    RELATIONSHIP_GROUP( 8, LockWaitStrategies.INCREMENTAL_BACKOFF );
 
     private static final boolean useStrongHashing =
             FeatureToggles.flag( ResourceTypes.class, "useStrongHashing", false );
@@ -80,6 +81,18 @@ public enum ResourceTypes implements ResourceType
         return waitStrategy;
     }
 
+    /**
+     * The resource id of the relationship group of the given type of a dense node, {@code nodeId << 24 | type & 0xFFFFFF}.
+     * Only unique while node ids fit in 40 bits and type ids in 24 bits. Beyond that the high bits of the node id are
+     * shifted out, and different node/type pairs collide on the same lock. Since these locks are only taken
+     * exclusively, colliding groups only block each other, but that also makes them part of each other's deadlocks.
+     * All directions of a type share the group record, and thereby the lock.
+     */
+    public static long relationshipGroupResourceId( long nodeId, int relationshipType )
+    {
+        return nodeId << 24 | relationshipType & 0xFFFFFF;
+    }
+
     /**
      * The index entry hashing method used for entries in explicit indexes.
      */
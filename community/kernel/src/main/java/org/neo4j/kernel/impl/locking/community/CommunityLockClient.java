@@ -35,6 +35,7 @@ import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Stream;
 
 import org.neo4j.kernel.impl.locking.ActiveLock;
+import org.neo4j.kernel.impl.locking.LockAcquisitionOrder;
 import org.neo4j.kernel.impl.locking.LockClientStateHolder;
 import org.neo4j.kernel.impl.locking.LockClientStoppedException;
 import org.neo4j.kernel.impl.locking.Locks;
@@ -85,7 +86,7 @@ public class CommunityLockClient implements Locks.Client
         try
         {
             MutableLongObjectMap<LockResource> localLocks = localShared( resourceType );
-            for ( long resourceId : resourceIds )
+            for ( long resourceId : LockAcquisitionOrder.ascending( resourceIds ) )
             {
                 LockResource resource = localLocks.get( resourceId );
                 if ( resource != null )
@@ -119,7 +120,7 @@ public class CommunityLockClient implements Locks.Client
         try
         {
             MutableLongObjectMap<LockResource> localLocks = localExclusive( resourceType );
-            for ( long resourceId : resourceIds )
+            for ( long resourceId : LockAcquisitionOrder.ascending( resourceIds ) )
             {
                 LockResource resource = localLocks.get( resourceId );
                 if ( resource != null )
@@ -47,6 +47,7 @@ public class DefaultCursors implements CursorFactory
 
     private static final boolean DEBUG_CLOSING = flag( DefaultCursors.class, "trackCursors", false );
     private List<CloseableStacktrace> closeables = new ArrayList<>();
+    private Thread owner;
 
     public DefaultCursors( StorageReader storageReader )
     {
@@ -56,6 +57,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultNodeCursor allocateNodeCursor()
     {
+        bindToCurrentThread();
         if ( nodeCursor == null )
         {
             return trace( new DefaultNodeCursor( this, storageReader.allocateNodeCursor() ) );
@@ -73,6 +75,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultNodeCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( nodeCursor != null )
         {
             nodeCursor.release();
@@ -83,6 +91,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultRelationshipScanCursor allocateRelationshipScanCursor()
     {
+        bindToCurrentThread();
         if ( relationshipScanCursor == null )
         {
             return trace( new DefaultRelationshipScanCursor( this, storageReader.allocateRelationshipScanCursor() ) );
@@ -100,6 +109,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultRelationshipScanCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( relationshipScanCursor != null )
         {
             relationshipScanCursor.release();
@@ -110,6 +125,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultRelationshipTraversalCursor allocateRelationshipTraversalCursor()
     {
+        bindToCurrentThread();
         if ( relationshipTraversalCursor == null )
         {
             return trace( new DefaultRelationshipTraversalCursor( this, storageReader.allocateRelationshipTraversalCursor() ) );
@@ -127,6 +143,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultRelationshipTraversalCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( relationshipTraversalCursor != null )
         {
             relationshipTraversalCursor.release();
@@ -137,6 +159,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultPropertyCursor allocatePropertyCursor()
     {
+        bindToCurrentThread();
         if ( propertyCursor == null )
         {
             return trace( new DefaultPropertyCursor( this, storageReader.allocatePropertyCursor() ) );
@@ -154,6 +177,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultPropertyCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( propertyCursor != null )
         {
             propertyCursor.release();
@@ -164,6 +193,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultRelationshipGroupCursor allocateRelationshipGroupCursor()
     {
+        bindToCurrentThread();
         if ( relationshipGroupCursor == null )
         {
             return trace( new DefaultRelationshipGroupCursor( this, storageReader.allocateRelationshipGroupCursor() ) );
@@ -181,6 +211,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultRelationshipGroupCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( relationshipGroupCursor != null )
         {
             relationshipGroupCursor.release();
@@ -191,6 +227,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultNodeValueIndexCursor allocateNodeValueIndexCursor()
     {
+        bindToCurrentThread();
         if ( nodeValueIndexCursor == null )
         {
             return trace( new DefaultNodeValueIndexCursor( this ) );
@@ -208,6 +245,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultNodeValueIndexCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( nodeValueIndexCursor != null )
         {
             nodeValueIndexCursor.release();
@@ -218,6 +261,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultNodeLabelIndexCursor allocateNodeLabelIndexCursor()
     {
+        bindToCurrentThread();
         if ( nodeLabelIndexCursor == null )
         {
             return trace( new DefaultNodeLabelIndexCursor( this ) );
@@ -235,6 +279,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultNodeLabelIndexCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( nodeLabelIndexCursor != null )
         {
             nodeLabelIndexCursor.release();
@@ -245,6 +295,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultNodeExplicitIndexCursor allocateNodeExplicitIndexCursor()
     {
+        bindToCurrentThread();
         if ( nodeExplicitIndexCursor == null )
         {
             return trace( new DefaultNodeExplicitIndexCursor( this ) );
@@ -262,6 +313,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultNodeExplicitIndexCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( nodeExplicitIndexCursor != null )
         {
             nodeExplicitIndexCursor.release();
@@ -272,6 +329,7 @@ public class DefaultCursors implements CursorFactory
     @Override
     public DefaultRelationshipExplicitIndexCursor allocateRelationshipExplicitIndexCursor()
     {
+        bindToCurrentThread();
         if ( relationshipExplicitIndexCursor == null )
         {
             return trace( new DefaultRelationshipExplicitIndexCursor( new DefaultRelationshipScanCursor( null,
@@ -290,6 +348,12 @@ public class DefaultCursors implements CursorFactory
 
     public void accept( DefaultRelationshipExplicitIndexCursor cursor )
     {
+        if ( owner != Thread.currentThread() )
+        {
+            // Opened for another thread, see bindToCurrentThread
+            cursor.release();
+            return;
+        }
         if ( relationshipExplicitIndexCursor != null )
         {
             relationshipExplicitIndexCursor.release();
@@ -297,6 +361,24 @@ public class DefaultCursors implements CursorFactory
         relationshipExplicitIndexCursor = cursor;
     }
 
+    /**
+     * Binds the cached cursors to the calling thread. Cached cursors are kept across transactions so that their
+     * store cursors, and the page cursors those hold, can be reused by the next transaction. Page cursors capture
+     * the page cursor tracer and version context of the thread that opened them though, so cursors cached by
+     * another thread are released rather than reused. This is checked on every allocation, since a transaction
+     * can move between threads, like Bolt transactions do between messages. Cursors closed on another thread than
+     * the one the cache is bound to are released rather than cached, for the same reason.
+     */
+    void bindToCurrentThread()
+    {
+        Thread currentThread = Thread.currentThread();
+        if ( owner != currentThread )
+        {
+            release();
+            owner = currentThread;
+        }
+    }
+
     public void release()
     {
         if ( nodeCursor != null )
@@ -47,10 +47,12 @@ import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRa
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSuffixOrContains;
 import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
 
@@ -61,6 +63,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
     private long node;
     private IndexQuery[] query;
     private Value[] values;
+    private Value[] includedValues;
+    private float score = Float.NaN;
     private LongIterator added = ImmutableEmptyLongIterator.INSTANCE;
     private Iterator<NodeWithPropertyValues> addedWithValues = Collections.emptyIterator();
     private LongSet removed = LongSets.immutable.empty();
@@ -104,7 +108,14 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
 
             case exists:
                 setNeedsValuesIfRequiresOrder();
-                scanQuery( descriptor );
+                if ( query.length > 1 )
+                {
+                    skipScanQuery( descriptor, query );
+                }
+                else
+                {
+                    scanQuery( descriptor );
+                }
                 break;
 
             case range:
@@ -125,6 +136,14 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
                 suffixOrContainsQuery( descriptor, firstPredicate );
                 break;
 
+            case fulltextSearch:
+                // Nodes added or changed in this transaction are found by the reader of the fulltext transaction state,
+                // see Read#nodeIndexSeek, but that reader doesn't know about deleted nodes, so those are hidden here
+                assert query.length == 1;
+                this.indexOrder = IndexOrder.NONE;
+                removed = read.txState().addedAndRemovedNodes().getRemoved().freeze();
+                break;
+
             default:
                 throw new UnsupportedOperationException( "Query not supported: " + Arrays.toString( query ) );
             }
@@ -159,10 +178,34 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         {
             this.node = reference;
             this.values = values;
+            this.includedValues = null;
+            this.score = Float.NaN;
             return true;
         }
     }
 
+    @Override
+    public boolean acceptNode( long reference, Value[] values, Value[] includedValues )
+    {
+        boolean accepted = acceptNode( reference, values );
+        if ( accepted )
+        {
+            this.includedValues = includedValues;
+        }
+        return accepted;
+    }
+
+    @Override
+    public boolean acceptNode( long reference, float score, Value... values )
+    {
+        boolean accepted = acceptNode( reference, values );
+        if ( accepted )
+        {
+            this.score = score;
+        }
+        return accepted;
+    }
+
     @Override
     public boolean needsValues()
     {
@@ -188,6 +231,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         {
             this.node = added.next();
             this.values = null;
+            this.includedValues = null;
+            this.score = Float.NaN;
             return true;
         }
         else if ( needsValues && addedWithValues.hasNext() )
@@ -195,6 +240,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
             NodeWithPropertyValues nodeWithPropertyValues = addedWithValues.next();
             this.node = nodeWithPropertyValues.getNodeId();
             this.values = nodeWithPropertyValues.getValues();
+            this.includedValues = null;
+            this.score = Float.NaN;
             return true;
         }
         else if ( added.hasNext() || addedWithValues.hasNext() )
@@ -229,6 +276,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
     {
         this.node = nodeId;
         this.values = values;
+        this.includedValues = null;
+        this.score = Float.NaN;
     }
 
     public void setRead( Read read )
@@ -272,6 +321,23 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         return values[offset];
     }
 
+    @Override
+    public Value includedPropertyValue( int offset )
+    {
+        // The values stored in the index don't reflect the changes made by this transaction
+        if ( includedValues == null || read.hasTxStateWithChanges() )
+        {
+            return null;
+        }
+        return includedValues[offset];
+    }
+
+    @Override
+    public float score()
+    {
+        return score;
+    }
+
     @Override
     public void close()
     {
@@ -281,6 +347,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
             this.node = NO_ID;
             this.query = null;
             this.values = null;
+            this.includedValues = null;
+            this.score = Float.NaN;
             this.read = null;
             this.added = ImmutableEmptyLongIterator.INSTANCE;
             this.addedWithValues = Collections.emptyIterator();
@@ -366,6 +434,24 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    private void skipScanQuery( IndexDescriptor descriptor, IndexQuery[] query )
+    {
+        TransactionState txState = read.txState();
+
+        if ( needsValues )
+        {
+            AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForSkipScan( txState, descriptor, query, indexOrder );
+            addedWithValues = changes.getAdded().iterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+        else
+        {
+            AddedAndRemoved changes = indexUpdatesForSkipScan( txState, descriptor, query, indexOrder );
+            added = changes.getAdded().longIterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+    }
+
     private void suffixOrContainsQuery( IndexDescriptor descriptor, IndexQuery query )
     {
         TransactionState txState = read.txState();
@@ -96,6 +96,17 @@ class NodeValueClientFilter implements NodeValueClient, IndexProgressor
 
     @Override
     public boolean acceptNode( long reference, Value[] values )
+    {
+        return acceptsValues( reference, values ) && target.acceptNode( reference, values );
+    }
+
+    @Override
+    public boolean acceptNode( long reference, Value[] values, Value[] includedValues )
+    {
+        return acceptsValues( reference, values ) && target.acceptNode( reference, values, includedValues );
+    }
+
+    private boolean acceptsValues( long reference, Value[] values )
     {
         // First filter on these values, which come from the index. Some values will be NO_VALUE, because some indexed values cannot be read back.
         // Those values will have to be read from the store using the propertyCursor and is done in one pass after this loop, if needed.
@@ -133,11 +144,7 @@ class NodeValueClientFilter implements NodeValueClient, IndexProgressor
         // If there were one or more NO_VALUE values above then open store cursor and read those values from the store,
         // applying the same filtering as above, but with a loop designed to do only a single pass over the store values,
         // because it's the most expensive part.
-        if ( storeLookups > 0 && !acceptByStoreFiltering( reference, storeLookups, values ) )
-        {
-            return false;
-        }
-        return target.acceptNode( reference, values );
+        return storeLookups == 0 || acceptByStoreFiltering( reference, storeLookups, values );
     }
 
     private boolean acceptByStoreFiltering( long reference, int storeLookups, Value[] values )
@@ -52,6 +52,7 @@ import org.neo4j.internal.kernel.api.exceptions.schema.ConstraintValidationExcep
 import org.neo4j.internal.kernel.api.exceptions.schema.CreateConstraintFailureException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.internal.kernel.api.exceptions.schema.MisconfiguredIndexException;
 import org.neo4j.internal.kernel.api.exceptions.schema.SchemaKernelException;
 import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
 import org.neo4j.internal.kernel.api.schema.LabelSchemaDescriptor;
@@ -60,6 +61,7 @@ import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.internal.kernel.api.schema.constraints.ConstraintDescriptor;
 import org.neo4j.kernel.api.SilentTokenNameLookup;
 import org.neo4j.kernel.api.StatementConstants;
+import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.exceptions.schema.AlreadyConstrainedException;
 import org.neo4j.kernel.api.exceptions.schema.AlreadyIndexedException;
@@ -241,7 +243,7 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
         ktx.assertOpen();
 
         sharedSchemaLock( ResourceTypes.RELATIONSHIP_TYPE, relationshipType );
-        lockRelationshipNodes( sourceNode, targetNode );
+        lockRelationshipNodesForCreate( sourceNode, targetNode, relationshipType );
 
         assertNodeExists( sourceNode );
         assertNodeExists( targetNode );
@@ -919,6 +921,10 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
         }
 
         cursors.assertClosed();
+    }
+
+    public void dispose()
+    {
         cursors.release();
     }
 
@@ -972,13 +978,26 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
     @Override
     public IndexReference indexCreate( SchemaDescriptor descriptor, String provider, Optional<String> name ) throws SchemaKernelException
     {
+        return indexCreate( descriptor, provider, name, new int[0] );
+    }
+
+    @Override
+    public IndexReference indexCreate( SchemaDescriptor descriptor, String provider, Optional<String> name, int[] includedProperties )
+            throws SchemaKernelException
+    {
+        if ( includedProperties.length > 0 && !config.get( GraphDatabaseSettings.index_included_properties ) )
+        {
+            // Such indexes have a schema rule and index file format that older versions can't read
+            throw new MisconfiguredIndexException( Status.General.InvalidArguments, "Indexes with included properties are not enabled, see " +
+                    GraphDatabaseSettings.index_included_properties.name() + "." );
+        }
         exclusiveSchemaLock( descriptor );
         ktx.assertOpen();
         assertValidDescriptor( descriptor, SchemaKernelException.OperationContext.INDEX_CREATION );
         assertIndexDoesNotExist( SchemaKernelException.OperationContext.INDEX_CREATION, descriptor, name );
 
         IndexProviderDescriptor providerDescriptor = indexingService.indexProviderByName( provider );
-        IndexDescriptor index = IndexDescriptorFactory.forSchema( descriptor, name, providerDescriptor );
+        IndexDescriptor index = IndexDescriptorFactory.forSchema( descriptor, name, providerDescriptor, includedProperties );
         index = indexingService.getBlessedDescriptorFromProvider( index );
         ktx.txState().indexDoAdd( index );
         return index;
@@ -1233,12 +1252,17 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
 
     private void acquireExclusiveNodeLock( long node )
     {
-        if ( !ktx.hasTxStateWithChanges() || !ktx.txState().nodeIsAddedInThisTx( node ) )
+        if ( !nodeIsAddedInThisTx( node ) )
         {
             ktx.statementLocks().optimistic().acquireExclusive( ktx.lockTracer(), ResourceTypes.NODE, node );
         }
     }
 
+    private boolean nodeIsAddedInThisTx( long node )
+    {
+        return ktx.hasTxStateWithChanges() && ktx.txState().nodeIsAddedInThisTx( node );
+    }
+
     private void acquireExclusiveRelationshipLock( long relationshipId )
     {
         if ( !ktx.hasTxStateWithChanges() || !ktx.txState().relationshipIsAddedInThisTx( relationshipId ) )
@@ -1268,13 +1292,93 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
     private void lockRelationshipNodes( long startNodeId, long endNodeId )
     {
         // Order the locks to lower the risk of deadlocks with other threads creating/deleting rels concurrently
-        acquireExclusiveNodeLock( min( startNodeId, endNodeId ) );
-        if ( startNodeId != endNodeId )
+        long lowId = min( startNodeId, endNodeId );
+        long highId = max( startNodeId, endNodeId );
+        if ( lowId == highId || nodeIsAddedInThisTx( lowId ) || nodeIsAddedInThisTx( highId ) )
+        {
+            acquireExclusiveNodeLock( lowId );
+            if ( lowId != highId )
+            {
+                acquireExclusiveNodeLock( highId );
+            }
+            return;
+        }
+        // Both nodes in one batch, which saves the lock client a round of bookkeeping and waiting per node
+        ktx.statementLocks().optimistic().acquireExclusive( ktx.lockTracer(), ResourceTypes.NODE, lowId, highId );
+    }
+
+    private void lockRelationshipNodesForCreate( long startNodeId, long endNodeId, int type )
+    {
+        if ( !config.get( GraphDatabaseSettings.relationship_group_locking ) )
+        {
+            lockRelationshipNodes( startNodeId, endNodeId );
+            return;
+        }
+        long lowId = min( startNodeId, endNodeId );
+        long highId = max( startNodeId, endNodeId );
+        boolean lowIdHasGroup = hasRelationshipGroup( lowId, type );
+        boolean highIdHasGroup = lowId != highId && hasRelationshipGroup( highId, type );
+        if ( !lowIdHasGroup && !highIdHasGroup )
+        {
+            lockRelationshipNodes( startNodeId, endNodeId );
+            return;
+        }
+        // Order the locks to lower the risk of deadlocks with other threads creating/deleting rels concurrently
+        lockNodeForRelationshipCreate( lowId, type, lowIdHasGroup );
+        if ( lowId != highId )
         {
-            acquireExclusiveNodeLock( max( startNodeId, endNodeId ) );
+            lockNodeForRelationshipCreate( highId, type, highIdHasGroup );
         }
     }
 
+    /**
+     * Adding a relationship to a dense node that already has a relationship group of its type only changes that group
+     * and the relationship chain it points to, so a shared lock on the node and an exclusive lock on the group is
+     * enough. Everything that changes the group chain of a dense node, or the node record itself, holds the exclusive
+     * node lock: adding a group, converting a node to dense, deleting relationships and changing the node.
+     */
+    private void lockNodeForRelationshipCreate( long node, int type, boolean hasRelationshipGroup )
+    {
+        if ( hasRelationshipGroup )
+        {
+            ktx.statementLocks().optimistic().acquireShared( ktx.lockTracer(), ResourceTypes.NODE, node );
+            // The group may have been deleted before we got the lock, but now that we have it the group chain is stable
+            if ( hasRelationshipGroup( node, type ) )
+            {
+                ktx.statementLocks().optimistic().acquireExclusive( ktx.lockTracer(), ResourceTypes.RELATIONSHIP_GROUP,
+                        ResourceTypes.relationshipGroupResourceId( node, type ) );
+                return;
+            }
+            ktx.statementLocks().optimistic().releaseShared( ResourceTypes.NODE, node );
+        }
+        acquireExclusiveNodeLock( node );
+    }
+
+    private boolean hasRelationshipGroup( long node, int type )
+    {
+        if ( nodeIsAddedInThisTx( node ) )
+        {
+            return false;
+        }
+        allStoreHolder.singleNode( node, nodeCursor );
+        if ( !nodeCursor.next() || !nodeCursor.isDense() )
+        {
+            return false;
+        }
+        try ( DefaultRelationshipGroupCursor groups = cursors.allocateRelationshipGroupCursor() )
+        {
+            nodeCursor.relationships( groups );
+            while ( groups.next() )
+            {
+                if ( groups.type() == type )
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static boolean propertyHasChanged( Value lhs, Value rhs )
     {
         //It is not enough to check equality here since by our equality semantics `int == tofloat(int)` is `true`
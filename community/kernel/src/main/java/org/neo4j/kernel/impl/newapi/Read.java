@@ -36,6 +36,7 @@ import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.explicitindex.ExplicitIndexNotFoundKernelException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.internal.kernel.api.security.AccessMode;
 import org.neo4j.kernel.api.AssertOpen;
@@ -46,6 +47,7 @@ import org.neo4j.kernel.api.txstate.ExplicitIndexTransactionState;
 import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.kernel.api.txstate.TxStateHolder;
 import org.neo4j.kernel.api.txstate.auxiliary.AuxiliaryTransactionState;
+import org.neo4j.kernel.api.txstate.auxiliary.IndexReaderTransactionState;
 import org.neo4j.kernel.impl.api.KernelTransactionImplementation;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
@@ -93,12 +95,35 @@ abstract class Read implements TxStateHolder,
         }
 
         DefaultNodeValueIndexCursor cursorImpl = (DefaultNodeValueIndexCursor) cursor;
-        IndexReader reader = indexReader( index, false );
+        IndexReader reader = isFulltextSearch( query ) ? fulltextIndexReader( index ) : indexReader( index, false );
         cursorImpl.setRead( this );
         IndexProgressor.NodeValueClient withFullPrecision = injectFullValuePrecision( cursorImpl, query, reader );
         reader.query( withFullPrecision, indexOrder, needsValues, query );
     }
 
+    private static boolean isFulltextSearch( IndexQuery[] query )
+    {
+        return query.length == 1 && query[0].type() == IndexQuery.IndexQueryType.fulltextSearch;
+    }
+
+    /**
+     * Fulltext searches can't be evaluated against the kernel transaction state, so the fulltext index provider keeps the changes of this
+     * transaction in its own transaction state, and provides a reader which merges those with the results from the index.
+     */
+    private IndexReader fulltextIndexReader( IndexReference index ) throws IndexNotFoundKernelException
+    {
+        if ( ktx.hasTxStateWithChanges() )
+        {
+            AuxiliaryTransactionState state = ktx.auxiliaryTxState( new IndexProviderDescriptor( index.providerKey(), index.providerVersion() ) );
+            IndexReader reader = state instanceof IndexReaderTransactionState ? ((IndexReaderTransactionState) state).indexReader( index, ktx ) : null;
+            if ( reader != null )
+            {
+                return reader;
+            }
+        }
+        return indexReader( index, false );
+    }
+
     @Override
     public void nodeIndexDistinctValues( IndexReference index, NodeValueIndexCursor cursor, boolean needsValues ) throws IndexNotFoundKernelException
     {
@@ -215,6 +240,14 @@ abstract class Read implements TxStateHolder,
                 return true;
             }
         }
+        // Values of included properties are read from the index too, see NodeValueIndexCursor#includedPropertyValue
+        for ( int prop : index.includedProperties() )
+        {
+            if ( !mode.allowsPropertyReads( prop ) )
+            {
+                return true;
+            }
+        }
         return false;
     }
 
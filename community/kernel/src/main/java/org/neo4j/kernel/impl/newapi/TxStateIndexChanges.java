@@ -71,6 +71,28 @@ class TxStateIndexChanges
         return indexUpdatesWithValuesScanAndFilter( txState, descriptor, null, indexOrder );
     }
 
+    // SKIP SCAN
+
+    /**
+     * A composite query that starts with an exists predicate is answered by skip-scanning the index, so the remaining
+     * predicates have to be applied to the transaction state as well, not only to what is in the index.
+     */
+    static AddedAndRemoved indexUpdatesForSkipScan( ReadableTransactionState txState,
+                                                    IndexDescriptor descriptor,
+                                                    IndexQuery[] query,
+                                                    IndexOrder indexOrder )
+    {
+        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+    }
+
+    static AddedWithValuesAndRemoved indexUpdatesWithValuesForSkipScan( ReadableTransactionState txState,
+                                                                        IndexDescriptor descriptor,
+                                                                        IndexQuery[] query,
+                                                                        IndexOrder indexOrder )
+    {
+        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, query, indexOrder );
+    }
+
     // SUFFIX
 
     static AddedAndRemoved indexUpdatesForSuffixOrContains( ReadableTransactionState txState,
@@ -82,7 +104,7 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
-        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+        return indexUpdatesForScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
     }
 
     static AddedWithValuesAndRemoved indexUpdatesWithValuesForSuffixOrContains( ReadableTransactionState txState,
@@ -94,7 +116,7 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
-        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, query, indexOrder );
+        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
     }
 
     // SEEK
@@ -318,7 +340,7 @@ class TxStateIndexChanges
 
     private static AddedAndRemoved indexUpdatesForScanAndFilter( ReadableTransactionState txState,
                                                                  IndexDescriptor descriptor,
-                                                                 IndexQuery filter,
+                                                                 IndexQuery[] filter,
                                                                  IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -334,7 +356,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( filter == null || accepts( filter, key ) )
             {
                 LongDiffSets diffSet = entry.getValue();
                 added.addAll( diffSet.getAdded() );
@@ -346,7 +368,7 @@ class TxStateIndexChanges
 
     private static AddedWithValuesAndRemoved indexUpdatesWithValuesScanAndFilter( ReadableTransactionState txState,
                                                                                   IndexDescriptor descriptor,
-                                                                                  IndexQuery filter,
+                                                                                  IndexQuery[] filter,
                                                                                   IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -362,7 +384,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( filter == null || accepts( filter, key ) )
             {
                 Value[] values = key.getValues();
                 LongDiffSets diffSet = entry.getValue();
@@ -373,6 +395,18 @@ class TxStateIndexChanges
         return new AddedWithValuesAndRemoved( indexOrder == IndexOrder.DESCENDING ? added.asReversed() : added, removed );
     }
 
+    private static boolean accepts( IndexQuery[] filter, ValueTuple key )
+    {
+        for ( int i = 0; i < filter.length; i++ )
+        {
+            if ( !filter[i].acceptsValue( key.valueAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Map<ValueTuple,? extends LongDiffSets> getUpdates( ReadableTransactionState txState,
                                                                       IndexDescriptor descriptor,
                                                                       IndexOrder indexOrder )
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
@@ -88,6 +89,7 @@ import org.neo4j.kernel.impl.transaction.command.IndexBatchTransactionApplier;
 import org.neo4j.kernel.impl.transaction.command.IndexUpdatesWork;
 import org.neo4j.kernel.impl.transaction.command.LabelUpdateWork;
 import org.neo4j.kernel.impl.transaction.command.NeoStoreBatchTransactionApplier;
+import org.neo4j.kernel.impl.transaction.command.ParallelNeoStoreBatchApplier;
 import org.neo4j.kernel.impl.transaction.state.IntegrityValidator;
 import org.neo4j.kernel.impl.transaction.state.storeview.DynamicIndexStoreView;
 import org.neo4j.kernel.impl.transaction.state.storeview.NeoStoreIndexStoreView;
@@ -99,6 +101,7 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.kernel.spi.explicitindex.IndexImplementation;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
 import org.neo4j.storageengine.api.CommandsToApply;
@@ -145,6 +148,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IdController idController;
     private final int denseNodeThreshold;
     private final int recordIdBatchSize;
+    private final JobScheduler scheduler;
+    private final int parallelApplyThreads;
+    private final VersionContextSupplier versionContextSupplier;
+    private ExecutorService parallelApplyExecutor;
 
     public RecordStorageEngine(
             DatabaseLayout databaseLayout,
@@ -180,6 +187,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         this.indexConfigStore = indexConfigStore;
         this.constraintSemantics = constraintSemantics;
         this.explicitIndexTransactionOrdering = explicitIndexTransactionOrdering;
+        this.versionContextSupplier = versionContextSupplier;
 
         this.idController = idController;
         StoreFactory factory = new StoreFactory( databaseLayout, config, idGeneratorFactory, pageCache, fs, logProvider,
@@ -216,6 +224,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
 
             denseNodeThreshold = config.get( GraphDatabaseSettings.dense_node_threshold );
             recordIdBatchSize = config.get( GraphDatabaseSettings.record_id_batch_size );
+            this.scheduler = scheduler;
+            parallelApplyThreads = config.get( GraphDatabaseSettings.parallel_transaction_apply_threads );
         }
         catch ( Throwable failure )
         {
@@ -281,6 +291,12 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     @Override
     public void apply( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
     {
+        if ( parallelApplyExecutor != null && batch.next() != null && mode != REVERSE_RECOVERY )
+        {
+            applyInParallel( batch, mode );
+            return;
+        }
+
         // Have these command appliers as separate try-with-resource to have better control over
         // point between closing this and the locks above
         try ( IndexActivator indexActivator = new IndexActivator( indexingService );
@@ -305,6 +321,41 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         }
     }
 
+    /**
+     * Applies a batch like {@link #apply(CommandsToApply, TransactionApplicationMode)}, but applies the record changes of
+     * non-conflicting transactions concurrently using a {@link ParallelNeoStoreBatchApplier}. The other appliers are
+     * applied to each transaction in commit order after the record changes of its wave have been applied.
+     */
+    private void applyInParallel( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
+    {
+        ParallelNeoStoreBatchApplier recordApplier = new ParallelNeoStoreBatchApplier( mode.version(), neoStores, cacheAccess,
+                lockService( mode ), parallelApplyExecutor, versionContextSupplier, parallelApplyThreads );
+        try ( IndexActivator indexActivator = new IndexActivator( indexingService );
+              LockGroup locks = new LockGroup();
+              BatchTransactionApplier batchApplier = auxiliaryApplier( mode, indexActivator ) )
+        {
+            while ( batch != null )
+            {
+                CommandsToApply waveEnd = recordApplier.applyWave( batch, locks );
+                while ( batch != waveEnd )
+                {
+                    try ( TransactionApplier txApplier = batchApplier.startTx( batch, locks ) )
+                    {
+                        batch.accept( txApplier );
+                    }
+                    batch = batch.next();
+                }
+            }
+        }
+        catch ( Throwable cause )
+        {
+            TransactionApplyKernelException kernelException =
+                    new TransactionApplyKernelException( cause, "Failed to apply transaction: %s", batch );
+            databaseHealth.panic( kernelException );
+            throw kernelException;
+        }
+    }
+
     /**
      * Creates a {@link BatchTransactionApplierFacade} that is to be used for all transactions
      * in a batch. Each transaction is handled by a {@link TransactionApplierFacade} which wraps the
@@ -317,6 +368,23 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         ArrayList<BatchTransactionApplier> appliers = new ArrayList<>();
         // Graph store application. The order of the decorated store appliers is irrelevant
         appliers.add( new NeoStoreBatchTransactionApplier( mode.version(), neoStores, cacheAccess, lockService( mode ) ) );
+        addAuxiliaryAppliers( appliers, mode, indexActivator );
+        return new BatchTransactionApplierFacade( appliers.toArray( new BatchTransactionApplier[appliers.size()] ) );
+    }
+
+    /**
+     * Creates a {@link BatchTransactionApplierFacade} with all appliers of {@link #applier(TransactionApplicationMode, IndexActivator)},
+     * except for the one applying the record changes to the graph store.
+     */
+    private BatchTransactionApplierFacade auxiliaryApplier( TransactionApplicationMode mode, IndexActivator indexActivator )
+    {
+        ArrayList<BatchTransactionApplier> appliers = new ArrayList<>();
+        addAuxiliaryAppliers( appliers, mode, indexActivator );
+        return new BatchTransactionApplierFacade( appliers.toArray( new BatchTransactionApplier[appliers.size()] ) );
+    }
+
+    private void addAuxiliaryAppliers( List<BatchTransactionApplier> appliers, TransactionApplicationMode mode, IndexActivator indexActivator )
+    {
         if ( mode.needsHighIdTracking() )
         {
             appliers.add( new HighIdBatchTransactionApplier( neoStores ) );
@@ -341,10 +409,6 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
                             explicitIndexTransactionOrdering,
                             mode ) );
         }
-
-        // Perform the application
-        return new BatchTransactionApplierFacade(
-                appliers.toArray( new BatchTransactionApplier[appliers.size()] ) );
     }
 
     private LockService lockService( TransactionApplicationMode mode )
@@ -378,6 +442,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         indexingService.start();
         labelScanStore.start();
         idController.start();
+        if ( parallelApplyThreads > 1 )
+        {
+            parallelApplyExecutor = scheduler.workStealingExecutor( Group.TRANSACTION_APPLY, parallelApplyThreads );
+        }
     }
 
     @Override
@@ -399,6 +467,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         indexingService.stop();
         labelScanStore.stop();
         idController.stop();
+        if ( parallelApplyExecutor != null )
+        {
+            parallelApplyExecutor.shutdown();
+            parallelApplyExecutor = null;
+        }
     }
 
     @Override
@@ -57,9 +57,10 @@ public class RelationshipCreator
     public void relationshipCreate( long id, int type, long firstNodeId, long secondNodeId,
             RecordAccessSet recordChangeSet, ResourceLocker locks )
     {
-        // TODO could be unnecessary to mark as changed here already, dense nodes may not need to change
-        NodeRecord firstNode = recordChangeSet.getNodeRecords().getOrLoad( firstNodeId, null ).forChangingLinkage();
-        NodeRecord secondNode = recordChangeSet.getNodeRecords().getOrLoad( secondNodeId, null ).forChangingLinkage();
+        NodeRecord firstNode = nodeForLinkage( recordChangeSet.getNodeRecords().getOrLoad( firstNodeId, null ), type,
+                recordChangeSet.getRelGroupRecords() );
+        NodeRecord secondNode = nodeForLinkage( recordChangeSet.getNodeRecords().getOrLoad( secondNodeId, null ), type,
+                recordChangeSet.getRelGroupRecords() );
         convertNodeToDenseIfNecessary( firstNode, recordChangeSet.getRelRecords(),
                 recordChangeSet.getRelGroupRecords(), locks );
         convertNodeToDenseIfNecessary( secondNode, recordChangeSet.getRelRecords(),
@@ -72,6 +73,22 @@ public class RelationshipCreator
                 recordChangeSet.getRelGroupRecords(), locks );
     }
 
+    /**
+     * Dense nodes only change when a relationship group is added to them, so when the group of this type already
+     * exists the node is left unchanged. This is what allows transactions holding only a shared lock on a dense node
+     * to add relationships to it without overwriting changes to the node made by others.
+     */
+    private NodeRecord nodeForLinkage( RecordProxy<NodeRecord,Void> nodeChange, int type,
+            RecordAccess<RelationshipGroupRecord,Integer> relGroupRecords )
+    {
+        NodeRecord node = nodeChange.forReadingLinkage();
+        if ( node.isDense() && relGroupGetter.getRelationshipGroup( node, type, relGroupRecords ).group() != null )
+        {
+            return node;
+        }
+        return nodeChange.forChangingLinkage();
+    }
+
     static int relCount( long nodeId, RelationshipRecord rel )
     {
         return (int) (nodeId == rel.getFirstNode() ? rel.getFirstPrevRel() : rel.getSecondPrevRel());
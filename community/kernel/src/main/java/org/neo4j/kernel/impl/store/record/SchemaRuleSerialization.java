@@ -159,6 +159,17 @@ public class SchemaRuleSerialization
 
         indexDescriptor.schema().processWith( new SchemaDescriptorSerializer( target ) );
         UTF8.putEncodedStringInto( indexDescriptor.getName(), target );
+
+        // Included properties are optional and trail the name, so that rules without them keep their format
+        int[] includedProperties = indexDescriptor.includedProperties();
+        if ( includedProperties.length > 0 )
+        {
+            target.putShort( (short) includedProperties.length );
+            for ( int propertyKeyId : includedProperties )
+            {
+                target.putInt( propertyKeyId );
+            }
+        }
         return target.array();
     }
 
@@ -222,6 +233,13 @@ public class SchemaRuleSerialization
 
         length += indexDescriptor.schema().computeWith( schemaSizeComputer );
         length += UTF8.computeRequiredByteBufferSize( indexDescriptor.getName() );
+
+        int[] includedProperties = indexDescriptor.includedProperties();
+        if ( includedProperties.length > 0 )
+        {
+            length += 2; // included property id count
+            length += 4 * includedProperties.length; // the actual included property ids
+        }
         return length;
     }
 
@@ -262,7 +280,8 @@ public class SchemaRuleSerialization
         {
             SchemaDescriptor schema = readSchema( source );
             name = readRuleName( source );
-            return IndexDescriptorFactory.forSchema( schema, name, indexProvider ).withId( id );
+            int[] includedProperties = readIncludedProperties( source );
+            return IndexDescriptorFactory.forSchema( schema, name, indexProvider, includedProperties ).withId( id );
         }
         case UNIQUE_INDEX:
         {
@@ -328,6 +347,15 @@ public class SchemaRuleSerialization
         return Optional.empty();
     }
 
+    private static int[] readIncludedProperties( ByteBuffer source )
+    {
+        if ( source.remaining() >= Short.BYTES )
+        {
+            return readTokenIdList( source );
+        }
+        return new int[0];
+    }
+
     // READ HELP
 
     private static SchemaDescriptor readSchema( ByteBuffer source ) throws MalformedSchemaRuleException
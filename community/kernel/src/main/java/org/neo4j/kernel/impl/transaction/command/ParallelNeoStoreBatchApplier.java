@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
+import org.neo4j.kernel.impl.locking.LockGroup;
+import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.storageengine.api.CommandVersion;
+import org.neo4j.storageengine.api.CommandsToApply;
+
+import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK_SERVICE;
+
+/**
+ * Applies the record changes of a batch of transactions to the {@link NeoStores}, like {@link NeoStoreBatchTransactionApplier}
+ * does, but applies transactions that change disjoint sets of records concurrently.
+ * <p>
+ * The batch is split into waves of consecutive transactions where no two transactions change the same record, or the
+ * labels or properties of the same entity. The record changes of the transactions in a wave are applied in parallel,
+ * after which the caller applies the remaining, auxiliary appliers, e.g. indexes and counts, to the transactions of the
+ * wave in commit order. Those read the current state of changed entities from the store, which is why changes to the
+ * same entity must not share a wave. Transactions containing token, schema or neo store commands are never applied
+ * concurrently with other transactions, since applying them also updates caches that other transactions may depend on.
+ * <p>
+ * Entity locks are acquired by the calling thread into the {@link LockGroup} of the batch, in the same way as
+ * {@link NeoStoreTransactionApplier} would have, so that they are held until the whole batch has been applied.
+ */
+public class ParallelNeoStoreBatchApplier
+{
+    private final CommandVersion version;
+    private final NeoStores neoStores;
+    private final CacheAccessBackDoor cacheAccess;
+    private final LockService lockService;
+    private final ExecutorService executor;
+    private final VersionContextSupplier versionContextSupplier;
+    private final int maxWaveSize;
+
+    public ParallelNeoStoreBatchApplier( CommandVersion version, NeoStores neoStores, CacheAccessBackDoor cacheAccess, LockService lockService,
+            ExecutorService executor, VersionContextSupplier versionContextSupplier, int maxWaveSize )
+    {
+        this.version = version;
+        this.neoStores = neoStores;
+        this.cacheAccess = cacheAccess;
+        this.lockService = lockService;
+        this.executor = executor;
+        this.versionContextSupplier = versionContextSupplier;
+        this.maxWaveSize = maxWaveSize;
+    }
+
+    /**
+     * Applies the record changes of the longest run of non-conflicting transactions starting at {@code first}.
+     *
+     * @param first the first transaction of the wave.
+     * @param lockGroup lock group of the batch, which entity locks are added to.
+     * @return the first transaction after the applied wave, or {@code null} if the wave ended the batch.
+     * @throws Exception if applying any of the transactions failed. All transactions of the wave have completed
+     * their application, successfully or not, when this method returns or throws.
+     */
+    public CommandsToApply applyWave( CommandsToApply first, LockGroup lockGroup ) throws Exception
+    {
+        List<CommandsToApply> wave = new ArrayList<>();
+        RecordChanges waveChanges = new RecordChanges();
+        RecordChanges transactionChanges = new RecordChanges();
+        CommandsToApply transaction = first;
+        while ( transaction != null && wave.size() < maxWaveSize )
+        {
+            transactionChanges.clear();
+            transaction.accept( transactionChanges );
+            if ( transactionChanges.exclusive )
+            {
+                if ( wave.isEmpty() )
+                {
+                    wave.add( transaction );
+                    transaction = transaction.next();
+                }
+                break;
+            }
+            if ( waveChanges.conflictsWith( transactionChanges ) )
+            {
+                break;
+            }
+            waveChanges.addAll( transactionChanges );
+            wave.add( transaction );
+            transaction = transaction.next();
+        }
+
+        if ( wave.size() == 1 )
+        {
+            apply( first, lockService, lockGroup );
+        }
+        else
+        {
+            applyConcurrently( wave, lockGroup );
+        }
+        return transaction;
+    }
+
+    private void applyConcurrently( List<CommandsToApply> wave, LockGroup lockGroup ) throws Exception
+    {
+        EntityLocker locker = new EntityLocker( lockGroup );
+        for ( CommandsToApply transaction : wave )
+        {
+            transaction.accept( locker );
+        }
+
+        List<Future<Void>> applications = new ArrayList<>( wave.size() );
+        for ( CommandsToApply transaction : wave )
+        {
+            applications.add( executor.submit( () ->
+            {
+                // Pages are tagged with the transaction writing them, which the committing thread has set for itself only
+                versionContextSupplier.getVersionContext().initWrite( transaction.transactionId() );
+                // Locks for this transaction are already held by the batch lock group
+                try ( LockGroup noLocks = new LockGroup() )
+                {
+                    apply( transaction, NO_LOCK_SERVICE, noLocks );
+                }
+                return null;
+            } ) );
+        }
+
+        // Wait for all of them, even after a failure, so that no application is left running when we return
+        Throwable failure = null;
+        for ( Future<Void> application : applications )
+        {
+            try
+            {
+                application.get();
+            }
+            catch ( ExecutionException e )
+            {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if ( failure instanceof Exception )
+        {
+            throw (Exception) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+    }
+
+    private void apply( CommandsToApply transaction, LockService lockService, LockGroup lockGroup ) throws Exception
+    {
+        try ( TransactionApplier applier =
+                new NeoStoreTransactionApplier( version, neoStores, cacheAccess, lockService, transaction.transactionId(), lockGroup ) )
+        {
+            transaction.accept( applier );
+        }
+    }
+
+    /**
+     * Ids of all records changed by one or more transactions, and of the nodes and relationships owning changed
+     * property records. Dynamic records of all stores share the same id set, which may make transactions conflict
+     * when they really don't, but never the other way around.
+     */
+    private static class RecordChanges extends TransactionApplier.Adapter
+    {
+        private final MutableLongSet nodes = new LongHashSet();
+        private final MutableLongSet relationships = new LongHashSet();
+        private final MutableLongSet relationshipGroups = new LongHashSet();
+        private final MutableLongSet properties = new LongHashSet();
+        private final MutableLongSet dynamicRecords = new LongHashSet();
+        private boolean exclusive;
+
+        @Override
+        public boolean visitNodeCommand( Command.NodeCommand command )
+        {
+            nodes.add( command.getKey() );
+            addDynamicRecords( command.getBefore().getDynamicLabelRecords() );
+            addDynamicRecords( command.getAfter().getDynamicLabelRecords() );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipCommand( Command.RelationshipCommand command )
+        {
+            relationships.add( command.getKey() );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipGroupCommand( Command.RelationshipGroupCommand command )
+        {
+            relationshipGroups.add( command.getKey() );
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyCommand( Command.PropertyCommand command )
+        {
+            properties.add( command.getKey() );
+            // Index updates of the owning entity are built from the store after the whole wave has been applied,
+            // so two transactions changing the same entity must not share a wave, whichever records they change
+            if ( command.getNodeId() != -1 )
+            {
+                nodes.add( command.getNodeId() );
+            }
+            else if ( command.getRelId() != -1 )
+            {
+                relationships.add( command.getRelId() );
+            }
+            addDynamicRecords( command.getBefore() );
+            addDynamicRecords( command.getAfter() );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipTypeTokenCommand( Command.RelationshipTypeTokenCommand command )
+        {
+            exclusive = true;
+            return false;
+        }
+
+        @Override
+        public boolean visitLabelTokenCommand( Command.LabelTokenCommand command )
+        {
+            exclusive = true;
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyKeyTokenCommand( Command.PropertyKeyTokenCommand command )
+        {
+            exclusive = true;
+            return false;
+        }
+
+        @Override
+        public boolean visitSchemaRuleCommand( Command.SchemaRuleCommand command )
+        {
+            exclusive = true;
+            return false;
+        }
+
+        @Override
+        public boolean visitNeoStoreCommand( Command.NeoStoreCommand command )
+        {
+            exclusive = true;
+            return false;
+        }
+
+        private void addDynamicRecords( PropertyRecord record )
+        {
+            for ( PropertyBlock block : record )
+            {
+                addDynamicRecords( block.getValueRecords() );
+            }
+            addDynamicRecords( record.getDeletedRecords() );
+        }
+
+        private void addDynamicRecords( Collection<DynamicRecord> records )
+        {
+            for ( DynamicRecord record : records )
+            {
+                dynamicRecords.add( record.getId() );
+            }
+        }
+
+        boolean conflictsWith( RecordChanges other )
+        {
+            return overlaps( nodes, other.nodes ) || overlaps( relationships, other.relationships ) ||
+                    overlaps( relationshipGroups, other.relationshipGroups ) || overlaps( properties, other.properties ) ||
+                    overlaps( dynamicRecords, other.dynamicRecords );
+        }
+
+        void addAll( RecordChanges other )
+        {
+            nodes.addAll( other.nodes );
+            relationships.addAll( other.relationships );
+            relationshipGroups.addAll( other.relationshipGroups );
+            properties.addAll( other.properties );
+            dynamicRecords.addAll( other.dynamicRecords );
+        }
+
+        void clear()
+        {
+            nodes.clear();
+            relationships.clear();
+            relationshipGroups.clear();
+            properties.clear();
+            dynamicRecords.clear();
+            exclusive = false;
+        }
+
+        private static boolean overlaps( MutableLongSet wave, MutableLongSet transaction )
+        {
+            return !transaction.isEmpty() && transaction.anySatisfy( wave::contains );
+        }
+    }
+
+    /**
+     * Acquires the same entity locks as {@link NeoStoreTransactionApplier} does when applying a transaction.
+     */
+    private class EntityLocker extends TransactionApplier.Adapter
+    {
+        private final LockGroup lockGroup;
+
+        EntityLocker( LockGroup lockGroup )
+        {
+            this.lockGroup = lockGroup;
+        }
+
+        @Override
+        public boolean visitNodeCommand( Command.NodeCommand command )
+        {
+            lockGroup.add( lockService.acquireNodeLock( command.getKey(), LockService.LockType.WRITE_LOCK ) );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipCommand( Command.RelationshipCommand command )
+        {
+            lockGroup.add( lockService.acquireRelationshipLock( command.getKey(), LockService.LockType.WRITE_LOCK ) );
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyCommand( Command.PropertyCommand command )
+        {
+            if ( command.getNodeId() != -1 )
+            {
+                lockGroup.add( lockService.acquireNodeLock( command.getNodeId(), LockService.LockType.WRITE_LOCK ) );
+            }
+            else if ( command.getRelId() != -1 )
+            {
+                lockGroup.add( lockService.acquireRelationshipLock( command.getRelId(), LockService.LockType.WRITE_LOCK ) );
+            }
+            return false;
+        }
+    }
+}
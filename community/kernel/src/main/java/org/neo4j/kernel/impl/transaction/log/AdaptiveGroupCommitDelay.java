@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+/**
+ * Decides how long the committer about to force the transaction log should wait before doing so, to let more
+ * concurrently committing transactions be appended and then covered by the same force.
+ * <p>
+ * Waiting only pays off when more transactions are expected to arrive while waiting, so the delay is based on
+ * moving averages of the time between appended transactions and of the time a force takes. As long as
+ * transactions arrive less often than every half force there's no delay, since a committer would most likely wait
+ * for nothing. Otherwise the delay is half the time of a force, capped by the configured maximum delay, which adds
+ * at most half a force to the latency of a commit while letting at least one more transaction share the force.
+ * <p>
+ * {@link #transactionAppended(long)} is called under the log file monitor, {@link #logForced(long)} and
+ * {@link #delayNanos()} under the force lock, so each average has a single writer.
+ */
+class AdaptiveGroupCommitDelay
+{
+    // Each new sample weighs 1/8 in the moving averages
+    private static final int SMOOTHING_SHIFT = 3;
+    private static final long NO_SAMPLES = -1;
+
+    private final long maxDelayNanos;
+    private long lastAppendNanos = NO_SAMPLES;
+    private volatile long averageAppendIntervalNanos = NO_SAMPLES;
+    private long averageForceNanos = NO_SAMPLES;
+
+    AdaptiveGroupCommitDelay( long maxDelayNanos )
+    {
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    boolean isEnabled()
+    {
+        return maxDelayNanos > 0;
+    }
+
+    void transactionAppended( long nowNanos )
+    {
+        if ( lastAppendNanos != NO_SAMPLES )
+        {
+            averageAppendIntervalNanos = movingAverage( averageAppendIntervalNanos, Math.max( 0, nowNanos - lastAppendNanos ) );
+        }
+        lastAppendNanos = nowNanos;
+    }
+
+    void logForced( long forceNanos )
+    {
+        averageForceNanos = movingAverage( averageForceNanos, forceNanos );
+    }
+
+    /**
+     * @return nanoseconds to wait before forcing the log, {@code 0} for not waiting at all.
+     */
+    long delayNanos()
+    {
+        long appendInterval = averageAppendIntervalNanos;
+        long force = averageForceNanos;
+        if ( !isEnabled() || appendInterval == NO_SAMPLES || force == NO_SAMPLES )
+        {
+            return 0;
+        }
+        long halfForce = force / 2;
+        return appendInterval <= halfForce ? Math.min( maxDelayNanos, halfForce ) : 0;
+    }
+
+    private static long movingAverage( long average, long sample )
+    {
+        return average == NO_SAMPLES ? sample : average + ((sample - average) >> SMOOTHING_SHIFT);
+    }
+}
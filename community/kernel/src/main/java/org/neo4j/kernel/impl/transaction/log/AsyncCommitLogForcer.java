@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+
+import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
+import org.neo4j.kernel.impl.api.TransactionToApply;
+import org.neo4j.kernel.internal.DatabaseHealth;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Forces the transaction log at a fixed interval when transactions have been committed asynchronously, see
+ * {@link TransactionToApply#isAsyncCommit()}, which bounds the time such a transaction can remain unforced,
+ * and with that the window of asynchronously committed transactions that may be lost on a crash.
+ * <p>
+ * While running it also installs the appender's {@link WriteAheadBarrier} in the page cache, so that pages changed
+ * by asynchronously committed transactions are not written to the store files before those transactions are forced.
+ */
+public class AsyncCommitLogForcer extends LifecycleAdapter
+{
+    private final TransactionAppender appender;
+    private final VersionContextSupplier versionContextSupplier;
+    private final JobScheduler scheduler;
+    private final long recurringPeriodMillis;
+    private final DatabaseHealth databaseHealth;
+    private final Log log;
+    private final Runnable job = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            if ( stopped )
+            {
+                return;
+            }
+            force();
+
+            // reschedule only if it is not stopped
+            if ( !stopped )
+            {
+                handle = scheduler.schedule( Group.TRANSACTION_LOG_FORCE, job, recurringPeriodMillis, MILLISECONDS );
+            }
+        }
+    };
+
+    private volatile JobHandle handle;
+    private volatile boolean stopped;
+
+    public AsyncCommitLogForcer( TransactionAppender appender, VersionContextSupplier versionContextSupplier, JobScheduler scheduler,
+            long recurringPeriodMillis, DatabaseHealth databaseHealth, LogProvider logProvider )
+    {
+        this.appender = appender;
+        this.versionContextSupplier = versionContextSupplier;
+        this.scheduler = scheduler;
+        this.recurringPeriodMillis = recurringPeriodMillis;
+        this.databaseHealth = databaseHealth;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    @Override
+    public void start()
+    {
+        stopped = false;
+        versionContextSupplier.initWriteAheadBarrier( appender.writeAheadBarrier() );
+        handle = scheduler.schedule( Group.TRANSACTION_LOG_FORCE, job, recurringPeriodMillis, MILLISECONDS );
+    }
+
+    @Override
+    public void stop()
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel( false );
+        }
+        // Asynchronously committed transactions appended since the last run shouldn't have to wait for the log
+        // files to be closed to be forced
+        force();
+        versionContextSupplier.initWriteAheadBarrier( WriteAheadBarrier.NONE );
+    }
+
+    void force()
+    {
+        if ( !databaseHealth.isHealthy() )
+        {
+            // A failed force has already panicked the database, there's nothing more to force until it's restarted
+            return;
+        }
+        try
+        {
+            appender.forceAsyncCommittedTransactions();
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            log.error( "Forcing asynchronously committed transactions to the transaction log failed", e );
+        }
+    }
+}
@@ -23,11 +23,13 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
@@ -53,6 +55,18 @@ import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart.checksum
  */
 public class BatchingTransactionAppender extends LifecycleAdapter implements TransactionAppender
 {
+    public interface Monitor
+    {
+        /**
+         * @param forcedCommitters number of committers, most of them having appended a transaction, covered by this force.
+         * @param forceNanos time the force took.
+         * @param delayNanos time the force was delayed to let more committers be covered by it.
+         */
+        default void logForced( int forcedCommitters, long forceNanos, long delayNanos )
+        {   // no-op by default
+        }
+    }
+
     // For the graph store and schema indexes order-of-updates are managed by the high level entity locks
     // such that changes are applied to the affected records in the same order that they are written to the
     // log. For the explicit indexes there are no such locks, and hence no such ordering. This queue below
@@ -67,21 +81,72 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
     private final LogPositionMarker positionMarker = new LogPositionMarker();
     private final DatabaseHealth databaseHealth;
     private final Lock forceLock = new ReentrantLock();
+    // Committing threads serialize their transactions into these buffers before entering the logFile monitor
+    private final ThreadLocal<TransactionSerializationBuffer> serializationBuffers;
+    private final AdaptiveGroupCommitDelay groupCommitDelay;
+    private final Monitor monitor;
+    private volatile boolean hasAsyncCommittedTransactions;
+    // Highest transaction id known to be forced to the log, i.e. safe to have its changes written to the store files
+    private final AtomicLong durableTransactionId = new AtomicLong();
+    private final WriteAheadBarrier writeAheadBarrier = new WriteAheadBarrier()
+    {
+        @Override
+        public boolean isDurable( long transactionId )
+        {
+            // Pages are tagged after their transaction is appended, so an id higher than the last appended one
+            // cannot belong to a transaction in this log, e.g. a stale tag from before a store copy
+            return transactionId <= durableTransactionId.get() || transactionId > transactionIdStore.committingTransactionId();
+        }
+
+        @Override
+        public void makeDurable( long transactionId ) throws IOException
+        {
+            if ( !isDurable( transactionId ) )
+            {
+                // Deliberately not going through the force lock, since this may be called from a thread
+                // that holds the logFile monitor while rotating the log and flushing the store
+                force();
+            }
+        }
+    };
 
     private FlushablePositionAwareChannel writer;
     private TransactionLogWriter transactionLogWriter;
+    private LogEntryWriter logEntryWriter;
     private IndexCommandDetector indexCommandDetector;
 
     public BatchingTransactionAppender( LogFiles logFiles, LogRotation logRotation,
             TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore,
             IdOrderingQueue explicitIndexTransactionOrdering, DatabaseHealth databaseHealth )
     {
+        this( logFiles, logRotation, transactionMetadataCache, transactionIdStore, explicitIndexTransactionOrdering,
+                databaseHealth, false );
+    }
+
+    public BatchingTransactionAppender( LogFiles logFiles, LogRotation logRotation,
+            TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore,
+            IdOrderingQueue explicitIndexTransactionOrdering, DatabaseHealth databaseHealth, boolean compressCommands )
+    {
+        this( logFiles, logRotation, transactionMetadataCache, transactionIdStore, explicitIndexTransactionOrdering,
+                databaseHealth, compressCommands, 0, new Monitor()
+                {
+                } );
+    }
+
+    public BatchingTransactionAppender( LogFiles logFiles, LogRotation logRotation,
+            TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore,
+            IdOrderingQueue explicitIndexTransactionOrdering, DatabaseHealth databaseHealth, boolean compressCommands,
+            long groupCommitMaxDelayNanos, Monitor monitor )
+    {
+        this.serializationBuffers = ThreadLocal.withInitial( () -> new TransactionSerializationBuffer( compressCommands ) );
         this.logFile = logFiles.getLogFile();
         this.logRotation = logRotation;
         this.transactionIdStore = transactionIdStore;
         this.explicitIndexTransactionOrdering = explicitIndexTransactionOrdering;
         this.databaseHealth = databaseHealth;
         this.transactionMetadataCache = transactionMetadataCache;
+        this.groupCommitDelay = new AdaptiveGroupCommitDelay( groupCommitMaxDelayNanos );
+        this.monitor = monitor;
     }
 
     @Override
@@ -89,7 +154,9 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
     {
         this.writer = logFile.getWriter();
         this.indexCommandDetector = new IndexCommandDetector();
-        this.transactionLogWriter = new TransactionLogWriter( new LogEntryWriter( writer ) );
+        this.logEntryWriter = new LogEntryWriter( writer );
+        this.transactionLogWriter = new TransactionLogWriter( logEntryWriter );
+        this.durableTransactionId.set( transactionIdStore.getLastCommittedTransactionId() );
     }
 
     @Override
@@ -97,15 +164,26 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
     {
         // Assigned base tx id just to make compiler happy
         long lastTransactionId = TransactionIdStore.BASE_TX_ID;
-        // Synchronized with logFile to get absolute control over concurrent rotations happening
-        synchronized ( logFile )
+        TransactionSerializationBuffer serializedTransactions = serializationBuffers.get();
+        try ( SerializeTransactionEvent serialiseEvent = logAppendEvent.beginSerializeTransaction() )
         {
-            // Assert that kernel is healthy before making any changes
-            databaseHealth.assertHealthy( IOException.class );
-            try ( SerializeTransactionEvent serialiseEvent = logAppendEvent.beginSerializeTransaction() )
+            // Serialize the start entries and commands of all transactions in this batch before entering the
+            // logFile monitor, so that other committers aren't blocked while we do so. Nothing has been written
+            // to the log at this point, so a failure here doesn't need to panic the database.
+            for ( TransactionToApply tx = batch; tx != null; tx = tx.next() )
+            {
+                serializedTransactions.serialize( tx.transactionRepresentation() );
+            }
+
+            // Synchronized with logFile to get absolute control over concurrent rotations happening
+            synchronized ( logFile )
             {
+                // Assert that kernel is healthy before making any changes
+                databaseHealth.assertHealthy( IOException.class );
+
                 // Append all transactions in this batch to the log under the same logFile monitor
                 TransactionToApply tx = batch;
+                int segment = 0;
                 while ( tx != null )
                 {
                     long transactionId = transactionIdStore.nextCommittingTransactionId();
@@ -116,7 +194,8 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
                     // really recover from and would point to a bug somewhere.
                     matchAgainstExpectedTransactionIdIfAny( transactionId, tx );
 
-                    TransactionCommitment commitment = appendToLog( tx.transactionRepresentation(), transactionId );
+                    TransactionCommitment commitment =
+                            appendToLog( tx.transactionRepresentation(), transactionId, serializedTransactions, segment++ );
                     tx.commitment( commitment, transactionId );
                     tx.logPosition( commitment.logPosition() );
                     tx = tx.next();
@@ -124,12 +203,25 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
                 }
             }
         }
+        finally
+        {
+            serializedTransactions.clear();
+        }
 
+        if ( isAsyncCommit( batch ) )
+        {
+            // All transactions in this batch accept being lost on a crash, so they are marked as committed without
+            // waiting for a force. The log will be forced by the next synchronous commit, check point or call to
+            // forceAsyncCommittedTransactions, whichever comes first.
+            hasAsyncCommittedTransactions = true;
+            boolean logRotated = logRotation.rotateLogIfNeeded( logAppendEvent );
+            logAppendEvent.setLogRotated( logRotated );
+        }
         // At this point we've appended all transactions in this batch, but we can't mark any of them
         // as committed since they haven't been forced to disk yet. So here we force, or potentially
         // piggy-back on another force, but anyway after this call below we can be sure that all our transactions
         // in this batch exist durably on disk.
-        if ( forceAfterAppend( logAppendEvent ) )
+        else if ( forceAfterAppend( logAppendEvent ) )
         {
             // We got lucky and were the one forcing the log. It's enough if ones of all doing concurrent committers
             // checks the need for log rotation.
@@ -143,6 +235,18 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         return lastTransactionId;
     }
 
+    private static boolean isAsyncCommit( TransactionToApply batch )
+    {
+        for ( TransactionToApply tx = batch; tx != null; tx = tx.next() )
+        {
+            if ( !tx.isAsyncCommit() )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void matchAgainstExpectedTransactionIdIfAny( long transactionId, TransactionToApply tx )
     {
         long expectedTransactionId = tx.transactionId();
@@ -188,12 +292,29 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         forceAfterAppend( logCheckPointEvent );
     }
 
+    @Override
+    public WriteAheadBarrier writeAheadBarrier()
+    {
+        return writeAheadBarrier;
+    }
+
+    @Override
+    public void forceAsyncCommittedTransactions() throws IOException
+    {
+        if ( hasAsyncCommittedTransactions )
+        {
+            // Cleared before forcing, so that transactions appended during the force are covered by the next call
+            hasAsyncCommittedTransactions = false;
+            forceAfterAppend( LogAppendEvent.NULL );
+        }
+    }
+
     /**
      * @return A TransactionCommitment instance with metadata about the committed transaction, such as whether or not
      * this transaction contains any explicit index changes.
      */
-    private TransactionCommitment appendToLog( TransactionRepresentation transaction, long transactionId )
-            throws IOException
+    private TransactionCommitment appendToLog( TransactionRepresentation transaction, long transactionId,
+            TransactionSerializationBuffer serializedTransactions, int segment ) throws IOException
     {
         // Reset command writer so that we, after we've written the transaction, can ask it whether or
         // not any explicit index command was written. If so then there's additional ordering to care about below.
@@ -208,7 +329,9 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         try
         {
             LogPosition logPositionBeforeCommit = writer.getCurrentPosition( positionMarker ).newPosition();
-            transactionLogWriter.append( transaction, transactionId );
+            // The start entry and commands are already serialized, only the commit entry depends on the id
+            serializedTransactions.writeTo( segment, writer );
+            logEntryWriter.writeCommitEntry( transactionId, transaction.getTimeCommitted() );
             LogPosition logPositionAfterCommit = writer.getCurrentPosition( positionMarker ).newPosition();
 
             long transactionChecksum =
@@ -216,6 +339,11 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
             transactionMetadataCache
                     .cacheTransactionMetadata( transactionId, logPositionBeforeCommit, transaction.getMasterId(),
                             transaction.getAuthorId(), transactionChecksum, transaction.getTimeCommitted() );
+            logFile.transactionAppended( transactionId, logPositionBeforeCommit );
+            if ( groupCommitDelay.isEnabled() )
+            {
+                groupCommitDelay.transactionAppended( System.nanoTime() );
+            }
 
             transaction.accept( indexCommandDetector );
             boolean hasExplicitIndexChanges = indexCommandDetector.hasWrittenAnyExplicitIndexCommand();
@@ -292,10 +420,20 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
 
     private void forceLog( LogForceEvents logForceEvents ) throws IOException
     {
+        long delayNanos = groupCommitDelay.delayNanos();
+        if ( delayNanos > 0 )
+        {
+            // Committers appending meanwhile will find the force lock taken and queue up to be covered by this force
+            awaitGroupCommitDelay( delayNanos );
+        }
         ThreadLink links = threadLinkHead.getAndSet( ThreadLink.END );
+        long forceNanos;
+        int forcedCommitters;
         try ( LogForceEvent logForceEvent = logForceEvents.beginLogForce() )
         {
+            long forceStartNanos = System.nanoTime();
             force();
+            forceNanos = System.nanoTime() - forceStartNanos;
         }
         catch ( final Throwable panic )
         {
@@ -304,14 +442,28 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         }
         finally
         {
-            unparkAll( links );
+            forcedCommitters = unparkAll( links );
+        }
+        groupCommitDelay.logForced( forceNanos );
+        monitor.logForced( forcedCommitters, forceNanos, delayNanos );
+    }
+
+    private void awaitGroupCommitDelay( long delayNanos )
+    {
+        long deadline = System.nanoTime() + delayNanos;
+        long remaining;
+        while ( (remaining = deadline - System.nanoTime()) > 0 )
+        {
+            LockSupport.parkNanos( this, remaining );
         }
     }
 
-    private void unparkAll( ThreadLink links )
+    private int unparkAll( ThreadLink links )
     {
+        int count = 0;
         do
         {
+            count++;
             links.done = true;
             links.unpark();
             ThreadLink tmp;
@@ -324,6 +476,7 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
             links = tmp;
         }
         while ( links != ThreadLink.END );
+        return count;
     }
 
     private void waitForLogForce()
@@ -339,10 +492,12 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         // on logFile because it would cause deadlocks. Synchronizing on writer assumes that appenders
         // also synchronize on writer.
         Flushable flushable;
+        long appendedTransactionId;
         synchronized ( logFile )
         {
             databaseHealth.assertHealthy( IOException.class );
             flushable = writer.prepareForFlush();
+            appendedTransactionId = transactionIdStore.committingTransactionId();
         }
         // Force the writer outside of the lock.
         // This allows other threads access to the buffer while the writer is being forced.
@@ -357,5 +512,6 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
             // successful in emptying the buffer *UNDER THE LOCK* we know that the rotating thread included the changes
             // we emptied into the channel, and thus it is already flushed by that thread.
         }
+        durableTransactionId.accumulateAndGet( appendedTransactionId, Math::max );
     }
 }
@@ -63,6 +63,13 @@ public class LoggingLogFileMonitor implements LogFileCreationMonitor,
         }
     }
 
+    @Override
+    public void recoveryProgress( int numberOfRecoveredTransactions, long elapsedMillis )
+    {
+        log.info( format( "Recovered %d transactions in %d ms, %d transactions/s", numberOfRecoveredTransactions, elapsedMillis,
+                numberOfRecoveredTransactions * 1000L / Math.max( 1, elapsedMillis ) ) );
+    }
+
     @Override
     public void failToRecoverTransactionsAfterCommit( Throwable t, LogEntryCommit commitEntry, LogPosition recoveryToPosition )
     {
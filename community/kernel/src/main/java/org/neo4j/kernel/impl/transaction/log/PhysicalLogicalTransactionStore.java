@@ -102,11 +102,20 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
             // ask logFiles about the version it may be in
             LogVersionLocator headerVisitor = new LogVersionLocator( transactionIdToStartFrom );
             logFiles.accept( headerVisitor );
+            LogPosition searchStartPosition = headerVisitor.getLogPosition();
+
+            // if that version is indexed we don't have to search it from its start
+            LogPosition indexedPosition =
+                    logFiles.closestIndexedTransactionPosition( transactionIdToStartFrom, searchStartPosition.getLogVersion() );
+            if ( indexedPosition != null )
+            {
+                searchStartPosition = indexedPosition;
+            }
 
             // ask LogFile
             TransactionPositionLocator transactionPositionLocator =
                     new TransactionPositionLocator( transactionIdToStartFrom, logEntryReader );
-            logFile.accept( transactionPositionLocator, headerVisitor.getLogPosition() );
+            logFile.accept( transactionPositionLocator, searchStartPosition );
             LogPosition position = transactionPositionLocator.getAndCacheFoundLogPosition( transactionMetadataCache );
             return new PhysicalTransactionCursor<>( logFile.getReader( position ), logEntryReader );
         }
@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import java.io.IOException;
 
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.impl.transaction.tracing.LogCheckPointEvent;
@@ -65,4 +66,18 @@ public interface TransactionAppender
      * how to handle exceptions in general thrown from this method.
      */
     void checkPoint( LogPosition logPosition, LogCheckPointEvent logCheckPointEvent ) throws IOException;
+
+    /**
+     * Forces the log if any transactions have been {@link TransactionToApply#isAsyncCommit() committed asynchronously}
+     * since it was last forced. After this method have returned all appended transactions must have been flushed to disk.
+     *
+     * @throws IOException if there was a problem forcing the log.
+     */
+    void forceAsyncCommittedTransactions() throws IOException;
+
+    /**
+     * @return a {@link WriteAheadBarrier} that tells whether a transaction appended by this appender has been forced
+     * to the log, and forces it if not. Changes made by a transaction must not reach the store files before that.
+     */
+    WriteAheadBarrier writeAheadBarrier();
 }
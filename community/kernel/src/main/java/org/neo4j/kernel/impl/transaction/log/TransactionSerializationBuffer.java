@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
+import org.neo4j.storageengine.api.WritableChannel;
+
+/**
+ * Buffer that committing threads serialize the start entry and commands of their transactions into before entering
+ * the critical section of {@link BatchingTransactionAppender}. Inside the critical section the serialized bytes are
+ * appended to the log in bulk, followed by the commit entry which is the only part that depends on the transaction id.
+ * <p>
+ * One buffer holds one segment per transaction of the batch being appended. Instances are not thread safe and are
+ * meant to be reused by a single thread, see {@link #clear()}.
+ */
+class TransactionSerializationBuffer implements WritableChannel
+{
+    static final int INITIAL_SEGMENT_SIZE = 8 * 1024;
+    // Segments grown larger than this by big transactions are released on clear, to not keep that memory around
+    static final int MAX_RETAINED_SEGMENT_SIZE = 1024 * 1024;
+
+    // Commands of smaller transactions are not worth the effort of compressing
+    static final int MIN_COMPRESSION_SIZE = 512;
+
+    private final LogEntryWriter entryWriter = new LogEntryWriter( this );
+    private final Deflater deflater;
+    private byte[] compressed;
+    private ByteBuffer[] segments = new ByteBuffer[1];
+    private int segmentCount;
+    private ByteBuffer current;
+
+    TransactionSerializationBuffer()
+    {
+        this( false );
+    }
+
+    /**
+     * @param compressCommands whether to write the commands of each transaction as a single compressed block,
+     * see {@link LogEntryWriter#writeCompressedCommands(int, byte[], int)}.
+     */
+    TransactionSerializationBuffer( boolean compressCommands )
+    {
+        this.deflater = compressCommands ? new Deflater( Deflater.BEST_SPEED ) : null;
+    }
+
+    /**
+     * Serializes the start entry and all commands of the given transaction into a new segment.
+     *
+     * @param transaction the transaction to serialize.
+     * @return the index of the segment the transaction was serialized into.
+     */
+    int serialize( TransactionRepresentation transaction ) throws IOException
+    {
+        int segment = segmentCount++;
+        if ( segment == segments.length )
+        {
+            segments = Arrays.copyOf( segments, segments.length * 2 );
+        }
+        if ( segments[segment] == null )
+        {
+            segments[segment] = ByteBuffer.allocate( INITIAL_SEGMENT_SIZE );
+        }
+        current = segments[segment];
+        current.clear();
+
+        entryWriter.writeStartEntry( transaction.getMasterId(), transaction.getAuthorId(), transaction.getTimeStarted(),
+                transaction.getLatestCommittedTxWhenStarted(), transaction.additionalHeader() );
+        int commandsStart = current.position();
+        entryWriter.serialize( transaction );
+        if ( deflater != null )
+        {
+            compressCommands( commandsStart );
+        }
+        return segment;
+    }
+
+    /**
+     * Replaces the command entries serialized from {@code commandsStart} up to the current position with a compressed
+     * block, unless compressing doesn't make them smaller.
+     */
+    private void compressCommands( int commandsStart ) throws IOException
+    {
+        int length = current.position() - commandsStart;
+        if ( length < MIN_COMPRESSION_SIZE )
+        {
+            return;
+        }
+        if ( compressed == null || compressed.length < length )
+        {
+            compressed = new byte[length];
+        }
+        deflater.reset();
+        deflater.setInput( current.array(), commandsStart, length );
+        deflater.finish();
+        int compressedLength = deflater.deflate( compressed, 0, length );
+        // The block header takes the entry header plus two ints, it has to fit in the space of the original entries
+        if ( !deflater.finished() || compressedLength + 2 + 2 * Integer.BYTES >= length )
+        {
+            return;
+        }
+        current.position( commandsStart );
+        entryWriter.writeCompressedCommands( length, compressed, compressedLength );
+    }
+
+    /**
+     * Writes the serialized bytes of the given segment to the channel.
+     *
+     * @param segment index of the segment, as returned from {@link #serialize(TransactionRepresentation)}.
+     * @param channel the channel to write the segment to.
+     */
+    void writeTo( int segment, WritableChannel channel ) throws IOException
+    {
+        ByteBuffer buffer = segments[segment];
+        channel.put( buffer.array(), buffer.position() );
+    }
+
+    int segmentSize( int segment )
+    {
+        return segments[segment].position();
+    }
+
+    /**
+     * Forgets all serialized segments so that the buffer can be reused for the next batch.
+     */
+    void clear()
+    {
+        for ( int i = 0; i < segmentCount; i++ )
+        {
+            if ( segments[i].capacity() > MAX_RETAINED_SEGMENT_SIZE )
+            {
+                segments[i] = null;
+            }
+        }
+        segmentCount = 0;
+        current = null;
+        if ( compressed != null && compressed.length > MAX_RETAINED_SEGMENT_SIZE )
+        {
+            compressed = null;
+        }
+    }
+
+    @Override
+    public WritableChannel put( byte value )
+    {
+        bufferWithGuaranteedSpace( Byte.BYTES ).put( value );
+        return this;
+    }
+
+    @Override
+    public WritableChannel putShort( short value )
+    {
+        bufferWithGuaranteedSpace( Short.BYTES ).putShort( value );
+        return this;
+    }
+
+    @Override
+    public WritableChannel putInt( int value )
+    {
+        bufferWithGuaranteedSpace( Integer.BYTES ).putInt( value );
+        return this;
+    }
+
+    @Override
+    public WritableChannel putLong( long value )
+    {
+        bufferWithGuaranteedSpace( Long.BYTES ).putLong( value );
+        return this;
+    }
+
+    @Override
+    public WritableChannel putFloat( float value )
+    {
+        bufferWithGuaranteedSpace( Float.BYTES ).putFloat( value );
+        return this;
+    }
+
+    @Override
+    public WritableChannel putDouble( double value )
+    {
+        bufferWithGuaranteedSpace( Double.BYTES ).putDouble( value );
+        return this;
+    }
+
+    @Override
+    public WritableChannel put( byte[] value, int length )
+    {
+        bufferWithGuaranteedSpace( length ).put( value, 0, length );
+        return this;
+    }
+
+    private ByteBuffer bufferWithGuaranteedSpace( int spaceInBytes )
+    {
+        if ( current.remaining() < spaceInBytes )
+        {
+            int newCapacity = current.capacity();
+            do
+            {
+                newCapacity = Math.multiplyExact( newCapacity, 2 );
+            }
+            while ( newCapacity - current.position() < spaceInBytes );
+
+            ByteBuffer grown = ByteBuffer.allocate( newCapacity );
+            current.flip();
+            grown.put( current );
+            current = grown;
+            segments[segmentCount - 1] = grown;
+        }
+        return current;
+    }
+}
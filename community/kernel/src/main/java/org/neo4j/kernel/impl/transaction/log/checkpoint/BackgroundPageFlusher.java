@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import java.io.IOException;
+import java.time.Clock;
+
+import org.neo4j.function.Predicates;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Periodically writes all dirty pages back to the store files in between check points, so that the
+ * {@link PageCache#flushAndForce(IOLimiter) flush} performed by a check point only has to deal with
+ * the pages dirtied since the last background flush, rather than everything dirtied since the last check point.
+ * Each run is a full flush of the page cache, not a continuous flush ordered by log position, since the page cache
+ * doesn't know which log position made a page dirty.
+ * <p>
+ * This can run concurrently with transactions and check points, since eviction writes pages back the same way.
+ * Like a check point, a background flush first forces asynchronously committed transactions to the transaction log,
+ * so that the store files never contain changes missing from the log. Background flushes use the same
+ * {@link IOLimiter} as check points.
+ */
+public class BackgroundPageFlusher extends LifecycleAdapter
+{
+    public interface Monitor
+    {
+        /**
+         * @param flushMillis time it took to flush all dirty pages.
+         * @param flushLagMillis time between the start of the previous successful flush and the end of this one,
+         * i.e. the maximum age a page dirtied right after the previous flush had before being written back.
+         */
+        default void pagesFlushed( long flushMillis, long flushLagMillis )
+        {   // no-op by default
+        }
+    }
+
+    private final TransactionAppender appender;
+    private final PageCache pageCache;
+    private final IOLimiter ioLimiter;
+    private final JobScheduler scheduler;
+    private final long recurringPeriodMillis;
+    private final Clock clock;
+    private final Monitor monitor;
+    private final Log log;
+    private final Runnable job = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                flushing = true;
+                if ( stopped )
+                {
+                    return;
+                }
+                flush();
+            }
+            finally
+            {
+                flushing = false;
+            }
+
+            // reschedule only if it is not stopped
+            if ( !stopped )
+            {
+                handle = scheduler.schedule( Group.CHECKPOINT, job, recurringPeriodMillis, MILLISECONDS );
+            }
+        }
+    };
+
+    private volatile JobHandle handle;
+    private volatile boolean stopped;
+    private volatile boolean flushing;
+    private volatile long lastFlushStartMillis;
+
+    public BackgroundPageFlusher( TransactionAppender appender, PageCache pageCache, IOLimiter ioLimiter, JobScheduler scheduler,
+            long recurringPeriodMillis, Clock clock, Monitor monitor, LogProvider logProvider )
+    {
+        this.appender = appender;
+        this.pageCache = pageCache;
+        this.ioLimiter = ioLimiter;
+        this.scheduler = scheduler;
+        this.recurringPeriodMillis = recurringPeriodMillis;
+        this.clock = clock;
+        this.monitor = monitor;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    @Override
+    public void start()
+    {
+        stopped = false;
+        lastFlushStartMillis = clock.millis();
+        handle = scheduler.schedule( Group.CHECKPOINT, job, recurringPeriodMillis, MILLISECONDS );
+    }
+
+    @Override
+    public void stop()
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel( false );
+        }
+        waitOngoingFlushCompletion();
+    }
+
+    private void waitOngoingFlushCompletion()
+    {
+        ioLimiter.disableLimit();
+        try
+        {
+            Predicates.awaitForever( () -> !flushing, 100, MILLISECONDS );
+        }
+        finally
+        {
+            ioLimiter.enableLimit();
+        }
+    }
+
+    void flush()
+    {
+        long startMillis = clock.millis();
+        try
+        {
+            appender.forceAsyncCommittedTransactions();
+            pageCache.flushAndForce( ioLimiter );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            // A failing background flush is not fatal, the next check point will flush the same pages
+            // and fail the way check points do if the problem persists.
+            log.warn( "Background flushing of dirty pages failed", e );
+            return;
+        }
+        long endMillis = clock.millis();
+        monitor.pagesFlushed( endMillis - startMillis, endMillis - lastFlushStartMillis );
+        lastFlushStartMillis = startMillis;
+    }
+}
@@ -176,6 +176,11 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
              */
             msgLog.info( prefix + " checkpoint started..." );
             long startTime = currentTimeMillis();
+            /*
+             * Asynchronously committed transactions may not have been forced to the log yet. Force them before
+             * the store is flushed, so that the flushed store doesn't contain changes missing from the log.
+             */
+            appender.forceAsyncCommittedTransactions();
             storageEngine.flushAndForce( ioLimiter );
             /*
              * Check kernel health before going to write the next check point.  In case of a panic this check point
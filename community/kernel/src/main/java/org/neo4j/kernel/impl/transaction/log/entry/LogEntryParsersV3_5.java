@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.entry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
+import org.neo4j.kernel.impl.transaction.log.ReadableClosableChannel;
+import org.neo4j.storageengine.api.CommandReaderFactory;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.unsafe.impl.batchimport.input.ByteBufferReadableChannel;
+
+/**
+ * Same entries as {@link LogEntryParsersV2_3}, with the addition of {@link #COMPRESSED_COMMANDS}.
+ */
+public enum LogEntryParsersV3_5 implements LogEntryParser<LogEntry>
+{
+    TX_START( LogEntryParsersV2_3.TX_START ),
+    COMMAND( LogEntryParsersV2_3.COMMAND ),
+    TX_COMMIT( LogEntryParsersV2_3.TX_COMMIT ),
+    CHECK_POINT( LogEntryParsersV2_3.CHECK_POINT ),
+
+    /**
+     * A block of deflated command entries, as written by {@link LogEntryWriter#writeCompressedCommands(int, byte[], int)}.
+     */
+    COMPRESSED_COMMANDS( null )
+            {
+                @Override
+                public LogEntry parse( LogEntryVersion version, ReadableClosableChannel channel, LogPositionMarker marker,
+                                       CommandReaderFactory commandReader ) throws IOException
+                {
+                    int uncompressedLength = channel.getInt();
+                    int compressedLength = channel.getInt();
+                    byte[] compressed = new byte[compressedLength];
+                    channel.get( compressed, compressedLength );
+
+                    ByteBuffer commandEntries = ByteBuffer.wrap( inflate( compressed, uncompressedLength ) );
+                    ReadableClosableChannel commandChannel = new ByteBufferReadableChannel( commandEntries );
+                    List<StorageCommand> commands = new ArrayList<>();
+                    while ( commandEntries.hasRemaining() )
+                    {
+                        byte commandVersion = commandChannel.get();
+                        byte commandType = commandChannel.get();
+                        if ( commandType != LogEntryByteCodes.COMMAND )
+                        {
+                            throw new IOException( "Unexpected entry type " + commandType + " in compressed commands" );
+                        }
+                        StorageCommand command = commandReader.byVersion( commandVersion ).read( commandChannel );
+                        if ( command == null )
+                        {
+                            throw new IOException( "Incomplete command in compressed commands" );
+                        }
+                        commands.add( command );
+                    }
+                    return new LogEntryCompressedCommands( version, commands, compressedLength );
+                }
+
+                private byte[] inflate( byte[] compressed, int uncompressedLength ) throws IOException
+                {
+                    byte[] uncompressed = new byte[uncompressedLength];
+                    Inflater inflater = new Inflater();
+                    try
+                    {
+                        inflater.setInput( compressed );
+                        int inflated = inflater.inflate( uncompressed );
+                        if ( inflated != uncompressedLength || !inflater.finished() )
+                        {
+                            throw new IOException( "Compressed commands inflated to " + inflated + " bytes, expected " +
+                                    uncompressedLength );
+                        }
+                        return uncompressed;
+                    }
+                    catch ( DataFormatException e )
+                    {
+                        throw new IOException( "Corrupt compressed commands", e );
+                    }
+                    finally
+                    {
+                        inflater.end();
+                    }
+                }
+
+                @Override
+                public byte byteCode()
+                {
+                    return LogEntryByteCodes.COMPRESSED_COMMANDS;
+                }
+
+                @Override
+                public boolean skip()
+                {
+                    return false;
+                }
+            };
+
+    private final LogEntryParser<LogEntry> delegate;
+
+    LogEntryParsersV3_5( LogEntryParser<LogEntry> delegate )
+    {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public LogEntry parse( LogEntryVersion version, ReadableClosableChannel channel, LogPositionMarker marker,
+                           CommandReaderFactory commandReader ) throws IOException
+    {
+        return delegate.parse( version, channel, marker, commandReader );
+    }
+
+    @Override
+    public byte byteCode()
+    {
+        return delegate.byteCode();
+    }
+
+    @Override
+    public boolean skip()
+    {
+        return delegate.skip();
+    }
+}
@@ -30,9 +30,11 @@ import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.WritableChannel;
 
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryByteCodes.CHECK_POINT;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryByteCodes.COMPRESSED_COMMANDS;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryByteCodes.TX_COMMIT;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryByteCodes.TX_START;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryVersion.CURRENT;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryVersion.V3_5_COMPRESSED_COMMANDS;
 
 public class LogEntryWriter
 {
@@ -99,6 +101,20 @@ public class LogEntryWriter
         }
     }
 
+    /**
+     * Writes the commands of a transaction as a single compressed block, in place of the individual command entries.
+     * Only readers of {@link LogEntryVersion#V3_5_COMPRESSED_COMMANDS} or later can read such a block.
+     *
+     * @param uncompressedLength length of the serialized command entries before compression.
+     * @param compressed the deflated command entries.
+     * @param compressedLength number of bytes in {@code compressed} to write.
+     */
+    public void writeCompressedCommands( int uncompressedLength, byte[] compressed, int compressedLength ) throws IOException
+    {
+        channel.put( V3_5_COMPRESSED_COMMANDS.byteCode() ).put( COMPRESSED_COMMANDS );
+        channel.putInt( uncompressedLength ).putInt( compressedLength ).put( compressed, compressedLength );
+    }
+
     public void writeCheckPointEntry( LogPosition logPosition ) throws IOException
     {
         writeLogEntryHeader( CHECK_POINT, channel );
@@ -72,6 +72,14 @@ public class VersionAwareLogEntryReader<SOURCE extends ReadableClosablePositionA
                 byte versionCode = channel.get();
                 byte typeCode = channel.get();
 
+                if ( versionCode == 0 && typeCode == 0 && skipped == 0 && channelSupportsPositioning( channel ) )
+                {
+                    // No log entry version is zero, so this is the zero-filled tail of a preallocated log file,
+                    // which marks the end of the log. Leave the channel positioned where the next entry will be written.
+                    ((PositionableChannel)channel).setCurrentPosition( positionMarker.getByteOffset() );
+                    return null;
+                }
+
                 LogEntryVersion version = null;
                 LogEntryParser<LogEntry> entryReader;
                 LogEntry entry;
@@ -74,4 +74,13 @@ public interface LogFile
     boolean rotationNeeded();
 
     void rotate() throws IOException;
+
+    /**
+     * Registers the position of a transaction that was just appended, so that it can be located quickly
+     * once this log file has been rotated. Called while holding the monitor of this log file.
+     *
+     * @param transactionId id of the appended transaction.
+     * @param startPosition position of the start entry of the appended transaction.
+     */
+    void transactionAppended( long transactionId, LogPosition startPosition );
 }
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.transaction.log.files;
 import java.io.File;
 import java.io.IOException;
 
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogVersionedStoreChannel;
 import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
 import org.neo4j.kernel.lifecycle.Lifecycle;
@@ -65,5 +66,28 @@ public interface LogFiles extends Lifecycle
 
     LogFile getLogFile();
 
+    /**
+     * Looks up the transaction in the position index of the given log version, which is written when a log file
+     * is rotated, see {@link LogFile#transactionAppended(long, LogPosition)}.
+     *
+     * @param transactionId id of the transaction to locate.
+     * @param logVersion version of the log file known to contain the transaction.
+     * @return position at or before the start entry of the transaction, from which the log can be read to find it,
+     * or {@code null} if there's no index for that log version.
+     * @throws IOException on I/O error reading the index.
+     */
+    LogPosition closestIndexedTransactionPosition( long transactionId, long logVersion ) throws IOException;
+
     TransactionLogFileInformation getLogFileInformation();
+
+    /**
+     * Prepares a zero-filled file, sized to the rotation threshold, that the next log rotation takes over instead of
+     * creating and growing a new log file. Does nothing if such a file is already prepared.
+     *
+     * @param recyclableLogFile a pruned log file whose disk space should be reused, or {@code null} to create a new file.
+     * @return {@code true} if a file was prepared, in which case {@code recyclableLogFile} has been consumed,
+     * otherwise {@code false}.
+     * @throws IOException if unable to prepare the file.
+     */
+    boolean preallocateNextLogFile( File recyclableLogFile ) throws IOException;
 }
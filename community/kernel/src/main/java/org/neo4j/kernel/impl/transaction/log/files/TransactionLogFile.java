@@ -21,27 +21,40 @@ package org.neo4j.kernel.impl.transaction.log.files;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.OpenMode;
 import org.neo4j.kernel.impl.transaction.log.FlushablePositionAwareChannel;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
 import org.neo4j.kernel.impl.transaction.log.LogVersionBridge;
 import org.neo4j.kernel.impl.transaction.log.LogVersionRepository;
 import org.neo4j.kernel.impl.transaction.log.LogVersionedStoreChannel;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogVersionedStoreChannel;
 import org.neo4j.kernel.impl.transaction.log.PositionAwarePhysicalFlushableChannel;
 import org.neo4j.kernel.impl.transaction.log.ReadAheadLogChannel;
+import org.neo4j.kernel.impl.transaction.log.ReadableClosablePositionAwareChannel;
 import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.ReaderLogVersionBridge;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryByteCodes.CHECK_POINT;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryByteCodes.TX_COMMIT;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogHeader.LOG_HEADER_SIZE;
+
 /**
  * {@link LogFile} backed by one or more files in a {@link FileSystemAbstraction}.
  */
 class TransactionLogFile extends LifecycleAdapter implements LogFile
 {
+    /**
+     * Size of commit and check point entries, one of which is the last entry of a log.
+     */
+    private static final int LAST_ENTRY_SIZE = 2 + 2 * Long.BYTES;
+
     private final AtomicLong rotateAtSize;
     private final TransactionLogFiles logFiles;
     private final TransactionLogFilesContext context;
@@ -77,7 +90,7 @@ class TransactionLogFile extends LifecycleAdapter implements LogFile
         long lastLogVersionUsed = logVersionRepository.getCurrentLogVersion();
         channel = logFiles.createLogChannelForVersion( lastLogVersionUsed, OpenMode.READ_WRITE, context::getLastCommittedTransactionId );
         // Move to the end
-        channel.position( channel.size() );
+        channel.position( endOfLog( channel ) );
         writer = new PositionAwarePhysicalFlushableChannel( channel );
     }
 
@@ -89,6 +102,8 @@ class TransactionLogFile extends LifecycleAdapter implements LogFile
     {
         if ( writer != null )
         {
+            writer.prepareForFlush().flush();
+            truncatePreallocatedTail( channel );
             writer.close();
         }
         if ( channel != null )
@@ -170,6 +185,8 @@ class TransactionLogFile extends LifecycleAdapter implements LogFile
          * transaction complete in the log we're rotating away. Awesome.
          */
         writer.prepareForFlush().flush();
+        truncatePreallocatedTail( currentLog );
+        logFiles.getPositionIndex().logRotated( currentLog.getVersion() );
         /*
          * The log version is now in the store, flushed and persistent. If we crash
          * now, on recovery we'll attempt to open the version we're about to create
@@ -185,6 +202,89 @@ class TransactionLogFile extends LifecycleAdapter implements LogFile
         return newLog;
     }
 
+    /**
+     * Finds the position after the last entry in the log file. A log file that was preallocated has a zero-filled
+     * tail after its last entry, which recovery leaves in place, so the writer continues where that tail starts.
+     * Entries are only scanned to find it when the file really ends in such a tail, not whenever its last byte
+     * happens to be zero, which the last byte of a commit timestamp can legitimately be.
+     */
+    private long endOfLog( PhysicalLogVersionedStoreChannel channel ) throws IOException
+    {
+        long size = channel.size();
+        if ( size <= LOG_HEADER_SIZE )
+        {
+            return size;
+        }
+        ByteBuffer tail = ByteBuffer.allocate( (int) Math.min( LAST_ENTRY_SIZE, size - LOG_HEADER_SIZE ) );
+        long tailPosition = size - tail.capacity();
+        while ( tail.hasRemaining() && channel.read( tail, tailPosition + tail.position() ) >= 0 )
+        {
+            // read the whole tail
+        }
+        if ( tail.get( tail.capacity() - 1 ) != 0 || endsWithLastEntry( tail, channel.getVersion() ) )
+        {
+            return size;
+        }
+        LogPositionMarker marker = new LogPositionMarker();
+        try ( ReadableLogChannel reader = getReader( LogPosition.start( channel.getVersion() ), LogVersionBridge.NO_MORE_CHANNELS ) )
+        {
+            LogEntryReader<ReadableClosablePositionAwareChannel> entryReader = context.getLogEntryReader();
+            while ( entryReader.readLogEntry( reader ) != null )
+            {
+                // skip to the end
+            }
+            reader.getCurrentPosition( marker );
+        }
+        return marker.getByteOffset();
+    }
+
+    /**
+     * A log that was written up to the end of its file ends with the commit entry of the last committed transaction,
+     * or with a check point entry. Both have a version, a type and two longs, so they can be recognized from the
+     * end of the file without reading the entries before them.
+     */
+    private boolean endsWithLastEntry( ByteBuffer tail, long logVersion )
+    {
+        if ( tail.capacity() < LAST_ENTRY_SIZE )
+        {
+            return false;
+        }
+        int entryStart = tail.capacity() - LAST_ENTRY_SIZE;
+        byte versionCode = tail.get( entryStart );
+        byte typeCode = tail.get( entryStart + 1 );
+        long first = tail.getLong( entryStart + 2 );
+        long second = tail.getLong( entryStart + 2 + Long.BYTES );
+        if ( versionCode >= 0 )
+        {
+            // all log entry versions are written as negative bytes
+            return false;
+        }
+        if ( typeCode == TX_COMMIT )
+        {
+            return first == context.getLastCommittedTransactionId();
+        }
+        return typeCode == CHECK_POINT && first >= 0 && first <= logVersion && second >= LOG_HEADER_SIZE;
+    }
+
+    /**
+     * Cuts off the unused part of a preallocated log file, so that log files that are not being written to
+     * are exactly as large as the entries in them.
+     */
+    private static void truncatePreallocatedTail( LogVersionedStoreChannel log ) throws IOException
+    {
+        long position = log.position();
+        if ( position < log.size() )
+        {
+            log.truncate( position );
+        }
+    }
+
+    @Override
+    public void transactionAppended( long transactionId, LogPosition startPosition )
+    {
+        logFiles.getPositionIndex().transactionAppended( transactionId, startPosition );
+    }
+
     @Override
     public FlushablePositionAwareChannel getWriter()
     {
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.function.LongSupplier;
 
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.OpenMode;
 import org.neo4j.io.fs.StoreChannel;
@@ -52,6 +53,9 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
     public static final String DEFAULT_NAME = "neostore.transaction.db";
     public static final FilenameFilter DEFAULT_FILENAME_FILTER = TransactionLogFilesHelper.DEFAULT_FILENAME_FILTER;
     private static final File[] EMPTY_FILES_ARRAY = {};
+    private static final String PREALLOCATED_PREFIX = "preallocated.";
+    private static final String PREPARING_SUFFIX = ".tmp";
+    private static final int ZERO_FILL_CHUNK_SIZE = (int) ByteUnit.mebiBytes( 1 );
 
     private final TransactionLogFilesContext logFilesContext;
     private final TransactionLogFileInformation logFileInformation;
@@ -62,6 +66,9 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
     private final TransactionLogFilesHelper fileHelper;
     private final TransactionLogFile logFile;
     private final File logsDirectory;
+    private final File preallocatedLogFile;
+    private final File preparingLogFile;
+    private final TransactionLogPositionIndex positionIndex;
 
     TransactionLogFiles( File logsDirectory, String name, TransactionLogFilesContext context )
     {
@@ -72,7 +79,10 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
         this.monitor = context.getLogFileCreationMonitor();
         this.logHeaderCache = new LogHeaderCache( 1000 );
         this.logFileInformation = new TransactionLogFileInformation( this, logHeaderCache, context );
+        this.positionIndex = new TransactionLogPositionIndex( this, fileSystem, logsDirectory, name );
         this.logFile = new TransactionLogFile( this, context );
+        this.preallocatedLogFile = new File( logsDirectory, PREALLOCATED_PREFIX + name );
+        this.preparingLogFile = new File( logsDirectory, PREALLOCATED_PREFIX + name + PREPARING_SUFFIX );
     }
 
     @Override
@@ -246,6 +256,10 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
             LongSupplier lastTransactionIdSupplier ) throws IOException
     {
         File toOpen = getLogFileForVersion( forVersion );
+        if ( !fileSystem.fileExists( toOpen ) && fileSystem.fileExists( preallocatedLogFile ) )
+        {
+            takeOverPreallocatedLogFile( toOpen, forVersion, lastTransactionIdSupplier.getAsLong() );
+        }
         StoreChannel storeChannel = fileSystem.open( toOpen, mode );
         ByteBuffer headerBuffer = ByteBuffer.allocate( LOG_HEADER_SIZE );
         LogHeader header = readLogHeader( headerBuffer, storeChannel, false, toOpen );
@@ -262,6 +276,90 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
         return new PhysicalLogVersionedStoreChannel( storeChannel, forVersion, formatVersion );
     }
 
+    /**
+     * Turns the preallocated log file into the log file for the given version. The header is written before
+     * the file is renamed, so that the log file never exists without a complete header.
+     */
+    private void takeOverPreallocatedLogFile( File toOpen, long forVersion, long lastTxId ) throws IOException
+    {
+        try ( StoreChannel storeChannel = fileSystem.open( preallocatedLogFile, OpenMode.READ_WRITE ) )
+        {
+            ByteBuffer headerBuffer = ByteBuffer.allocate( LOG_HEADER_SIZE );
+            writeLogHeader( headerBuffer, forVersion, lastTxId );
+            storeChannel.writeAll( headerBuffer, 0 );
+        }
+        fileSystem.renameFile( preallocatedLogFile, toOpen );
+        logHeaderCache.putHeader( forVersion, lastTxId );
+        monitor.created( toOpen, forVersion, lastTxId );
+    }
+
+    @Override
+    public boolean preallocateNextLogFile( File recyclableLogFile ) throws IOException
+    {
+        if ( fileSystem.fileExists( preallocatedLogFile ) )
+        {
+            return false;
+        }
+        fileSystem.deleteFile( preparingLogFile );
+        if ( recyclableLogFile != null )
+        {
+            fileSystem.renameFile( recyclableLogFile, preparingLogFile );
+        }
+        long size = logFilesContext.getRotationThreshold().get();
+        try ( StoreChannel channel = fileSystem.open( preparingLogFile, OpenMode.READ_WRITE ) )
+        {
+            if ( channel.size() > size )
+            {
+                channel.truncate( size );
+            }
+            // Zero-fill the whole file, also when recycling, since a reader must see
+            // nothing but zeros after the last entry written to the file.
+            ByteBuffer zeros = ByteBuffer.allocate( ZERO_FILL_CHUNK_SIZE );
+            for ( long position = 0; position < size; position += zeros.limit() )
+            {
+                zeros.clear();
+                zeros.limit( (int) min( ZERO_FILL_CHUNK_SIZE, size - position ) );
+                channel.writeAll( zeros, position );
+            }
+            channel.force( true );
+        }
+        fileSystem.renameFile( preparingLogFile, preallocatedLogFile );
+        return true;
+    }
+
+    /**
+     * Checks whether everything in the given log file from {@code position} up to its end is zero, as is the unused
+     * tail of a preallocated log file. Such a tail is the clean end of the log, not a corrupted part of it.
+     *
+     * @param channel channel of the log file to check.
+     * @param position offset to check from.
+     * @return {@code true} if there are no bytes after {@code position}, or all of them are zero.
+     */
+    public static boolean isZeroFilledFrom( StoreChannel channel, long position ) throws IOException
+    {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate( (int) min( ZERO_FILL_CHUNK_SIZE, max( 0, size - position ) ) );
+        while ( position < size )
+        {
+            buffer.clear();
+            buffer.limit( (int) min( buffer.capacity(), size - position ) );
+            int read = channel.read( buffer, position );
+            if ( read < 0 )
+            {
+                break;
+            }
+            for ( int i = 0; i < read; i++ )
+            {
+                if ( buffer.get( i ) != 0 )
+                {
+                    return false;
+                }
+            }
+            position += read;
+        }
+        return true;
+    }
+
     @Override
     public void accept( LogHeaderVisitor visitor ) throws IOException
     {
@@ -302,6 +400,17 @@ public class TransactionLogFiles extends LifecycleAdapter implements LogFiles
         return logFile;
     }
 
+    @Override
+    public LogPosition closestIndexedTransactionPosition( long transactionId, long logVersion ) throws IOException
+    {
+        return positionIndex.closestIndexedPosition( transactionId, logVersion );
+    }
+
+    TransactionLogPositionIndex getPositionIndex()
+    {
+        return positionIndex;
+    }
+
     @Override
     public TransactionLogFileInformation getLogFileInformation()
     {
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.regex.Pattern;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.OpenMode;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Sparse index of the positions of transactions in rotated log files, one index file per log version.
+ * <p>
+ * While a log file is being appended to, the position of every {@link #INDEX_INTERVAL}th transaction is collected
+ * in memory. When the log file is rotated those positions are written to an index file next to it. Locating a
+ * transaction in an indexed log file is then a binary search in its index file, followed by reading at most
+ * {@link #INDEX_INTERVAL} transactions from the found position, instead of reading the log file from its start.
+ * <p>
+ * Index files are an optimization only. Log files without one, e.g. the current log file, log files that were
+ * copied from another instance or rotated before a crash, are read from the start as before.
+ * <p>
+ * The index file starts with the log version and the last committed transaction id from the header of the log file
+ * it indexes, so that it is never used for a different log file with the same version. It is followed by
+ * (transaction id, byte offset) entries sorted by transaction id.
+ */
+class TransactionLogPositionIndex
+{
+    static final int INDEX_INTERVAL = 128;
+    private static final String INDEX_SUFFIX = "-index.";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int HEADER_SIZE = 2 * Long.BYTES;
+    private static final int ENTRY_SIZE = 2 * Long.BYTES;
+
+    private final TransactionLogFiles logFiles;
+    private final FileSystemAbstraction fileSystem;
+    private final File indexBaseName;
+    private final Pattern indexFilePattern;
+    private final MutableLongList transactionIds = new LongArrayList();
+    private final MutableLongList byteOffsets = new LongArrayList();
+    private long logVersion = -1;
+
+    TransactionLogPositionIndex( TransactionLogFiles logFiles, FileSystemAbstraction fileSystem, File directory, String name )
+    {
+        this.logFiles = logFiles;
+        this.fileSystem = fileSystem;
+        this.indexBaseName = new File( directory, name + INDEX_SUFFIX );
+        this.indexFilePattern = Pattern.compile( Pattern.quote( indexBaseName.getName() ) + "\\d+" );
+    }
+
+    File indexFileForVersion( long version )
+    {
+        return new File( indexBaseName.getPath() + version );
+    }
+
+    /**
+     * Called for every transaction appended to the current log file, under the log file monitor.
+     */
+    void transactionAppended( long transactionId, LogPosition startPosition )
+    {
+        if ( startPosition.getLogVersion() != logVersion )
+        {
+            clear();
+            logVersion = startPosition.getLogVersion();
+        }
+        if ( transactionIds.isEmpty() || transactionId % INDEX_INTERVAL == 0 )
+        {
+            transactionIds.add( transactionId );
+            byteOffsets.add( startPosition.getByteOffset() );
+        }
+    }
+
+    /**
+     * Called when the log file of the given version has been rotated away from, under the log file monitor.
+     * Writes the positions collected for it to its index file and removes index files of pruned log files.
+     */
+    void logRotated( long rotatedVersion )
+    {
+        try
+        {
+            if ( rotatedVersion == logVersion && !transactionIds.isEmpty() )
+            {
+                writeIndex( rotatedVersion );
+            }
+            deleteIndexFilesOfPrunedLogs();
+        }
+        catch ( IOException e )
+        {
+            // Not having an index file only means transactions in that log file are located by reading it from
+            // its start, so there's no reason to fail the rotation over it.
+            fileSystem.deleteFile( indexFileForVersion( rotatedVersion ) );
+        }
+        finally
+        {
+            clear();
+        }
+    }
+
+    /**
+     * @param transactionId transaction to locate.
+     * @param version log version known to contain the transaction.
+     * @return position at or before the start of the transaction in the given log version, or {@code null}
+     * if there's no usable index for that log version.
+     */
+    LogPosition closestIndexedPosition( long transactionId, long version ) throws IOException
+    {
+        File indexFile = indexFileForVersion( version );
+        if ( !fileSystem.fileExists( indexFile ) )
+        {
+            return null;
+        }
+        try ( StoreChannel channel = fileSystem.open( indexFile, OpenMode.READ ) )
+        {
+            ByteBuffer buffer = ByteBuffer.allocate( Math.max( HEADER_SIZE, ENTRY_SIZE ) );
+            LogHeader logHeader = logFiles.extractHeader( version );
+            if ( !readFully( channel, buffer, 0, HEADER_SIZE ) ||
+                 buffer.getLong() != version || buffer.getLong() != logHeader.lastCommittedTxId )
+            {
+                return null;
+            }
+
+            // Binary search for the last entry with a transaction id not greater than the one we look for.
+            // A partially written last entry, after a crash during rotation, is ignored.
+            long low = 0;
+            long high = (channel.size() - HEADER_SIZE) / ENTRY_SIZE - 1;
+            long foundOffset = -1;
+            while ( low <= high )
+            {
+                long middle = (low + high) >>> 1;
+                if ( !readFully( channel, buffer, HEADER_SIZE + middle * ENTRY_SIZE, ENTRY_SIZE ) )
+                {
+                    return null;
+                }
+                long indexedTransactionId = buffer.getLong();
+                if ( indexedTransactionId <= transactionId )
+                {
+                    foundOffset = buffer.getLong();
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle - 1;
+                }
+            }
+            return foundOffset == -1 ? null : new LogPosition( version, foundOffset );
+        }
+    }
+
+    private void writeIndex( long version ) throws IOException
+    {
+        LogHeader logHeader = logFiles.extractHeader( version );
+        ByteBuffer buffer = ByteBuffer.allocate( HEADER_SIZE + transactionIds.size() * ENTRY_SIZE );
+        buffer.putLong( version ).putLong( logHeader.lastCommittedTxId );
+        for ( int i = 0; i < transactionIds.size(); i++ )
+        {
+            buffer.putLong( transactionIds.get( i ) ).putLong( byteOffsets.get( i ) );
+        }
+        buffer.flip();
+
+        // Written to a temporary file and forced before being moved in place, so that after a crash the index file
+        // either does not exist or is complete. A torn index file could otherwise hold entries pointing at garbage.
+        File indexFile = indexFileForVersion( version );
+        File temporaryFile = temporaryIndexFile( indexFile );
+        fileSystem.deleteFile( temporaryFile );
+        try
+        {
+            try ( StoreChannel channel = fileSystem.open( temporaryFile, OpenMode.READ_WRITE ) )
+            {
+                channel.writeAll( buffer );
+                channel.force( false );
+            }
+            fileSystem.renameFile( temporaryFile, indexFile, ATOMIC_MOVE, REPLACE_EXISTING );
+        }
+        finally
+        {
+            fileSystem.deleteFile( temporaryFile );
+        }
+    }
+
+    private static File temporaryIndexFile( File indexFile )
+    {
+        return new File( indexFile.getPath() + TEMPORARY_SUFFIX );
+    }
+
+    private void deleteIndexFilesOfPrunedLogs()
+    {
+        long lowestLogVersion = logFiles.getLowestLogVersion();
+        File[] indexFiles = fileSystem.listFiles( indexBaseName.getParentFile(),
+                ( directory, name ) -> indexFilePattern.matcher( name ).matches() );
+        if ( indexFiles == null )
+        {
+            return;
+        }
+        for ( File indexFile : indexFiles )
+        {
+            String name = indexFile.getName();
+            long version = Long.parseLong( name.substring( indexBaseName.getName().length() ) );
+            if ( version < lowestLogVersion )
+            {
+                fileSystem.deleteFile( indexFile );
+            }
+        }
+    }
+
+    private static boolean readFully( StoreChannel channel, ByteBuffer buffer, long position, int length ) throws IOException
+    {
+        buffer.clear();
+        buffer.limit( length );
+        while ( buffer.hasRemaining() )
+        {
+            if ( channel.read( buffer, position + buffer.position() ) == -1 )
+            {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private void clear()
+    {
+        transactionIds.clear();
+        byteOffsets.clear();
+        logVersion = -1;
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.log.pruning;
 
 import java.io.File;
+import java.io.IOException;
 import java.time.Clock;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -43,6 +44,7 @@ public class LogPruningImpl implements LogPruning
     private final Log msgLog;
     private final LogPruneStrategyFactory strategyFactory;
     private final Clock clock;
+    private final boolean preallocateLogs;
     private volatile LogPruneStrategy pruneStrategy;
 
     public LogPruningImpl( FileSystemAbstraction fs,
@@ -57,6 +59,7 @@ public class LogPruningImpl implements LogPruning
         this.msgLog = logProvider.getLog( getClass() );
         this.strategyFactory = strategyFactory;
         this.clock = clock;
+        this.preallocateLogs = config.get( GraphDatabaseSettings.preallocate_logical_logs );
         this.pruneStrategy = strategyFactory.strategyFromConfigValue( fs, logFiles, clock, config.get( GraphDatabaseSettings.keep_logical_logs ) );
 
         // Register listener for updates
@@ -70,14 +73,17 @@ public class LogPruningImpl implements LogPruning
         private final LogFiles logFiles;
         private final FileSystemAbstraction fs;
         private final long upToVersion;
+        private final boolean keepRecyclable;
         private long fromVersion;
         private long toVersion;
+        private File recyclable;
 
-        private CountingDeleter( LogFiles logFiles, FileSystemAbstraction fs, long upToVersion )
+        private CountingDeleter( LogFiles logFiles, FileSystemAbstraction fs, long upToVersion, boolean keepRecyclable )
         {
             this.logFiles = logFiles;
             this.fs = fs;
             this.upToVersion = upToVersion;
+            this.keepRecyclable = keepRecyclable;
             fromVersion = NO_VERSION;
             toVersion = NO_VERSION;
         }
@@ -88,6 +94,13 @@ public class LogPruningImpl implements LogPruning
             fromVersion = fromVersion == NO_VERSION ? version : Math.min( fromVersion, version );
             toVersion = toVersion == NO_VERSION ? version : Math.max( toVersion, version );
             File logFile = logFiles.getLogFileForVersion( version );
+            if ( keepRecyclable && recyclable == null )
+            {
+                // Keep the lowest pruned version around, to be recycled as the next log file. Should we crash
+                // before that happens it is still the oldest log file and simply gets pruned again.
+                recyclable = logFile;
+                return;
+            }
             fs.deleteFile( logFile );
         }
 
@@ -120,9 +133,13 @@ public class LogPruningImpl implements LogPruning
         {
             try
             {
-                CountingDeleter deleter = new CountingDeleter( logFiles, fs, upToVersion );
+                CountingDeleter deleter = new CountingDeleter( logFiles, fs, upToVersion, preallocateLogs );
                 pruneStrategy.findLogVersionsToDelete( upToVersion ).forEachOrdered( deleter );
                 msgLog.info( deleter.describeResult() );
+                if ( preallocateLogs )
+                {
+                    preallocateNextLogFile( deleter.recyclable );
+                }
             }
             finally
             {
@@ -131,6 +148,23 @@ public class LogPruningImpl implements LogPruning
         }
     }
 
+    private void preallocateNextLogFile( File recyclable )
+    {
+        boolean recycled = false;
+        try
+        {
+            recycled = logFiles.preallocateNextLogFile( recyclable ) && recyclable != null;
+        }
+        catch ( IOException e )
+        {
+            msgLog.warn( "Unable to preallocate the next transaction log file", e );
+        }
+        if ( recyclable != null && !recycled )
+        {
+            fs.deleteFile( recyclable );
+        }
+    }
+
     @Override
     public boolean mightHaveLogsToPrune()
     {
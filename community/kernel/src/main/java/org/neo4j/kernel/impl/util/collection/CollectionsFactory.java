@@ -41,6 +41,14 @@ public interface CollectionsFactory
 
     MemoryTracker getMemoryTracker();
 
+    /**
+     * Limit the amount of memory that the collections created by this factory may use together. Allocations that would exceed the limit
+     * fail with {@link TransactionMemoryLimitExceededException}. Factories that can't track their memory usage ignore the limit.
+     *
+     * @param limitBytes maximum number of bytes, or {@code 0} for no limit.
+     */
+    void setMemoryLimit( long limitBytes );
+
     /**
      * Release previously created collections. This method does not invalidate the factory.
      */
@@ -38,7 +38,7 @@ import org.neo4j.values.storable.Value;
 public class OffHeapCollectionsFactory implements CollectionsFactory
 {
     private final MemoryAllocationTracker memoryTracker = new LocalMemoryTracker();
-    private final MemoryAllocator allocator;
+    private final OffHeapMemoryAllocator allocator;
 
     private final Collection<Resource> resources = new ArrayList<>();
     private ValuesContainer valuesContainer;
@@ -80,6 +80,12 @@ public class OffHeapCollectionsFactory implements CollectionsFactory
         return memoryTracker;
     }
 
+    @Override
+    public void setMemoryLimit( long limitBytes )
+    {
+        allocator.setMemoryLimit( limitBytes );
+    }
+
     @Override
     public void release()
     {
@@ -37,6 +37,7 @@ public class OffHeapMemoryAllocator implements MemoryAllocator
 {
     private final MemoryAllocationTracker tracker;
     private final OffHeapBlockAllocator blockAllocator;
+    private long memoryLimit;
 
     public OffHeapMemoryAllocator( MemoryAllocationTracker tracker, OffHeapBlockAllocator blockAllocator )
     {
@@ -44,9 +45,18 @@ public class OffHeapMemoryAllocator implements MemoryAllocator
         this.blockAllocator = requireNonNull( blockAllocator );
     }
 
+    /**
+     * @param memoryLimit maximum number of bytes that can be allocated through this allocator at the same time, or {@code 0} for no limit.
+     */
+    public void setMemoryLimit( long memoryLimit )
+    {
+        this.memoryLimit = memoryLimit;
+    }
+
     @Override
     public Memory allocate( long size, boolean zeroed )
     {
+        ensureWithinLimit( size );
         final MemoryBlock block = blockAllocator.allocate( size, tracker );
         if ( zeroed )
         {
@@ -55,6 +65,21 @@ public class OffHeapMemoryAllocator implements MemoryAllocator
         return new OffHeapMemory( block );
     }
 
+    /**
+     * Checked before the allocation, since memory that has been allocated but not handed out could never be freed.
+     */
+    private void ensureWithinLimit( long size )
+    {
+        if ( memoryLimit > 0 )
+        {
+            long used = tracker.usedDirectMemory();
+            if ( used + size > memoryLimit )
+            {
+                throw new TransactionMemoryLimitExceededException( size, used, memoryLimit );
+            }
+        }
+    }
+
     class OffHeapMemory implements Memory
     {
         final MemoryBlock block;
@@ -97,6 +122,7 @@ public class OffHeapMemoryAllocator implements MemoryAllocator
         @Override
         public Memory copy()
         {
+            ensureWithinLimit( block.size );
             final MemoryBlock copy = blockAllocator.allocate( block.size, tracker );
             copyMemory( block.addr, copy.addr, block.size );
             return new OffHeapMemory( copy );
@@ -61,6 +61,12 @@ public class OnHeapCollectionsFactory implements CollectionsFactory
         return MemoryTracker.NONE;
     }
 
+    @Override
+    public void setMemoryLimit( long limitBytes )
+    {
+        // nop, heap usage of these collections is not tracked
+    }
+
     @Override
     public void release()
     {
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * Block allocator that takes blocks from the decorated allocator as long as the total size of the blocks in use stays
+ * within {@code maxMemory}, and beyond that spills to blocks backed by memory mapped temporary files in the spill
+ * directory. Where {@link CapacityLimitingBlockAllocatorDecorator} would fail the allocation, and with it the
+ * transaction, this lets very large transaction states grow past the limit, with the operating system keeping their
+ * cold parts on disk and reading them back on demand.
+ * <p>
+ * Spilled blocks are carved out of large segment files, each mapped once, rather than getting a file and a mapping
+ * of their own. Block sizes are rounded up to a power of two, and freed blocks are kept in a free list per size for
+ * reuse. Blocks larger than a segment get a mapping of their own. Once no spilled block is in use any more, all
+ * segments are unmapped explicitly, rather than whenever their buffers happen to be garbage collected, and their
+ * files are deleted. Segment files are unlinked right after being mapped where the platform allows it.
+ * <p>
+ * This class is thread safe.
+ */
+public class SpillingBlockAllocatorDecorator implements OffHeapBlockAllocator
+{
+    static final long DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long MIN_SPILLED_BLOCK_SIZE = 64;
+    private static final String SPILL_FILE_PREFIX = "tx-state-";
+    private static final String SPILL_FILE_SUFFIX = ".spill";
+    private static final MethodHandle UNMAPPER = findUnmapper();
+
+    private final OffHeapBlockAllocator impl;
+    private final long maxMemory;
+    private final File spillDirectory;
+    private final long segmentSize;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final AtomicLong spilledMemory = new AtomicLong();
+
+    // Guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<Long,Deque<Long>> freeBlocksBySize = new HashMap<>();
+    private Segment currentSegment;
+    private long currentSegmentOffset;
+    private long spilledBlocksInUse;
+
+    public SpillingBlockAllocatorDecorator( OffHeapBlockAllocator impl, long maxMemory, File spillDirectory )
+    {
+        this( impl, maxMemory, spillDirectory, DEFAULT_SEGMENT_SIZE );
+    }
+
+    SpillingBlockAllocatorDecorator( OffHeapBlockAllocator impl, long maxMemory, File spillDirectory, long segmentSize )
+    {
+        this.impl = requireNonNull( impl );
+        this.maxMemory = requirePositive( maxMemory );
+        this.spillDirectory = requireNonNull( spillDirectory );
+        this.segmentSize = requirePositive( segmentSize );
+        deleteLeftoverSpillFiles();
+    }
+
+    @Override
+    public MemoryBlock allocate( long size, MemoryAllocationTracker tracker )
+    {
+        while ( true )
+        {
+            final long usedMemoryBefore = usedMemory.get();
+            final long usedMemoryAfter = usedMemoryBefore + size;
+            if ( usedMemoryAfter > maxMemory )
+            {
+                return spill( size, tracker );
+            }
+            if ( usedMemory.compareAndSet( usedMemoryBefore, usedMemoryAfter ) )
+            {
+                break;
+            }
+        }
+        try
+        {
+            return impl.allocate( size, tracker );
+        }
+        catch ( Throwable t )
+        {
+            usedMemory.addAndGet( -size );
+            throw t;
+        }
+    }
+
+    @Override
+    public void free( MemoryBlock block, MemoryAllocationTracker tracker )
+    {
+        if ( block instanceof SpilledBlock )
+        {
+            freeSpilled( (SpilledBlock) block );
+            spilledMemory.addAndGet( -block.size );
+            tracker.deallocated( block.unalignedSize );
+            return;
+        }
+        try
+        {
+            impl.free( block, tracker );
+        }
+        finally
+        {
+            usedMemory.addAndGet( -block.size );
+        }
+    }
+
+    @Override
+    public void release()
+    {
+        try
+        {
+            impl.release();
+        }
+        finally
+        {
+            // Segments are already unmapped once no spilled block is in use. Any that are left are still in use by
+            // some transaction, so they are left for the garbage collector to unmap rather than pulled from under it.
+            usedMemory.set( 0 );
+        }
+    }
+
+    /**
+     * @return total size of the blocks currently spilled to disk.
+     */
+    public long spilledMemory()
+    {
+        return spilledMemory.get();
+    }
+
+    /**
+     * @return number of segment files currently mapped.
+     */
+    synchronized int mappedSegments()
+    {
+        return segments.size();
+    }
+
+    private MemoryBlock spill( long size, MemoryAllocationTracker tracker )
+    {
+        if ( size > Integer.MAX_VALUE )
+        {
+            throw new RuntimeException( format( "Can't allocate %d bytes due to exceeding memory limit; used=%d, max=%d, " +
+                    "and the block is too large to be spilled to disk", size, usedMemory.get(), maxMemory ) );
+        }
+        final long blockSize = Math.max( MIN_SPILLED_BLOCK_SIZE, Long.highestOneBit( size - 1 ) << 1 );
+        final SpilledBlock block = blockSize > segmentSize ? spillToOwnSegment( size ) : spillToSharedSegment( size, blockSize );
+        tracker.allocated( size );
+        spilledMemory.addAndGet( size );
+        return block;
+    }
+
+    private synchronized SpilledBlock spillToSharedSegment( long size, long blockSize )
+    {
+        final Deque<Long> freeBlocks = freeBlocksBySize.get( blockSize );
+        final long addr;
+        if ( freeBlocks != null && !freeBlocks.isEmpty() )
+        {
+            addr = freeBlocks.pop();
+        }
+        else
+        {
+            if ( currentSegment == null || currentSegmentOffset + blockSize > currentSegment.size )
+            {
+                // The rest of the previous segment, if any, is left unused
+                currentSegment = mapSegment( segmentSize );
+                segments.add( currentSegment );
+                currentSegmentOffset = 0;
+            }
+            addr = currentSegment.addr + currentSegmentOffset;
+            currentSegmentOffset += blockSize;
+        }
+        spilledBlocksInUse++;
+        return new SpilledBlock( addr, size, blockSize, null );
+    }
+
+    private synchronized SpilledBlock spillToOwnSegment( long size )
+    {
+        final Segment segment = mapSegment( size );
+        spilledBlocksInUse++;
+        return new SpilledBlock( segment.addr, size, size, segment );
+    }
+
+    private synchronized void freeSpilled( SpilledBlock block )
+    {
+        if ( block.ownSegment != null )
+        {
+            block.ownSegment.unmap();
+        }
+        else
+        {
+            freeBlocksBySize.computeIfAbsent( block.blockSize, blockSize -> new ArrayDeque<>() ).push( block.addr );
+        }
+        spilledBlocksInUse--;
+        if ( spilledBlocksInUse == 0 )
+        {
+            // Give the disk space back as soon as the large transactions that needed it are done
+            releaseSegments();
+        }
+    }
+
+    private synchronized void releaseSegments()
+    {
+        segments.forEach( Segment::unmap );
+        segments.clear();
+        freeBlocksBySize.clear();
+        currentSegment = null;
+        currentSegmentOffset = 0;
+    }
+
+    private Segment mapSegment( long size )
+    {
+        try
+        {
+            spillDirectory.mkdirs();
+            final File file = File.createTempFile( SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory );
+            final MappedByteBuffer buffer;
+            try ( RandomAccessFile raf = new RandomAccessFile( file, "rw" ) )
+            {
+                raf.setLength( size );
+                buffer = raf.getChannel().map( READ_WRITE, 0, size );
+            }
+            return new Segment( buffer, size, file.delete() ? null : file );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Can't spill transaction state to " + spillDirectory, e );
+        }
+    }
+
+    private void deleteLeftoverSpillFiles()
+    {
+        final File[] files = spillDirectory.listFiles(
+                ( dir, name ) -> name.startsWith( SPILL_FILE_PREFIX ) && name.endsWith( SPILL_FILE_SUFFIX ) );
+        if ( files != null )
+        {
+            for ( File file : files )
+            {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Finds a way to unmap a {@link MappedByteBuffer} right away, which the JDK only exposes internally:
+     * {@code Unsafe.invokeCleaner} on Java 9 and later, and the cleaner of the buffer on Java 8.
+     *
+     * @return handle taking a {@link ByteBuffer}, or {@code null} if neither is accessible, in which case buffers are
+     * unmapped when they are garbage collected.
+     */
+    private static MethodHandle findUnmapper()
+    {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try
+        {
+            final Class<?> unsafeClass = Class.forName( "sun.misc.Unsafe" );
+            final Field theUnsafe = unsafeClass.getDeclaredField( "theUnsafe" );
+            theUnsafe.setAccessible( true );
+            return lookup.findVirtual( unsafeClass, "invokeCleaner", MethodType.methodType( void.class, ByteBuffer.class ) )
+                    .bindTo( theUnsafe.get( null ) );
+        }
+        catch ( ReflectiveOperationException | RuntimeException java9Exception )
+        {
+            try
+            {
+                final Class<?> directBuffer = Class.forName( "sun.nio.ch.DirectBuffer" );
+                final Class<?> cleaner = Class.forName( "sun.misc.Cleaner" );
+                final MethodHandle getCleaner = lookup.findVirtual( directBuffer, "cleaner", MethodType.methodType( cleaner ) );
+                final MethodHandle clean = lookup.findVirtual( cleaner, "clean", MethodType.methodType( void.class ) );
+                return MethodHandles.filterReturnValue( getCleaner, clean ).asType( MethodType.methodType( void.class, ByteBuffer.class ) );
+            }
+            catch ( ReflectiveOperationException | RuntimeException java8Exception )
+            {
+                return null;
+            }
+        }
+    }
+
+    private static final class Segment
+    {
+        /**
+         * Keeps the mapping alive until it's unmapped.
+         */
+        private MappedByteBuffer buffer;
+        private final long addr;
+        private final long size;
+        /**
+         * The backing file, if it couldn't be deleted while mapped.
+         */
+        private final File file;
+
+        Segment( MappedByteBuffer buffer, long size, File file )
+        {
+            this.buffer = buffer;
+            // Mapped pages are page aligned, so there's no need for alignment padding
+            this.addr = UnsafeUtil.getDirectByteBufferAddress( buffer );
+            this.size = size;
+            this.file = file;
+        }
+
+        void unmap()
+        {
+            final MappedByteBuffer mapped = buffer;
+            buffer = null;
+            if ( mapped != null && UNMAPPER != null )
+            {
+                try
+                {
+                    UNMAPPER.invokeExact( (ByteBuffer) mapped );
+                }
+                catch ( Throwable throwable )
+                {
+                    // Unmapped once the buffer is garbage collected instead
+                }
+            }
+            if ( file != null && !file.delete() )
+            {
+                // Still mapped until the buffer is garbage collected
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private static final class SpilledBlock extends MemoryBlock
+    {
+        private final long blockSize;
+        /**
+         * The segment mapped for this block alone, if it was too large to share one.
+         */
+        private final Segment ownSegment;
+
+        SpilledBlock( long addr, long size, long blockSize, Segment ownSegment )
+        {
+            super( addr, size, addr, size );
+            this.blockSize = blockSize;
+            this.ownSegment = ownSegment;
+        }
+    }
+}
@@ -65,7 +65,8 @@ public class CorruptedLogsTruncator
     /**
      * Truncate all transaction logs after provided position. Log version specified in a position will be
      * truncated to provided byte offset, any subsequent log files will be deleted. Backup copy of removed data will
-     * be stored in separate archive.
+     * be stored in separate archive. A zero-filled tail after the provided position, left by log preallocation,
+     * is the clean end of the log and is kept.
      * @param positionAfterLastRecoveredTransaction position after last recovered transaction
      * @throws IOException
      */
@@ -162,8 +163,21 @@ public class CorruptedLogsTruncator
         return logFiles.getHighestLogVersion() > recoveredTransactionLogVersion;
     }
 
+    /**
+     * The recovered log is corrupted if there is anything but zeros after the last recovered transaction.
+     * A zero-filled tail is the unused part of a preallocated log file, which the writer continues in.
+     */
     private boolean isRecoveredLogCorrupted( long recoveredTransactionLogVersion, long recoveredTransactionOffset )
+            throws IOException
     {
-        return logFiles.getLogFileForVersion( recoveredTransactionLogVersion ).length() > recoveredTransactionOffset;
+        File logFile = logFiles.getLogFileForVersion( recoveredTransactionLogVersion );
+        if ( logFile.length() <= recoveredTransactionOffset )
+        {
+            return false;
+        }
+        try ( StoreChannel channel = fs.open( logFile, OpenMode.READ ) )
+        {
+            return !TransactionLogFiles.isZeroFilledFrom( channel, recoveredTransactionOffset );
+        }
     }
 }
@@ -43,11 +43,25 @@ public class DefaultRecoveryService implements RecoveryService
     private final TransactionIdStore transactionIdStore;
     private final LogicalTransactionStore logicalTransactionStore;
     private final LogVersionRepository logVersionRepository;
+    private final int recoveryBatchSize;
 
     public DefaultRecoveryService( StorageEngine storageEngine, LogTailScanner logTailScanner,
             TransactionIdStore transactionIdStore, LogicalTransactionStore logicalTransactionStore,
             LogVersionRepository logVersionRepository, RecoveryStartInformationProvider.Monitor monitor )
     {
+        this( storageEngine, logTailScanner, transactionIdStore, logicalTransactionStore, logVersionRepository, monitor, 1 );
+    }
+
+    /**
+     * @param recoveryBatchSize max number of transactions to hand to the {@link StorageEngine} as one batch during
+     * forward recovery. Batching lets the storage engine amortize index updates over, and apply non-conflicting record
+     * changes in parallel for, all transactions of a batch.
+     */
+    public DefaultRecoveryService( StorageEngine storageEngine, LogTailScanner logTailScanner,
+            TransactionIdStore transactionIdStore, LogicalTransactionStore logicalTransactionStore,
+            LogVersionRepository logVersionRepository, RecoveryStartInformationProvider.Monitor monitor, int recoveryBatchSize )
+    {
+        this.recoveryBatchSize = recoveryBatchSize;
         this.storageEngine = storageEngine;
         this.transactionIdStore = transactionIdStore;
         this.logicalTransactionStore = logicalTransactionStore;
@@ -75,7 +89,9 @@ public class DefaultRecoveryService implements RecoveryService
     @Override
     public RecoveryApplier getRecoveryApplier( TransactionApplicationMode mode ) throws Exception
     {
-        return new RecoveryVisitor( storageEngine, mode );
+        // Reverse recovery visits transactions from the end of the log, one at a time
+        int batchSize = mode == TransactionApplicationMode.RECOVERY ? recoveryBatchSize : 1;
+        return new RecoveryVisitor( storageEngine, mode, batchSize );
     }
 
     @Override
@@ -109,15 +125,27 @@ public class DefaultRecoveryService implements RecoveryService
         logVersionRepository.setCurrentLogVersion( recoveredTransactionLogVersion );
     }
 
+    /**
+     * Applies recovered transactions to the {@link StorageEngine} in batches of up to {@code batchSize} transactions.
+     * Transactions still pending in an incomplete batch are applied on {@link #close()}.
+     */
     static class RecoveryVisitor implements RecoveryApplier
     {
         private final StorageEngine storageEngine;
         private final TransactionApplicationMode mode;
+        private final int batchSize;
+        private TransactionToApply first;
+        private TransactionToApply last;
+        private int batched;
+        private CommittedTransactionRepresentation firstPendingTransaction;
+        private CommittedTransactionRepresentation lastPendingTransaction;
+        private CommittedTransactionRepresentation lastAppliedTransaction;
 
-        RecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode )
+        RecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, int batchSize )
         {
             this.storageEngine = storageEngine;
             this.mode = mode;
+            this.batchSize = batchSize;
         }
 
         @Override
@@ -128,13 +156,52 @@ public class DefaultRecoveryService implements RecoveryService
             TransactionToApply tx = new TransactionToApply( txRepresentation, txId );
             tx.commitment( NO_COMMITMENT, txId );
             tx.logPosition( transaction.getStartEntry().getStartPosition() );
-            storageEngine.apply( tx, mode );
+            if ( first == null )
+            {
+                first = tx;
+                firstPendingTransaction = transaction;
+            }
+            else
+            {
+                last.next( tx );
+            }
+            last = tx;
+            lastPendingTransaction = transaction;
+            if ( ++batched >= batchSize )
+            {
+                applyBatch();
+            }
             return false;
         }
 
         @Override
-        public void close()
-        {   // nothing to close
+        public void close() throws Exception
+        {
+            applyBatch();
+        }
+
+        private void applyBatch() throws Exception
+        {
+            TransactionToApply batch = first;
+            CommittedTransactionRepresentation batchStart = firstPendingTransaction;
+            // Forget the batch before applying it, so that a failed batch is not applied again on close
+            first = null;
+            last = null;
+            batched = 0;
+            firstPendingTransaction = null;
+            if ( batch != null )
+            {
+                try
+                {
+                    storageEngine.apply( batch, mode );
+                }
+                catch ( Exception e )
+                {
+                    // The transaction being visited is not necessarily the one that failed, so report the batch as a whole
+                    throw new RecoveryBatchFailedException( batchStart, lastAppliedTransaction, e );
+                }
+                lastAppliedTransaction = lastPendingTransaction;
+            }
         }
     }
 }
@@ -36,6 +36,7 @@ import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryVersion;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFiles;
 import org.neo4j.kernel.monitoring.Monitors;
 
 import static org.neo4j.kernel.impl.transaction.log.LogVersionRepository.INITIAL_LOG_VERSION;
@@ -170,7 +171,9 @@ public class LogTailScanner
 
     private boolean hasUnreadableBytes( LogVersionedStoreChannel channel, long maxEntryReadEndPosition ) throws IOException
     {
-        return channel.position() > maxEntryReadEndPosition;
+        // the zero-filled tail of a preallocated log file is not unreadable, it is where the log ends
+        return channel.position() > maxEntryReadEndPosition &&
+                !TransactionLogFiles.isZeroFilledFrom( channel, maxEntryReadEndPosition );
     }
 
     protected LogTailInformation checkpointTailInformation( long highestLogVersion, LogEntryStart latestStartEntry,
@@ -21,6 +21,7 @@ package org.neo4j.kernel.recovery;
 
 import java.io.IOException;
 import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.TimeUnit;
 
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
@@ -41,6 +42,7 @@ import static org.neo4j.storageengine.api.TransactionApplicationMode.REVERSE_REC
  */
 public class Recovery extends LifecycleAdapter
 {
+    static final int PROGRESS_REPORT_INTERVAL = 100_000;
 
     private final RecoveryService recoveryService;
     private final RecoveryMonitor monitor;
@@ -107,6 +109,7 @@ public class Recovery extends LifecycleAdapter
             // of the schema life until after we've done the reverse recovery.
             schemaLife.init();
 
+            long recoveryStartNanos = System.nanoTime();
             try ( TransactionCursor transactionsToRecover = recoveryService.getTransactions( recoveryPosition );
                     RecoveryApplier recoveryVisitor = recoveryService.getRecoveryApplier( RECOVERY ) )
             {
@@ -119,9 +122,21 @@ public class Recovery extends LifecycleAdapter
                     numberOfRecoveredTransactions++;
                     recoveryToPosition = transactionsToRecover.position();
                     reportProgress();
+                    if ( numberOfRecoveredTransactions % PROGRESS_REPORT_INTERVAL == 0 )
+                    {
+                        monitor.recoveryProgress( numberOfRecoveredTransactions,
+                                TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - recoveryStartNanos ) );
+                    }
                 }
                 recoveryToPosition = transactionsToRecover.position();
             }
+            catch ( RecoveryBatchFailedException e )
+            {
+                // Transactions are applied in batches, so recovery only got as far as the transaction before the failed batch
+                lastTransaction = e.getLastRecoveredTransaction();
+                recoveryToPosition = e.getFirstTransaction().getStartEntry().getStartPosition();
+                throw e;
+            }
         }
         catch ( Error | ClosedByInterruptException e )
         {
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+
+import static java.lang.String.format;
+
+/**
+ * Thrown by a {@link RecoveryApplier} that applies recovered transactions in batches, when a batch could not be applied.
+ * None of the transactions of that batch are recovered, so recovery only got as far as the last transaction before the batch.
+ */
+public class RecoveryBatchFailedException extends Exception
+{
+    private final CommittedTransactionRepresentation firstTransaction;
+    private final CommittedTransactionRepresentation lastRecoveredTransaction;
+
+    RecoveryBatchFailedException( CommittedTransactionRepresentation firstTransaction, CommittedTransactionRepresentation lastRecoveredTransaction,
+            Throwable cause )
+    {
+        super( format( "Failed to apply the batch of recovered transactions starting at transaction %d",
+                firstTransaction.getCommitEntry().getTxId() ), cause );
+        this.firstTransaction = firstTransaction;
+        this.lastRecoveredTransaction = lastRecoveredTransaction;
+    }
+
+    /**
+     * @return the first transaction of the batch that failed.
+     */
+    public CommittedTransactionRepresentation getFirstTransaction()
+    {
+        return firstTransaction;
+    }
+
+    /**
+     * @return the last transaction applied before the batch that failed, or {@code null} if the failed batch was the first one.
+     */
+    public CommittedTransactionRepresentation getLastRecoveredTransaction()
+    {
+        return lastRecoveredTransaction;
+    }
+}
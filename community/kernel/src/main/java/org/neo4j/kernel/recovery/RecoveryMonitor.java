@@ -34,6 +34,17 @@ public interface RecoveryMonitor
         //noop
     }
 
+    /**
+     * Called regularly during forward recovery.
+     *
+     * @param numberOfRecoveredTransactions number of transactions recovered so far.
+     * @param elapsedMillis time spent recovering those transactions.
+     */
+    default void recoveryProgress( int numberOfRecoveredTransactions, long elapsedMillis )
+    {
+        //noop
+    }
+
     default void recoveryCompleted( int numberOfRecoveredTransactions )
     {
         //noop
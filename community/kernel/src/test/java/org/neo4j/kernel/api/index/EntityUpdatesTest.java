@@ -525,6 +525,36 @@ public class EntityUpdatesTest
         );
     }
 
+    @Test
+    public void shouldGenerateUpdateWhenChangingOnlyIncludedProperty()
+    {
+        // When
+        Value newValue2 = Values.of( 200L );
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( label )
+                .changed( propertyKeyId2, property2.value(), newValue2 )
+                .build();
+
+        // Then
+        assertThat(
+                updates.forIndexKeys( singleton( index1 ), propertyLoader( property1 ), EntityType.NODE, indexKey -> new int[]{propertyKeyId2} ),
+                containsInAnyOrder( IndexEntryUpdate.change( nodeId, index1, new Value[]{property1.value(), property2.value()},
+                        new Value[]{property1.value(), newValue2} ) )
+        );
+    }
+
+    @Test
+    public void shouldGenerateNoValueForMissingIncludedProperty()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( empty ).withTokensAfter( label ).build();
+
+        // Then
+        assertThat(
+                updates.forIndexKeys( singleton( index1 ), propertyLoader( property1 ), EntityType.NODE, indexKey -> new int[]{propertyKeyId2} ),
+                containsInAnyOrder( IndexEntryUpdate.add( nodeId, index1, property1.value(), Values.NO_VALUE ) )
+        );
+    }
+
     private PropertyLoader propertyLoader( StorageProperty... properties )
     {
         Map<Integer, Value> propertyMap = new HashMap<>( );
@@ -294,6 +294,30 @@ public class StubKernelTransaction implements KernelTransaction
         throw new UnsupportedOperationException( "not implemented" );
     }
 
+    @Override
+    public void setAsyncCommit( boolean asyncCommit )
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
+    @Override
+    public void setMemoryLimit( long limitBytes )
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
+    @Override
+    public void setSnapshotReads( boolean snapshotReads )
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
+    @Override
+    public boolean snapshotReads()
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
     @Override
     public void assertOpen()
     {
@@ -47,6 +47,7 @@ import org.neo4j.kernel.api.security.AnonymousContext;
 import org.neo4j.kernel.api.txstate.ExplicitIndexTransactionState;
 import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.kernel.api.txstate.auxiliary.AuxiliaryTransactionState;
+import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.NoOpClient;
 import org.neo4j.kernel.impl.locking.SimpleStatementLocks;
@@ -761,6 +762,36 @@ public class KernelTransactionImplementationTest extends KernelTransactionTestBa
         assertEquals( 0, transaction.getStatistics().getWaitingTimeNanos( 0 ) );
     }
 
+    @Test
+    public void memoryLimitCanOnlyLowerTheConfiguredLimit()
+    {
+        config = Config.defaults( GraphDatabaseSettings.tx_state_max_off_heap_memory_per_transaction, "1024" );
+        KernelTransactionImplementation transaction = newTransaction( 1000 );
+        assertEquals( 1024, transaction.getStatistics().directMemoryLimit() );
+
+        transaction.setMemoryLimit( 512 );
+        assertEquals( 512, transaction.getStatistics().directMemoryLimit() );
+
+        transaction.setMemoryLimit( 2048 );
+        assertEquals( 1024, transaction.getStatistics().directMemoryLimit() );
+
+        transaction.setMemoryLimit( 0 );
+        assertEquals( 1024, transaction.getStatistics().directMemoryLimit() );
+    }
+
+    @Test
+    public void memoryLimitCanBeSetWhenNoLimitIsConfigured()
+    {
+        KernelTransactionImplementation transaction = newTransaction( 1000 );
+        assertEquals( 0, transaction.getStatistics().directMemoryLimit() );
+
+        transaction.setMemoryLimit( 2048 );
+        assertEquals( 2048, transaction.getStatistics().directMemoryLimit() );
+
+        transaction.setMemoryLimit( 0 );
+        assertEquals( 0, transaction.getStatistics().directMemoryLimit() );
+    }
+
     @Test
     public void reportTransactionStatistics()
     {
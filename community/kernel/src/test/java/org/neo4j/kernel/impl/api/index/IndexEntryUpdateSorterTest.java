@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.api.index.IndexEntryUpdate.add;
+import static org.neo4j.kernel.api.index.IndexEntryUpdate.change;
+import static org.neo4j.kernel.api.index.IndexEntryUpdate.remove;
+import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forLabel;
+import static org.neo4j.kernel.impl.api.index.TestIndexProviderDescriptor.PROVIDER_DESCRIPTOR;
+import static org.neo4j.storageengine.api.schema.IndexDescriptorFactory.forSchema;
+import static org.neo4j.storageengine.api.schema.IndexDescriptorFactory.uniqueForSchema;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class IndexEntryUpdateSorterTest
+{
+    private final SchemaDescriptor index = forLabel( 1, 2 );
+    private final SchemaDescriptor otherIndex = forLabel( 3, 4 );
+    private final SchemaDescriptor uniqueIndex = forLabel( 5, 6 );
+    private final IndexMap indexMap = new IndexMap();
+
+    @Before
+    public void setUp()
+    {
+        putIndexProxy( forSchema( index, PROVIDER_DESCRIPTOR ).withId( 1 ).withoutCapabilities() );
+        putIndexProxy( forSchema( otherIndex, PROVIDER_DESCRIPTOR ).withId( 2 ).withoutCapabilities() );
+        putIndexProxy( uniqueForSchema( uniqueIndex, PROVIDER_DESCRIPTOR ).withIds( 3, 4 ).withoutCapabilities() );
+    }
+
+    @Test
+    public void shouldGroupUpdatesPerIndexInOrderOfFirstUpdate()
+    {
+        // given
+        IndexEntryUpdate<SchemaDescriptor> first = add( 1, otherIndex, intValue( 1 ) );
+        IndexEntryUpdate<SchemaDescriptor> second = add( 2, index, intValue( 2 ) );
+        IndexEntryUpdate<SchemaDescriptor> third = add( 3, otherIndex, intValue( 3 ) );
+
+        // when
+        List<IndexEntryUpdate<SchemaDescriptor>> sorted = IndexEntryUpdateSorter.sort( Arrays.asList( first, second, third ), indexMap );
+
+        // then
+        assertEquals( Arrays.asList( first, third, second ), sorted );
+    }
+
+    @Test
+    public void shouldOrderUpdatesOfNonUniqueIndexByValuesThenEntityId()
+    {
+        // given
+        IndexEntryUpdate<SchemaDescriptor> c = add( 1, index, stringValue( "c" ) );
+        IndexEntryUpdate<SchemaDescriptor> a = add( 2, index, stringValue( "a" ) );
+        IndexEntryUpdate<SchemaDescriptor> b = remove( 3, index, stringValue( "b" ) );
+        IndexEntryUpdate<SchemaDescriptor> aOfLowerEntity = add( 0, index, stringValue( "a" ) );
+
+        // when
+        List<IndexEntryUpdate<SchemaDescriptor>> sorted = IndexEntryUpdateSorter.sort( Arrays.asList( c, a, b, aOfLowerEntity ), indexMap );
+
+        // then
+        assertEquals( Arrays.asList( aOfLowerEntity, a, b, c ), sorted );
+    }
+
+    @Test
+    public void shouldKeepOriginalOrderOfUpdatesToSameEntity()
+    {
+        // given
+        IndexEntryUpdate<SchemaDescriptor> addC = add( 1, index, stringValue( "c" ) );
+        IndexEntryUpdate<SchemaDescriptor> changeCToA = change( 1, index, stringValue( "c" ), stringValue( "a" ) );
+        IndexEntryUpdate<SchemaDescriptor> addB = add( 2, index, stringValue( "b" ) );
+        IndexEntryUpdate<SchemaDescriptor> removeA = remove( 1, index, stringValue( "a" ) );
+
+        // when
+        List<IndexEntryUpdate<SchemaDescriptor>> sorted =
+                IndexEntryUpdateSorter.sort( Arrays.asList( addC, changeCToA, addB, removeA ), indexMap );
+
+        // then
+        assertEquals( Arrays.asList( addB, addC, changeCToA, removeA ), sorted );
+    }
+
+    @Test
+    public void shouldKeepOriginalOrderOfUpdatesToUniqueIndex()
+    {
+        // given
+        IndexEntryUpdate<SchemaDescriptor> removeA = remove( 2, uniqueIndex, stringValue( "a" ) );
+        IndexEntryUpdate<SchemaDescriptor> addA = add( 1, uniqueIndex, stringValue( "a" ) );
+        IndexEntryUpdate<SchemaDescriptor> addB = add( 0, uniqueIndex, stringValue( "b" ) );
+
+        // when
+        List<IndexEntryUpdate<SchemaDescriptor>> sorted = IndexEntryUpdateSorter.sort( Arrays.asList( addB, removeA, addA ), indexMap );
+
+        // then
+        assertEquals( Arrays.asList( addB, removeA, addA ), sorted );
+    }
+
+    private void putIndexProxy( CapableIndexDescriptor descriptor )
+    {
+        IndexProxy indexProxy = mock( IndexProxy.class );
+        when( indexProxy.getDescriptor() ).thenReturn( descriptor );
+        indexMap.putIndexProxy( indexProxy );
+    }
+}
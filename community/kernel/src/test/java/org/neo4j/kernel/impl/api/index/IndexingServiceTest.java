@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.api.index;
 
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
@@ -41,6 +42,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -92,6 +94,7 @@ import org.neo4j.logging.AssertableLogProvider.LogMatcherBuilder;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.register.Register.DoubleLongRegister;
 import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
@@ -103,6 +106,7 @@ import org.neo4j.test.Barrier;
 import org.neo4j.test.DoubleLatch;
 import org.neo4j.test.rule.SuppressOutput;
 import org.neo4j.test.rule.VerboseTimeout;
+import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
@@ -111,6 +115,7 @@ import static java.util.Arrays.asList;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
@@ -1407,6 +1412,44 @@ public class IndexingServiceTest
         verify( storeView ).incrementIndexUpdates( indexId, 1L );
     }
 
+    @Test
+    public void shouldUpdateIndexWhenOnlyAnIncludedPropertyChanges()
+    {
+        // given
+        int includedPropertyKeyId = 30;
+        CapableIndexDescriptor indexWithIncludedProperty = forSchema( forLabel( labelId, propertyKeyId ), Optional.empty(), PROVIDER_DESCRIPTOR,
+                new int[]{includedPropertyKeyId} ).withId( 1 ).withoutCapabilities();
+        IndexProxy indexProxy = mock( IndexProxy.class );
+        when( indexProxy.getDescriptor() ).thenReturn( indexWithIncludedProperty );
+        IndexMapReference indexMapReference = new IndexMapReference();
+        indexMapReference.modify( indexMap ->
+        {
+            indexMap.putIndexProxy( indexProxy );
+            return indexMap;
+        } );
+        IndexingService indexingService = createIndexServiceWithCustomIndexMap( indexMapReference );
+        Value indexedValue = stringValue( "indexed" );
+        doAnswer( invocation ->
+        {
+            MutableIntSet propertyIds = invocation.getArgument( 2 );
+            if ( propertyIds.remove( propertyKeyId ) )
+            {
+                invocation.<PropertyLoader.PropertyLoadSink>getArgument( 3 ).onProperty( propertyKeyId, indexedValue );
+            }
+            return null;
+        } ).when( storeView ).loadProperties( anyLong(), any(), any(), any() );
+
+        // when
+        EntityUpdates entityUpdates = EntityUpdates.forEntity( 42, false ).withTokens( labelId )
+                .changed( includedPropertyKeyId, stringValue( "before" ), stringValue( "after" ) )
+                .build();
+        Iterable<IndexEntryUpdate<SchemaDescriptor>> updates = indexingService.convertToIndexUpdates( entityUpdates, EntityType.NODE );
+
+        // then
+        assertThat( updates, contains( IndexEntryUpdate.change( 42, indexWithIncludedProperty.schema(),
+                new Value[]{indexedValue, stringValue( "before" )}, new Value[]{indexedValue, stringValue( "after" )} ) ) );
+    }
+
     private static IndexProxy createIndexProxyMock( long indexId )
     {
         IndexProxy proxy = mock( IndexProxy.class );
@@ -1705,7 +1748,7 @@ public class IndexingServiceTest
     private IndexingService createIndexServiceWithCustomIndexMap( IndexMapReference indexMapReference )
     {
         return new IndexingService( mock( IndexProxyCreator.class ), mock( IndexProviderMap.class ),
-                indexMapReference, mock( IndexStoreView.class ), Collections.emptyList(),
+                indexMapReference, storeView, Collections.emptyList(),
                 mock( IndexSamplingController.class ), mock( TokenNameLookup.class ),
                 mock( JobScheduler.class ), mock( SchemaState.class ), mock( MultiPopulatorFactory.class ),
                 internalLogProvider, userLogProvider, IndexingService.NO_MONITOR, false );
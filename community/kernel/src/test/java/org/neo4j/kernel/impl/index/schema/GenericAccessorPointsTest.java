@@ -218,6 +218,49 @@ public class GenericAccessorPointsTest
         assertEquals( derivedValueForCenterPoint, derivedValueForFaultyCoords, "expected same derived value" );
     }
 
+    /**
+     * Range queries on points are split into multiple sub-range seeks following the space filling curve, where each sub-range
+     * can contain points outside of the queried envelope. Those must be filtered out by the index reader itself using the coordinates
+     * stored in the keys, so that the caller never has to go to the property store.
+     */
+    @Test
+    public void mustFilterPointsOutsideOfRangeQueryEnvelope() throws IndexEntryConflictException, IndexNotApplicableKernelException
+    {
+        // given
+        int nbrOfValues = 1000;
+        List<Value> pointValues = new ArrayList<>();
+        List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+        long nodeId = 1;
+        for ( int i = 0; i < nbrOfValues; i++ )
+        {
+            PointValue value = Values.pointValue( WGS84, random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10 );
+            nodeId = addPointsToLists( pointValues, updates, nodeId, value );
+        }
+        processAll( updates );
+
+        // when
+        PointValue from = Values.pointValue( WGS84, -3.3, -2.2 );
+        PointValue to = Values.pointValue( WGS84, 4.4, 1.1 );
+        IndexQuery.GeometryRangePredicate range = (IndexQuery.GeometryRangePredicate) IndexQuery.range( descriptor.schema().getPropertyId(),
+                from, true, to, false );
+        try ( IndexReader indexReader = accessor.newReader() )
+        {
+            assertTrue( indexReader.hasFullValuePrecision( range ) );
+            SimpleNodeValueClient client = new SimpleNodeValueClient();
+            indexReader.query( client, IndexOrder.NONE, true, range );
+
+            // then
+            int hits = 0;
+            while ( client.next() )
+            {
+                assertTrue( range.acceptsValue( client.values[0] ) );
+                hits++;
+            }
+            long expectedHits = pointValues.stream().filter( range::acceptsValue ).count();
+            assertEquals( expectedHits, hits );
+        }
+    }
+
     private long addPointsToLists( List<Value> pointValues, List<IndexEntryUpdate<?>> updates, long nodeId, PointValue... values )
     {
         for ( PointValue value : values )
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.neo4j.gis.spatial.index.curves.StandardConfiguration;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.kernel.impl.index.schema.config.ConfiguredSpaceFillingCurveSettingsCache;
+import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.SimpleNodeValueClient;
+import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.RandomRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.kernel.api.index.IndexProvider.Monitor.EMPTY;
+import static org.neo4j.kernel.api.schema.SchemaTestUtil.simpleNameLookup;
+import static org.neo4j.test.rule.PageCacheRule.config;
+
+public class GenericNativeIndexSkipScanTest
+{
+    private static final int REGION = 1;
+    private static final int STATUS = 2;
+    private static final int LEVEL = 3;
+    private static final IndexSpecificSpaceFillingCurveSettingsCache indexSettings =
+            new IndexSpecificSpaceFillingCurveSettingsCache( new ConfiguredSpaceFillingCurveSettingsCache( Config.defaults() ), new HashMap<>() );
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( getClass(), fs.get() );
+    private final PageCacheRule pageCacheRule = new PageCacheRule( config().withAccessChecks( true ) );
+    private final RandomRule random = new RandomRule();
+    @Rule
+    public final RuleChain rules = outerRule( random ).around( fs ).around( directory ).around( pageCacheRule );
+
+    private NativeIndexAccessor accessor;
+    private NativeIndexAccessor threePropertyAccessor;
+    private final List<Value[]> entries = new ArrayList<>();
+
+    @Before
+    public void setup() throws IndexEntryConflictException
+    {
+        for ( int nodeId = 0; nodeId < 5_000; nodeId++ )
+        {
+            entries.add( new Value[]{Values.stringValue( "region-" + random.nextInt( 20 ) ), Values.intValue( random.nextInt( 100 ) ),
+                    Values.intValue( random.nextInt( 10 ) )} );
+        }
+        accessor = createPopulatedIndex( 1, REGION, STATUS );
+        threePropertyAccessor = createPopulatedIndex( 2, REGION, STATUS, LEVEL );
+    }
+
+    private NativeIndexAccessor createPopulatedIndex( long indexId, int... propertyKeyIds ) throws IndexEntryConflictException
+    {
+        File file = directory.file( "index-" + indexId );
+        StoreIndexDescriptor descriptor = TestIndexDescriptorFactory.forLabel( 1, propertyKeyIds ).withId( indexId );
+        IndexDirectoryStructure structure =
+                IndexDirectoryStructure.directoriesByProvider( directory.storeDir() ).forProvider( GenericNativeIndexProvider.DESCRIPTOR );
+        NativeIndexAccessor indexAccessor = new GenericNativeIndexAccessor( pageCacheRule.getPageCache( fs.get() ), fs.get(), file,
+                new GenericLayout( propertyKeyIds.length, indexSettings ), RecoveryCleanupWorkCollector.ignore(), EMPTY, descriptor, indexSettings,
+                new StandardConfiguration(), new FileSystemIndexDropAction( fs.get(), structure ), false, simpleNameLookup );
+
+        try ( NativeIndexUpdater updater = indexAccessor.newUpdater( IndexUpdateMode.ONLINE ) )
+        {
+            for ( int nodeId = 0; nodeId < entries.size(); nodeId++ )
+            {
+                //noinspection unchecked
+                updater.process( IndexEntryUpdate.add( nodeId, descriptor, Arrays.copyOf( entries.get( nodeId ), propertyKeyIds.length ) ) );
+            }
+        }
+        return indexAccessor;
+    }
+
+    @After
+    public void tearDown()
+    {
+        accessor.close();
+        threePropertyAccessor.close();
+    }
+
+    @Test
+    public void shouldSkipScanExactPredicateOnTrailingProperty() throws Exception
+    {
+        int status = random.nextInt( 100 );
+        assertSkipScan( IndexQuery.exists( REGION ), IndexQuery.exact( STATUS, status ) );
+    }
+
+    @Test
+    public void shouldSkipScanRangePredicateOnTrailingProperty() throws Exception
+    {
+        int from = random.nextInt( 90 );
+        assertSkipScan( IndexQuery.exists( REGION ), IndexQuery.range( STATUS, from, true, from + 5, false ) );
+    }
+
+    @Test
+    public void shouldSkipScanNonExistingValueOnTrailingProperty() throws Exception
+    {
+        assertSkipScan( IndexQuery.exists( REGION ), IndexQuery.exact( STATUS, 1000 ) );
+    }
+
+    @Test
+    public void shouldSkipScanExactPredicateAfterExistsOnTrailingProperties() throws Exception
+    {
+        int level = random.nextInt( 10 );
+        assertSkipScan( threePropertyAccessor, IndexQuery.exists( REGION ), IndexQuery.exists( STATUS ), IndexQuery.exact( LEVEL, level ) );
+    }
+
+    @Test
+    public void shouldSkipScanExactPredicateAfterRangeOnTrailingProperties() throws Exception
+    {
+        int from = random.nextInt( 90 );
+        int level = random.nextInt( 10 );
+        assertSkipScan( threePropertyAccessor, IndexQuery.exists( REGION ), IndexQuery.range( STATUS, from, true, from + 5, false ),
+                IndexQuery.exact( LEVEL, level ) );
+    }
+
+    @Test
+    public void shouldSkipScanRangePredicateAfterExactOnTrailingProperties() throws Exception
+    {
+        int status = random.nextInt( 100 );
+        int from = random.nextInt( 8 );
+        assertSkipScan( threePropertyAccessor, IndexQuery.exists( REGION ), IndexQuery.exact( STATUS, status ),
+                IndexQuery.range( LEVEL, from, true, from + 2, false ) );
+    }
+
+    @Test
+    public void shouldSkipScanExistsPredicateAfterRangeOnTrailingProperties() throws Exception
+    {
+        int from = random.nextInt( 90 );
+        assertSkipScan( threePropertyAccessor, IndexQuery.exists( REGION ), IndexQuery.range( STATUS, from, true, from + 5, false ),
+                IndexQuery.exists( LEVEL ) );
+    }
+
+    private void assertSkipScan( IndexQuery... query ) throws Exception
+    {
+        assertSkipScan( accessor, query );
+    }
+
+    private void assertSkipScan( NativeIndexAccessor indexAccessor, IndexQuery... query ) throws Exception
+    {
+        MutableLongSet expected = new LongHashSet();
+        for ( int nodeId = 0; nodeId < entries.size(); nodeId++ )
+        {
+            if ( matches( entries.get( nodeId ), query ) )
+            {
+                expected.add( nodeId );
+            }
+        }
+
+        MutableLongSet actual = new LongHashSet();
+        try ( IndexReader reader = indexAccessor.newReader() )
+        {
+            SimpleNodeValueClient client = new SimpleNodeValueClient();
+            reader.query( client, IndexOrder.NONE, true, query );
+            while ( client.next() )
+            {
+                assertTrue( "Duplicate hit " + client.reference, actual.add( client.reference ) );
+                Value[] values = entries.get( (int) client.reference );
+                for ( int i = 0; i < query.length; i++ )
+                {
+                    assertEquals( values[i], client.values[i] );
+                }
+            }
+        }
+        assertEquals( expected, actual );
+    }
+
+    private static boolean matches( Value[] values, IndexQuery[] query )
+    {
+        for ( int i = 0; i < query.length; i++ )
+        {
+            if ( !query[i].acceptsValue( values[i] ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
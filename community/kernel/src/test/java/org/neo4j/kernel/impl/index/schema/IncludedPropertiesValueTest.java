@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.index.schema.config.ConfiguredSpaceFillingCurveSettingsCache;
+import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+
+class IncludedPropertiesValueTest
+{
+    private final IndexSpecificSpaceFillingCurveSettingsCache spatialSettings =
+            new IndexSpecificSpaceFillingCurveSettingsCache( new ConfiguredSpaceFillingCurveSettingsCache( Config.defaults() ), new HashMap<>() );
+
+    @Test
+    void layoutWithoutIncludedPropertiesKeepsItsFormat()
+    {
+        GenericLayout layout = new GenericLayout( 1, spatialSettings );
+        GenericLayout layoutWithIncludedProperties = new GenericLayout( 1, 2, spatialSettings );
+
+        assertEquals( layout.identifier(), new GenericLayout( 1, 0, spatialSettings ).identifier() );
+        assertNotEquals( layout.identifier(), layoutWithIncludedProperties.identifier() );
+        assertSame( NativeIndexValue.INSTANCE, layout.newValue() );
+        assertEquals( NativeIndexValue.SIZE, layout.valueSize( layout.newValue() ) );
+    }
+
+    @Test
+    void shouldWriteAndReadIncludedValues()
+    {
+        Value[] includedValues = {Values.stringValue( "included" ), NO_VALUE, Values.longArray( new long[]{1, 2, 3} )};
+
+        Value[] read = writeAndRead( 2, 3, new Value[]{Values.intValue( 1 ), Values.intValue( 2 ), includedValues[0], includedValues[1], includedValues[2]} );
+
+        assertArrayEquals( includedValues, read );
+    }
+
+    @Test
+    void shouldNotCoverEntryWithoutIncludedValues()
+    {
+        assertNull( writeAndRead( 1, 1, new Value[]{Values.intValue( 1 )} ) );
+    }
+
+    @Test
+    void shouldNotCoverEntryWithTooLargeIncludedValues()
+    {
+        Value tooLarge = Values.stringValue( StringUtils.repeat( 'a', IncludedPropertiesValue.MAX_SIZE ) );
+
+        assertNull( writeAndRead( 2, 1, new Value[]{Values.intValue( 1 ), Values.intValue( 2 ), tooLarge} ) );
+    }
+
+    private Value[] writeAndRead( int numberOfSlots, int numberOfIncludedProperties, Value[] values )
+    {
+        GenericLayout layout = new GenericLayout( numberOfSlots, numberOfIncludedProperties, spatialSettings );
+        NativeIndexValue value = layout.newValue();
+        value.from( values );
+        int size = layout.valueSize( value );
+
+        PageCursor cursor = ByteArrayPageCursor.wrap( size );
+        layout.writeValue( cursor, value );
+        assertEquals( size, cursor.getOffset() );
+        cursor.setOffset( 0 );
+        NativeIndexValue into = layout.newValue();
+        layout.readValue( cursor, into, size );
+        assertEquals( size, cursor.getOffset() );
+        return into.includedValues();
+    }
+}
@@ -170,6 +170,28 @@ public class AcquireAndReleaseLocksCompatibility extends LockingCompatibilityTes
         assertEquals( 3, lockCount() );
     }
 
+    @Test
+    public void shouldAcquireMultipleExclusiveLocksInAscendingOrder()
+    {
+        // Given
+        clientA.acquireExclusive( LockTracer.NONE, NODE, 20L );
+
+        // When
+        Future<Object> clientBLock = acquireExclusive( clientB, LockTracer.NONE, NODE, 30L, 10L, 20L ).callAndAssertWaiting();
+
+        // Then the lower id has been locked and the higher one not yet, since the batch waits for the one in between
+        assertFalse( clientC.trySharedLock( NODE, 10L ) );
+        assertTrue( clientC.tryExclusiveLock( NODE, 30L ) );
+        clientC.releaseExclusive( NODE, 30L );
+
+        // And when
+        clientA.releaseExclusive( NODE, 20L );
+
+        // Then
+        assertNotWaiting( clientB, clientBLock );
+        assertFalse( clientC.trySharedLock( NODE, 30L ) );
+    }
+
     @Test
     public void shouldAcquireMultipleAlreadyAcquiredSharedLocks()
     {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.neo4j.storageengine.api.lock.LockTracer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class LazyStatementLocksTest
+{
+    private final Locks.Client client = mock( Locks.Client.class );
+    private final StatementLocksFactory factory = mock( StatementLocksFactory.class );
+
+    @Before
+    public void setUp()
+    {
+        when( factory.newInstance() ).thenAnswer( invocation -> new SimpleStatementLocks( client ) );
+    }
+
+    @Test
+    public void shouldNotCreateLockClientWhenNoLocksAreTaken()
+    {
+        // GIVEN
+        LazyStatementLocks statementLocks = new LazyStatementLocks( factory );
+
+        // WHEN
+        long lockCount = statementLocks.activeLockCount();
+        long activeLocks = statementLocks.activeLocks().count();
+        statementLocks.stop();
+        statementLocks.close();
+
+        // THEN
+        assertEquals( 0, lockCount );
+        assertEquals( 0, activeLocks );
+        assertFalse( statementLocks.isInitialized() );
+        verifyZeroInteractions( factory, client );
+    }
+
+    @Test
+    public void shouldCreateLockClientOnceWhenFirstNeeded()
+    {
+        // GIVEN
+        LazyStatementLocks statementLocks = new LazyStatementLocks( factory );
+
+        // WHEN
+        statementLocks.optimistic().acquireShared( LockTracer.NONE, ResourceTypes.NODE, 1 );
+        Locks.Client pessimistic = statementLocks.pessimistic();
+        statementLocks.prepareForCommit( LockTracer.NONE );
+        statementLocks.close();
+
+        // THEN
+        assertTrue( statementLocks.isInitialized() );
+        assertSame( client, pessimistic );
+        verify( factory, times( 1 ) ).newInstance();
+        verify( client ).acquireShared( LockTracer.NONE, ResourceTypes.NODE, 1 );
+        verify( client ).prepare();
+        verify( client ).close();
+    }
+
+    @Test
+    public void shouldStopLockClientCreatedAfterStop()
+    {
+        // GIVEN
+        LazyStatementLocks statementLocks = new LazyStatementLocks( factory );
+        statementLocks.stop();
+
+        // WHEN
+        statementLocks.optimistic();
+
+        // THEN
+        verify( client ).stop();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.kernel.impl.locking.LockContentionTracer.ContendedResource;
+import org.neo4j.storageengine.api.lock.LockWaitEvent;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LockContentionTracerTest
+{
+    private final FakeClock clock = Clocks.fakeClock();
+
+    @Test
+    public void shouldIgnoreWaitsWhileDisabled()
+    {
+        LockContentionTracer tracer = new LockContentionTracer( clock );
+
+        assertSame( LockWaitEvent.NONE, tracer.waitForLock( true, ResourceTypes.NODE, 1 ) );
+        assertTrue( tracer.contendedResourceTypes().isEmpty() );
+    }
+
+    @Test
+    public void shouldRecordWaitCountAndTimePerResourceType()
+    {
+        LockContentionTracer tracer = enabledTracer( 10 );
+
+        waitFor( tracer, ResourceTypes.NODE, 1, 5 );
+        waitFor( tracer, ResourceTypes.NODE, 2, 7 );
+        waitFor( tracer, ResourceTypes.RELATIONSHIP, 1, 3 );
+
+        assertEquals( asList( ResourceTypes.NODE, ResourceTypes.RELATIONSHIP ), tracer.contendedResourceTypes() );
+        assertEquals( 2, tracer.waitCount( ResourceTypes.NODE ) );
+        assertEquals( TimeUnit.MILLISECONDS.toNanos( 12 ), tracer.waitTimeNanos( ResourceTypes.NODE ) );
+        assertEquals( 1, tracer.waitCount( ResourceTypes.RELATIONSHIP ) );
+        assertEquals( 0, tracer.waitCount( ResourceTypes.LABEL ) );
+    }
+
+    @Test
+    public void shouldListHottestResourcesInDescendingOrderOfWaits()
+    {
+        LockContentionTracer tracer = enabledTracer( 10 );
+
+        waitFor( tracer, ResourceTypes.NODE, 1, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 2, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 2, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 3, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 3, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 3, 1 );
+        waitFor( tracer, ResourceTypes.RELATIONSHIP, 3, 1 );
+
+        List<ContendedResource> hottest = tracer.hottestResources( ResourceTypes.NODE, 2 );
+
+        assertEquals( 2, hottest.size() );
+        assertEquals( 3, hottest.get( 0 ).resourceId() );
+        assertEquals( 3, hottest.get( 0 ).waitCount() );
+        assertEquals( 2, hottest.get( 1 ).resourceId() );
+        assertEquals( 2, hottest.get( 1 ).waitCount() );
+    }
+
+    @Test
+    public void shouldBoundTheNumberOfTrackedResourcesByForgettingTheLeastContendedOnes()
+    {
+        LockContentionTracer tracer = enabledTracer( 2 );
+
+        waitFor( tracer, ResourceTypes.NODE, 1, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 1, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 2, 1 );
+        waitFor( tracer, ResourceTypes.NODE, 3, 1 );
+
+        List<ContendedResource> hottest = tracer.hottestResources( ResourceTypes.NODE, 10 );
+        assertEquals( 2, hottest.size() );
+        assertEquals( 1, hottest.get( 0 ).resourceId() );
+        assertEquals( 2, hottest.get( 0 ).waitCount() );
+        assertEquals( 3, hottest.get( 1 ).resourceId() );
+        assertEquals( 1, hottest.get( 1 ).waitCount() );
+        assertEquals( 4, tracer.waitCount( ResourceTypes.NODE ) );
+    }
+
+    @Test
+    public void shouldForgetRecordedWaitsWhenCleared()
+    {
+        LockContentionTracer tracer = enabledTracer( 10 );
+        waitFor( tracer, ResourceTypes.NODE, 1, 1 );
+
+        tracer.clear();
+
+        assertTrue( tracer.contendedResourceTypes().isEmpty() );
+        assertTrue( tracer.hottestResources( ResourceTypes.NODE, 10 ).isEmpty() );
+    }
+
+    @Test
+    public void shouldForgetRecordedWaitsWhenDisabled()
+    {
+        LockContentionTracer tracer = enabledTracer( 10 );
+        waitFor( tracer, ResourceTypes.NODE, 1, 1 );
+
+        tracer.setEnabled( false );
+
+        assertTrue( tracer.contendedResourceTypes().isEmpty() );
+        assertTrue( tracer.hottestResources( ResourceTypes.NODE, 10 ).isEmpty() );
+    }
+
+    private LockContentionTracer enabledTracer( int maxTrackedResources )
+    {
+        LockContentionTracer tracer = new LockContentionTracer( clock, maxTrackedResources );
+        tracer.setEnabled( true );
+        return tracer;
+    }
+
+    private void waitFor( LockContentionTracer tracer, ResourceTypes resourceType, long resourceId, long waitMillis )
+    {
+        try ( LockWaitEvent ignored = tracer.waitForLock( true, resourceType, resourceId ) )
+        {
+            clock.forward( waitMillis, TimeUnit.MILLISECONDS );
+        }
+    }
+}
@@ -182,14 +182,14 @@ public abstract class LockingCompatibilityTestSuite
                 final Locks.Client client,
                 final LockTracer tracer,
                 final ResourceType resourceType,
-                final long key )
+                final long... keys )
         {
             return new LockCommand( clientToThreadMap.get( client ), client )
             {
                 @Override
                 public void doWork( Locks.Client client ) throws AcquireLockTimeoutException
                 {
-                    client.acquireExclusive( tracer, resourceType, key );
+                    client.acquireExclusive( tracer, resourceType, keys );
                 }
             };
         }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StorageReader;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultCursorsTest
+{
+    private StorageReader storageReader;
+    private StorageNodeCursor storeCursor;
+    private DefaultCursors cursors;
+
+    @Before
+    public void setUp()
+    {
+        storageReader = mock( StorageReader.class );
+        storeCursor = mock( StorageNodeCursor.class );
+        when( storageReader.allocateNodeCursor() ).thenReturn( storeCursor, mock( StorageNodeCursor.class ) );
+        cursors = new DefaultCursors( storageReader );
+    }
+
+    @Test
+    public void shouldReuseCachedCursorsOnTheSameThread()
+    {
+        DefaultNodeCursor cursor = useAndCloseNodeCursor();
+
+        assertSame( cursor, cursors.allocateNodeCursor() );
+        verify( storeCursor, never() ).close();
+    }
+
+    @Test
+    public void shouldReleaseCachedCursorsWhenAllocatingOnAnotherThread() throws InterruptedException
+    {
+        DefaultNodeCursor cursor = useAndCloseNodeCursor();
+
+        AtomicReference<DefaultNodeCursor> allocated = new AtomicReference<>();
+        Thread thread = new Thread( () -> allocated.set( cursors.allocateNodeCursor() ) );
+        thread.start();
+        thread.join();
+
+        assertNotSame( cursor, allocated.get() );
+        verify( storeCursor ).close();
+    }
+
+    @Test
+    public void shouldReleaseCursorsClosedOnAnotherThread() throws InterruptedException
+    {
+        DefaultNodeCursor cursor = cursors.allocateNodeCursor();
+        cursor.single( 1, mock( Read.class ) );
+
+        Thread thread = new Thread( cursor::close );
+        thread.start();
+        thread.join();
+
+        verify( storeCursor ).close();
+        assertNotSame( cursor, cursors.allocateNodeCursor() );
+    }
+
+    @Test
+    public void shouldCloseStoreCursorsOnRelease()
+    {
+        useAndCloseNodeCursor();
+
+        cursors.release();
+
+        verify( storeCursor ).close();
+    }
+
+    private DefaultNodeCursor useAndCloseNodeCursor()
+    {
+        DefaultNodeCursor cursor = cursors.allocateNodeCursor();
+        cursor.single( 1, mock( Read.class ) );
+        cursor.close();
+        return cursor;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultNodeValueIndexCursorTest
+{
+    private final Read read = mock( Read.class );
+    private final DefaultNodeValueIndexCursor cursor = new DefaultNodeValueIndexCursor( mock( DefaultCursors.class ) );
+
+    @Before
+    public void setUp()
+    {
+        cursor.setRead( read );
+    }
+
+    @Test
+    public void shouldProvideIncludedPropertyValuesOfIndexEntry()
+    {
+        // given
+        Value included = Values.stringValue( "included" );
+        initialize( progressor( 42, new Value[]{Values.intValue( 1 )}, new Value[]{included, Values.NO_VALUE} ) );
+
+        // when
+        assertTrue( cursor.next() );
+
+        // then
+        assertEquals( 42, cursor.nodeReference() );
+        assertEquals( included, cursor.includedPropertyValue( 0 ) );
+        assertEquals( Values.NO_VALUE, cursor.includedPropertyValue( 1 ) );
+    }
+
+    @Test
+    public void shouldNotProvideIncludedPropertyValuesForEntryNotCovered()
+    {
+        // given
+        initialize( progressor( 42, new Value[]{Values.intValue( 1 )}, null ) );
+
+        // when
+        assertTrue( cursor.next() );
+
+        // then
+        assertNull( cursor.includedPropertyValue( 0 ) );
+    }
+
+    @Test
+    public void shouldNotProvideIncludedPropertyValuesWhenTransactionHasChanges()
+    {
+        // given
+        initialize( progressor( 42, new Value[]{Values.intValue( 1 )}, new Value[]{Values.stringValue( "included" )} ) );
+        assertTrue( cursor.next() );
+
+        // when
+        when( read.hasTxStateWithChanges() ).thenReturn( true );
+
+        // then
+        assertNull( cursor.includedPropertyValue( 0 ) );
+    }
+
+    @Test
+    public void shouldNotProvideScoreOfIndexThatDoesNotScoreItsEntries()
+    {
+        // given
+        initialize( progressor( 42, new Value[]{Values.intValue( 1 )}, null ) );
+
+        // when
+        assertTrue( cursor.next() );
+
+        // then
+        assertTrue( Float.isNaN( cursor.score() ) );
+    }
+
+    private void initialize( IndexProgressor progressor )
+    {
+        cursor.initialize( TestIndexDescriptorFactory.forLabel( 1, 2 ), progressor, new IndexQuery[]{IndexQuery.exists( 2 )}, IndexOrder.NONE,
+                true );
+    }
+
+    private IndexProgressor progressor( long node, Value[] values, Value[] includedValues )
+    {
+        return new IndexProgressor()
+        {
+            private boolean done;
+
+            @Override
+            public boolean next()
+            {
+                if ( done )
+                {
+                    return false;
+                }
+                done = true;
+                return cursor.acceptNode( node, values, includedValues );
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+    }
+}
@@ -38,6 +38,7 @@ import org.neo4j.internal.kernel.api.exceptions.EntityNotFoundException;
 import org.neo4j.internal.kernel.api.exceptions.InvalidTransactionTypeKernelException;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.explicitindex.AutoIndexingKernelException;
+import org.neo4j.internal.kernel.api.exceptions.schema.MisconfiguredIndexException;
 import org.neo4j.internal.kernel.api.helpers.StubNodeCursor;
 import org.neo4j.internal.kernel.api.helpers.TestRelationshipChain;
 import org.neo4j.internal.kernel.api.schema.LabelSchemaDescriptor;
@@ -92,6 +93,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.default_schema_provider;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.relationship_group_locking;
 import static org.neo4j.helpers.collection.Iterators.asList;
 import static org.neo4j.kernel.api.schema.constraints.ConstraintDescriptorFactory.existsForRelType;
 import static org.neo4j.kernel.api.schema.constraints.ConstraintDescriptorFactory.existsForSchema;
@@ -109,6 +111,7 @@ public class OperationsLockTest
     private final Locks.Client locks = mock( Locks.Client.class );
     private final Write write = mock( Write.class );
     private InOrder order;
+    private DefaultCursors cursors;
     private DefaultNodeCursor nodeCursor;
     private DefaultPropertyCursor propertyCursor;
     private DefaultRelationshipScanCursor relationshipCursor;
@@ -132,7 +135,7 @@ public class OperationsLockTest
         when( transaction.txState() ).thenReturn( txState );
         when( transaction.securityContext() ).thenReturn( SecurityContext.AUTH_DISABLED );
 
-        DefaultCursors cursors = mock( DefaultCursors.class );
+        cursors = mock( DefaultCursors.class );
         nodeCursor = mock( DefaultNodeCursor.class );
         propertyCursor = mock( DefaultPropertyCursor.class );
         relationshipCursor = mock( DefaultRelationshipScanCursor.class );
@@ -157,7 +160,8 @@ public class OperationsLockTest
         tokenHolders = mockedTokenHolders();
         operations = new Operations( allStoreHolder, mock( IndexTxStateUpdater.class ), storageReader,
                  transaction, new KernelToken( storageReader, transaction, tokenHolders ), cursors, autoindexing,
-                constraintIndexCreator, mock( ConstraintSemantics.class ), mock( IndexingService.class ), Config.defaults() );
+                constraintIndexCreator, mock( ConstraintSemantics.class ), mock( IndexingService.class ),
+                Config.defaults( relationship_group_locking, "true" ) );
         operations.initialize();
 
         this.order = inOrder( locks, txState, storageReader, storageReaderSnapshot );
@@ -176,11 +180,56 @@ public class OperationsLockTest
         long rId = operations.relationshipCreate( 1, 2, 3 );
 
         // then
-        order.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 1 );
-        order.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 3 );
+        order.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 1, 3 );
         order.verify( txState ).relationshipDoCreate( rId, 2, 1, 3 );
     }
 
+    @Test
+    public void shouldAcquireSharedNodeLocksAndGroupLocksWhenAddingRelationshipToExistingGroupsOfDenseNodes()
+            throws Exception
+    {
+        // given
+        DefaultRelationshipGroupCursor groupCursor = mock( DefaultRelationshipGroupCursor.class );
+        when( cursors.allocateRelationshipGroupCursor() ).thenReturn( groupCursor );
+        when( nodeCursor.next() ).thenReturn( true );
+        when( nodeCursor.isDense() ).thenReturn( true );
+        when( groupCursor.next() ).thenReturn( true );
+        when( groupCursor.type() ).thenReturn( 2 );
+
+        // when
+        long rId = operations.relationshipCreate( 1, 2, 3 );
+
+        // then
+        order.verify( locks ).acquireShared( LockTracer.NONE, ResourceTypes.NODE, 1 );
+        order.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.RELATIONSHIP_GROUP,
+                ResourceTypes.relationshipGroupResourceId( 1, 2 ) );
+        order.verify( locks ).acquireShared( LockTracer.NONE, ResourceTypes.NODE, 3 );
+        order.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.RELATIONSHIP_GROUP,
+                ResourceTypes.relationshipGroupResourceId( 3, 2 ) );
+        order.verify( txState ).relationshipDoCreate( rId, 2, 1, 3 );
+        verify( locks, never() ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 1 );
+        verify( locks, never() ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 3 );
+    }
+
+    @Test
+    public void shouldAcquireExclusiveNodeLockWhenAddingNewRelationshipGroupToDenseNode() throws Exception
+    {
+        // given
+        DefaultRelationshipGroupCursor groupCursor = mock( DefaultRelationshipGroupCursor.class );
+        when( cursors.allocateRelationshipGroupCursor() ).thenReturn( groupCursor );
+        when( nodeCursor.next() ).thenReturn( true );
+        when( nodeCursor.isDense() ).thenReturn( true );
+        when( groupCursor.next() ).thenReturn( true, false );
+        when( groupCursor.type() ).thenReturn( 5 );
+
+        // when
+        operations.relationshipCreate( 1, 2, 3 );
+
+        // then
+        order.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 1, 3 );
+        verify( locks, never() ).acquireShared( LockTracer.NONE, ResourceTypes.NODE, 1 );
+    }
+
     @Test
     public void shouldAcquireNodeLocksWhenCreatingRelationshipInOrderOfAscendingId() throws Exception
     {
@@ -195,8 +244,7 @@ public class OperationsLockTest
 
             // THEN
             InOrder lockingOrder = inOrder( locks );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, highId );
+            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId, highId );
             lockingOrder.verifyNoMoreInteractions();
             reset( locks );
         }
@@ -207,8 +255,7 @@ public class OperationsLockTest
 
             // THEN
             InOrder lockingOrder = inOrder( locks );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, highId );
+            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId, highId );
             lockingOrder.verifyNoMoreInteractions();
         }
     }
@@ -231,8 +278,7 @@ public class OperationsLockTest
 
             // THEN
             InOrder lockingOrder = inOrder( locks );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, highId );
+            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId, highId );
             lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.RELATIONSHIP, relationshipId );
             lockingOrder.verifyNoMoreInteractions();
             reset( locks );
@@ -247,8 +293,7 @@ public class OperationsLockTest
 
             // THEN
             InOrder lockingOrder = inOrder( locks );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId );
-            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, highId );
+            lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, lowId, highId );
             lockingOrder.verify( locks ).acquireExclusive( LockTracer.NONE, ResourceTypes.RELATIONSHIP, relationshipId );
             lockingOrder.verifyNoMoreInteractions();
         }
@@ -580,6 +625,23 @@ public class OperationsLockTest
         order.verify( txState ).indexDoDrop( index );
     }
 
+    @Test
+    public void shouldNotCreateIndexWithIncludedPropertiesUnlessEnabled() throws Exception
+    {
+        try
+        {
+            // when
+            operations.indexCreate( descriptor, "provider", Optional.empty(), new int[]{789} );
+            fail( "Expected index creation to fail" );
+        }
+        catch ( MisconfiguredIndexException e )
+        {
+            // then
+            verifyNoMoreInteractions( locks );
+            verify( txState, never() ).indexDoAdd( any() );
+        }
+    }
+
     @Test
     public void shouldAcquireSchemaWriteLockBeforeCreatingUniquenessConstraint() throws Exception
     {
@@ -65,10 +65,12 @@ import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRa
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSuffixOrContains;
 import static org.neo4j.values.storable.Values.NO_VALUE;
 import static org.neo4j.values.storable.Values.stringValue;
@@ -576,6 +578,32 @@ class TxStateIndexChangesTest
                             nodeWithPropertyValues( 43L, "43value1", "43value2" ) );
         }
 
+        @Test
+        void shouldApplyAllPredicatesOfSkipScan()
+        {
+            // GIVEN
+            ReadableTransactionState state = new TxStateBuilder()
+                    .withAdded( 42L, "42value1", "value2" )
+                    .withAdded( 43L, "43value1", "otherValue2" )
+                    .withAdded( 44L, "44value1", "value2" )
+                    .withRemoved( 45L, "45value1", "value2" )
+                    .withRemoved( 46L, "46value1", "otherValue2" )
+                    .build();
+            IndexQuery[] query = {IndexQuery.exists( 1 ), IndexQuery.exact( 2, "value2" )};
+
+            // WHEN
+            AddedAndRemoved changes = indexUpdatesForSkipScan( state, compositeIndex, query, IndexOrder.NONE );
+            AddedWithValuesAndRemoved changesWithValues = indexUpdatesWithValuesForSkipScan( state, compositeIndex, query, IndexOrder.ASCENDING );
+
+            // THEN
+            assertContains( changes.getAdded(), 42L, 44L );
+            assertContainsInOrder( changesWithValues.getAdded(),
+                                   nodeWithPropertyValues( 42L, "42value1", "value2" ),
+                                   nodeWithPropertyValues( 44L, "44value1", "value2" ) );
+            assertContains( changes.getRemoved(), 45L );
+            assertContains( changesWithValues.getRemoved(), 45L );
+        }
+
         @Test
         void shouldSeekWhenThereAreNewStringNodes()
         {
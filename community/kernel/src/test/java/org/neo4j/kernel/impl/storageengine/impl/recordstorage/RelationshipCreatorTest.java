@@ -227,6 +227,26 @@ public class RelationshipCreatorTest
         ) );
     }
 
+    @Test
+    public void denseNodeIsNotChangedWhenAddingToExistingGroup() throws Exception
+    {
+        givenState(
+                node( 0, group( 0 ) ),
+                node( 1, nextRel( 0 ) ),
+                relGroup( 0, owningNode( 0 ), firstOut( 0 ) ),
+                rel( 0, from( 0 ), to( 1 ), sCount( 1 ), tCount( 1 ) )
+        );
+
+        createRelationshipBetween( 0, 1 );
+
+        assertThat( changeset, containsChanges(
+                node( 1, nextRel( 1 ) ),
+                relGroup( 0, owningNode( 0 ), firstOut( 1 ) ),
+                rel( 0, from( 0 ), to( 1 ), sPrev( 1 ), tPrev( 1 ) ),
+                rel( 1, from( 0 ), to( 1 ), sCount( 2 ), sNext( 0 ), tCount( 2 ), tNext( 0 ) )
+        ) );
+    }
+
     private void givenState( AbstractBaseRecord... records )
     {
         givenState = records;
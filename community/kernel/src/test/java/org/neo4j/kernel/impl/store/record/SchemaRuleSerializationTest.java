@@ -24,11 +24,13 @@ import org.junit.Test;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import org.neo4j.internal.kernel.api.exceptions.schema.MalformedSchemaRuleException;
 import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
 import org.neo4j.internal.kernel.api.schema.constraints.ConstraintDescriptor;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 import org.neo4j.kernel.api.schema.constraints.ConstraintDescriptorFactory;
 import org.neo4j.kernel.api.schema.constraints.NodeKeyConstraintDescriptor;
 import org.neo4j.kernel.api.schema.constraints.UniquenessConstraintDescriptor;
@@ -64,6 +66,9 @@ public class SchemaRuleSerializationTest extends SchemaRuleTestBase
     StoreIndexDescriptor indexBigMultiToken =
             forSchema( multiToken( IntStream.range( 1, 200 ).toArray(), EntityType.RELATIONSHIP, IntStream.range( 1, 200 ).toArray() ) ).withId( RULE_ID );
 
+    StoreIndexDescriptor indexWithIncludedProperties = forSchema( SchemaDescriptorFactory.forLabel( LABEL_ID, PROPERTY_ID_1 ), Optional.empty(),
+            PROVIDER_DESCRIPTOR, new int[]{PROPERTY_ID_2} ).withId( RULE_ID );
+
     ConstraintRule constraintExistsLabel = ConstraintRule.constraintRule( RULE_ID,
             ConstraintDescriptorFactory.existsForLabel( LABEL_ID, PROPERTY_ID_1 ) );
 
@@ -299,9 +304,34 @@ public class SchemaRuleSerializationTest extends SchemaRuleTestBase
         assertSerializeAndDeserializeIndexRule( indexBigMultiToken );
     }
 
+    @Test
+    public void shouldSerializeAndDeserializeIndexRulesWithIncludedProperties() throws MalformedSchemaRuleException
+    {
+        assertSerializeAndDeserializeIndexRule( indexWithIncludedProperties );
+        StoreIndexDescriptor deserialized = assertIndexRule( serialiseAndDeserialise( indexWithIncludedProperties ) );
+        assertThat( deserialized.includedProperties(), equalTo( new int[]{PROPERTY_ID_2} ) );
+        assertThat( assertIndexRule( serialiseAndDeserialise( indexRegular ) ).includedProperties().length, equalTo( 0 ) );
+    }
+
+    @Test
+    public void shouldOnlyAppendIncludedPropertiesToFormatOfIndexRules()
+    {
+        StoreIndexDescriptor withoutIncludedProperties = forSchema( SchemaDescriptorFactory.forLabel( LABEL_ID, PROPERTY_ID_1 ), Optional.empty(),
+                PROVIDER_DESCRIPTOR ).withId( RULE_ID );
+        byte[] bytes = SchemaRuleSerialization.serialize( withoutIncludedProperties );
+        byte[] bytesWithIncludedProperties = SchemaRuleSerialization.serialize( indexWithIncludedProperties );
+
+        assertThat( bytesWithIncludedProperties.length, equalTo( bytes.length + Short.BYTES + Integer.BYTES ) );
+        assertThat( Arrays.copyOf( bytesWithIncludedProperties, bytes.length ), equalTo( bytes ) );
+        ByteBuffer trailer = ByteBuffer.wrap( bytesWithIncludedProperties, bytes.length, Short.BYTES + Integer.BYTES );
+        assertThat( trailer.getShort(), equalTo( (short) 1 ) );
+        assertThat( trailer.getInt(), equalTo( PROPERTY_ID_2 ) );
+    }
+
     @Test
     public void shouldReturnCorrectLengthForIndexRules()
     {
+        assertCorrectLength( indexWithIncludedProperties );
         assertCorrectLength( indexRegular );
         assertCorrectLength( indexUnique );
         assertCorrectLength( indexCompositeRegular );
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+import org.neo4j.kernel.impl.api.TransactionToApply;
+import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
+import org.neo4j.kernel.impl.locking.LockGroup;
+import org.neo4j.kernel.impl.locking.ReentrantLockService;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.storageengine.api.CommandVersion;
+import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.test.rule.NeoStoresRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ParallelNeoStoreBatchApplierStoreTest
+{
+    @Rule
+    public final NeoStoresRule neoStoresRule = new NeoStoresRule( getClass() );
+
+    private NeoStores neoStores;
+    private ExecutorService executor;
+    private ParallelNeoStoreBatchApplier applier;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        neoStores = neoStoresRule.builder().build();
+        executor = Executors.newFixedThreadPool( 4 );
+        applier = new ParallelNeoStoreBatchApplier( CommandVersion.AFTER, neoStores, mock( CacheAccessBackDoor.class ),
+                new ReentrantLockService(), executor, EmptyVersionContextSupplier.EMPTY, 4 );
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldApplyPropertyChangesOfSameNodeInSeparateWaves() throws Exception
+    {
+        // given
+        TransactionToApply second = transaction( 2, nodeProperty( 11, 1, 1 ) );
+        CommandsToApply batch = batch( transaction( 1, nodeProperty( 10, 1, 0 ) ), second );
+
+        // when
+        CommandsToApply afterFirstWave = applier.applyWave( batch, new LockGroup() );
+
+        // then
+        assertSame( second, afterFirstWave );
+        assertPropertyOf( 10, 1 );
+
+        // and when
+        assertNull( applier.applyWave( afterFirstWave, new LockGroup() ) );
+
+        // then
+        assertPropertyOf( 11, 1 );
+    }
+
+    @Test
+    public void shouldApplyLabelAndPropertyChangesOfSameNodeInSeparateWaves() throws Exception
+    {
+        // given
+        NodeRecord labelled = new NodeRecord( 1 ).initialize( true, -1, false, -1, 0x1000000001L );
+        TransactionToApply propertyTransaction = transaction( 2, nodeProperty( 10, 1, 0 ) );
+        CommandsToApply batch = batch( transaction( 1, new Command.NodeCommand( new NodeRecord( 1 ), labelled ) ), propertyTransaction );
+
+        // when
+        CommandsToApply afterFirstWave = applier.applyWave( batch, new LockGroup() );
+
+        // then
+        assertSame( propertyTransaction, afterFirstWave );
+        assertTrue( neoStores.getNodeStore().isInUse( 1 ) );
+    }
+
+    @Test
+    public void shouldApplyPropertyChangesOfDifferentNodesInOneWave() throws Exception
+    {
+        // given
+        CommandsToApply batch = batch( transaction( 1, nodeProperty( 10, 1, 0 ) ), transaction( 2, nodeProperty( 11, 2, 0 ) ) );
+
+        // when
+        CommandsToApply next = applier.applyWave( batch, new LockGroup() );
+
+        // then
+        assertNull( next );
+        assertPropertyOf( 10, 1 );
+        assertPropertyOf( 11, 2 );
+    }
+
+    private void assertPropertyOf( long propertyId, long nodeId )
+    {
+        PropertyRecord record = neoStores.getPropertyStore().getRecord( propertyId, new PropertyRecord( propertyId ), RecordLoad.NORMAL );
+        assertTrue( record.inUse() );
+        assertEquals( nodeId, record.getNodeId() );
+    }
+
+    private static Command.PropertyCommand nodeProperty( long propertyId, long nodeId, int key )
+    {
+        Command.PropertyCommand command = Commands.createProperty( propertyId, PropertyType.INT, key );
+        command.getAfter().setNodeId( nodeId );
+        return command;
+    }
+
+    private static CommandsToApply batch( TransactionToApply... transactions )
+    {
+        for ( int i = 1; i < transactions.length; i++ )
+        {
+            transactions[i - 1].next( transactions[i] );
+        }
+        return transactions[0];
+    }
+
+    private static TransactionToApply transaction( long transactionId, StorageCommand... commands )
+    {
+        PhysicalTransactionRepresentation representation = new PhysicalTransactionRepresentation( Arrays.asList( commands ) );
+        representation.setHeader( new byte[0], 0, 0, 0, 0, 0, 0 );
+        return new TransactionToApply( representation, transactionId );
+    }
+}
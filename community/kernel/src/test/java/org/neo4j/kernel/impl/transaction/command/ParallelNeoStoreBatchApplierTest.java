@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+import org.neo4j.kernel.impl.api.TransactionToApply;
+import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
+import org.neo4j.kernel.impl.locking.LockGroup;
+import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.kernel.impl.store.LabelTokenStore;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.storageengine.api.CommandVersion;
+import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.StorageCommand;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ParallelNeoStoreBatchApplierTest
+{
+    private final NeoStores neoStores = mock( NeoStores.class );
+    private final NodeStore nodeStore = mock( NodeStore.class );
+    private final RelationshipStore relationshipStore = mock( RelationshipStore.class );
+    private final LabelTokenStore labelTokenStore = mock( LabelTokenStore.class );
+    private final LockService lockService = mock( LockService.class );
+    private ExecutorService executor;
+    private ParallelNeoStoreBatchApplier applier;
+
+    @Before
+    public void setUp()
+    {
+        when( neoStores.getNodeStore() ).thenReturn( nodeStore );
+        when( neoStores.getRelationshipStore() ).thenReturn( relationshipStore );
+        when( neoStores.getLabelTokenStore() ).thenReturn( labelTokenStore );
+        when( lockService.acquireNodeLock( anyLong(), any() ) ).thenReturn( LockService.NO_LOCK );
+        when( lockService.acquireRelationshipLock( anyLong(), any() ) ).thenReturn( LockService.NO_LOCK );
+        executor = Executors.newFixedThreadPool( 4 );
+        applier = new ParallelNeoStoreBatchApplier( CommandVersion.AFTER, neoStores, mock( CacheAccessBackDoor.class ), lockService,
+                executor, EmptyVersionContextSupplier.EMPTY, 4 );
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldApplyNonConflictingTransactionsInOneWave() throws Exception
+    {
+        // given
+        NodeRecord node1 = node( 1 );
+        NodeRecord node2 = node( 2 );
+        RelationshipRecord relationship = relationship( 1 );
+        CommandsToApply batch = batch(
+                transaction( 1, nodeCommand( node1 ) ),
+                transaction( 2, nodeCommand( node2 ) ),
+                transaction( 3, new Command.RelationshipCommand( new RelationshipRecord( 1 ), relationship ) ) );
+
+        // when
+        CommandsToApply next = applier.applyWave( batch, new LockGroup() );
+
+        // then
+        assertNull( next );
+        verify( nodeStore ).updateRecord( node1 );
+        verify( nodeStore ).updateRecord( node2 );
+        verify( relationshipStore ).updateRecord( relationship );
+        verify( lockService ).acquireNodeLock( 1, LockService.LockType.WRITE_LOCK );
+        verify( lockService ).acquireNodeLock( 2, LockService.LockType.WRITE_LOCK );
+        verify( lockService ).acquireRelationshipLock( 1, LockService.LockType.WRITE_LOCK );
+    }
+
+    @Test
+    public void shouldEndWaveAtTransactionChangingSameRecord() throws Exception
+    {
+        // given
+        NodeRecord first = node( 1 );
+        NodeRecord second = node( 2 );
+        NodeRecord conflicting = node( 1 );
+        TransactionToApply conflictingTransaction = transaction( 3, nodeCommand( conflicting ) );
+        CommandsToApply batch = batch( transaction( 1, nodeCommand( first ) ), transaction( 2, nodeCommand( second ) ),
+                conflictingTransaction );
+
+        // when
+        CommandsToApply next = applier.applyWave( batch, new LockGroup() );
+
+        // then
+        assertSame( conflictingTransaction, next );
+        verify( nodeStore ).updateRecord( same( first ) );
+        verify( nodeStore ).updateRecord( same( second ) );
+        verify( nodeStore, never() ).updateRecord( same( conflicting ) );
+
+        // and when
+        assertNull( applier.applyWave( next, new LockGroup() ) );
+
+        // then
+        verify( nodeStore ).updateRecord( same( conflicting ) );
+    }
+
+    @Test
+    public void shouldApplyTransactionsWithTokenCommandsAlone() throws Exception
+    {
+        // given
+        LabelTokenRecord token = new LabelTokenRecord( 1 );
+        token.setInUse( true );
+        TransactionToApply tokenTransaction = transaction( 2, new Command.LabelTokenCommand( new LabelTokenRecord( 1 ), token ) );
+        TransactionToApply last = transaction( 3, nodeCommand( node( 2 ) ) );
+        CommandsToApply batch = batch( transaction( 1, nodeCommand( node( 1 ) ) ), tokenTransaction, last );
+
+        // when
+        CommandsToApply afterFirstWave = applier.applyWave( batch, new LockGroup() );
+        CommandsToApply afterSecondWave = applier.applyWave( afterFirstWave, new LockGroup() );
+
+        // then
+        assertSame( tokenTransaction, afterFirstWave );
+        assertSame( last, afterSecondWave );
+        verify( labelTokenStore ).updateRecord( token );
+    }
+
+    @Test
+    public void shouldLimitWaveSize() throws Exception
+    {
+        // given
+        TransactionToApply[] transactions = new TransactionToApply[6];
+        for ( int i = 0; i < transactions.length; i++ )
+        {
+            transactions[i] = transaction( i + 1, nodeCommand( node( i ) ) );
+        }
+        CommandsToApply batch = batch( transactions );
+
+        // when
+        CommandsToApply next = applier.applyWave( batch, new LockGroup() );
+
+        // then
+        assertSame( transactions[4], next );
+    }
+
+    @Test
+    public void shouldPropagateFailureAfterAllTransactionsOfWaveCompleted() throws Exception
+    {
+        // given
+        NodeRecord failing = node( 1 );
+        NodeRecord succeeding = node( 2 );
+        RuntimeException failure = new RuntimeException( "boom" );
+        doThrow( failure ).when( nodeStore ).updateRecord( same( failing ) );
+        CommandsToApply batch = batch( transaction( 1, nodeCommand( failing ) ), transaction( 2, nodeCommand( succeeding ) ) );
+
+        // when
+        try
+        {
+            applier.applyWave( batch, new LockGroup() );
+            fail( "Should have failed" );
+        }
+        catch ( RuntimeException e )
+        {
+            // then
+            assertSame( failure, e );
+            verify( nodeStore ).updateRecord( succeeding );
+        }
+    }
+
+    private static CommandsToApply batch( TransactionToApply... transactions )
+    {
+        for ( int i = 1; i < transactions.length; i++ )
+        {
+            transactions[i - 1].next( transactions[i] );
+        }
+        return transactions[0];
+    }
+
+    private static TransactionToApply transaction( long transactionId, StorageCommand... commands )
+    {
+        PhysicalTransactionRepresentation representation = new PhysicalTransactionRepresentation( Arrays.asList( commands ) );
+        representation.setHeader( new byte[0], 0, 0, 0, 0, 0, 0 );
+        return new TransactionToApply( representation, transactionId );
+    }
+
+    private static Command.NodeCommand nodeCommand( NodeRecord after )
+    {
+        return new Command.NodeCommand( new NodeRecord( after.getId() ), after );
+    }
+
+    private static NodeRecord node( long id )
+    {
+        NodeRecord record = new NodeRecord( id );
+        record.setInUse( true );
+        return record;
+    }
+
+    private static RelationshipRecord relationship( long id )
+    {
+        RelationshipRecord record = new RelationshipRecord( id );
+        record.setInUse( true );
+        return record;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AdaptiveGroupCommitDelayTest
+{
+    @Test
+    public void shouldNotDelayWhenDisabled()
+    {
+        // given
+        AdaptiveGroupCommitDelay delay = new AdaptiveGroupCommitDelay( 0 );
+        appendEvery( delay, MICROSECONDS.toNanos( 10 ), 100 );
+        delay.logForced( MILLISECONDS.toNanos( 2 ) );
+
+        // then
+        assertFalse( delay.isEnabled() );
+        assertEquals( 0, delay.delayNanos() );
+    }
+
+    @Test
+    public void shouldNotDelayWithoutObservations()
+    {
+        AdaptiveGroupCommitDelay delay = new AdaptiveGroupCommitDelay( MILLISECONDS.toNanos( 1 ) );
+
+        assertEquals( 0, delay.delayNanos() );
+        delay.logForced( MILLISECONDS.toNanos( 2 ) );
+        assertEquals( 0, delay.delayNanos() );
+    }
+
+    @Test
+    public void shouldDelayHalfAForceWhenTransactionsArriveFasterThanThat()
+    {
+        // given
+        AdaptiveGroupCommitDelay delay = new AdaptiveGroupCommitDelay( MILLISECONDS.toNanos( 5 ) );
+
+        // when
+        appendEvery( delay, MICROSECONDS.toNanos( 100 ), 100 );
+        delay.logForced( MILLISECONDS.toNanos( 2 ) );
+
+        // then
+        assertEquals( MILLISECONDS.toNanos( 1 ), delay.delayNanos() );
+    }
+
+    @Test
+    public void shouldCapDelayAtMaxDelay()
+    {
+        // given
+        AdaptiveGroupCommitDelay delay = new AdaptiveGroupCommitDelay( MICROSECONDS.toNanos( 300 ) );
+
+        // when
+        appendEvery( delay, MICROSECONDS.toNanos( 100 ), 100 );
+        delay.logForced( MILLISECONDS.toNanos( 2 ) );
+
+        // then
+        assertEquals( MICROSECONDS.toNanos( 300 ), delay.delayNanos() );
+    }
+
+    @Test
+    public void shouldNotDelayWhenTransactionsArriveSlowerThanHalfAForce()
+    {
+        // given
+        AdaptiveGroupCommitDelay delay = new AdaptiveGroupCommitDelay( MILLISECONDS.toNanos( 5 ) );
+
+        // when
+        appendEvery( delay, MILLISECONDS.toNanos( 3 ), 100 );
+        delay.logForced( MILLISECONDS.toNanos( 2 ) );
+
+        // then
+        assertEquals( 0, delay.delayNanos() );
+    }
+
+    @Test
+    public void shouldAdaptToChangingArrivalRate()
+    {
+        // given
+        AdaptiveGroupCommitDelay delay = new AdaptiveGroupCommitDelay( MILLISECONDS.toNanos( 5 ) );
+        long now = appendEvery( delay, MICROSECONDS.toNanos( 100 ), 100 );
+        delay.logForced( MILLISECONDS.toNanos( 2 ) );
+        assertEquals( MILLISECONDS.toNanos( 1 ), delay.delayNanos() );
+
+        // when
+        for ( int i = 0; i < 100; i++ )
+        {
+            now += MILLISECONDS.toNanos( 10 );
+            delay.transactionAppended( now );
+        }
+
+        // then
+        assertEquals( 0, delay.delayNanos() );
+    }
+
+    private static long appendEvery( AdaptiveGroupCommitDelay delay, long intervalNanos, int count )
+    {
+        long now = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            now += intervalNanos;
+            delay.transactionAppended( now );
+        }
+        return now;
+    }
+}
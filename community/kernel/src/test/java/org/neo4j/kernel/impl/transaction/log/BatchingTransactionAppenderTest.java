@@ -246,7 +246,7 @@ public class BatchingTransactionAppenderTest
         FlushablePositionAwareChannel channel =
                 spy( new PositionAwarePhysicalFlushableChannel( mock( PhysicalLogVersionedStoreChannel.class ) ) );
         IOException failure = new IOException( failureMessage );
-        when( channel.putInt( anyInt() ) ).thenThrow( failure );
+        when( channel.put( any( byte[].class ), anyInt() ) ).thenThrow( failure );
         when( logFile.getWriter() ).thenReturn( channel );
         when( transactionIdStore.nextCommittingTransactionId() ).thenReturn( txId );
         Mockito.reset( databaseHealth );
@@ -311,6 +311,39 @@ public class BatchingTransactionAppenderTest
         }
     }
 
+    @Test
+    public void shouldNotForceLogAfterAppendingAsyncCommittedTransactions() throws Exception
+    {
+        // GIVEN
+        InMemoryVersionableReadableClosablePositionAwareChannel channel = spy( this.channel );
+        when( logFile.getWriter() ).thenReturn( channel );
+        BatchingTransactionAppender appender = life.add( createTransactionAppender() );
+        when( transactionIdStore.nextCommittingTransactionId() ).thenReturn( 2L, 3L );
+        TransactionToApply asyncCommit = new TransactionToApply( transaction( singleCreateNodeCommand( 0 ), new byte[0], 0, 0, 0, 1, 0 ) );
+        asyncCommit.setAsyncCommit( true );
+
+        // WHEN
+        appender.append( asyncCommit, logAppendEvent );
+
+        // THEN
+        verify( channel, never() ).prepareForFlush();
+        verify( transactionIdStore ).transactionCommitted( eq( 2L ), anyLong(), anyLong() );
+
+        // WHEN
+        appender.forceAsyncCommittedTransactions();
+        appender.forceAsyncCommittedTransactions();
+
+        // THEN
+        verify( channel, times( 1 ) ).prepareForFlush();
+
+        // WHEN
+        appender.append( new TransactionToApply( transaction( singleCreateNodeCommand( 1 ), new byte[0], 0, 0, 0, 1, 0 ) ),
+                logAppendEvent );
+
+        // THEN
+        verify( channel, times( 2 ) ).prepareForFlush();
+    }
+
     @Test
     public void shouldBeAbleToWriteACheckPoint() throws Throwable
     {
@@ -366,7 +399,9 @@ public class BatchingTransactionAppenderTest
         // Given
         BatchingTransactionAppender appender = life.add( createTransactionAppender() );
         when( transactionIdStore.nextCommittingTransactionId() ).thenReturn( 42L );
-        TransactionToApply batch = new TransactionToApply( mock( TransactionRepresentation.class ), 43L );
+        TransactionRepresentation transaction = mock( TransactionRepresentation.class );
+        when( transaction.additionalHeader() ).thenReturn( new byte[0] );
+        TransactionToApply batch = new TransactionToApply( transaction, 43L );
 
         // When
         try
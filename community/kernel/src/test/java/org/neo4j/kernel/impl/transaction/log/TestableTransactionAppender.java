@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import java.io.IOException;
 
+import org.neo4j.io.pagecache.tracing.cursor.context.WriteAheadBarrier;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.impl.transaction.tracing.LogCheckPointEvent;
@@ -52,4 +53,15 @@ public class TestableTransactionAppender implements TransactionAppender
     public void checkPoint( LogPosition logPosition, LogCheckPointEvent logCheckPointEvent )
     {
     }
+
+    @Override
+    public void forceAsyncCommittedTransactions()
+    {
+    }
+
+    @Override
+    public WriteAheadBarrier writeAheadBarrier()
+    {
+        return WriteAheadBarrier.NONE;
+    }
 }
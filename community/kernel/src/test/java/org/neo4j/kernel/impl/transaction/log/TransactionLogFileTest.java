@@ -28,22 +28,26 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.OpenMode;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.entry.IncompleteLogHeaderException;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
 import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.LogFilesBuilder;
 import org.neo4j.kernel.lifecycle.LifeRule;
+import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.test.rule.TestDirectory;
 import org.neo4j.test.rule.fs.DefaultFileSystemRule;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -53,6 +57,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.kernel.impl.transaction.log.TransactionIdStore.BASE_TX_COMMIT_TIMESTAMP;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogHeader.LOG_HEADER_SIZE;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 
 public class TransactionLogFileTest
@@ -282,6 +287,123 @@ public class TransactionLogFileTest
         }
     }
 
+    @Test
+    public void shouldContinueLogInPreallocatedLogFileAfterRotation() throws Exception
+    {
+        // GIVEN
+        FileSystemAbstraction fs = fileSystemRule.get();
+        long rotationThreshold = ByteUnit.kibiBytes( 128 );
+        LogFiles logFiles = LogFilesBuilder.builder( directory.databaseLayout(), fs )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withRotationThreshold( rotationThreshold ).build();
+        life.add( logFiles );
+        assertTrue( logFiles.preallocateNextLogFile( null ) );
+        assertFalse( logFiles.preallocateNextLogFile( null ) );
+
+        // WHEN
+        LogFile logFile = logFiles.getLogFile();
+        logFile.rotate();
+        FlushablePositionAwareChannel writer = logFile.getWriter();
+        new LogEntryWriter( writer ).writeCheckPointEntry( new LogPosition( 1, LOG_HEADER_SIZE ) );
+        writer.prepareForFlush().flush();
+        LogPositionMarker endOfLog = new LogPositionMarker();
+        writer.getCurrentPosition( endOfLog );
+
+        // THEN
+        File rotatedFile = logFiles.getLogFileForVersion( 2 );
+        assertEquals( rotationThreshold, fs.getFileSize( rotatedFile ) );
+        assertEquals( 2L, readLogHeader( fs, rotatedFile ).logVersion );
+
+        // and a restart without clean shutdown continues right after the last entry
+        LifeSupport restartedLife = new LifeSupport();
+        LogFiles restartedLogFiles = restartedLife.add( LogFilesBuilder.builder( directory.databaseLayout(), fs )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withRotationThreshold( rotationThreshold ).build() );
+        restartedLife.start();
+        LogPositionMarker restartedPosition = new LogPositionMarker();
+        restartedLogFiles.getLogFile().getWriter().getCurrentPosition( restartedPosition );
+        assertEquals( endOfLog.newPosition(), restartedPosition.newPosition() );
+
+        // and shutdown cuts off the preallocated tail
+        restartedLife.shutdown();
+        assertEquals( endOfLog.getByteOffset(), fs.getFileSize( rotatedFile ) );
+    }
+
+    @Test
+    public void shouldContinueAfterCommitEntryEndingInZeroByte() throws Exception
+    {
+        // GIVEN a log ending with a commit entry whose timestamp ends in a zero byte
+        FileSystemAbstraction fs = fileSystemRule.get();
+        LogFiles logFiles = LogFilesBuilder.builder( directory.databaseLayout(), fs )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository ).build();
+        life.add( logFiles );
+        life.start();
+        FlushablePositionAwareChannel writer = logFiles.getLogFile().getWriter();
+        new LogEntryWriter( writer ).writeCommitEntry( transactionIdStore.getLastCommittedTransactionId(), 256 );
+        writer.prepareForFlush().flush();
+        LogPositionMarker endOfLog = new LogPositionMarker();
+        writer.getCurrentPosition( endOfLog );
+        life.shutdown();
+        assertEquals( endOfLog.getByteOffset(), fs.getFileSize( logFiles.getHighestLogFile() ) );
+
+        // WHEN
+        LogPositionMarker restartedPosition = restartedWriterPosition( fs );
+
+        // THEN
+        assertEquals( endOfLog.newPosition(), restartedPosition.newPosition() );
+    }
+
+    @Test
+    public void shouldContinueBeforeZeroTailShorterThanAnEntry() throws Exception
+    {
+        // GIVEN a check point entry followed by the last few bytes of a preallocated file
+        FileSystemAbstraction fs = fileSystemRule.get();
+        LogFiles logFiles = LogFilesBuilder.builder( directory.databaseLayout(), fs )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository ).build();
+        life.add( logFiles );
+        life.start();
+        FlushablePositionAwareChannel writer = logFiles.getLogFile().getWriter();
+        new LogEntryWriter( writer ).writeCheckPointEntry( new LogPosition( 1, LOG_HEADER_SIZE ) );
+        writer.prepareForFlush().flush();
+        LogPositionMarker endOfLog = new LogPositionMarker();
+        writer.getCurrentPosition( endOfLog );
+        life.shutdown();
+        File logFile = logFiles.getHighestLogFile();
+        try ( StoreChannel channel = fs.open( logFile, OpenMode.READ_WRITE ) )
+        {
+            channel.writeAll( ByteBuffer.allocate( 5 ), endOfLog.getByteOffset() );
+        }
+
+        // WHEN
+        LogPositionMarker restartedPosition = restartedWriterPosition( fs );
+
+        // THEN
+        assertEquals( endOfLog.newPosition(), restartedPosition.newPosition() );
+    }
+
+    private LogPositionMarker restartedWriterPosition( FileSystemAbstraction fs ) throws IOException
+    {
+        LifeSupport restartedLife = new LifeSupport();
+        LogFiles restartedLogFiles = restartedLife.add( LogFilesBuilder.builder( directory.databaseLayout(), fs )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository ).build() );
+        restartedLife.start();
+        try
+        {
+            LogPositionMarker restartedPosition = new LogPositionMarker();
+            restartedLogFiles.getLogFile().getWriter().getCurrentPosition( restartedPosition );
+            return restartedPosition;
+        }
+        finally
+        {
+            restartedLife.shutdown();
+        }
+    }
+
     private static byte[] readBytes( ReadableClosableChannel reader, int length ) throws IOException
     {
         byte[] result = new byte[length];
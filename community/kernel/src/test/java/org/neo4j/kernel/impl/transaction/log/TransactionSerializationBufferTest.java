@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.command.Command.NodeCommand;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
+import org.neo4j.kernel.impl.transaction.log.entry.VersionAwareLogEntryReader;
+import org.neo4j.storageengine.api.StorageCommand;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionSerializationBufferTest
+{
+    private final TransactionSerializationBuffer buffer = new TransactionSerializationBuffer();
+
+    @Test
+    public void shouldProduceSameBytesAsTransactionLogWriter() throws IOException
+    {
+        // given
+        TransactionRepresentation transaction = transaction( 10, new byte[]{1, 2, 3} );
+
+        // when
+        int segment = buffer.serialize( transaction );
+
+        // then
+        assertArrayEquals( writtenByTransactionLogWriter( transaction, 42 ), writtenFromBuffer( segment, transaction, 42 ) );
+    }
+
+    @Test
+    public void shouldGrowSegmentForLargeTransactions() throws IOException
+    {
+        // given
+        TransactionRepresentation transaction = transaction( 1_000, new byte[0] );
+
+        // when
+        int segment = buffer.serialize( transaction );
+
+        // then
+        assertTrue( buffer.segmentSize( segment ) > TransactionSerializationBuffer.INITIAL_SEGMENT_SIZE );
+        assertArrayEquals( writtenByTransactionLogWriter( transaction, 7 ), writtenFromBuffer( segment, transaction, 7 ) );
+    }
+
+    @Test
+    public void shouldKeepOneSegmentPerTransaction() throws IOException
+    {
+        // given
+        TransactionRepresentation first = transaction( 3, new byte[]{1} );
+        TransactionRepresentation second = transaction( 500, new byte[]{2} );
+        TransactionRepresentation third = transaction( 1, new byte[]{3} );
+
+        // when
+        int firstSegment = buffer.serialize( first );
+        int secondSegment = buffer.serialize( second );
+        int thirdSegment = buffer.serialize( third );
+
+        // then
+        assertEquals( 0, firstSegment );
+        assertEquals( 1, secondSegment );
+        assertEquals( 2, thirdSegment );
+        assertArrayEquals( writtenByTransactionLogWriter( first, 1 ), writtenFromBuffer( firstSegment, first, 1 ) );
+        assertArrayEquals( writtenByTransactionLogWriter( second, 2 ), writtenFromBuffer( secondSegment, second, 2 ) );
+        assertArrayEquals( writtenByTransactionLogWriter( third, 3 ), writtenFromBuffer( thirdSegment, third, 3 ) );
+    }
+
+    @Test
+    public void shouldReuseSegmentsAfterClear() throws IOException
+    {
+        // given
+        buffer.serialize( transaction( 100, new byte[0] ) );
+        buffer.clear();
+
+        // when
+        TransactionRepresentation transaction = transaction( 1, new byte[]{5, 6} );
+        int segment = buffer.serialize( transaction );
+
+        // then
+        assertEquals( 0, segment );
+        assertArrayEquals( writtenByTransactionLogWriter( transaction, 9 ), writtenFromBuffer( segment, transaction, 9 ) );
+    }
+
+    @Test
+    public void shouldCompressCommandsOfLargeTransactions() throws IOException
+    {
+        // given
+        TransactionSerializationBuffer compressingBuffer = new TransactionSerializationBuffer( true );
+        TransactionRepresentation transaction = transaction( 1_000, new byte[]{1, 2} );
+
+        // when
+        int segment = compressingBuffer.serialize( transaction );
+
+        // then
+        byte[] uncompressed = writtenByTransactionLogWriter( transaction, 11 );
+        assertTrue( compressingBuffer.segmentSize( segment ) < uncompressed.length );
+        InMemoryClosableChannel channel = new InMemoryClosableChannel( 1_000_000 );
+        compressingBuffer.writeTo( segment, channel );
+        new LogEntryWriter( channel ).writeCommitEntry( 11, transaction.getTimeCommitted() );
+        try ( PhysicalTransactionCursor<InMemoryClosableChannel> cursor =
+                new PhysicalTransactionCursor<>( channel, new VersionAwareLogEntryReader<>() ) )
+        {
+            assertTrue( cursor.next() );
+            CommittedTransactionRepresentation read = cursor.get();
+            assertEquals( 11, read.getCommitEntry().getTxId() );
+            assertArrayEquals( uncompressed, writtenByTransactionLogWriter( read.getTransactionRepresentation(), 11 ) );
+            assertFalse( cursor.next() );
+        }
+    }
+
+    @Test
+    public void shouldNotCompressCommandsOfSmallTransactions() throws IOException
+    {
+        // given
+        TransactionSerializationBuffer compressingBuffer = new TransactionSerializationBuffer( true );
+        TransactionRepresentation transaction = transaction( 1, new byte[0] );
+
+        // when
+        int segment = compressingBuffer.serialize( transaction );
+
+        // then
+        InMemoryClosableChannel channel = new InMemoryClosableChannel( 1_000_000 );
+        compressingBuffer.writeTo( segment, channel );
+        new LogEntryWriter( channel ).writeCommitEntry( 3, transaction.getTimeCommitted() );
+        assertArrayEquals( writtenByTransactionLogWriter( transaction, 3 ), bytesOf( channel ) );
+    }
+
+    private byte[] writtenFromBuffer( int segment, TransactionRepresentation transaction, long transactionId ) throws IOException
+    {
+        InMemoryClosableChannel channel = new InMemoryClosableChannel( 1_000_000 );
+        buffer.writeTo( segment, channel );
+        new LogEntryWriter( channel ).writeCommitEntry( transactionId, transaction.getTimeCommitted() );
+        return bytesOf( channel );
+    }
+
+    private static byte[] writtenByTransactionLogWriter( TransactionRepresentation transaction, long transactionId ) throws IOException
+    {
+        InMemoryClosableChannel channel = new InMemoryClosableChannel( 1_000_000 );
+        new TransactionLogWriter( new LogEntryWriter( channel ) ).append( transaction, transactionId );
+        return bytesOf( channel );
+    }
+
+    private static byte[] bytesOf( InMemoryClosableChannel channel ) throws IOException
+    {
+        byte[] bytes = new byte[channel.writerPosition()];
+        channel.get( bytes, bytes.length );
+        return bytes;
+    }
+
+    private static TransactionRepresentation transaction( int numberOfCommands, byte[] additionalHeader )
+    {
+        List<StorageCommand> commands = new ArrayList<>();
+        for ( int i = 0; i < numberOfCommands; i++ )
+        {
+            NodeRecord after = new NodeRecord( i, false, i + 1, i + 2 );
+            after.setInUse( true );
+            commands.add( new NodeCommand( new NodeRecord( i ), after ) );
+        }
+        PhysicalTransactionRepresentation tx = new PhysicalTransactionRepresentation( commands );
+        tx.setHeader( additionalHeader, 1, 2, 3, 4, 5, -1 );
+        return tx;
+    }
+}
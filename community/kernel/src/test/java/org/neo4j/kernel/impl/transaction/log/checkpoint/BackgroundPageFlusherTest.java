@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.test.OnDemandJobScheduler;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BackgroundPageFlusherTest
+{
+    private final TransactionAppender appender = mock( TransactionAppender.class );
+    private final PageCache pageCache = mock( PageCache.class );
+    private final IOLimiter ioLimiter = mock( IOLimiter.class );
+    private final OnDemandJobScheduler jobScheduler = new OnDemandJobScheduler();
+    private final FakeClock clock = Clocks.fakeClock();
+    private final BackgroundPageFlusher.Monitor monitor = mock( BackgroundPageFlusher.Monitor.class );
+    private final BackgroundPageFlusher flusher =
+            new BackgroundPageFlusher( appender, pageCache, ioLimiter, jobScheduler, 20, clock, monitor,
+                    NullLogProvider.getInstance() );
+
+    @Test
+    public void shouldFlushPageCacheAndRescheduleItself() throws IOException
+    {
+        doAnswer( invocation ->
+        {
+            clock.forward( 5, MILLISECONDS );
+            return null;
+        } ).when( pageCache ).flushAndForce( ioLimiter );
+        flusher.start();
+
+        clock.forward( 20, MILLISECONDS );
+        jobScheduler.runJob();
+        clock.forward( 20, MILLISECONDS );
+        jobScheduler.runJob();
+
+        verify( pageCache, times( 2 ) ).flushAndForce( ioLimiter );
+        verify( monitor ).pagesFlushed( 5, 25 );
+        verify( monitor ).pagesFlushed( 5, 30 );
+        assertNotNull( jobScheduler.getJob() );
+    }
+
+    @Test
+    public void shouldForceAsyncCommittedTransactionsBeforeFlushing() throws IOException
+    {
+        flusher.start();
+
+        jobScheduler.runJob();
+
+        InOrder inOrder = inOrder( appender, pageCache );
+        inOrder.verify( appender ).forceAsyncCommittedTransactions();
+        inOrder.verify( pageCache ).flushAndForce( ioLimiter );
+    }
+
+    @Test
+    public void shouldNotFlushIfForcingAsyncCommittedTransactionsFails() throws IOException
+    {
+        doThrow( new IOException( "Failure" ) ).when( appender ).forceAsyncCommittedTransactions();
+        flusher.start();
+
+        jobScheduler.runJob();
+
+        verify( pageCache, never() ).flushAndForce( ioLimiter );
+        assertNotNull( jobScheduler.getJob() );
+    }
+
+    @Test
+    public void shouldNotFlushOrRescheduleAfterStop() throws IOException
+    {
+        flusher.start();
+        flusher.stop();
+
+        jobScheduler.runJob();
+
+        verify( pageCache, never() ).flushAndForce( ioLimiter );
+        assertNull( jobScheduler.getJob() );
+    }
+
+    @Test
+    public void shouldKeepFlushingAfterFailedFlush() throws IOException
+    {
+        doThrow( new IOException( "Failure" ) ).doNothing().when( pageCache ).flushAndForce( ioLimiter );
+        flusher.start();
+
+        clock.forward( 20, MILLISECONDS );
+        jobScheduler.runJob();
+        verify( monitor, never() ).pagesFlushed( anyLong(), anyLong() );
+
+        jobScheduler.runJob();
+        verify( pageCache, times( 2 ) ).flushAndForce( ioLimiter );
+        verify( monitor ).pagesFlushed( 0, 20 );
+    }
+
+    @Test
+    public void shouldWaitForOngoingFlushOnStop() throws Exception
+    {
+        CountDownLatch flushStarted = new CountDownLatch( 1 );
+        CountDownLatch finishFlush = new CountDownLatch( 1 );
+        doAnswer( invocation ->
+        {
+            flushStarted.countDown();
+            finishFlush.await();
+            return null;
+        } ).when( pageCache ).flushAndForce( ioLimiter );
+        flusher.start();
+        Thread flushThread = new Thread( jobScheduler::runJob );
+        flushThread.start();
+        flushStarted.await();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<?> stop = executor.submit( flusher::stop );
+            verify( ioLimiter, timeout( 10_000 ) ).disableLimit();
+            assertFalse( stop.isDone() );
+
+            finishFlush.countDown();
+            stop.get();
+            flushThread.join();
+            verify( ioLimiter ).enableLimit();
+            assertNull( jobScheduler.getJob() );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -119,6 +119,7 @@ public class CheckPointerImplTest
         assertEquals( transactionId, txId );
         verify( storageEngine, times( 1 ) ).flushAndForce( limiter );
         verify( health, times( 2 ) ).assertHealthy( IOException.class );
+        verify( appender, times( 1 ) ).forceAsyncCommittedTransactions();
         verify( appender, times( 1 ) ).checkPoint( eq( logPosition ), any( LogCheckPointEvent.class ) );
         verify( threshold, times( 1 ) ).initialize( initialTransactionId );
         verify( threshold, times( 1 ) ).checkPointHappened( transactionId );
@@ -145,6 +146,7 @@ public class CheckPointerImplTest
         assertEquals( transactionId, txId );
         verify( storageEngine, times( 1 ) ).flushAndForce( limiter );
         verify( health, times( 2 ) ).assertHealthy( IOException.class );
+        verify( appender, times( 1 ) ).forceAsyncCommittedTransactions();
         verify( appender, times( 1 ) ).checkPoint( eq( logPosition ), any( LogCheckPointEvent.class ) );
         verify( threshold, times( 1 ) ).initialize( initialTransactionId );
         verify( threshold, times( 1 ) ).checkPointHappened( transactionId );
@@ -171,6 +173,7 @@ public class CheckPointerImplTest
         assertEquals( transactionId, txId );
         verify( storageEngine, times( 1 ) ).flushAndForce( limiter );
         verify( health, times( 2 ) ).assertHealthy( IOException.class );
+        verify( appender, times( 1 ) ).forceAsyncCommittedTransactions();
         verify( appender, times( 1 ) ).checkPoint( eq( logPosition ), any( LogCheckPointEvent.class ) );
         verify( threshold, times( 1 ) ).initialize( initialTransactionId );
         verify( threshold, times( 1 ) ).checkPointHappened( transactionId );
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
+import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.impl.transaction.log.files.TransactionLogPositionIndex.INDEX_INTERVAL;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderWriter.writeLogHeader;
+
+public class TransactionLogPositionIndexTest
+{
+    @Rule
+    public final DefaultFileSystemRule fileSystemRule = new DefaultFileSystemRule();
+    @Rule
+    public final TestDirectory testDirectory = TestDirectory.testDirectory();
+
+    private TransactionLogFiles logFiles;
+    private TransactionLogPositionIndex index;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        logFiles = (TransactionLogFiles) LogFilesBuilder.builder( testDirectory.databaseLayout(), fileSystemRule )
+                .withTransactionIdStore( new SimpleTransactionIdStore() )
+                .withLogVersionRepository( new SimpleLogVersionRepository() )
+                .build();
+        logFiles.init();
+        index = logFiles.getPositionIndex();
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        logFiles.shutdown();
+    }
+
+    @Test
+    public void shouldFindClosestIndexedPositionAfterRotation() throws IOException
+    {
+        // given
+        appendTransactions( 0, 2, 3 * INDEX_INTERVAL );
+
+        // when
+        index.logRotated( 0 );
+
+        // then
+        assertEquals( new LogPosition( 0, offsetOf( 2 ) ), logFiles.closestIndexedTransactionPosition( 2, 0 ) );
+        assertEquals( new LogPosition( 0, offsetOf( 2 ) ), logFiles.closestIndexedTransactionPosition( INDEX_INTERVAL - 1, 0 ) );
+        assertEquals( new LogPosition( 0, offsetOf( INDEX_INTERVAL ) ),
+                logFiles.closestIndexedTransactionPosition( INDEX_INTERVAL, 0 ) );
+        assertEquals( new LogPosition( 0, offsetOf( 2 * INDEX_INTERVAL ) ),
+                logFiles.closestIndexedTransactionPosition( 3 * INDEX_INTERVAL - 1, 0 ) );
+    }
+
+    @Test
+    public void shouldNotFindPositionsInLogVersionsWithoutIndex() throws IOException
+    {
+        // given
+        appendTransactions( 0, 2, INDEX_INTERVAL );
+
+        // then
+        assertNull( logFiles.closestIndexedTransactionPosition( 10, 0 ) );
+        assertNull( logFiles.closestIndexedTransactionPosition( 10, 1 ) );
+    }
+
+    @Test
+    public void shouldNotUseIndexOfDifferentLogFileWithSameVersion() throws IOException
+    {
+        // given
+        appendTransactions( 0, 2, INDEX_INTERVAL );
+        index.logRotated( 0 );
+
+        // when
+        writeLogHeader( fileSystemRule, logFiles.getLogFileForVersion( 0 ), 0, 42 );
+
+        // then
+        assertNull( logFiles.closestIndexedTransactionPosition( 10, 0 ) );
+    }
+
+    @Test
+    public void shouldDeleteIndexFilesOfPrunedLogFiles() throws IOException
+    {
+        // given
+        appendTransactions( 0, 2, INDEX_INTERVAL );
+        index.logRotated( 0 );
+        assertTrue( fileSystemRule.fileExists( index.indexFileForVersion( 0 ) ) );
+        writeLogHeader( fileSystemRule, logFiles.getLogFileForVersion( 1 ), 1, INDEX_INTERVAL + 1 );
+        fileSystemRule.deleteFile( logFiles.getLogFileForVersion( 0 ) );
+
+        // when
+        appendTransactions( 1, INDEX_INTERVAL + 2, INDEX_INTERVAL );
+        index.logRotated( 1 );
+
+        // then
+        assertFalse( fileSystemRule.fileExists( index.indexFileForVersion( 0 ) ) );
+        assertTrue( fileSystemRule.fileExists( index.indexFileForVersion( 1 ) ) );
+    }
+
+    @Test
+    public void shouldReplaceExistingIndexFileWithoutLeavingTemporaryFiles() throws IOException
+    {
+        // given
+        appendTransactions( 0, 2, 2 * INDEX_INTERVAL );
+        index.logRotated( 0 );
+
+        // when
+        appendTransactions( 0, 2 * INDEX_INTERVAL + 2, 2 * INDEX_INTERVAL );
+        index.logRotated( 0 );
+
+        // then
+        assertEquals( new LogPosition( 0, offsetOf( 2 * INDEX_INTERVAL + 2 ) ),
+                logFiles.closestIndexedTransactionPosition( 2 * INDEX_INTERVAL + 10, 0 ) );
+        File directory = index.indexFileForVersion( 0 ).getParentFile();
+        assertEquals( 0, fileSystemRule.listFiles( directory, ( dir, name ) -> name.endsWith( ".tmp" ) ).length );
+    }
+
+    private void appendTransactions( long logVersion, long firstTransactionId, int count )
+    {
+        for ( long transactionId = firstTransactionId; transactionId < firstTransactionId + count; transactionId++ )
+        {
+            index.transactionAppended( transactionId, new LogPosition( logVersion, offsetOf( transactionId ) ) );
+        }
+    }
+
+    private static long offsetOf( long transactionId )
+    {
+        return 1_000 + transactionId * 100;
+    }
+}
@@ -24,23 +24,28 @@ import org.junit.Test;
 import org.mockito.InOrder;
 
 import java.io.File;
+import java.io.IOException;
 import java.time.Clock;
 import java.util.stream.LongStream;
 
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.configuration.Settings;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.NullLogProvider;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -79,6 +84,34 @@ public class LogPruningTest
         verifyNoMoreInteractions( fs );
     }
 
+    @Test
+    public void mustRecycleLowestPrunedLogFileWhenPreallocatingLogFiles() throws IOException
+    {
+        when( factory.strategyFromConfigValue( eq( fs ), eq( logFiles ), eq( clock ), anyString() ) )
+                .thenReturn( upTo -> LongStream.range( 3, upTo ) );
+        when( logFiles.preallocateNextLogFile( any() ) ).thenReturn( true );
+        Config preallocatingConfig = Config.defaults( GraphDatabaseSettings.preallocate_logical_logs, Settings.TRUE );
+        LogPruning pruning = new LogPruningImpl( fs, logFiles, logProvider, factory, clock, preallocatingConfig );
+        pruning.pruneLogs( 5 );
+        verify( fs ).deleteFile( new File( "4" ) );
+        verify( logFiles ).preallocateNextLogFile( new File( "3" ) );
+        verifyNoMoreInteractions( fs );
+    }
+
+    @Test
+    public void mustDeleteRecyclableLogFileIfNextLogFileIsAlreadyPreallocated() throws IOException
+    {
+        when( factory.strategyFromConfigValue( eq( fs ), eq( logFiles ), eq( clock ), anyString() ) )
+                .thenReturn( upTo -> LongStream.range( 3, upTo ) );
+        when( logFiles.preallocateNextLogFile( any() ) ).thenReturn( false );
+        Config preallocatingConfig = Config.defaults( GraphDatabaseSettings.preallocate_logical_logs, Settings.TRUE );
+        LogPruning pruning = new LogPruningImpl( fs, logFiles, logProvider, factory, clock, preallocatingConfig );
+        pruning.pruneLogs( 5 );
+        verify( fs ).deleteFile( new File( "3" ) );
+        verify( fs ).deleteFile( new File( "4" ) );
+        verifyNoMoreInteractions( fs );
+    }
+
     @Test
     public void mustHaveLogFilesToPruneIfStrategyFindsFiles()
     {
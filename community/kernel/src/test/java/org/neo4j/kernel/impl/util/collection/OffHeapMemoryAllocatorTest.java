@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.kernel.api.exceptions.Status;
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator.MemoryBlock;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryAllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OffHeapMemoryAllocatorTest
+{
+    private final LocalMemoryTracker tracker = new LocalMemoryTracker();
+    private final OffHeapBlockAllocator blockAllocator = mock( OffHeapBlockAllocator.class );
+    private final OffHeapMemoryAllocator allocator = new OffHeapMemoryAllocator( tracker, blockAllocator );
+
+    @BeforeEach
+    void setUp()
+    {
+        when( blockAllocator.allocate( anyLong(), any( MemoryAllocationTracker.class ) ) ).then( invocation ->
+        {
+            final long size = invocation.<Long>getArgument( 0 );
+            invocation.<MemoryAllocationTracker>getArgument( 1 ).allocated( size );
+            return new MemoryBlock( 0, size, 0, size );
+        } );
+        doAnswer( invocation ->
+        {
+            invocation.<MemoryAllocationTracker>getArgument( 1 ).deallocated( invocation.<MemoryBlock>getArgument( 0 ).size );
+            return null;
+        } ).when( blockAllocator ).free( any( MemoryBlock.class ), any( MemoryAllocationTracker.class ) );
+    }
+
+    @Test
+    void unlimitedByDefault()
+    {
+        allocator.allocate( 1024, false );
+        allocator.allocate( 1024 * 1024, false );
+
+        assertEquals( 1024 + 1024 * 1024, tracker.usedDirectMemory() );
+    }
+
+    @Test
+    void failAllocationsBeyondMemoryLimit()
+    {
+        allocator.setMemoryLimit( 1024 );
+        final Memory memory = allocator.allocate( 768, false );
+        allocator.allocate( 256, false );
+
+        TransactionMemoryLimitExceededException e =
+                assertThrows( TransactionMemoryLimitExceededException.class, () -> allocator.allocate( 1, false ) );
+        assertEquals( Status.Transaction.TransactionMemoryLimitExceeded, e.status() );
+        assertThrows( TransactionMemoryLimitExceededException.class, memory::copy );
+        verify( blockAllocator, times( 2 ) ).allocate( anyLong(), any( MemoryAllocationTracker.class ) );
+
+        memory.free();
+        assertDoesNotThrow( () -> allocator.allocate( 768, false ) );
+        assertEquals( 1024, tracker.usedDirectMemory() );
+    }
+
+    @Test
+    void zeroLimitRemovesLimit()
+    {
+        allocator.setMemoryLimit( 128 );
+        assertThrows( TransactionMemoryLimitExceededException.class, () -> allocator.allocate( 256, false ) );
+
+        allocator.setMemoryLimit( 0 );
+        assertDoesNotThrow( () -> allocator.allocate( 256, false ) );
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.File;
+
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator.MemoryBlock;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith( TestDirectoryExtension.class )
+class SpillingBlockAllocatorDecoratorTest
+{
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Test
+    void spillBlocksExceedingMaxMemoryToDisk()
+    {
+        final MemoryAllocationTracker tracker = new LocalMemoryTracker();
+        final OffHeapBlockAllocator allocator = mock( OffHeapBlockAllocator.class );
+        final MemoryBlock inMemory = new MemoryBlock( 0, 1024, 0, 1024 );
+        when( allocator.allocate( anyLong(), any( MemoryAllocationTracker.class ) ) ).thenReturn( inMemory );
+        final SpillingBlockAllocatorDecorator decorator =
+                new SpillingBlockAllocatorDecorator( allocator, 1024, testDirectory.directory( "spill" ) );
+
+        assertSame( inMemory, decorator.allocate( 1024, tracker ) );
+        final MemoryBlock spilled = decorator.allocate( 4096, tracker );
+
+        assertEquals( 4096, decorator.spilledMemory() );
+        assertEquals( 4096, tracker.usedDirectMemory() );
+        for ( long offset = 0; offset < spilled.size; offset += Long.BYTES )
+        {
+            UnsafeUtil.putLong( spilled.addr + offset, offset );
+        }
+        for ( long offset = 0; offset < spilled.size; offset += Long.BYTES )
+        {
+            assertEquals( offset, UnsafeUtil.getLong( spilled.addr + offset ) );
+        }
+
+        decorator.free( spilled, tracker );
+        assertEquals( 0, decorator.spilledMemory() );
+        assertEquals( 0, tracker.usedDirectMemory() );
+        verify( allocator, never() ).free( spilled, tracker );
+    }
+
+    @Test
+    void stopSpillingWhenMemoryIsFreed()
+    {
+        final MemoryAllocationTracker tracker = new LocalMemoryTracker();
+        final OffHeapBlockAllocator allocator = mock( OffHeapBlockAllocator.class );
+        when( allocator.allocate( anyLong(), any( MemoryAllocationTracker.class ) ) ).then( invocation ->
+        {
+            final long size = invocation.<Long>getArgument( 0 );
+            return new MemoryBlock( 0, size, 0, size );
+        } );
+        final SpillingBlockAllocatorDecorator decorator =
+                new SpillingBlockAllocatorDecorator( allocator, 1024, testDirectory.directory( "spill" ) );
+
+        final MemoryBlock first = decorator.allocate( 1024, tracker );
+        decorator.free( decorator.allocate( 128, tracker ), tracker );
+        decorator.free( first, tracker );
+        decorator.allocate( 128, tracker );
+
+        assertEquals( 0, decorator.spilledMemory() );
+        verify( allocator ).free( first, tracker );
+    }
+
+    @Test
+    void carveSpilledBlocksOutOfSharedSegmentsAndReuseFreedBlocks()
+    {
+        final MemoryAllocationTracker tracker = new LocalMemoryTracker();
+        final SpillingBlockAllocatorDecorator decorator =
+                new SpillingBlockAllocatorDecorator( mock( OffHeapBlockAllocator.class ), 1, testDirectory.directory( "spill" ), 8192 );
+
+        final MemoryBlock first = decorator.allocate( 4096, tracker );
+        final MemoryBlock second = decorator.allocate( 3000, tracker );
+        assertEquals( 1, decorator.mappedSegments() );
+        assertEquals( first.addr + 4096, second.addr );
+
+        decorator.free( first, tracker );
+        final MemoryBlock third = decorator.allocate( 4096, tracker );
+        assertEquals( first.addr, third.addr );
+        assertEquals( 1, decorator.mappedSegments() );
+
+        final MemoryBlock fourth = decorator.allocate( 4096, tracker );
+        assertEquals( 2, decorator.mappedSegments() );
+        assertEquals( 4096 + 3000 + 4096, decorator.spilledMemory() );
+
+        decorator.free( second, tracker );
+        decorator.free( third, tracker );
+        decorator.free( fourth, tracker );
+        assertEquals( 0, decorator.mappedSegments() );
+        assertEquals( 0, decorator.spilledMemory() );
+        assertEquals( 0, tracker.usedDirectMemory() );
+    }
+
+    @Test
+    void spillBlocksLargerThanASegmentToTheirOwnMapping()
+    {
+        final MemoryAllocationTracker tracker = new LocalMemoryTracker();
+        final SpillingBlockAllocatorDecorator decorator =
+                new SpillingBlockAllocatorDecorator( mock( OffHeapBlockAllocator.class ), 1, testDirectory.directory( "spill" ), 8192 );
+
+        final MemoryBlock large = decorator.allocate( 16384, tracker );
+        assertEquals( 0, decorator.mappedSegments() );
+        UnsafeUtil.putLong( large.addr + large.size - Long.BYTES, 42 );
+        assertEquals( 42, UnsafeUtil.getLong( large.addr + large.size - Long.BYTES ) );
+
+        decorator.free( large, tracker );
+        assertEquals( 0, decorator.spilledMemory() );
+        assertEquals( 0, tracker.usedDirectMemory() );
+    }
+
+    @Test
+    void deleteLeftoverSpillFilesOnStartup() throws Exception
+    {
+        final File spillDirectory = testDirectory.directory( "spill" );
+        final File leftover = new File( spillDirectory, "tx-state-123.spill" );
+        final File other = new File( spillDirectory, "other" );
+        assertTrue( leftover.createNewFile() );
+        assertTrue( other.createNewFile() );
+
+        new SpillingBlockAllocatorDecorator( mock( OffHeapBlockAllocator.class ), 1024, spillDirectory );
+
+        assertFalse( leftover.exists() );
+        assertTrue( other.exists() );
+    }
+}
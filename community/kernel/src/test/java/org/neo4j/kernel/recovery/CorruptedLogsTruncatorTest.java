@@ -27,11 +27,14 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.neo4j.helpers.ArrayUtil;
 import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.fs.OpenMode;
+import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.FlushablePositionAwareChannel;
@@ -102,6 +105,28 @@ public class CorruptedLogsTruncatorTest
         assertTrue( ArrayUtil.isEmpty( databaseDirectory.listFiles( File::isDirectory ) ) );
     }
 
+    @Test
+    public void doNotPruneZeroFilledTailOfPreallocatedLog() throws IOException
+    {
+        life.start();
+        generateTransactionLogFiles( logFiles );
+
+        long highestLogVersion = logFiles.getHighestLogVersion();
+        File highestLogFile = logFiles.getHighestLogFile();
+        long endOfLog = highestLogFile.length();
+        int zeroTailSize = 100;
+        try ( StoreChannel channel = fileSystemRule.open( highestLogFile, OpenMode.READ_WRITE ) )
+        {
+            channel.writeAll( ByteBuffer.allocate( zeroTailSize ), endOfLog );
+        }
+
+        logPruner.truncate( new LogPosition( highestLogVersion, endOfLog ) );
+
+        assertEquals( TOTAL_NUMBER_OF_LOG_FILES, logFiles.logFiles().length );
+        assertEquals( endOfLog + zeroTailSize, highestLogFile.length() );
+        assertTrue( ArrayUtil.isEmpty( databaseDirectory.listFiles( File::isDirectory ) ) );
+    }
+
     @Test
     public void pruneAndArchiveLastLog() throws IOException
     {
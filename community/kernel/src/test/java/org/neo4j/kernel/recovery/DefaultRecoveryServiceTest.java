@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart;
+import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionApplicationMode;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.REVERSE_RECOVERY;
+
+public class DefaultRecoveryServiceTest
+{
+    private final StorageEngine storageEngine = mock( StorageEngine.class );
+
+    @Test
+    public void shouldApplyRecoveredTransactionsInBatches() throws Exception
+    {
+        // given
+        DefaultRecoveryService.RecoveryVisitor visitor = new DefaultRecoveryService.RecoveryVisitor( storageEngine, RECOVERY, 3 );
+
+        // when
+        for ( long txId = 1; txId <= 7; txId++ )
+        {
+            visitor.visit( transaction( txId ) );
+        }
+        visitor.close();
+
+        // then
+        assertEquals( asList( asList( 1L, 2L, 3L ), asList( 4L, 5L, 6L ), Collections.singletonList( 7L ) ), appliedBatches( 3, RECOVERY ) );
+    }
+
+    @Test
+    public void shouldApplyEachTransactionOnItsOwnWithBatchSizeOne() throws Exception
+    {
+        // given
+        DefaultRecoveryService.RecoveryVisitor visitor = new DefaultRecoveryService.RecoveryVisitor( storageEngine, REVERSE_RECOVERY, 1 );
+
+        // when
+        visitor.visit( transaction( 2 ) );
+        visitor.visit( transaction( 1 ) );
+        visitor.close();
+
+        // then
+        assertEquals( asList( Collections.singletonList( 2L ), Collections.singletonList( 1L ) ), appliedBatches( 2, REVERSE_RECOVERY ) );
+    }
+
+    @Test
+    public void shouldNotApplyFailedBatchAgainOnClose() throws Exception
+    {
+        // given
+        RuntimeException failure = new RuntimeException( "boom" );
+        doThrow( failure ).when( storageEngine ).apply( any( CommandsToApply.class ), eq( RECOVERY ) );
+        DefaultRecoveryService.RecoveryVisitor visitor = new DefaultRecoveryService.RecoveryVisitor( storageEngine, RECOVERY, 2 );
+        visitor.visit( transaction( 1 ) );
+
+        // when
+        try
+        {
+            visitor.visit( transaction( 2 ) );
+            fail( "Should have failed" );
+        }
+        catch ( RecoveryBatchFailedException e )
+        {
+            assertEquals( failure, e.getCause() );
+        }
+        visitor.close();
+
+        // then
+        verify( storageEngine, times( 1 ) ).apply( any( CommandsToApply.class ), eq( RECOVERY ) );
+        verifyNoMoreInteractions( storageEngine );
+    }
+
+    @Test
+    public void shouldReportFirstTransactionOfFailedBatch() throws Exception
+    {
+        // given
+        RuntimeException failure = new RuntimeException( "boom" );
+        DefaultRecoveryService.RecoveryVisitor visitor = new DefaultRecoveryService.RecoveryVisitor( storageEngine, RECOVERY, 3 );
+        for ( long txId = 1; txId <= 5; txId++ )
+        {
+            visitor.visit( transaction( txId ) );
+        }
+        doThrow( failure ).when( storageEngine ).apply( any( CommandsToApply.class ), eq( RECOVERY ) );
+
+        // when
+        try
+        {
+            visitor.visit( transaction( 6 ) );
+            fail( "Should have failed" );
+        }
+        catch ( RecoveryBatchFailedException e )
+        {
+            // then
+            assertEquals( failure, e.getCause() );
+            assertEquals( 4, e.getFirstTransaction().getCommitEntry().getTxId() );
+            assertEquals( 3, e.getLastRecoveredTransaction().getCommitEntry().getTxId() );
+        }
+    }
+
+    @Test
+    public void shouldReportFailureOfTrailingBatchOnClose() throws Exception
+    {
+        // given
+        RuntimeException failure = new RuntimeException( "boom" );
+        doThrow( failure ).when( storageEngine ).apply( any( CommandsToApply.class ), eq( RECOVERY ) );
+        DefaultRecoveryService.RecoveryVisitor visitor = new DefaultRecoveryService.RecoveryVisitor( storageEngine, RECOVERY, 3 );
+        visitor.visit( transaction( 1 ) );
+        visitor.visit( transaction( 2 ) );
+
+        // when
+        try
+        {
+            visitor.close();
+            fail( "Should have failed" );
+        }
+        catch ( RecoveryBatchFailedException e )
+        {
+            // then
+            assertEquals( 1, e.getFirstTransaction().getCommitEntry().getTxId() );
+            assertNull( e.getLastRecoveredTransaction() );
+        }
+    }
+
+    private List<List<Long>> appliedBatches( int expectedBatches, TransactionApplicationMode mode ) throws Exception
+    {
+        ArgumentCaptor<CommandsToApply> captor = ArgumentCaptor.forClass( CommandsToApply.class );
+        verify( storageEngine, times( expectedBatches ) ).apply( captor.capture(), eq( mode ) );
+        List<List<Long>> batches = new ArrayList<>();
+        for ( CommandsToApply batch : captor.getAllValues() )
+        {
+            List<Long> transactionIds = new ArrayList<>();
+            for ( CommandsToApply tx = batch; tx != null; tx = tx.next() )
+            {
+                transactionIds.add( tx.transactionId() );
+            }
+            batches.add( transactionIds );
+        }
+        return batches;
+    }
+
+    private static CommittedTransactionRepresentation transaction( long txId )
+    {
+        PhysicalTransactionRepresentation representation = new PhysicalTransactionRepresentation( Collections.emptyList() );
+        representation.setHeader( new byte[0], 0, 0, 0, txId - 1, 0, 0 );
+        LogEntryStart start = new LogEntryStart( 0, 0, 0, txId - 1, new byte[0], LogPosition.UNSPECIFIED );
+        return new CommittedTransactionRepresentation( start, representation, new LogEntryCommit( txId, 0 ) );
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.NumericRangeQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.util.BytesRef;
 
 import org.neo4j.kernel.api.index.ArrayEncoder;
 import org.neo4j.values.storable.PointValue;
@@ -140,6 +141,12 @@ public enum ValueEncoding
                     return new ConstantScoreQuery(
                             new TermQuery( new Term( key( propertyNumber ), value.prettyPrint() ) ) );
                 }
+
+                @Override
+                public Value decodeExactTerm( BytesRef term )
+                {
+                    return Values.booleanValue( Boolean.parseBoolean( term.utf8ToString() ) );
+                }
             },
     Spatial
             {
@@ -243,6 +250,12 @@ public enum ValueEncoding
                     return new ConstantScoreQuery(
                             new TermQuery( new Term( key( propertyNumber ), value.asObject().toString() ) ) );
                 }
+
+                @Override
+                public Value decodeExactTerm( BytesRef term )
+                {
+                    return Values.stringValue( term.utf8ToString() );
+                }
             };
 
     private static final ValueEncoding[] AllEncodings = values();
@@ -276,6 +289,19 @@ public enum ValueEncoding
 
     abstract Query encodeQuery( Value value, int propertyNumber );
 
+    /**
+     * Decodes the property value from a term of this encoding, for encodings where the term exactly identifies the value,
+     * i.e. where two values are equal if and only if their terms are equal. For such encodings, documents sharing a term
+     * are known to have equal values without looking at the property store.
+     *
+     * @param term the term to decode.
+     * @return the value the term was encoded from, or {@code null} if this encoding isn't exact.
+     */
+    public Value decodeExactTerm( BytesRef term )
+    {
+        return null;
+    }
+
     public static ValueEncoding forKey( String key )
     {
         for ( ValueEncoding encoding : AllEncodings )
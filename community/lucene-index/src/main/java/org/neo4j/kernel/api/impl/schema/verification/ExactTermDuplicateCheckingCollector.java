@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.schema.verification;
+
+import org.apache.lucene.document.Document;
+
+import java.io.IOException;
+
+import org.neo4j.kernel.api.StatementConstants;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.impl.schema.LuceneDocumentStructure;
+import org.neo4j.kernel.api.impl.schema.ValueEncoding;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
+import org.neo4j.values.storable.Value;
+
+/**
+ * A {@link DuplicateCheckingCollector} for documents of a single property index that all share a term which exactly identifies
+ * the property value, see {@link ValueEncoding#decodeExactTerm(org.apache.lucene.util.BytesRef)}.
+ * Any two live documents with such a term are duplicates, so this collector never has to read property values from the store.
+ */
+public class ExactTermDuplicateCheckingCollector extends DuplicateCheckingCollector
+{
+    private Value termValue;
+    private long firstNodeId;
+
+    ExactTermDuplicateCheckingCollector( NodePropertyAccessor accessor )
+    {
+        super( accessor, StatementConstants.NO_SUCH_PROPERTY_KEY );
+    }
+
+    /**
+     * Initialise collector for documents having a term with the given decoded value.
+     * @param termValue the value of the term the collected documents share.
+     */
+    void init( Value termValue )
+    {
+        this.termValue = termValue;
+        this.firstNodeId = StatementConstants.NO_SUCH_NODE;
+    }
+
+    @Override
+    protected void doCollect( int doc ) throws IOException, IndexEntryConflictException
+    {
+        Document document = reader.document( doc );
+        long nodeId = LuceneDocumentStructure.getNodeId( document );
+        if ( firstNodeId == StatementConstants.NO_SUCH_NODE )
+        {
+            firstNodeId = nodeId;
+        }
+        else
+        {
+            throw new IndexEntryConflictException( firstNodeId, nodeId, termValue );
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.impl.index.partition.PartitionSearcher;
 import org.neo4j.kernel.api.impl.schema.LuceneDocumentStructure;
+import org.neo4j.kernel.api.impl.schema.ValueEncoding;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.values.storable.Value;
 
@@ -53,7 +54,9 @@ import static java.util.stream.Collectors.toList;
  * corresponding {@link PartitionSearcher}s.
  * <p>
  * This verifier reads all terms from all partitions using {@link MultiTerms}, checks document frequency for each term
- * and verifies uniqueness of values from the property store if document frequency is greater than 1.
+ * and verifies uniqueness of values from the property store if document frequency is greater than 1. For single property
+ * indexes and terms that exactly identify the value, e.g. strings, two live documents with the same term are duplicates
+ * and the property store is not read.
  *
  * @see MultiTerms
  * @see PartitionSearcher
@@ -71,10 +74,12 @@ public class PartitionedUniquenessVerifier implements UniquenessVerifier
     @Override
     public void verify( NodePropertyAccessor accessor, int[] propKeyIds ) throws IndexEntryConflictException, IOException
     {
+        ExactTermDuplicateCheckingCollector exactTermCollector = new ExactTermDuplicateCheckingCollector( accessor );
         for ( String field : allFields() )
         {
             if ( LuceneDocumentStructure.useFieldForUniquenessVerification( field ) )
             {
+                ValueEncoding encoding = ValueEncoding.forKey( field );
                 TermsEnum terms = LuceneDocumentStructure.originalTerms( termsForField( field ), field );
                 BytesRef termsRef;
                 while ( (termsRef = terms.next()) != null )
@@ -82,7 +87,16 @@ public class PartitionedUniquenessVerifier implements UniquenessVerifier
                     if ( terms.docFreq() > 1 )
                     {
                         TermQuery query = new TermQuery( new Term( field, termsRef ) );
-                        searchForDuplicates( query, accessor, propKeyIds, terms.docFreq() );
+                        Value termValue = propKeyIds.length == 1 ? encoding.decodeExactTerm( termsRef ) : null;
+                        if ( termValue != null )
+                        {
+                            exactTermCollector.init( termValue );
+                            searchForDuplicates( query, exactTermCollector );
+                        }
+                        else
+                        {
+                            searchForDuplicates( query, accessor, propKeyIds, terms.docFreq() );
+                        }
                     }
                 }
             }
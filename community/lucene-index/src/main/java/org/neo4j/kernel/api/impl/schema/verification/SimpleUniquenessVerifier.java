@@ -34,6 +34,7 @@ import java.util.List;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.impl.index.partition.PartitionSearcher;
 import org.neo4j.kernel.api.impl.schema.LuceneDocumentStructure;
+import org.neo4j.kernel.api.impl.schema.ValueEncoding;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.values.storable.Value;
 
@@ -42,7 +43,8 @@ import org.neo4j.values.storable.Value;
  * it's {@link PartitionSearcher}.
  * <p>
  * This verifier reads all terms, checks document frequency for each term and verifies uniqueness of values from the
- * property store if document frequency is greater than 1.
+ * property store if document frequency is greater than 1. For single property indexes and terms that exactly identify
+ * the value, e.g. strings, two live documents with the same term are duplicates and the property store is not read.
  *
  * @see PartitionSearcher
  * @see DuplicateCheckingCollector
@@ -62,6 +64,7 @@ public class SimpleUniquenessVerifier implements UniquenessVerifier
         try
         {
             DuplicateCheckingCollector collector = DuplicateCheckingCollector.forProperties( accessor, propKeyIds );
+            ExactTermDuplicateCheckingCollector exactTermCollector = new ExactTermDuplicateCheckingCollector( accessor );
             IndexSearcher searcher = indexSearcher();
             for ( LeafReaderContext leafReaderContext : searcher.getIndexReader().leaves() )
             {
@@ -70,14 +73,24 @@ public class SimpleUniquenessVerifier implements UniquenessVerifier
                 {
                     if ( LuceneDocumentStructure.useFieldForUniquenessVerification( field ) )
                     {
+                        ValueEncoding encoding = ValueEncoding.forKey( field );
                         TermsEnum terms = LuceneDocumentStructure.originalTerms( fields.terms( field ), field );
                         BytesRef termsRef;
                         while ( (termsRef = terms.next()) != null )
                         {
                             if ( terms.docFreq() > 1 )
                             {
-                                collector.init( terms.docFreq() );
-                                searcher.search( new TermQuery( new Term( field, termsRef ) ), collector );
+                                Value termValue = propKeyIds.length == 1 ? encoding.decodeExactTerm( termsRef ) : null;
+                                if ( termValue != null )
+                                {
+                                    exactTermCollector.init( termValue );
+                                    searcher.search( new TermQuery( new Term( field, termsRef ) ), exactTermCollector );
+                                }
+                                else
+                                {
+                                    collector.init( terms.docFreq() );
+                                    searcher.search( new TermQuery( new Term( field, termsRef ) ), collector );
+                                }
                             }
                         }
                     }
@@ -53,12 +53,14 @@ import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.neo4j.kernel.api.impl.LuceneTestUtil.valueTupleList;
 
@@ -207,6 +209,19 @@ class SimpleUniquenessVerifierTest
         verify( indexSearcher ).search( any( Query.class ), any( Collector.class ) );
     }
 
+    @Test
+    void stringIndexVerificationWithDuplicatesDoesNotReadPropertyStore() throws Exception
+    {
+        List<Object> data = asList( "dog", "cat", "bird", "cat" );
+        NodePropertyAccessor nodePropertyAccessor = mock( NodePropertyAccessor.class );
+
+        insert( data );
+
+        IndexEntryConflictException conflict = assertThrows( IndexEntryConflictException.class, () -> assertNoDuplicates( nodePropertyAccessor ) );
+        assertEquals( Values.stringValue( "cat" ), conflict.getSinglePropertyValue() );
+        verifyZeroInteractions( nodePropertyAccessor );
+    }
+
     private void runUniquenessVerification( NodePropertyAccessor nodePropertyAccessor, IndexSearcher indexSearcher )
             throws IOException, IndexEntryConflictException
     {
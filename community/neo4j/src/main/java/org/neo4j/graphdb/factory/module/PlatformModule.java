@@ -60,6 +60,7 @@ import org.neo4j.kernel.impl.util.collection.CapacityLimitingBlockAllocatorDecor
 import org.neo4j.kernel.impl.util.collection.CollectionsFactorySupplier;
 import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator;
 import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.kernel.impl.util.collection.SpillingBlockAllocatorDecorator;
 import org.neo4j.kernel.info.JvmChecker;
 import org.neo4j.kernel.info.JvmMetadataRepository;
 import org.neo4j.kernel.info.SystemDiagnostics;
@@ -241,8 +242,10 @@ public class PlatformModule
 
     protected VersionContextSupplier createCursorContextSupplier( Config config )
     {
-        return config.get( GraphDatabaseSettings.snapshot_query ) ? new TransactionVersionContextSupplier()
-                                                                  : EmptyVersionContextSupplier.EMPTY;
+        boolean snapshotQueries = config.get( GraphDatabaseSettings.snapshot_query ) || config.get( GraphDatabaseSettings.snapshot_query_on_request );
+        // Asynchronous commits need pages tagged with their last modifying transaction, to keep them in memory until it is forced
+        boolean asyncCommits = !config.get( GraphDatabaseSettings.async_commit_max_unforced_window ).isZero();
+        return snapshotQueries || asyncCommits ? new TransactionVersionContextSupplier() : EmptyVersionContextSupplier.EMPTY;
     }
 
     protected StoreLocker createStoreLocker()
@@ -360,7 +363,12 @@ public class PlatformModule
                     config.get( tx_state_off_heap_block_cache_size ) );
             final OffHeapBlockAllocator sharedBlockAllocator;
             final long maxMemory = config.get( GraphDatabaseSettings.tx_state_max_off_heap_memory );
-            if ( maxMemory > 0 )
+            if ( maxMemory > 0 && config.get( GraphDatabaseSettings.tx_state_off_heap_spill_to_disk ) )
+            {
+                sharedBlockAllocator = new SpillingBlockAllocatorDecorator( allocator, maxMemory,
+                        config.get( GraphDatabaseSettings.tx_state_spill_directory ) );
+            }
+            else if ( maxMemory > 0 )
             {
                 sharedBlockAllocator = new CapacityLimitingBlockAllocatorDecorator( allocator, maxMemory );
             }
@@ -50,6 +50,7 @@ import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.KernelTransactions;
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
+import org.neo4j.kernel.impl.locking.LockContentionTracer;
 import org.neo4j.kernel.impl.proc.Procedures;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.procedure.Admin;
@@ -365,6 +366,23 @@ public class EnterpriseBuiltInDbmsProcedures
         }
     }
 
+    @Admin
+    @Description( "List the lock waits recorded per resource type, together with the most contended resources of " +
+                  "each type. Lock waits are only recorded while `dbms.track_lock_contention` is enabled." )
+    @Procedure( name = "dbms.listLockContention", mode = DBMS )
+    public Stream<LockContentionResult> listLockContention( @Name( value = "limit", defaultValue = "10" ) long limit )
+            throws InvalidArgumentsException
+    {
+        if ( limit < 0 )
+        {
+            throw new InvalidArgumentsException( format( "Invalid limit %d, expected a limit that is zero or more", limit ) );
+        }
+        int resourceLimit = (int) Math.min( limit, Integer.MAX_VALUE );
+        LockContentionTracer tracer = resolver.resolveDependency( LockContentionTracer.class );
+        return tracer.contendedResourceTypes().stream()
+                .map( resourceType -> new LockContentionResult( tracer, resourceType, resourceLimit ) );
+    }
+
     @Description( "Kill all transactions executing the query with the given query id." )
     @Procedure( name = "dbms.killQuery", mode = DBMS )
     public Stream<QueryTerminationResult> killQuery( @Name( "id" ) String idText ) throws InvalidArgumentsException
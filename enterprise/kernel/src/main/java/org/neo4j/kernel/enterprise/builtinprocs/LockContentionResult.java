@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.enterprise.builtinprocs;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.kernel.impl.locking.LockContentionTracer;
+import org.neo4j.kernel.impl.locking.LockContentionTracer.ContendedResource;
+import org.neo4j.storageengine.api.lock.ResourceType;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+public class LockContentionResult
+{
+    public final String resourceType;
+    public final long waitCount;
+    public final long waitTimeMillis;
+    public final List<Map<String,Object>> hottestResources;
+
+    LockContentionResult( LockContentionTracer tracer, ResourceType resourceType, int limit )
+    {
+        this.resourceType = resourceType.name();
+        this.waitCount = tracer.waitCount( resourceType );
+        this.waitTimeMillis = NANOSECONDS.toMillis( tracer.waitTimeNanos( resourceType ) );
+        this.hottestResources = tracer.hottestResources( resourceType, limit ).stream()
+                .map( LockContentionResult::toMap )
+                .collect( toList() );
+    }
+
+    private static Map<String,Object> toMap( ContendedResource resource )
+    {
+        Map<String,Object> map = new HashMap<>();
+        map.put( "resourceId", resource.resourceId() );
+        map.put( "waitCount", resource.waitCount() );
+        return map;
+    }
+}
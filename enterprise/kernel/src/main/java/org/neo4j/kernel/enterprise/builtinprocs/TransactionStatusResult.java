@@ -66,6 +66,8 @@ public class TransactionStatusResult
     public final long pageFaults;
     /** @since Neo4j 3.5 */
     public final String connectionId;
+    /** Limit on {@link #allocatedDirectBytes}, {@code null} if the transaction has no limit. */
+    public final Long allocatedDirectBytesLimit;
 
     public TransactionStatusResult( KernelTransactionHandle transaction,
             TransactionDependenciesResolver transactionDependenciesResolver,
@@ -82,6 +84,7 @@ public class TransactionStatusResult
         cpuTimeMillis = statistic.getCpuTimeMillis();
         allocatedBytes = statistic.getHeapAllocatedBytes();
         allocatedDirectBytes = statistic.getDirectAllocatedBytes();
+        allocatedDirectBytesLimit = statistic.getDirectMemoryLimitBytes();
         waitTimeMillis = statistic.getWaitTimeMillis();
         idleTimeMillis = statistic.getIdleTimeMillis();
         pageHits = statistic.getPageHits();
@@ -29,7 +29,6 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.IntFunction;
@@ -41,6 +40,7 @@ import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.kernel.DeadlockDetectedException;
 import org.neo4j.kernel.impl.enterprise.lock.forseti.ForsetiLockManager.DeadlockResolutionStrategy;
 import org.neo4j.kernel.impl.locking.ActiveLock;
+import org.neo4j.kernel.impl.locking.LockAcquisitionOrder;
 import org.neo4j.kernel.impl.locking.LockAcquisitionTimeoutException;
 import org.neo4j.kernel.impl.locking.LockClientStateHolder;
 import org.neo4j.kernel.impl.locking.LockClientStoppedException;
@@ -70,11 +70,14 @@ import static java.lang.String.format;
  */
 public class ForsetiClient implements Locks.Client
 {
+    /** Number of times a client waits for a lock before it starts running global deadlock detection. */
+    private static final int GLOBAL_DEADLOCK_DETECTION_TRIES = 10;
+
     /** Id for this client */
     private final int clientId;
 
     /** resourceType -> lock map. These are the global lock maps, shared across all clients. */
-    private final ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps;
+    private final ForsetiLockTable[] lockMaps;
 
     /** resourceType -> wait strategy */
     private final WaitStrategy<AcquireLockTimeoutException>[] waitStrategies;
@@ -82,6 +85,9 @@ public class ForsetiClient implements Locks.Client
     /** How to resolve deadlocks. */
     private final DeadlockResolutionStrategy deadlockResolutionStrategy;
 
+    /** Finds deadlock cycles among all clients, run by this client when it has been waiting for a while. */
+    private final ForsetiDeadlockDetector deadlockDetector;
+
     /** Handle to return client to pool when closed. */
     private final Pool<ForsetiClient> clientPool;
 
@@ -139,15 +145,24 @@ public class ForsetiClient implements Locks.Client
      */
     private volatile ForsetiLockManager.Lock waitingForLock;
 
-    public ForsetiClient( int id, ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps,
+    /**
+     * Set by the {@link ForsetiDeadlockDetector} when this client has been chosen to break a deadlock cycle while
+     * waiting for this lock. The waiting thread notices it in {@link #waitFor} and aborts.
+     */
+    private volatile ForsetiLockManager.Lock deadlockVictimOf;
+    private volatile String deadlockVictimMessage;
+
+    public ForsetiClient( int id, ForsetiLockTable[] lockMaps,
                           WaitStrategy<AcquireLockTimeoutException>[] waitStrategies, Pool<ForsetiClient> clientPool,
-                          DeadlockResolutionStrategy deadlockResolutionStrategy, IntFunction<ForsetiClient> clientById,
-                          long lockAcquisitionTimeoutMillis, Clock clock )
+                          DeadlockResolutionStrategy deadlockResolutionStrategy,
+                          ForsetiDeadlockDetector deadlockDetector,
+                          IntFunction<ForsetiClient> clientById, long lockAcquisitionTimeoutMillis, Clock clock )
     {
         this.clientId = id;
         this.lockMaps = lockMaps;
         this.waitStrategies = waitStrategies;
         this.deadlockResolutionStrategy = deadlockResolutionStrategy;
+        this.deadlockDetector = deadlockDetector;
         this.clientPool = clientPool;
         this.clientById = clientById;
         this.sharedLockCounts = new MutableLongIntMap[lockMaps.length];
@@ -182,13 +197,13 @@ public class ForsetiClient implements Locks.Client
         try
         {
             // Grab the global lock map we will be using
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            ForsetiLockTable lockMap = lockMaps[resourceType.typeId()];
 
             // And grab our local lock maps
             MutableLongIntMap heldShareLocks = sharedLockCounts[resourceType.typeId()];
             MutableLongIntMap heldExclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
 
-            for ( long resourceId : resourceIds )
+            for ( long resourceId : LockAcquisitionOrder.ascending( resourceIds ) )
             {
                 // First, check if we already hold this as a shared lock
                 int heldCount = heldShareLocks.getIfAbsent( resourceId, -1 );
@@ -272,6 +287,13 @@ public class ForsetiClient implements Locks.Client
 
                 // Make a local note about the fact that we now hold this lock
                 heldShareLocks.put( resourceId, 1 );
+
+                // Report the wait for each contended resource on its own, not for the whole call
+                if ( waitEvent != null )
+                {
+                    waitEvent.close();
+                    waitEvent = null;
+                }
             }
         }
         finally
@@ -282,6 +304,7 @@ public class ForsetiClient implements Locks.Client
             }
             clearWaitList();
             waitingForLock = null;
+            deadlockVictimOf = null;
             stateHolder.decrementActiveClients();
         }
     }
@@ -296,10 +319,10 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            ForsetiLockTable lockMap = lockMaps[resourceType.typeId()];
             MutableLongIntMap heldLocks = exclusiveLockCounts[resourceType.typeId()];
 
-            for ( long resourceId : resourceIds )
+            for ( long resourceId : LockAcquisitionOrder.ascending( resourceIds ) )
             {
                 int heldCount = heldLocks.getIfAbsent( resourceId, -1 );
                 if ( heldCount != -1 )
@@ -340,6 +363,12 @@ public class ForsetiClient implements Locks.Client
                 }
 
                 heldLocks.put( resourceId, 1 );
+
+                if ( waitEvent != null )
+                {
+                    waitEvent.close();
+                    waitEvent = null;
+                }
             }
         }
         finally
@@ -350,6 +379,7 @@ public class ForsetiClient implements Locks.Client
             }
             clearWaitList();
             waitingForLock = null;
+            deadlockVictimOf = null;
             stateHolder.decrementActiveClients();
         }
     }
@@ -362,7 +392,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            ForsetiLockTable lockMap = lockMaps[resourceType.typeId()];
             MutableLongIntMap heldLocks = exclusiveLockCounts[resourceType.typeId()];
 
             int heldCount = heldLocks.getIfAbsent( resourceId, -1 );
@@ -414,7 +444,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            ForsetiLockTable lockMap = lockMaps[resourceType.typeId()];
             MutableLongIntMap heldShareLocks = sharedLockCounts[resourceType.typeId()];
             MutableLongIntMap heldExclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
 
@@ -550,7 +580,7 @@ public class ForsetiClient implements Locks.Client
         {
             MutableLongIntMap sharedLocks = sharedLockCounts[resourceType.typeId()];
             MutableLongIntMap exclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
-            ConcurrentMap<Long,ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
+            ForsetiLockTable resourceTypeLocks = lockMaps[resourceType.typeId()];
             for ( long resourceId : resourceIds )
             {
                 if ( releaseLocalLock( resourceType, resourceId, sharedLocks ) )
@@ -577,7 +607,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
+            ForsetiLockTable resourceTypeLocks = lockMaps[resourceType.typeId()];
             MutableLongIntMap exclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
             MutableLongIntMap sharedLocks = sharedLockCounts[resourceType.typeId()];
             for ( long resourceId : resourceIds )
@@ -826,7 +856,7 @@ public class ForsetiClient implements Locks.Client
     }
 
     /** Release a lock from the global pool. */
-    private void releaseGlobalLock( ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap, long resourceId )
+    private void releaseGlobalLock( ForsetiLockTable lockMap, long resourceId )
     {
         ForsetiLockManager.Lock lock = lockMap.get( resourceId );
         if ( lock instanceof ExclusiveLock )
@@ -867,7 +897,7 @@ public class ForsetiClient implements Locks.Client
             LockTracer tracer,
             LockWaitEvent waitEvent,
             ResourceType resourceType,
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap,
+            ForsetiLockTable lockMap,
             long resourceId,
             SharedLock sharedLock,
             long waitStartMillis )
@@ -950,6 +980,7 @@ public class ForsetiClient implements Locks.Client
                 }
                 clearWaitList();
                 waitingForLock = null;
+                deadlockVictimOf = null;
             }
         }
         return false;
@@ -966,6 +997,19 @@ public class ForsetiClient implements Locks.Client
         clearAndCopyWaitList( lock );
         waitStrategies[type.typeId()].apply( tries );
 
+        if ( tries >= GLOBAL_DEADLOCK_DETECTION_TRIES )
+        {
+            deadlockDetector.detectIfDue();
+        }
+        if ( deadlockVictimOf == lock )
+        {
+            String message = deadlockVictimMessage;
+            deadlockVictimOf = null;
+            throw new DeadlockDetectedException( this + " can't acquire " + lock + " on " + type + "(" +
+                                                 resourceId + "), because it was chosen to break a deadlock.\n " +
+                                                 message );
+        }
+
         int b = lock.detectDeadlock( id() );
         if ( b != -1 && deadlockResolutionStrategy.shouldAbort( this, clientById.apply( b ) ) )
         {
@@ -997,6 +1041,26 @@ public class ForsetiClient implements Locks.Client
         }
     }
 
+    ForsetiLockManager.Lock waitingForLock()
+    {
+        return waitingForLock;
+    }
+
+    /**
+     * Make this client abort its wait for the given lock with a {@link DeadlockDetectedException}, if it is still
+     * waiting for it.
+     */
+    void markAsDeadlockVictim( ForsetiLockManager.Lock lock, String message )
+    {
+        deadlockVictimMessage = message;
+        deadlockVictimOf = lock;
+        if ( waitingForLock != lock )
+        {
+            // We stopped waiting in the meantime, don't let the mark abort some later wait for the same lock
+            deadlockVictimOf = null;
+        }
+    }
+
     private void clearAndCopyWaitList( ForsetiLockManager.Lock lock )
     {
         clearWaitList();
@@ -1113,9 +1177,9 @@ public class ForsetiClient implements Locks.Client
      */
     private class ReleaseSharedDontCheckExclusiveVisitor implements LongProcedure
     {
-        private ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap;
+        private ForsetiLockTable lockMap;
 
-        private LongProcedure initialize( ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap )
+        private LongProcedure initialize( ForsetiLockTable lockMap )
         {
             this.lockMap = lockMap;
             return this;
@@ -1135,9 +1199,9 @@ public class ForsetiClient implements Locks.Client
     private class ReleaseExclusiveLocksAndClearSharedVisitor implements LongProcedure
     {
         private MutableLongIntMap sharedLockCounts;
-        private ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap;
+        private ForsetiLockTable lockMap;
 
-        private LongProcedure initialize( MutableLongIntMap sharedLockCounts, ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap )
+        private LongProcedure initialize( MutableLongIntMap sharedLockCounts, ForsetiLockTable lockMap )
         {
             this.sharedLockCounts = sharedLockCounts;
             this.lockMap = lockMap;
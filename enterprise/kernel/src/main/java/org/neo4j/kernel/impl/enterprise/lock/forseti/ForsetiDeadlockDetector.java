@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.impl.enterprise.lock.forseti;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.neo4j.kernel.impl.enterprise.lock.forseti.ForsetiLockManager.DeadlockResolutionStrategy;
+import org.neo4j.util.FeatureToggles;
+
+/**
+ * Finds deadlocks by looking for cycles in a global wait-for graph, built from the locks all clients are currently
+ * waiting for and the owners of those locks.
+ * <p/>
+ * The per-client dreadlocks detection only ever compares two clients, which means that in a cycle of more than two
+ * clients, the one that aborts is whichever happens to notice first, not the one the {@link DeadlockResolutionStrategy}
+ * would pick, and every client in the cycle keeps spinning on wait list propagation until then. This detector sees the
+ * whole cycle and lets the strategy pick a single victim among all its members, which is then told to abort by
+ * {@link ForsetiClient#markAsDeadlockVictim(ForsetiLockManager.Lock, String)}.
+ * <p/>
+ * Detection runs on demand, in the thread of a client that has been waiting for a while, at most once per
+ * {@link #MIN_INTERVAL_MILLIS} and never concurrently; clients that don't get to run it just carry on waiting.
+ */
+final class ForsetiDeadlockDetector
+{
+    /** Minimum time between two detections. */
+    static final long MIN_INTERVAL_MILLIS =
+            FeatureToggles.getLong( ForsetiDeadlockDetector.class, "minIntervalMillis", 50 );
+
+    private final Iterable<ForsetiClient> clients;
+    private final DeadlockResolutionStrategy deadlockResolutionStrategy;
+    private final Clock clock;
+    private final long minIntervalMillis;
+    private final ReentrantLock detecting = new ReentrantLock();
+    private volatile long lastDetectionMillis;
+
+    ForsetiDeadlockDetector( Iterable<ForsetiClient> clients, DeadlockResolutionStrategy deadlockResolutionStrategy,
+            Clock clock )
+    {
+        this( clients, deadlockResolutionStrategy, clock, MIN_INTERVAL_MILLIS );
+    }
+
+    ForsetiDeadlockDetector( Iterable<ForsetiClient> clients, DeadlockResolutionStrategy deadlockResolutionStrategy,
+            Clock clock, long minIntervalMillis )
+    {
+        this.clients = clients;
+        this.deadlockResolutionStrategy = deadlockResolutionStrategy;
+        this.clock = clock;
+        this.minIntervalMillis = minIntervalMillis;
+        this.lastDetectionMillis = clock.millis() - minIntervalMillis;
+    }
+
+    /**
+     * Runs a detection, unless one ran too recently or is running right now.
+     */
+    void detectIfDue()
+    {
+        long now = clock.millis();
+        if ( now - lastDetectionMillis >= minIntervalMillis && detecting.tryLock() )
+        {
+            try
+            {
+                lastDetectionMillis = now;
+                detect();
+            }
+            finally
+            {
+                detecting.unlock();
+            }
+        }
+    }
+
+    /**
+     * Marks one victim in each wait cycle found.
+     *
+     * @return the number of clients marked as deadlock victims.
+     */
+    int detect()
+    {
+        Map<ForsetiClient,Waiting> graph = waitForGraph();
+        int victims = 0;
+        List<ForsetiClient> cycle;
+        while ( (cycle = findCycle( graph )) != null )
+        {
+            ForsetiClient victim = selectVictim( cycle );
+            // The graph is not a consistent snapshot, so only act on cycles which are still there
+            if ( isCycleIntact( cycle, graph ) )
+            {
+                victim.markAsDeadlockVictim( graph.get( victim ).lock, describe( cycle, graph ) );
+                victims++;
+            }
+            // Removing the victim breaks this cycle, and any other cycle it is part of
+            graph.remove( victim );
+        }
+        return victims;
+    }
+
+    private Map<ForsetiClient,Waiting> waitForGraph()
+    {
+        Map<ForsetiClient,Waiting> graph = new HashMap<>();
+        for ( ForsetiClient client : clients )
+        {
+            ForsetiLockManager.Lock lock = client.waitingForLock();
+            if ( lock != null )
+            {
+                Set<ForsetiClient> owners = new HashSet<>();
+                lock.collectOwners( owners );
+                // A client upgrading its shared lock waits for a lock it owns itself, that is not a cycle
+                owners.remove( client );
+                graph.put( client, new Waiting( lock, owners ) );
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Depth first search for a cycle, without recursion since the graph can be as deep as there are waiting clients.
+     * Owners that aren't waiting for anything can't be part of a cycle and are never visited.
+     *
+     * @return the clients of a cycle, each waiting for a lock owned by the next one, or {@code null} if there is none.
+     */
+    private static List<ForsetiClient> findCycle( Map<ForsetiClient,Waiting> graph )
+    {
+        Set<ForsetiClient> visited = new HashSet<>();
+        List<ForsetiClient> path = new ArrayList<>();
+        List<Iterator<ForsetiClient>> pathOwners = new ArrayList<>();
+        Set<ForsetiClient> onPath = new HashSet<>();
+        for ( Map.Entry<ForsetiClient,Waiting> start : graph.entrySet() )
+        {
+            if ( !visited.add( start.getKey() ) )
+            {
+                continue;
+            }
+            path.add( start.getKey() );
+            pathOwners.add( start.getValue().owners.iterator() );
+            onPath.add( start.getKey() );
+            while ( !path.isEmpty() )
+            {
+                Iterator<ForsetiClient> owners = pathOwners.get( pathOwners.size() - 1 );
+                if ( owners.hasNext() )
+                {
+                    ForsetiClient owner = owners.next();
+                    if ( onPath.contains( owner ) )
+                    {
+                        return new ArrayList<>( path.subList( path.indexOf( owner ), path.size() ) );
+                    }
+                    Waiting waiting = graph.get( owner );
+                    if ( waiting != null && visited.add( owner ) )
+                    {
+                        path.add( owner );
+                        pathOwners.add( waiting.owners.iterator() );
+                        onPath.add( owner );
+                    }
+                }
+                else
+                {
+                    onPath.remove( path.remove( path.size() - 1 ) );
+                    pathOwners.remove( pathOwners.size() - 1 );
+                }
+            }
+        }
+        return null;
+    }
+
+    private ForsetiClient selectVictim( List<ForsetiClient> cycle )
+    {
+        ForsetiClient victim = cycle.get( 0 );
+        for ( ForsetiClient client : cycle )
+        {
+            if ( client != victim && deadlockResolutionStrategy.shouldAbort( client, victim ) )
+            {
+                victim = client;
+            }
+        }
+        return victim;
+    }
+
+    private static boolean isCycleIntact( List<ForsetiClient> cycle, Map<ForsetiClient,Waiting> graph )
+    {
+        Set<ForsetiClient> owners = new HashSet<>();
+        for ( int i = 0; i < cycle.size(); i++ )
+        {
+            ForsetiClient client = cycle.get( i );
+            ForsetiLockManager.Lock lock = graph.get( client ).lock;
+            if ( client.waitingForLock() != lock )
+            {
+                return false;
+            }
+            owners.clear();
+            lock.collectOwners( owners );
+            if ( !owners.contains( cycle.get( (i + 1) % cycle.size() ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String describe( List<ForsetiClient> cycle, Map<ForsetiClient,Waiting> graph )
+    {
+        StringBuilder sb = new StringBuilder( "Wait-for cycle:" );
+        for ( int i = 0; i < cycle.size(); i++ )
+        {
+            ForsetiClient client = cycle.get( i );
+            sb.append( "\n  " ).append( client ).append( " waits for " ).append( graph.get( client ).lock )
+                    .append( " held by " ).append( cycle.get( (i + 1) % cycle.size() ) );
+        }
+        return sb.toString();
+    }
+
+    private static class Waiting
+    {
+        private final ForsetiLockManager.Lock lock;
+        private final Set<ForsetiClient> owners;
+
+        Waiting( ForsetiLockManager.Lock lock, Set<ForsetiClient> owners )
+        {
+            this.lock = lock;
+            this.owners = owners;
+        }
+    }
+}
@@ -19,7 +19,6 @@
 package org.neo4j.kernel.impl.enterprise.lock.forseti;
 
 import java.time.Clock;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -105,6 +104,10 @@ import org.neo4j.storageengine.api.lock.WaitStrategy;
  * traversing the graph like this until we either find ourselves amongst the owners - a deadlock - or we run out of
  * locks that are being waited upon - no deadlock.
  * <p/>
+ * Both of the above only ever look at a deadlock from the point of view of the client that discovers it. Clients that
+ * have been waiting for a while therefore also run the {@link ForsetiDeadlockDetector}, which looks for cycles in the
+ * global wait-for graph of all clients, and lets the {@link DeadlockResolutionStrategy} pick one victim per cycle.
+ * <p/>
  */
 public class ForsetiLockManager implements Locks
 {
@@ -185,7 +188,7 @@ public class ForsetiLockManager implements Locks
     }
 
     /** Pointers to lock maps, one array per resource type. */
-    private final ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps;
+    private final ForsetiLockTable[] lockMaps;
 
     /** Reverse lookup resource types by id, used for introspection */
     private final ResourceType[] resourceTypes;
@@ -199,7 +202,7 @@ public class ForsetiLockManager implements Locks
     public ForsetiLockManager( Config config, Clock clock, ResourceType... resourceTypes )
     {
         int maxResourceId = findMaxResourceId( resourceTypes );
-        this.lockMaps = new ConcurrentMap[maxResourceId];
+        this.lockMaps = new ForsetiLockTable[maxResourceId];
         this.resourceTypes = new ResourceType[maxResourceId];
 
         /* Wait strategies per resource type */
@@ -207,7 +210,7 @@ public class ForsetiLockManager implements Locks
 
         for ( ResourceType type : resourceTypes )
         {
-            this.lockMaps[type.typeId()] = new ConcurrentHashMap<>( 16, 0.6f, 512 );
+            this.lockMaps[type.typeId()] = new ForsetiLockTable();
             waitStrategies[type.typeId()] = type.waitStrategy();
             this.resourceTypes[type.typeId()] = type;
         }
@@ -246,11 +249,8 @@ public class ForsetiLockManager implements Locks
             if ( lockMaps[i] != null )
             {
                 ResourceType type = resourceTypes[i];
-                for ( Map.Entry<Long,Lock> entry : lockMaps[i].entrySet() )
-                {
-                    Lock lock = entry.getValue();
-                    out.visit( type, entry.getKey(), lock.describeWaitList(), 0, System.identityHashCode( lock ) );
-                }
+                lockMaps[i].forEach( ( resourceId, lock ) ->
+                        out.visit( type, resourceId, lock.describeWaitList(), 0, System.identityHashCode( lock ) ) );
             }
         }
     }
@@ -281,11 +281,12 @@ public class ForsetiLockManager implements Locks
         private final ConcurrentMap<Integer,ForsetiClient> clientsById = new ConcurrentHashMap<>();
         private final Config config;
         private final Clock clock;
-        private final ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps;
+        private final ForsetiLockTable[] lockMaps;
         private final WaitStrategy<AcquireLockTimeoutException>[] waitStrategies;
         private final DeadlockResolutionStrategy deadlockResolutionStrategy = DeadlockStrategies.DEFAULT;
+        private final ForsetiDeadlockDetector deadlockDetector;
 
-        ForsetiClientFlyweightPool( Config config, Clock clock, ConcurrentMap<Long,Lock>[] lockMaps,
+        ForsetiClientFlyweightPool( Config config, Clock clock, ForsetiLockTable[] lockMaps,
                 WaitStrategy<AcquireLockTimeoutException>[] waitStrategies )
         {
             super( 128, null );
@@ -293,6 +294,8 @@ public class ForsetiLockManager implements Locks
             this.clock = clock;
             this.lockMaps = lockMaps;
             this.waitStrategies = waitStrategies;
+            this.deadlockDetector =
+                    new ForsetiDeadlockDetector( clientsById.values(), deadlockResolutionStrategy, clock );
         }
 
         @Override
@@ -305,7 +308,8 @@ public class ForsetiLockManager implements Locks
             }
             long lockAcquisitionTimeoutMillis = config.get( GraphDatabaseSettings.lock_acquisition_timeout ).toMillis();
             ForsetiClient client = new ForsetiClient( id, lockMaps, waitStrategies, this,
-                    deadlockResolutionStrategy, clientsById::get, lockAcquisitionTimeoutMillis, clock );
+                    deadlockResolutionStrategy, deadlockDetector, clientsById::get, lockAcquisitionTimeoutMillis,
+                    clock );
             clientsById.put( id, client );
             return client;
         }
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.impl.enterprise.lock.forseti;
+
+import org.eclipse.collections.api.block.procedure.primitive.LongObjectProcedure;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The global locks of one resource type, keyed by resource id.
+ * <p>
+ * This replaces a {@code ConcurrentMap<Long,Lock>}, which boxed the resource id and allocated a map node for every
+ * lock taken. Here resource ids are kept as primitive {@code long}s in open addressing hash tables with linear
+ * probing, so taking and releasing a lock only allocates when a table has to grow.
+ * <p>
+ * The table is split into {@link #STRIPES} independently locked stripes, chosen by the high bits of the hashed
+ * resource id. Lookups, the most common operation, first read a stripe optimistically without locking it, and only
+ * take its read lock if it was modified while being read. Modifications take the write lock of their stripe.
+ * Removals shift following entries back instead of leaving tombstones, so lookups never get slower over time.
+ */
+final class ForsetiLockTable
+{
+    private static final int STRIPE_BITS = 9;
+    static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    ForsetiLockTable()
+    {
+        for ( int i = 0; i < STRIPES; i++ )
+        {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    ForsetiLockManager.Lock get( long resourceId )
+    {
+        long hash = hash( resourceId );
+        Stripe stripe = stripe( hash );
+        long stamp = stripe.tryOptimisticRead();
+        ForsetiLockManager.Lock lock = stripe.slots.get( resourceId, hash );
+        if ( !stripe.validate( stamp ) )
+        {
+            stamp = stripe.readLock();
+            try
+            {
+                lock = stripe.slots.get( resourceId, hash );
+            }
+            finally
+            {
+                stripe.unlockRead( stamp );
+            }
+        }
+        return lock;
+    }
+
+    /**
+     * @return the lock already present for the resource, in which case the given lock wasn't added, or {@code null}
+     * if the given lock was added.
+     */
+    ForsetiLockManager.Lock putIfAbsent( long resourceId, ForsetiLockManager.Lock lock )
+    {
+        long hash = hash( resourceId );
+        Stripe stripe = stripe( hash );
+        long stamp = stripe.writeLock();
+        try
+        {
+            return stripe.put( resourceId, hash, lock, false );
+        }
+        finally
+        {
+            stripe.unlockWrite( stamp );
+        }
+    }
+
+    void put( long resourceId, ForsetiLockManager.Lock lock )
+    {
+        long hash = hash( resourceId );
+        Stripe stripe = stripe( hash );
+        long stamp = stripe.writeLock();
+        try
+        {
+            stripe.put( resourceId, hash, lock, true );
+        }
+        finally
+        {
+            stripe.unlockWrite( stamp );
+        }
+    }
+
+    void remove( long resourceId )
+    {
+        long hash = hash( resourceId );
+        Stripe stripe = stripe( hash );
+        long stamp = stripe.writeLock();
+        try
+        {
+            stripe.remove( resourceId, hash );
+        }
+        finally
+        {
+            stripe.unlockWrite( stamp );
+        }
+    }
+
+    /**
+     * Visits all locks, one stripe at a time. Locks added or removed while visiting may or may not be visited.
+     */
+    void forEach( LongObjectProcedure<ForsetiLockManager.Lock> visitor )
+    {
+        for ( Stripe stripe : stripes )
+        {
+            long stamp = stripe.readLock();
+            try
+            {
+                stripe.slots.forEach( visitor );
+            }
+            finally
+            {
+                stripe.unlockRead( stamp );
+            }
+        }
+    }
+
+    /**
+     * @return the number of slots in all stripes, which is proportional to the most locks held at the same time.
+     */
+    int capacity()
+    {
+        int capacity = 0;
+        for ( Stripe stripe : stripes )
+        {
+            long stamp = stripe.readLock();
+            try
+            {
+                capacity += stripe.slots.capacity();
+            }
+            finally
+            {
+                stripe.unlockRead( stamp );
+            }
+        }
+        return capacity;
+    }
+
+    private Stripe stripe( long hash )
+    {
+        return stripes[(int) (hash >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    private static long hash( long resourceId )
+    {
+        // The finalization mix of MurmurHash3, resource ids are often sequential so all bits need to be spread
+        long hash = resourceId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @SuppressWarnings( "serial" )
+    private static final class Stripe extends StampedLock
+    {
+        /**
+         * Replaced as a whole when growing, so that an optimistic reader always sees keys and values of the same size.
+         */
+        private Slots slots = new Slots( INITIAL_STRIPE_CAPACITY );
+        private int size;
+
+        ForsetiLockManager.Lock put( long resourceId, long hash, ForsetiLockManager.Lock lock, boolean replace )
+        {
+            ForsetiLockManager.Lock existing = slots.put( resourceId, hash, lock, replace );
+            if ( existing == null && ++size * 3 > slots.capacity() * 2 )
+            {
+                slots = slots.grow();
+            }
+            return existing;
+        }
+
+        void remove( long resourceId, long hash )
+        {
+            if ( slots.remove( resourceId, hash ) )
+            {
+                size--;
+            }
+        }
+    }
+
+    private static final class Slots
+    {
+        private final long[] resourceIds;
+        private final ForsetiLockManager.Lock[] locks;
+        private final int mask;
+
+        Slots( int capacity )
+        {
+            resourceIds = new long[capacity];
+            locks = new ForsetiLockManager.Lock[capacity];
+            mask = capacity - 1;
+        }
+
+        int capacity()
+        {
+            return locks.length;
+        }
+
+        ForsetiLockManager.Lock get( long resourceId, long hash )
+        {
+            // Bounded by the capacity, since an optimistic reader may see a table being modified without a free slot
+            for ( int i = 0, slot = (int) hash & mask; i < locks.length; i++, slot = (slot + 1) & mask )
+            {
+                ForsetiLockManager.Lock lock = locks[slot];
+                if ( lock == null )
+                {
+                    return null;
+                }
+                if ( resourceIds[slot] == resourceId )
+                {
+                    return lock;
+                }
+            }
+            return null;
+        }
+
+        ForsetiLockManager.Lock put( long resourceId, long hash, ForsetiLockManager.Lock lock, boolean replace )
+        {
+            int slot = (int) hash & mask;
+            while ( locks[slot] != null )
+            {
+                if ( resourceIds[slot] == resourceId )
+                {
+                    ForsetiLockManager.Lock existing = locks[slot];
+                    if ( replace )
+                    {
+                        locks[slot] = lock;
+                    }
+                    return existing;
+                }
+                slot = (slot + 1) & mask;
+            }
+            resourceIds[slot] = resourceId;
+            locks[slot] = lock;
+            return null;
+        }
+
+        boolean remove( long resourceId, long hash )
+        {
+            int slot = (int) hash & mask;
+            while ( locks[slot] != null )
+            {
+                if ( resourceIds[slot] == resourceId )
+                {
+                    shiftBack( slot );
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        /**
+         * Empties the given slot and moves back any following entry of the same probe sequence which can no longer
+         * be reached now that the slot is empty.
+         */
+        private void shiftBack( int emptied )
+        {
+            locks[emptied] = null;
+            int slot = emptied;
+            while ( true )
+            {
+                slot = (slot + 1) & mask;
+                ForsetiLockManager.Lock lock = locks[slot];
+                if ( lock == null )
+                {
+                    return;
+                }
+                int home = (int) hash( resourceIds[slot] ) & mask;
+                boolean reachable = emptied <= slot ? home > emptied && home <= slot : home > emptied || home <= slot;
+                if ( !reachable )
+                {
+                    resourceIds[emptied] = resourceIds[slot];
+                    locks[emptied] = lock;
+                    locks[slot] = null;
+                    emptied = slot;
+                }
+            }
+        }
+
+        void forEach( LongObjectProcedure<ForsetiLockManager.Lock> visitor )
+        {
+            for ( int slot = 0; slot < locks.length; slot++ )
+            {
+                ForsetiLockManager.Lock lock = locks[slot];
+                if ( lock != null )
+                {
+                    visitor.value( resourceIds[slot], lock );
+                }
+            }
+        }
+
+        Slots grow()
+        {
+            Slots grown = new Slots( locks.length * 2 );
+            for ( int slot = 0; slot < locks.length; slot++ )
+            {
+                if ( locks[slot] != null )
+                {
+                    grown.put( resourceIds[slot], hash( resourceIds[slot] ), locks[slot], false );
+                }
+            }
+            return grown;
+        }
+    }
+}
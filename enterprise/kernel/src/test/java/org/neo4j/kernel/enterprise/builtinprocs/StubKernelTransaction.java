@@ -87,6 +87,27 @@ public class StubKernelTransaction implements KernelTransaction
         return null;
     }
 
+    @Override
+    public void setAsyncCommit( boolean asyncCommit )
+    {
+    }
+
+    @Override
+    public void setMemoryLimit( long limitBytes )
+    {
+    }
+
+    @Override
+    public void setSnapshotReads( boolean snapshotReads )
+    {
+    }
+
+    @Override
+    public boolean snapshotReads()
+    {
+        return false;
+    }
+
     @Override
     public Read dataRead()
     {
@@ -75,6 +75,7 @@ import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.RETURNS_MOCKS;
 import static org.mockito.Mockito.mock;
 import static org.neo4j.kernel.impl.util.collection.CollectionsFactorySupplier.ON_HEAP;
@@ -149,6 +150,7 @@ public class TransactionStatusResultTest
         assertEquals( Long.valueOf( 1809 ), statusResult.idleTimeMillis );
         assertEquals( Long.valueOf( 1 ), statusResult.allocatedBytes );
         assertEquals( Long.valueOf( 0 ), statusResult.allocatedDirectBytes );
+        assertNull( statusResult.allocatedDirectBytesLimit );
         assertEquals( 0L, statusResult.pageHits );
         assertEquals( 0L, statusResult.pageFaults );
     }
@@ -175,6 +177,7 @@ public class TransactionStatusResultTest
         assertEquals( Long.valueOf( 1809 ), statusResult.idleTimeMillis );
         assertEquals( Long.valueOf( 1 ), statusResult.allocatedBytes );
         assertEquals( Long.valueOf( 0 ), statusResult.allocatedDirectBytes );
+        assertNull( statusResult.allocatedDirectBytesLimit );
         assertEquals( 0, statusResult.pageHits );
         assertEquals( 0, statusResult.pageFaults );
     }
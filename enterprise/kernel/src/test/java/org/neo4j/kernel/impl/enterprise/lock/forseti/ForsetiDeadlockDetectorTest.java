@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.impl.enterprise.lock.forseti;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ForsetiDeadlockDetectorTest
+{
+    private final List<ForsetiClient> clients = new ArrayList<>();
+    private final FakeClock clock = Clocks.fakeClock();
+    private final ForsetiDeadlockDetector detector =
+            new ForsetiDeadlockDetector( clients, DeadlockStrategies.ABORT_YOUNG, clock, 100 );
+
+    @Test
+    public void shouldAbortClientWithFewestLocksInCycle()
+    {
+        // Given a cycle a -> b -> c -> a
+        ForsetiClient a = client( 0, 5 );
+        ForsetiClient b = client( 1, 2 );
+        ForsetiClient c = client( 2, 7 );
+        ForsetiLockManager.Lock lockOfB = lockOwnedBy( b );
+        ForsetiLockManager.Lock lockOfC = lockOwnedBy( c );
+        ForsetiLockManager.Lock lockOfA = lockOwnedBy( a );
+        when( a.waitingForLock() ).thenReturn( lockOfB );
+        when( b.waitingForLock() ).thenReturn( lockOfC );
+        when( c.waitingForLock() ).thenReturn( lockOfA );
+
+        // When
+        int victims = detector.detect();
+
+        // Then
+        assertEquals( 1, victims );
+        verify( b ).markAsDeadlockVictim( same( lockOfC ), anyString() );
+        verify( a, never() ).markAsDeadlockVictim( any(), anyString() );
+        verify( c, never() ).markAsDeadlockVictim( any(), anyString() );
+    }
+
+    @Test
+    public void shouldNotAbortAnyoneWithoutCycle()
+    {
+        // Given a chain a -> b -> c, where c isn't waiting
+        ForsetiClient a = client( 0, 1 );
+        ForsetiClient b = client( 1, 1 );
+        ForsetiClient c = client( 2, 1 );
+        when( a.waitingForLock() ).thenReturn( lockOwnedBy( b ) );
+        when( b.waitingForLock() ).thenReturn( lockOwnedBy( c ) );
+
+        // When
+        int victims = detector.detect();
+
+        // Then
+        assertEquals( 0, victims );
+        for ( ForsetiClient client : Arrays.asList( a, b, c ) )
+        {
+            verify( client, never() ).markAsDeadlockVictim( any(), anyString() );
+        }
+    }
+
+    @Test
+    public void shouldNotConsiderUpgradingOwnSharedLockACycle()
+    {
+        // Given
+        ForsetiClient a = client( 0, 1 );
+        ForsetiClient b = client( 1, 1 );
+        ForsetiLockManager.Lock sharedLock = lockOwnedBy( a, b );
+        when( a.waitingForLock() ).thenReturn( sharedLock );
+
+        // When
+        int victims = detector.detect();
+
+        // Then
+        assertEquals( 0, victims );
+    }
+
+    @Test
+    public void shouldAbortOneClientPerCycle()
+    {
+        // Given two separate cycles a <-> b and c <-> d
+        ForsetiClient a = client( 0, 1 );
+        ForsetiClient b = client( 1, 3 );
+        ForsetiClient c = client( 2, 3 );
+        ForsetiClient d = client( 3, 1 );
+        when( a.waitingForLock() ).thenReturn( lockOwnedBy( b ) );
+        when( b.waitingForLock() ).thenReturn( lockOwnedBy( a ) );
+        when( c.waitingForLock() ).thenReturn( lockOwnedBy( d ) );
+        when( d.waitingForLock() ).thenReturn( lockOwnedBy( c ) );
+
+        // When
+        int victims = detector.detect();
+
+        // Then
+        assertEquals( 2, victims );
+        verify( a ).markAsDeadlockVictim( any(), anyString() );
+        verify( d ).markAsDeadlockVictim( any(), anyString() );
+    }
+
+    @Test
+    public void shouldNotDetectMoreOftenThanMinimumInterval()
+    {
+        // Given
+        ForsetiClient a = client( 0, 1 );
+        ForsetiClient b = client( 1, 3 );
+        when( a.waitingForLock() ).thenReturn( lockOwnedBy( b ) );
+        when( b.waitingForLock() ).thenReturn( lockOwnedBy( a ) );
+
+        // When
+        detector.detectIfDue();
+        detector.detectIfDue();
+        clock.forward( 100, TimeUnit.MILLISECONDS );
+        detector.detectIfDue();
+
+        // Then
+        verify( a, times( 2 ) ).markAsDeadlockVictim( any(), anyString() );
+    }
+
+    private ForsetiClient client( int id, long activeLockCount )
+    {
+        ForsetiClient client = mock( ForsetiClient.class );
+        when( client.id() ).thenReturn( id );
+        when( client.activeLockCount() ).thenReturn( activeLockCount );
+        when( client.toString() ).thenReturn( "ForsetiClient[" + id + "]" );
+        clients.add( client );
+        return client;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static ForsetiLockManager.Lock lockOwnedBy( ForsetiClient... owners )
+    {
+        ForsetiLockManager.Lock lock = mock( ForsetiLockManager.Lock.class );
+        doAnswer( invocation ->
+        {
+            ((Set<ForsetiClient>) invocation.getArgument( 0 )).addAll( Arrays.asList( owners ) );
+            return null;
+        } ).when( lock ).collectOwners( any() );
+        return lock;
+    }
+}
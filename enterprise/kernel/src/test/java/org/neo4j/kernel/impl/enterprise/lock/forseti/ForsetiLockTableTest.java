@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.impl.enterprise.lock.forseti;
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ForsetiLockTableTest
+{
+    @Test
+    public void shouldOnlyPutIfAbsent()
+    {
+        // Given
+        ForsetiLockTable table = new ForsetiLockTable();
+        ForsetiLockManager.Lock first = mock( ForsetiLockManager.Lock.class );
+        ForsetiLockManager.Lock second = mock( ForsetiLockManager.Lock.class );
+
+        // When
+        assertNull( table.putIfAbsent( 42, first ) );
+
+        // Then
+        assertSame( first, table.putIfAbsent( 42, second ) );
+        assertSame( first, table.get( 42 ) );
+    }
+
+    @Test
+    public void shouldReplaceOnPut()
+    {
+        // Given
+        ForsetiLockTable table = new ForsetiLockTable();
+        ForsetiLockManager.Lock first = mock( ForsetiLockManager.Lock.class );
+        ForsetiLockManager.Lock second = mock( ForsetiLockManager.Lock.class );
+        table.putIfAbsent( -1, first );
+
+        // When
+        table.put( -1, second );
+
+        // Then
+        assertSame( second, table.get( -1 ) );
+    }
+
+    @Test
+    public void shouldBehaveLikeAMapUnderRandomPutsAndRemoves()
+    {
+        // Given
+        ForsetiLockTable table = new ForsetiLockTable();
+        MutableLongObjectMap<ForsetiLockManager.Lock> expected = new LongObjectHashMap<>();
+        Random random = new Random( 1234 );
+        ForsetiLockManager.Lock[] locks = new ForsetiLockManager.Lock[8];
+        for ( int i = 0; i < locks.length; i++ )
+        {
+            locks[i] = mock( ForsetiLockManager.Lock.class );
+        }
+
+        // When
+        for ( int i = 0; i < 200_000; i++ )
+        {
+            // A small key space forces long probe sequences, growing and shifting back on removal
+            long resourceId = random.nextInt( 20_000 );
+            if ( random.nextBoolean() )
+            {
+                ForsetiLockManager.Lock lock = locks[random.nextInt( locks.length )];
+                assertSame( expected.get( resourceId ), table.putIfAbsent( resourceId, lock ) );
+                expected.getIfAbsentPut( resourceId, lock );
+            }
+            else
+            {
+                table.remove( resourceId );
+                expected.remove( resourceId );
+            }
+        }
+
+        // Then
+        for ( long resourceId = 0; resourceId < 20_000; resourceId++ )
+        {
+            assertSame( expected.get( resourceId ), table.get( resourceId ) );
+        }
+        MutableLongObjectMap<ForsetiLockManager.Lock> visited = new LongObjectHashMap<>();
+        table.forEach( visited::put );
+        assertEquals( expected, visited );
+    }
+
+    @Test
+    public void shouldStayBoundedWhenLocksAreRepeatedlyPutAndRemoved()
+    {
+        // Given
+        ForsetiLockTable table = new ForsetiLockTable();
+        ForsetiLockManager.Lock lock = mock( ForsetiLockManager.Lock.class );
+        int concurrentlyHeld = 1_000;
+
+        // When
+        for ( long resourceId = 0; resourceId < 1_000_000; resourceId++ )
+        {
+            // Never more than a thousand locks held at the same time, each taken and released once
+            table.putIfAbsent( resourceId, lock );
+            table.remove( resourceId - concurrentlyHeld );
+        }
+
+        // Then a stripe grows to at most four slots per lock it holds, beyond its initial sixteen slots
+        assertThat( table.capacity(), lessThanOrEqualTo( 16 * ForsetiLockTable.STRIPES + 4 * concurrentlyHeld ) );
+    }
+
+    @Test
+    public void shouldSeeOwnLocksWhileOtherThreadsModifyTheTable() throws Exception
+    {
+        // Given
+        ForsetiLockTable table = new ForsetiLockTable();
+        int threads = 4;
+        int resourcesPerThread = 10_000;
+        Thread[] workers = new Thread[threads];
+        Throwable[] failures = new Throwable[threads];
+
+        // When
+        for ( int t = 0; t < threads; t++ )
+        {
+            int thread = t;
+            workers[t] = new Thread( () ->
+            {
+                try
+                {
+                    ForsetiLockManager.Lock lock = mock( ForsetiLockManager.Lock.class );
+                    for ( int round = 0; round < 10; round++ )
+                    {
+                        for ( long id = thread; id < (long) threads * resourcesPerThread; id += threads )
+                        {
+                            assertNull( table.putIfAbsent( id, lock ) );
+                            assertSame( lock, table.get( id ) );
+                        }
+                        for ( long id = thread; id < (long) threads * resourcesPerThread; id += threads )
+                        {
+                            table.remove( id );
+                            assertNull( table.get( id ) );
+                        }
+                    }
+                }
+                catch ( Throwable e )
+                {
+                    failures[thread] = e;
+                }
+            } );
+            workers[t].start();
+        }
+        for ( Thread worker : workers )
+        {
+            worker.join();
+        }
+
+        // Then
+        for ( Throwable failure : failures )
+        {
+            if ( failure != null )
+            {
+                throw new AssertionError( failure );
+            }
+        }
+    }
+}
@@ -94,6 +94,16 @@ public class MetricsSettings implements LoadableConfig
     public static final Setting<Boolean> neoLogRotationEnabled = buildSetting(
             "metrics.neo4j.logrotation.enabled", BOOLEAN ).inherits( neoEnabled ).build();
 
+    @Description( "Enable reporting metrics about group commit; how many committers each force of the transaction log " +
+                  "covers, how long the forces take and how long they are delayed." )
+    public static final Setting<Boolean> neoGroupCommitEnabled = buildSetting(
+            "metrics.neo4j.group_commit.enabled", BOOLEAN ).inherits( neoEnabled ).build();
+
+    @Description( "Enable reporting metrics about lock contention; how often and for how long transactions wait for " +
+                  "locks, in total and per resource type. Requires `dbms.track_lock_contention=true`." )
+    public static final Setting<Boolean> neoLocksEnabled = buildSetting(
+            "metrics.neo4j.locks.enabled", BOOLEAN ).inherits( neoEnabled ).build();
+
     /**
      * @deprecated high availability database/edition is deprecated in favour of causal clustering. It will be removed in next major release.
      */
@@ -25,6 +25,7 @@ import java.util.TreeMap;
 import java.util.function.Supplier;
 
 import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.BackgroundPageFlusher;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerMonitor;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.DefaultCheckPointerTracer;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
@@ -45,11 +46,17 @@ public class CheckPointingMetrics extends LifecycleAdapter
     public static final String CHECK_POINT_TOTAL_TIME = name( CHECK_POINT_PREFIX, "total_time" );
     @Documented( "The duration of the check point event" )
     public static final String CHECK_POINT_DURATION = name( CHECK_POINT_PREFIX, "check_point_duration" );
+    @Documented( "The duration of the background flush of dirty pages in between check points" )
+    public static final String BACKGROUND_FLUSH_DURATION = name( CHECK_POINT_PREFIX, "background_flush_duration" );
+    @Documented( "The time between the start of the previous background flush and the end of the latest one, " +
+                 "the maximum time a dirty page waited to be written back" )
+    public static final String BACKGROUND_FLUSH_LAG = name( CHECK_POINT_PREFIX, "background_flush_lag" );
 
     private final MetricRegistry registry;
     private final Monitors monitors;
     private final Supplier<CheckPointerMonitor> checkPointerMonitorSupplier;
     private final DefaultCheckPointerTracer.Monitor listener;
+    private final BackgroundPageFlusher.Monitor backgroundFlushListener;
 
     public CheckPointingMetrics( EventReporter reporter, MetricRegistry registry,
             Monitors monitors, Supplier<CheckPointerMonitor> checkPointerMonitorSupplier )
@@ -63,12 +70,24 @@ public class CheckPointingMetrics extends LifecycleAdapter
             gauges.put( CHECK_POINT_DURATION, () -> durationMillis );
             reporter.report( gauges, emptySortedMap(), emptySortedMap(), emptySortedMap(), emptySortedMap() );
         };
+        this.backgroundFlushListener = new BackgroundPageFlusher.Monitor()
+        {
+            @Override
+            public void pagesFlushed( long flushMillis, long flushLagMillis )
+            {
+                TreeMap<String,Gauge> gauges = new TreeMap<>();
+                gauges.put( BACKGROUND_FLUSH_DURATION, () -> flushMillis );
+                gauges.put( BACKGROUND_FLUSH_LAG, () -> flushLagMillis );
+                reporter.report( gauges, emptySortedMap(), emptySortedMap(), emptySortedMap(), emptySortedMap() );
+            }
+        };
     }
 
     @Override
     public void start()
     {
         monitors.addMonitorListener( listener );
+        monitors.addMonitorListener( backgroundFlushListener );
 
         CheckPointerMonitor checkPointerMonitor = checkPointerMonitorSupplier.get();
         registry.register( CHECK_POINT_EVENTS, (Gauge<Long>) checkPointerMonitor::numberOfCheckPointEvents );
@@ -80,6 +99,7 @@ public class CheckPointingMetrics extends LifecycleAdapter
     public void stop()
     {
         monitors.removeMonitorListener( listener );
+        monitors.removeMonitorListener( backgroundFlushListener );
 
         registry.remove( CHECK_POINT_EVENTS );
         registry.remove( CHECK_POINT_TOTAL_TIME );
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.metrics.source.db;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.impl.transaction.log.BatchingTransactionAppender;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.monitoring.Monitors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+@Documented( ".Database group commit metrics" )
+public class GroupCommitMetrics extends LifecycleAdapter
+{
+    private static final String GROUP_COMMIT_PREFIX = "neo4j.group_commit";
+
+    @Documented( "The distribution of the number of committers covered by each force of the transaction log" )
+    public static final String GROUP_COMMIT_BATCH_SIZE = name( GROUP_COMMIT_PREFIX, "batch_size" );
+    @Documented( "The distribution of the time, in microseconds, each force of the transaction log took" )
+    public static final String GROUP_COMMIT_FORCE_TIME = name( GROUP_COMMIT_PREFIX, "force_time" );
+    @Documented( "The distribution of the time, in microseconds, each force of the transaction log was delayed " +
+                 "to cover more committers" )
+    public static final String GROUP_COMMIT_DELAY_TIME = name( GROUP_COMMIT_PREFIX, "delay_time" );
+
+    private final MetricRegistry registry;
+    private final Monitors monitors;
+    private final GroupCommitMonitor monitor = new GroupCommitMonitor();
+
+    public GroupCommitMetrics( MetricRegistry registry, Monitors monitors )
+    {
+        this.registry = registry;
+        this.monitors = monitors;
+    }
+
+    @Override
+    public void start()
+    {
+        monitor.batchSizes = registry.histogram( GROUP_COMMIT_BATCH_SIZE );
+        monitor.forceTimes = registry.histogram( GROUP_COMMIT_FORCE_TIME );
+        monitor.delayTimes = registry.histogram( GROUP_COMMIT_DELAY_TIME );
+        monitors.addMonitorListener( monitor );
+    }
+
+    @Override
+    public void stop()
+    {
+        monitors.removeMonitorListener( monitor );
+        registry.remove( GROUP_COMMIT_BATCH_SIZE );
+        registry.remove( GROUP_COMMIT_FORCE_TIME );
+        registry.remove( GROUP_COMMIT_DELAY_TIME );
+    }
+
+    private static class GroupCommitMonitor implements BatchingTransactionAppender.Monitor
+    {
+        private volatile Histogram batchSizes;
+        private volatile Histogram forceTimes;
+        private volatile Histogram delayTimes;
+
+        @Override
+        public void logForced( int forcedCommitters, long forceNanos, long delayNanos )
+        {
+            batchSizes.update( forcedCommitters );
+            forceTimes.update( TimeUnit.NANOSECONDS.toMicros( forceNanos ) );
+            delayTimes.update( TimeUnit.NANOSECONDS.toMicros( delayNanos ) );
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.metrics.source.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.function.Supplier;
+
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.impl.locking.LockContentionTracer;
+import org.neo4j.kernel.impl.locking.ResourceTypes;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.storageengine.api.lock.ResourceType;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@Documented( ".Database lock contention metrics" )
+public class LockContentionMetrics extends LifecycleAdapter
+{
+    private static final String LOCKS_PREFIX = "neo4j.locks";
+
+    @Documented( "The total number of times transactions had to wait for a lock. " +
+                 "Lock waits are only recorded while `dbms.track_lock_contention` is enabled" )
+    public static final String LOCK_WAITS = name( LOCKS_PREFIX, "waits" );
+    @Documented( "The total time, in milliseconds, transactions spent waiting for locks" )
+    public static final String LOCK_WAIT_TIME = name( LOCKS_PREFIX, "wait_time" );
+
+    private final MetricRegistry registry;
+    private final Supplier<LockContentionTracer> lockContentionTracerSupplier;
+
+    public LockContentionMetrics( MetricRegistry registry, Supplier<LockContentionTracer> lockContentionTracerSupplier )
+    {
+        this.registry = registry;
+        this.lockContentionTracerSupplier = lockContentionTracerSupplier;
+    }
+
+    @Override
+    public void start()
+    {
+        LockContentionTracer tracer = lockContentionTracerSupplier.get();
+        registry.register( LOCK_WAITS, (Gauge<Long>) () -> tracer.contendedResourceTypes().stream()
+                .mapToLong( tracer::waitCount ).sum() );
+        registry.register( LOCK_WAIT_TIME, (Gauge<Long>) () -> NANOSECONDS.toMillis( tracer.contendedResourceTypes().stream()
+                .mapToLong( tracer::waitTimeNanos ).sum() ) );
+        for ( ResourceType resourceType : ResourceTypes.values() )
+        {
+            registry.register( waitsName( resourceType ), (Gauge<Long>) () -> tracer.waitCount( resourceType ) );
+            registry.register( waitTimeName( resourceType ),
+                    (Gauge<Long>) () -> NANOSECONDS.toMillis( tracer.waitTimeNanos( resourceType ) ) );
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        registry.remove( LOCK_WAITS );
+        registry.remove( LOCK_WAIT_TIME );
+        for ( ResourceType resourceType : ResourceTypes.values() )
+        {
+            registry.remove( waitsName( resourceType ) );
+            registry.remove( waitTimeName( resourceType ) );
+        }
+    }
+
+    private static String waitsName( ResourceType resourceType )
+    {
+        return name( LOCKS_PREFIX, resourceType.name().toLowerCase(), "waits" );
+    }
+
+    private static String waitTimeName( ResourceType resourceType )
+    {
+        return name( LOCKS_PREFIX, resourceType.name().toLowerCase(), "wait_time" );
+    }
+}